@@ -4,10 +4,12 @@ package com.example.bankcards;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
 @ConfigurationPropertiesScan
+@EnableScheduling
 public class BankcardsApplication {
 
     public static void main(String[] args) {
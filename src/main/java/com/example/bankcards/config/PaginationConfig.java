@@ -0,0 +1,21 @@
+package com.example.bankcards.config;
+
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.bankcards.config.properties.PaginationProperties;
+import com.example.bankcards.service.ApproximateCounter;
+
+
+@Configuration
+public class PaginationConfig {
+
+    @Bean
+    public ApproximateCounter approximateCounter(PaginationProperties paginationProperties) {
+        PaginationProperties.ApproximateCount approximateCount = paginationProperties.approximateCount();
+
+        return new ApproximateCounter(approximateCount.ttl(), approximateCount.maxEntries());
+    }
+
+}
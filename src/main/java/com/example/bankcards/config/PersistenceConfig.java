@@ -0,0 +1,21 @@
+package com.example.bankcards.config;
+
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.bankcards.service.RequestIdentityMap;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+
+
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    public RequestIdentityMap requestIdentityMap(EntityManager entityManager, MeterRegistry meterRegistry) {
+        return new RequestIdentityMap(entityManager::contains, meterRegistry);
+    }
+
+}
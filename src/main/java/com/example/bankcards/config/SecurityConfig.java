@@ -10,15 +10,24 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import com.example.bankcards.config.properties.JwtProperties;
+import com.example.bankcards.config.properties.PasswordHashingProperties;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.BoundedPasswordEncoder;
 import com.example.bankcards.security.CardEncryption;
+import com.example.bankcards.security.UserValidityCache;
 import com.example.bankcards.security.jwt.JwtAuthenticationFilter;
+import com.example.bankcards.security.jwt.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 
 
 @Configuration
@@ -36,12 +45,16 @@ public class SecurityConfig {
             HttpSecurity http,
             JwtAuthenticationFilter jwtAuthFilter,
             CorsConfigurationSource corsConfigurationSource) throws Exception {
+        // Streamed responses (exports) finish on an async dispatch of a request that was already authorized.
+        // Admin endpoints are refused from the token role alone, before any service or repository is reached
         http.cors(cors -> cors.configurationSource(corsConfigurationSource)).csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(
-                        auth -> auth.requestMatchers("/api/auth/**").permitAll().requestMatchers(
+                        auth -> auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll().requestMatchers(
+                                "/api/auth/**").permitAll().requestMatchers(
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
-                                "/swagger-ui.html").permitAll().anyRequest().authenticated()).exceptionHandling(
+                                "/swagger-ui.html").permitAll().requestMatchers("/api/admin/**").hasRole(
+                                        Role.ADMIN.name()).anyRequest().authenticated()).exceptionHandling(
                                         ex -> ex.authenticationEntryPoint(
                                                 new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))).addFilterBefore(
                                                         jwtAuthFilter,
@@ -51,8 +64,12 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(
+                properties.strength(),
+                properties.threads(),
+                properties.queueCapacity(),
+                meterRegistry);
     }
 
     @Bean
@@ -60,4 +77,15 @@ public class SecurityConfig {
         return CardEncryption.of(secretKey);
     }
 
+    @Bean
+    public UserValidityCache userValidityCache(JwtProperties jwtProperties, UserRepository userRepository) {
+        JwtProperties.UserValidity userValidity = jwtProperties.userValidity();
+        return new UserValidityCache(userValidity.ttl(), userValidity.maxEntries(), userRepository::findRoleById);
+    }
+
+    @Bean
+    public VerifiedTokenCache verifiedTokenCache(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        return new VerifiedTokenCache(jwtProperties.tokenCache().maxEntries(), meterRegistry);
+    }
+
 }
@@ -0,0 +1,92 @@
+package com.example.bankcards.config;
+
+
+import java.nio.file.Path;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.bankcards.config.properties.TransferProperties;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.LedgerEntryRepository;
+import com.example.bankcards.service.CardService;
+import com.example.bankcards.service.TransferBatchService;
+import com.example.bankcards.service.TransferService;
+import com.example.bankcards.service.transfer.ConditionalUpdateTransferConcurrencyStrategy;
+import com.example.bankcards.service.transfer.DirectTransferExecutor;
+import com.example.bankcards.service.transfer.LaneTransferExecutor;
+import com.example.bankcards.service.transfer.LedgerTransferConcurrencyStrategy;
+import com.example.bankcards.service.transfer.OptimisticTransferConcurrencyStrategy;
+import com.example.bankcards.service.transfer.PessimisticTransferConcurrencyStrategy;
+import com.example.bankcards.service.transfer.TransferConcurrencyStrategy;
+import com.example.bankcards.service.transfer.TransferExecutor;
+import com.example.bankcards.service.transfer.TransferIdempotencyStore;
+import com.example.bankcards.service.transfer.TransferSegmentStore;
+import com.example.bankcards.service.transfer.TransferSubmissionProcessor;
+import com.example.bankcards.service.transfer.TransferSubmissionQueue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Configuration
+public class TransferConfig {
+
+    @Bean
+    public TransferConcurrencyStrategy transferConcurrencyStrategy(
+            TransferProperties transferProperties,
+            CardService cardService,
+            CardRepository cardRepository,
+            LedgerEntryRepository ledgerEntryRepository) {
+        TransferProperties.Concurrency concurrency = transferProperties.concurrency();
+        log.info("Configuring transfer concurrency strategy: {}", concurrency.mode());
+
+        return switch (concurrency.mode()) {
+            case PESSIMISTIC -> new PessimisticTransferConcurrencyStrategy(cardService);
+            case OPTIMISTIC -> new OptimisticTransferConcurrencyStrategy(cardService, concurrency.maxAttempts());
+            case CONDITIONAL_UPDATE -> new ConditionalUpdateTransferConcurrencyStrategy(cardService, cardRepository);
+            case LEDGER -> new LedgerTransferConcurrencyStrategy(cardService, ledgerEntryRepository);
+        };
+    }
+
+    @Bean
+    public TransferExecutor transferExecutor(TransferProperties transferProperties, MeterRegistry meterRegistry) {
+        TransferProperties.Lanes lanes = transferProperties.lanes();
+        if (lanes == null || !lanes.enabled())
+            return new DirectTransferExecutor();
+
+        return new LaneTransferExecutor(lanes.count(), meterRegistry);
+    }
+
+    @Bean
+    public TransferSubmissionQueue transferSubmissionQueue(
+            TransferProperties transferProperties,
+            TransferService transferService,
+            TransferBatchService transferBatchService,
+            MeterRegistry meterRegistry) {
+        TransferProperties.Async async = transferProperties.async();
+
+        return new TransferSubmissionQueue(
+                async.queueCapacity(),
+                async.workers(),
+                async.maxBatchSize(),
+                async.statusTtl(),
+                async.maxRetainedStatuses(),
+                new TransferSubmissionProcessor(transferService, transferBatchService),
+                meterRegistry);
+    }
+
+    @Bean
+    public TransferIdempotencyStore transferIdempotencyStore(TransferProperties transferProperties) {
+        TransferProperties.Idempotency idempotency = transferProperties.idempotency();
+
+        return new TransferIdempotencyStore(idempotency.stripes(), idempotency.maxEntries(), idempotency.ttl());
+    }
+
+    @Bean
+    public TransferSegmentStore transferSegmentStore(TransferProperties transferProperties) {
+        return new TransferSegmentStore(Path.of(transferProperties.archive().directory()));
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.example.bankcards.config.properties;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+@ConfigurationProperties(prefix = "app.export")
+public record ExportProperties(int fetchSize) {
+}
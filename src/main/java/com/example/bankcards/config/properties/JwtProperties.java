@@ -0,0 +1,35 @@
+package com.example.bankcards.config.properties;
+
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+@ConfigurationProperties(prefix = "app.jwt")
+public record JwtProperties(
+        String secret,
+        long expiration,
+        UserValidity userValidity,
+        TokenCache tokenCache,
+        Revocation revocation,
+        Refresh refresh) {
+
+    // How long a user's existence and role, as checked for a token, are trusted without reading the database
+    public record UserValidity(Duration ttl, int maxEntries) {
+    }
+
+    // Tokens that passed verification are kept until their exp, at most maxEntries of them
+    public record TokenCache(int maxEntries) {
+    }
+
+    // The denylist is sized for expectedTokens revocations at falsePositiveRate and rebuilt from the database on
+    // refreshCron, which is also how revocations made on other instances arrive
+    public record Revocation(int expectedTokens, double falsePositiveRate, String refreshCron) {
+    }
+
+    // Refresh tokens are valid for ttl and purged on purgeCron once expired
+    public record Refresh(Duration ttl, String purgeCron) {
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.example.bankcards.config.properties;
+
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+@ConfigurationProperties(prefix = "app.pagination")
+public record PaginationProperties(ApproximateCount approximateCount) {
+
+    public record ApproximateCount(Duration ttl, int maxEntries) {
+    }
+
+}
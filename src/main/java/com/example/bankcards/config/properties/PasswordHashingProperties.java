@@ -0,0 +1,10 @@
+package com.example.bankcards.config.properties;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+// strength is the bcrypt cost for new hashes; a stored hash with another cost is re-encoded on the next login
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+public record PasswordHashingProperties(int strength, int threads, int queueCapacity) {
+}
@@ -0,0 +1,38 @@
+package com.example.bankcards.config.properties;
+
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.example.bankcards.service.transfer.TransferConcurrencyMode;
+
+
+@ConfigurationProperties(prefix = "app.transfer")
+public record TransferProperties(Concurrency concurrency, Lanes lanes, Idempotency idempotency, Ledger ledger,
+        Async async, Partitions partitions, Archive archive) {
+
+    public record Concurrency(TransferConcurrencyMode mode, int maxAttempts) {
+    }
+
+    public record Lanes(boolean enabled, int count) {
+    }
+
+    public record Idempotency(Duration ttl, int maxEntries, int stripes) {
+    }
+
+    public record Ledger(Duration compactionInterval, int compactionBatchSize) {
+    }
+
+    public record Async(int queueCapacity, int workers, int maxBatchSize, Duration statusTtl, int maxRetainedStatuses) {
+    }
+
+    // retentionMonths = 0 keeps every partition attached
+    public record Partitions(String cron, int monthsAhead, int retentionMonths) {
+    }
+
+    // afterMonths = 0 disables archiving
+    public record Archive(String cron, int afterMonths, int chunkSize, String directory) {
+    }
+
+}
@@ -11,9 +11,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.bankcards.dto.auth.request.LoginRequest;
+import com.example.bankcards.dto.auth.request.RefreshTokenRequest;
+import com.example.bankcards.dto.auth.request.RevokeTokenRequest;
 import com.example.bankcards.dto.auth.response.LoginResponse;
 import com.example.bankcards.security.CustomUserDetails;
 import com.example.bankcards.security.jwt.JwtTokenProvider;
+import com.example.bankcards.service.RefreshTokenService;
+import com.example.bankcards.service.TokenRevocationService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -33,6 +37,8 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
 
     @PostMapping("/login")
     @Operation(summary = "Авторизация пользователя", description = "Выполняет вход пользователя в систему")
@@ -46,7 +52,32 @@ public class AuthController {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         String jwt = tokenProvider.generateToken(userDetails);
 
-        return ResponseEntity.ok(LoginResponse.of(jwt, userDetails.getUserId(), tokenProvider.getExpirationTime(jwt)));
+        return ResponseEntity.ok(
+                LoginResponse.of(
+                        jwt,
+                        refreshTokenService.issue(userDetails.getUserId()),
+                        userDetails.getUserId(),
+                        tokenProvider.getExpirationTime(jwt)));
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Обновление токена", description = "Выдаёт новый JWT токен и новый refresh токен без проверки пароля; переданный refresh токен становится недействительным")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Токены обновлены", content = @Content(schema = @Schema(implementation = LoginResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Недействительный, истёкший или уже использованный refresh токен") })
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody final RefreshTokenRequest request) {
+        return ResponseEntity.ok(refreshTokenService.refresh(request.refreshToken()));
+    }
+
+    @PostMapping("/revoke")
+    @Operation(summary = "Отзыв токена", description = "Делает токен недействительным до истечения его срока и удаляет refresh-токены пользователя (выход из системы)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Токен отозван"),
+            @ApiResponse(responseCode = "401", description = "Недействительный токен") })
+    public ResponseEntity<Void> revoke(@Valid @RequestBody final RevokeTokenRequest request) {
+        tokenRevocationService.revoke(request.token());
+
+        return ResponseEntity.noContent().build();
     }
 
 }
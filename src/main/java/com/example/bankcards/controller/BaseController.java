@@ -1,6 +1,8 @@
 package com.example.bankcards.controller;
 
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 
 import com.example.bankcards.exception.UserAuthenticationException;
@@ -17,4 +19,9 @@ public abstract class BaseController {
         return userDetails.getUserId();
     }
 
+    // Only count=exact and count=approx listings come back as a Page; count=none leaves the total out
+    protected Long getTotalCount(final Slice<?> slice) {
+        return slice instanceof Page<?> page ? page.getTotalElements() : null;
+    }
+
 }
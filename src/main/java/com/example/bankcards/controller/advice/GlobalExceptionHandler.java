@@ -1,12 +1,12 @@
 package com.example.bankcards.controller.advice;
 
 
-import java.nio.file.AccessDeniedException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -16,11 +16,18 @@ import org.springframework.web.context.request.WebRequest;
 
 import com.example.bankcards.dto.error.DTOValidationErrorResponse;
 import com.example.bankcards.dto.error.ErrorResponse;
+import com.example.bankcards.exception.AccessDeniedException;
 import com.example.bankcards.exception.BusinessRuleViolationException;
 import com.example.bankcards.exception.CardEncryptionException;
+import com.example.bankcards.exception.ConcurrentUpdateException;
 import com.example.bankcards.exception.DomainValidationException;
+import com.example.bankcards.exception.PasswordHashingBusyException;
 import com.example.bankcards.exception.ResourceAlreadyExistsException;
 import com.example.bankcards.exception.ResourceNotFoundException;
+import com.example.bankcards.exception.TransferQueueFullException;
+import com.example.bankcards.exception.UserAuthenticationException;
+import com.example.bankcards.util.constant.TransferConstants;
+import com.example.bankcards.util.constant.UserConstants;
 
 
 @RestControllerAdvice
@@ -43,6 +50,19 @@ public final class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
     }
 
+    @ExceptionHandler(UserAuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleUserAuthenticationExceptions(
+            final UserAuthenticationException exception,
+            final WebRequest request) {
+        ErrorResponse response = ErrorResponse.of(
+                "AUTHENTICATION_ERROR",
+                exception.getMessage(),
+                getPath(request),
+                HttpStatus.UNAUTHORIZED.value());
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED.value()).body(response);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<DTOValidationErrorResponse> handleDTOValidationExceptions(
             final MethodArgumentNotValidException exception,
@@ -104,6 +124,49 @@ public final class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT.value()).body(response);
     }
 
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentUpdateExceptions(
+            final ConcurrentUpdateException exception,
+            final WebRequest request) {
+        ErrorResponse response = ErrorResponse.of(
+                "CONCURRENT_UPDATE",
+                exception.getMessage(),
+                getPath(request),
+                HttpStatus.CONFLICT.value());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT.value()).body(response);
+    }
+
+    @ExceptionHandler(TransferQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleTransferQueueFullExceptions(
+            final TransferQueueFullException exception,
+            final WebRequest request) {
+        ErrorResponse response = ErrorResponse.of(
+                "TOO_MANY_REQUESTS",
+                exception.getMessage(),
+                getPath(request),
+                HttpStatus.TOO_MANY_REQUESTS.value());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(TransferConstants.Async.RETRY_AFTER_SECONDS))
+                .body(response);
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingBusyExceptions(
+            final PasswordHashingBusyException exception,
+            final WebRequest request) {
+        ErrorResponse response = ErrorResponse.of(
+                "SERVICE_UNAVAILABLE",
+                exception.getMessage(),
+                getPath(request),
+                HttpStatus.SERVICE_UNAVAILABLE.value());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(UserConstants.Password.HASHING_RETRY_AFTER_SECONDS))
+                .body(response);
+    }
+
     @ExceptionHandler(CardEncryptionException.class)
     public ResponseEntity<ErrorResponse> handleCardEncryptionException(
             final CardEncryptionException exception,
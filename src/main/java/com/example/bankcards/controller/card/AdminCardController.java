@@ -3,9 +3,9 @@ package com.example.bankcards.controller.card;
 
 import java.math.BigDecimal;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -27,6 +27,8 @@ import com.example.bankcards.dto.card.response.CardResponse;
 import com.example.bankcards.model.card.Card;
 import com.example.bankcards.model.card.CardStatus;
 import com.example.bankcards.service.CardService;
+import com.example.bankcards.service.CountMode;
+import com.example.bankcards.util.KeysetCursors;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -77,6 +79,8 @@ public final class AdminCardController extends BaseController {
             @RequestParam(required = false) String status,
             @RequestParam(required = false) BigDecimal moreThan,
             @RequestParam(required = false) BigDecimal lessThan,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count,
             final Authentication authentication) {
         Long adminId = getCurrentUserId(authentication);
         log.info(
@@ -88,23 +92,53 @@ public final class AdminCardController extends BaseController {
                 moreThan,
                 lessThan);
 
+        CardStatus cardStatus = status == null ? null : CardStatus.valueOf(status);
+
+        if (cursor != null) {
+            Sort.Order order = new Sort.Order(Sort.Direction.fromString(sortDirection), sortBy);
+            Slice<CardResponse> cardSlice = cardService.scrollCardsForAdmin(
+                    adminId,
+                    ownerId,
+                    cardStatus,
+                    moreThan,
+                    lessThan,
+                    cursor,
+                    order,
+                    size);
+            String nextCursor = KeysetCursors.next(cardSlice, order, CardResponse::id, CardResponse::createdAt);
+
+            CardListResponse response = new CardListResponse(
+                    cardSlice.getContent(),
+                    null,
+                    null,
+                    size,
+                    cardSlice.hasNext(),
+                    CountMode.NONE.value(),
+                    nextCursor);
+
+            return ResponseEntity.ok(response);
+        }
+
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
+        CountMode countMode = CountMode.of(count);
 
-        CardStatus cardStatus = status == null ? null : CardStatus.valueOf(status);
-
-        Page<Card> cardPage = cardService.getAllCardsForAdmin(
+        Slice<CardResponse> cardPage = cardService.getAllCardsForAdmin(
                 adminId,
                 ownerId,
                 cardStatus,
                 moreThan,
                 lessThan,
-                pageable);
+                pageable,
+                countMode);
         CardListResponse response = new CardListResponse(
-                cardPage.getContent().stream().map(CardResponse::of).toList(),
-                cardPage.getTotalElements(),
+                cardPage.getContent(),
+                getTotalCount(cardPage),
                 page,
-                size);
+                size,
+                cardPage.hasNext(),
+                countMode.value(),
+                null);
 
         return ResponseEntity.ok(response);
     }
@@ -3,9 +3,9 @@ package com.example.bankcards.controller.card;
 
 import java.math.BigDecimal;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -21,6 +21,7 @@ import com.example.bankcards.dto.card.response.CardResponse;
 import com.example.bankcards.model.card.Card;
 import com.example.bankcards.model.card.CardStatus;
 import com.example.bankcards.service.CardService;
+import com.example.bankcards.service.CountMode;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -56,6 +57,7 @@ public final class UserCardController extends BaseController {
             @RequestParam(required = false) String status,
             @RequestParam(required = false) BigDecimal moreThan,
             @RequestParam(required = false) BigDecimal lessThan,
+            @RequestParam(defaultValue = "exact") String count,
             final Authentication authentication) {
         Long ownerId = getCurrentUserId(authentication);
         log.info(
@@ -68,15 +70,25 @@ public final class UserCardController extends BaseController {
 
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
+        CountMode countMode = CountMode.of(count);
 
         CardStatus cardStatus = status == null ? null : CardStatus.valueOf(status);
 
-        Page<Card> cardPage = cardService.getAllCardsForOwner(ownerId, cardStatus, moreThan, lessThan, pageable);
+        Slice<CardResponse> cardPage = cardService.getAllCardsForOwner(
+                ownerId,
+                cardStatus,
+                moreThan,
+                lessThan,
+                pageable,
+                countMode);
         CardListResponse response = new CardListResponse(
-                cardPage.getContent().stream().map(CardResponse::of).toList(),
-                cardPage.getTotalElements(),
+                cardPage.getContent(),
+                getTotalCount(cardPage),
                 page,
-                size);
+                size,
+                cardPage.hasNext(),
+                countMode.value(),
+                null);
 
         return ResponseEntity.ok(response);
     }
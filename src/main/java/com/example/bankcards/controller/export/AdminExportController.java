@@ -0,0 +1,125 @@
+package com.example.bankcards.controller.export;
+
+
+import java.math.BigDecimal;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.bankcards.controller.BaseController;
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.service.ExportService;
+import com.example.bankcards.service.export.Export;
+import com.example.bankcards.service.export.ExportFormat;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/export")
+@RequiredArgsConstructor
+public final class AdminExportController extends BaseController {
+
+    private static String ROOT = "/api/admin/export";
+
+    private static final String GZIP = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ExportService exportService;
+
+    // ---------- Helper methods ---------- //
+
+    private static ResponseEntity<StreamingResponseBody> stream(
+            final String name,
+            final ExportFormat format,
+            final String acceptEncoding,
+            final Export export) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP);
+        String filename = name + "." + format.getExtension();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(
+                MediaType.parseMediaType(format.getMediaType())).header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString()).header(
+                                HttpHeaders.VARY,
+                                HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip)
+            return response.body(out -> export.writeTo(out));
+
+        return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(out -> {
+            GZIPOutputStream gzipOut = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+            export.writeTo(gzipOut);
+            gzipOut.finish();
+        });
+    }
+
+    // ------------------------------------ //
+
+    @GetMapping("/cards")
+    public ResponseEntity<StreamingResponseBody> exportCards(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) BigDecimal moreThan,
+            @RequestParam(required = false) BigDecimal lessThan,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            final Authentication authentication) {
+        Long adminId = getCurrentUserId(authentication);
+        log.info(
+                "GET(id={}) - {}/cards - format={}, filters: owner_id={}, status={}, more_than={}, less_than={}",
+                adminId,
+                ROOT,
+                format,
+                ownerId,
+                status,
+                moreThan,
+                lessThan);
+
+        ExportFormat exportFormat = ExportFormat.of(format);
+        CardStatus cardStatus = status == null ? null : CardStatus.valueOf(status);
+        Export export = exportService.exportCards(adminId, ownerId, cardStatus, moreThan, lessThan, exportFormat);
+
+        return stream("cards", exportFormat, acceptEncoding, export);
+    }
+
+    @GetMapping("/transfers")
+    public ResponseEntity<StreamingResponseBody> exportTransfers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            final Authentication authentication) {
+        Long adminId = getCurrentUserId(authentication);
+        log.info("GET(id={}) - {}/transfers - format={}", adminId, ROOT, format);
+
+        ExportFormat exportFormat = ExportFormat.of(format);
+        Export export = exportService.exportTransfers(adminId, exportFormat);
+
+        return stream("transfers", exportFormat, acceptEncoding, export);
+    }
+
+    @GetMapping("/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            final Authentication authentication) {
+        Long adminId = getCurrentUserId(authentication);
+        log.info("GET(id={}) - {}/users - format={}", adminId, ROOT, format);
+
+        ExportFormat exportFormat = ExportFormat.of(format);
+        Export export = exportService.exportUsers(adminId, exportFormat);
+
+        return stream("users", exportFormat, acceptEncoding, export);
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.example.bankcards.controller.statistics;
+
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.bankcards.controller.BaseController;
+import com.example.bankcards.dto.statistics.response.SpendingRebuildResponse;
+import com.example.bankcards.dto.statistics.response.SpendingResponse;
+import com.example.bankcards.service.SpendingSummaryService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/statistics")
+@RequiredArgsConstructor
+public final class AdminStatisticsController extends BaseController {
+
+    private static String ROOT = "/api/admin/statistics";
+
+    private final SpendingSummaryService spendingSummaryService;
+
+    @GetMapping("/spending")
+    public ResponseEntity<SpendingResponse> getSpending(
+            @RequestParam Long ownerId,
+            @RequestParam(required = false) String month,
+            final Authentication authentication) {
+        Long adminId = getCurrentUserId(authentication);
+        log.info("GET(id={}) - {}/spending?ownerId={}", adminId, ROOT, ownerId);
+
+        SpendingResponse response = spendingSummaryService.getMonthlySpendingForAdmin(adminId, ownerId, month);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/spending/rebuild")
+    public ResponseEntity<SpendingRebuildResponse> rebuildSpending(final Authentication authentication) {
+        Long adminId = getCurrentUserId(authentication);
+        log.info("POST(id={}) - {}/spending/rebuild", adminId, ROOT);
+
+        int summaries = spendingSummaryService.rebuildSummaries(adminId);
+        SpendingRebuildResponse response = new SpendingRebuildResponse(summaries);
+
+        return ResponseEntity.ok(response);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.example.bankcards.controller.statistics;
+
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.bankcards.controller.BaseController;
+import com.example.bankcards.dto.statistics.response.SpendingResponse;
+import com.example.bankcards.service.SpendingSummaryService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@RestController
+@RequestMapping("/api/statistics")
+@RequiredArgsConstructor
+public final class UserStatisticsController extends BaseController {
+
+    private static String ROOT = "/api/statistics";
+
+    private final SpendingSummaryService spendingSummaryService;
+
+    @GetMapping("/spending")
+    public ResponseEntity<SpendingResponse> getSpending(
+            @RequestParam(required = false) String month,
+            final Authentication authentication) {
+        Long ownerId = getCurrentUserId(authentication);
+        log.info("GET(id={}) - {}/spending", ownerId, ROOT);
+
+        SpendingResponse response = spendingSummaryService.getMonthlySpendingForOwner(ownerId, month);
+
+        return ResponseEntity.ok(response);
+    }
+
+}
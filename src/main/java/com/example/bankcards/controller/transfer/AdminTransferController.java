@@ -1,22 +1,28 @@
 package com.example.bankcards.controller.transfer;
 
 
-import org.springframework.data.domain.Page;
+import java.util.List;
+
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.bankcards.controller.BaseController;
+import com.example.bankcards.dto.transfer.response.TransferCategoryResponse;
 import com.example.bankcards.dto.transfer.response.TransferListResponse;
 import com.example.bankcards.dto.transfer.response.TransferResponse;
 import com.example.bankcards.model.transfer.Transfer;
+import com.example.bankcards.service.CountMode;
+import com.example.bankcards.service.TransferCategoryService;
 import com.example.bankcards.service.TransferService;
 
 import lombok.RequiredArgsConstructor;
@@ -32,6 +38,7 @@ public final class AdminTransferController extends BaseController {
     private static String ROOT = "/api/admin/transfers";
 
     private final TransferService transferService;
+    private final TransferCategoryService categoryService;
 
     @GetMapping("/{transferId}")
     public ResponseEntity<TransferResponse> getTransfer(
@@ -52,19 +59,35 @@ public final class AdminTransferController extends BaseController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(defaultValue = "exact") String count,
             final Authentication authentication) {
         Long adminId = getCurrentUserId(authentication);
         log.info("GET(id={}) - {}", adminId, ROOT);
 
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
+        CountMode countMode = CountMode.of(count);
 
-        Page<Transfer> transferPage = transferService.getAllTransfersForAdmin(adminId, pageable);
+        Slice<TransferResponse> transferPage = transferService.getAllTransfersForAdmin(adminId, pageable, countMode);
         TransferListResponse response = new TransferListResponse(
-                transferPage.getContent().stream().map(TransferResponse::of).toList(),
-                transferPage.getTotalElements(),
+                transferPage.getContent(),
+                getTotalCount(transferPage),
                 page,
-                size);
+                size,
+                transferPage.hasNext(),
+                countMode.value(),
+                null);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/categories/refresh")
+    public ResponseEntity<List<TransferCategoryResponse>> refreshCategories(final Authentication authentication) {
+        Long adminId = getCurrentUserId(authentication);
+        log.info("POST(id={}) - {}/categories/refresh", adminId, ROOT);
+
+        List<TransferCategoryResponse> response = categoryService.refreshCategories(adminId).stream().map(
+                TransferCategoryResponse::of).toList();
 
         return ResponseEntity.ok(response);
     }
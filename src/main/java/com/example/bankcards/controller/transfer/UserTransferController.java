@@ -1,9 +1,13 @@
 package com.example.bankcards.controller.transfer;
 
 
-import org.springframework.data.domain.Page;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,16 +16,27 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.bankcards.controller.BaseController;
+import com.example.bankcards.dto.transfer.request.TransferBatchRequest;
 import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.dto.transfer.response.TransferBatchResponse;
 import com.example.bankcards.dto.transfer.response.TransferListResponse;
 import com.example.bankcards.dto.transfer.response.TransferResponse;
-import com.example.bankcards.model.transfer.Transfer;
+import com.example.bankcards.dto.transfer.response.TransferSubmissionResponse;
+import com.example.bankcards.service.CountMode;
+import com.example.bankcards.service.TransferBatchService;
 import com.example.bankcards.service.TransferService;
+import com.example.bankcards.service.transfer.TransferBatchResult;
+import com.example.bankcards.service.transfer.TransferIdempotencyStore;
+import com.example.bankcards.service.transfer.TransferSubmission;
+import com.example.bankcards.service.transfer.TransferSubmissionQueue;
+import com.example.bankcards.util.KeysetCursors;
+import com.example.bankcards.util.constant.TransferConstants;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -37,20 +52,74 @@ public final class UserTransferController extends BaseController {
     private static String ROOT = "/api/transfers";
 
     private final TransferService transferService;
+    private final TransferBatchService transferBatchService;
+    private final TransferIdempotencyStore idempotencyStore;
+    private final TransferSubmissionQueue submissionQueue;
 
     @PostMapping
     public ResponseEntity<TransferResponse> createTransfer(
             @Valid @RequestBody final TransferRequest request,
+            @RequestHeader(name = TransferConstants.IdempotencyKey.HEADER, required = false) final String idempotencyKey,
             final Authentication authentication) {
         Long ownerId = getCurrentUserId(authentication);
         log.info("POST(id={}) - {}", ownerId, ROOT);
 
-        Transfer transfer = transferService.transferBetweenOwnCards(ownerId, request);
-        TransferResponse response = TransferResponse.of(transfer);
+        TransferResponse response = idempotencyKey == null
+                ? TransferResponse.of(transferService.transferBetweenOwnCards(ownerId, request))
+                : idempotencyStore.execute(
+                        ownerId,
+                        idempotencyKey,
+                        request,
+                        () -> TransferResponse.of(
+                                transferService.transferBetweenOwnCards(ownerId, request, idempotencyKey)));
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/async")
+    public ResponseEntity<TransferSubmissionResponse> submitTransfer(
+            @Valid @RequestBody final TransferRequest request,
+            @RequestHeader(name = TransferConstants.IdempotencyKey.HEADER, required = false) final String idempotencyKey,
+            final Authentication authentication) {
+        Long ownerId = getCurrentUserId(authentication);
+        log.info("POST(id={}) - {}/async", ownerId, ROOT);
+
+        TransferSubmission submission = submissionQueue.submit(ownerId, request, idempotencyKey);
+        TransferSubmissionResponse response = TransferSubmissionResponse.of(submission);
+
+        return ResponseEntity.accepted()
+                .location(URI.create(String.format("%s/%s/status", ROOT, submission.getId())))
+                .body(response);
+    }
+
+    @GetMapping("/{submissionId}/status")
+    public ResponseEntity<TransferSubmissionResponse> getTransferSubmissionStatus(
+            @PathVariable final UUID submissionId,
+            final Authentication authentication) {
+        Long ownerId = getCurrentUserId(authentication);
+        log.info("GET(id={}) - {}/{}/status", ownerId, ROOT, submissionId);
+
+        TransferSubmission submission = submissionQueue.getSubmissionForOwner(ownerId, submissionId);
+        TransferSubmissionResponse response = TransferSubmissionResponse.of(submission);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<TransferBatchResponse> createTransferBatch(
+            @Valid @RequestBody final TransferBatchRequest request,
+            final Authentication authentication) {
+        Long ownerId = getCurrentUserId(authentication);
+        log.info("POST(id={}) - {}/batch", ownerId, ROOT);
+
+        List<TransferBatchResult> results = transferBatchService.transferBatchBetweenOwnCards(
+                ownerId,
+                request.transfers());
+        TransferBatchResponse response = TransferBatchResponse.of(results);
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{transferId}")
     public ResponseEntity<TransferResponse> getTransfer(
             @PathVariable final Long transferId,
@@ -58,8 +127,7 @@ public final class UserTransferController extends BaseController {
         Long ownerId = getCurrentUserId(authentication);
         log.info("GET(id={}) - {}/{}", ownerId, ROOT, transferId);
 
-        Transfer retrievedTransfer = transferService.getTransferByIdForOwner(ownerId, transferId);
-        TransferResponse response = TransferResponse.of(retrievedTransfer);
+        TransferResponse response = transferService.getTransferByIdForOwner(ownerId, transferId);
 
         return ResponseEntity.ok(response);
     }
@@ -70,19 +138,50 @@ public final class UserTransferController extends BaseController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count,
             final Authentication authentication) {
         Long ownerId = getCurrentUserId(authentication);
         log.info("GET(id={}) - {}", ownerId, ROOT);
 
+        if (cursor != null) {
+            Sort.Order order = new Sort.Order(Sort.Direction.fromString(sortDirection), sortBy);
+            Slice<TransferResponse> transferSlice = transferService.scrollTransfersForOwner(
+                    ownerId,
+                    cursor,
+                    order,
+                    size);
+            String nextCursor = KeysetCursors.next(
+                    transferSlice,
+                    order,
+                    TransferResponse::id,
+                    TransferResponse::timestamp);
+
+            TransferListResponse response = new TransferListResponse(
+                    transferSlice.getContent(),
+                    null,
+                    null,
+                    size,
+                    transferSlice.hasNext(),
+                    CountMode.NONE.value(),
+                    nextCursor);
+
+            return ResponseEntity.ok(response);
+        }
+
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
+        CountMode countMode = CountMode.of(count);
 
-        Page<Transfer> transferPage = transferService.getAllTransfersForOwner(ownerId, pageable);
+        Slice<TransferResponse> transferPage = transferService.getAllTransfersForOwner(ownerId, pageable, countMode);
         TransferListResponse response = new TransferListResponse(
-                transferPage.getContent().stream().map(TransferResponse::of).toList(),
-                transferPage.getTotalElements(),
+                transferPage.getContent(),
+                getTotalCount(transferPage),
                 page,
-                size);
+                size,
+                transferPage.hasNext(),
+                countMode.value(),
+                null);
 
         return ResponseEntity.ok(response);
     }
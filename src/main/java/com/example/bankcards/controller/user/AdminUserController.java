@@ -1,9 +1,9 @@
 package com.example.bankcards.controller.user;
 
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,7 +22,9 @@ import com.example.bankcards.dto.user.request.UserCreateRequest;
 import com.example.bankcards.dto.user.response.UserListResponse;
 import com.example.bankcards.dto.user.response.UserResponse;
 import com.example.bankcards.model.user.User;
+import com.example.bankcards.service.CountMode;
 import com.example.bankcards.service.UserService;
+import com.example.bankcards.util.KeysetCursors;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -69,19 +71,42 @@ public final class AdminUserController extends BaseController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count,
             final Authentication authentication) {
         Long adminId = getCurrentUserId(authentication);
         log.info("GET(id={}) - {}", adminId, ROOT);
 
+        if (cursor != null) {
+            Sort.Order order = new Sort.Order(Sort.Direction.fromString(sortDirection), sortBy);
+            Slice<UserResponse> userSlice = userService.scrollUsers(adminId, cursor, order, size).map(UserResponse::of);
+            String nextCursor = KeysetCursors.next(userSlice, order, UserResponse::id, UserResponse::createdAt);
+
+            UserListResponse response = new UserListResponse(
+                    userSlice.getContent(),
+                    null,
+                    null,
+                    size,
+                    userSlice.hasNext(),
+                    CountMode.NONE.value(),
+                    nextCursor);
+
+            return ResponseEntity.ok(response);
+        }
+
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
+        CountMode countMode = CountMode.of(count);
 
-        Page<User> userPage = userService.getAllUsers(adminId, pageable);
+        Slice<User> userPage = userService.getAllUsers(adminId, pageable, countMode);
         UserListResponse response = new UserListResponse(
                 userPage.getContent().stream().map(UserResponse::of).toList(),
-                userPage.getTotalElements(),
+                getTotalCount(userPage),
                 page,
-                size);
+                size,
+                userPage.hasNext(),
+                countMode.value(),
+                null);
 
         return ResponseEntity.ok(response);
     }
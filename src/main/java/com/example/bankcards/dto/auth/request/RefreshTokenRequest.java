@@ -0,0 +1,11 @@
+package com.example.bankcards.dto.auth.request;
+
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+
+@Schema(description = "Запрос на обновление JWT токена")
+public record RefreshTokenRequest(
+        @Schema(description = "Refresh токен", example = "q3Xl0b3sT0W1c2VkLXRva2Vu...") @NotBlank(message = "Refresh token is required") String refreshToken) {
+}
@@ -0,0 +1,11 @@
+package com.example.bankcards.dto.auth.request;
+
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+
+@Schema(description = "Запрос на отзыв JWT токена")
+public record RevokeTokenRequest(
+        @Schema(description = "JWT токен", example = "eyJhbGciOiJIUzI1NiIs...") @NotBlank(message = "Token is required") String token) {
+}
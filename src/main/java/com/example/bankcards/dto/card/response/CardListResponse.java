@@ -4,6 +4,13 @@ package com.example.bankcards.dto.card.response;
 import java.util.List;
 
 
-public record CardListResponse(List<CardResponse> cards, Long totalCount, int page, int size) {
+public record CardListResponse(
+        List<CardResponse> cards,
+        Long totalCount,
+        Integer page,
+        int size,
+        boolean hasNext,
+        String countMode,
+        String nextCursor) {
 
 }
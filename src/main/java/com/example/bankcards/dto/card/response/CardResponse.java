@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 import com.example.bankcards.model.card.Card;
+import com.example.bankcards.repository.projection.CardSummary;
 import com.example.bankcards.util.constant.CardConstants;
 
 
@@ -34,4 +35,16 @@ public record CardResponse(
                 nonNullCard.getCreationTime());
     }
 
+    public static CardResponse of(final CardSummary summary) {
+        CardSummary nonNullSummary = Objects.requireNonNull(summary, CardConstants.DTO_REQUIRED_MESSAGE);
+
+        return new CardResponse(
+                nonNullSummary.id(),
+                nonNullSummary.last4(),
+                nonNullSummary.status().toString(),
+                nonNullSummary.expiryDate().getValue(),
+                nonNullSummary.currentBalance(),
+                nonNullSummary.createdAt());
+    }
+
 }
@@ -0,0 +1,8 @@
+package com.example.bankcards.dto.statistics.response;
+
+
+import java.math.BigDecimal;
+
+
+public record CategorySpendingResponse(Long categoryId, String category, long transferCount, BigDecimal totalAmount) {
+}
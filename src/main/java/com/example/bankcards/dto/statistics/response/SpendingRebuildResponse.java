@@ -0,0 +1,5 @@
+package com.example.bankcards.dto.statistics.response;
+
+
+public record SpendingRebuildResponse(int summaries) {
+}
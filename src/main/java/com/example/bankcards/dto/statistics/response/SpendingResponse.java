@@ -0,0 +1,9 @@
+package com.example.bankcards.dto.statistics.response;
+
+
+import java.util.List;
+
+
+// A transfer with several categories is counted under each of them, uncategorized transfers are not counted
+public record SpendingResponse(Long ownerId, String month, List<CategorySpendingResponse> categories) {
+}
@@ -0,0 +1,12 @@
+package com.example.bankcards.dto.transfer.request;
+
+
+import java.util.List;
+
+import com.example.bankcards.dto.validation.transfer.ValidTransferBatch;
+
+import jakarta.validation.Valid;
+
+
+public record TransferBatchRequest(@ValidTransferBatch List<@Valid TransferRequest> transfers) {
+}
@@ -0,0 +1,16 @@
+package com.example.bankcards.dto.transfer.response;
+
+
+import com.example.bankcards.service.transfer.TransferBatchResult;
+
+
+public record TransferBatchItemResponse(int index, boolean success, TransferResponse transfer, String error) {
+
+    public static TransferBatchItemResponse of(final TransferBatchResult result) {
+        if (result.isSuccess())
+            return new TransferBatchItemResponse(result.index(), true, TransferResponse.of(result.transfer()), null);
+
+        return new TransferBatchItemResponse(result.index(), false, null, result.errorMessage());
+    }
+
+}
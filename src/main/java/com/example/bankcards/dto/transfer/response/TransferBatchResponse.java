@@ -0,0 +1,18 @@
+package com.example.bankcards.dto.transfer.response;
+
+
+import java.util.List;
+
+import com.example.bankcards.service.transfer.TransferBatchResult;
+
+
+public record TransferBatchResponse(List<TransferBatchItemResponse> results, int succeeded, int failed) {
+
+    public static TransferBatchResponse of(final List<TransferBatchResult> results) {
+        List<TransferBatchItemResponse> items = results.stream().map(TransferBatchItemResponse::of).toList();
+        int succeeded = (int) items.stream().filter(TransferBatchItemResponse::success).count();
+
+        return new TransferBatchResponse(items, succeeded, items.size() - succeeded);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.example.bankcards.dto.transfer.response;
+
+
+import java.util.Objects;
+
+import com.example.bankcards.model.transfer.category.TransferCategory;
+import com.example.bankcards.util.constant.TransferConstants;
+
+
+public record TransferCategoryResponse(Long id, String name) {
+
+    public static TransferCategoryResponse of(final TransferCategory category) {
+        TransferCategory nonNullCategory = Objects.requireNonNull(category, TransferConstants.DTO_REQUIRED_MESSAGE);
+
+        return new TransferCategoryResponse(nonNullCategory.getId(), nonNullCategory.getName().toString());
+    }
+
+}
@@ -4,5 +4,12 @@ package com.example.bankcards.dto.transfer.response;
 import java.util.List;
 
 
-public record TransferListResponse(List<TransferResponse> transfers, Long totalCount, int page, int size) {
+public record TransferListResponse(
+        List<TransferResponse> transfers,
+        Long totalCount,
+        Integer page,
+        int size,
+        boolean hasNext,
+        String countMode,
+        String nextCursor) {
 }
@@ -8,6 +8,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.example.bankcards.model.transfer.Transfer;
+import com.example.bankcards.repository.projection.ArchivedTransfer;
+import com.example.bankcards.repository.projection.TransferSummary;
 import com.example.bankcards.util.constant.TransferConstants;
 
 
@@ -37,4 +39,29 @@ public record TransferResponse(
                 transfer.getCreationTime());
     }
 
+    public static TransferResponse of(final TransferSummary summary, final Set<String> categories) {
+        TransferSummary nonNullSummary = Objects.requireNonNull(summary, TransferConstants.DTO_REQUIRED_MESSAGE);
+        Set<String> nonNullCategories = Objects.requireNonNull(categories, TransferConstants.DTO_REQUIRED_MESSAGE);
+
+        return new TransferResponse(
+                nonNullSummary.id(),
+                nonNullSummary.fromCardLast4(),
+                nonNullSummary.toCardLast4(),
+                nonNullSummary.amount().getValue(),
+                nonNullCategories,
+                nonNullSummary.createdAt());
+    }
+
+    public static TransferResponse of(final ArchivedTransfer transfer) {
+        ArchivedTransfer nonNullTransfer = Objects.requireNonNull(transfer, TransferConstants.DTO_REQUIRED_MESSAGE);
+
+        return new TransferResponse(
+                nonNullTransfer.id(),
+                nonNullTransfer.fromCardLast4(),
+                nonNullTransfer.toCardLast4(),
+                nonNullTransfer.amount(),
+                nonNullTransfer.categories(),
+                nonNullTransfer.createdAt());
+    }
+
 }
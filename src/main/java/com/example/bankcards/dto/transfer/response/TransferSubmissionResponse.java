@@ -0,0 +1,33 @@
+package com.example.bankcards.dto.transfer.response;
+
+
+import java.util.Objects;
+import java.util.UUID;
+
+import com.example.bankcards.service.transfer.TransferSubmission;
+import com.example.bankcards.service.transfer.TransferSubmissionStatus;
+import com.example.bankcards.util.constant.TransferConstants;
+
+
+public record TransferSubmissionResponse(
+        UUID id,
+        TransferSubmissionStatus status,
+        TransferResponse transfer,
+        String error) {
+
+    public static TransferSubmissionResponse of(final TransferSubmission submission) {
+        TransferSubmission nonNullSubmission = Objects.requireNonNull(
+                submission,
+                TransferConstants.DTO_REQUIRED_MESSAGE);
+
+        // Status is read first: a COMPLETED or FAILED status guarantees the outcome fields are already set
+        TransferSubmissionStatus status = nonNullSubmission.getStatus();
+
+        return new TransferSubmissionResponse(
+                nonNullSubmission.getId(),
+                status,
+                status == TransferSubmissionStatus.COMPLETED ? nonNullSubmission.getTransfer() : null,
+                status == TransferSubmissionStatus.FAILED ? nonNullSubmission.getErrorMessage() : null);
+    }
+
+}
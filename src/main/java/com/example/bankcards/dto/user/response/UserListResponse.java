@@ -4,5 +4,12 @@ package com.example.bankcards.dto.user.response;
 import java.util.List;
 
 
-public record UserListResponse(List<UserResponse> users, Long totalCount, int page, int size) {
+public record UserListResponse(
+        List<UserResponse> users,
+        Long totalCount,
+        Integer page,
+        int size,
+        boolean hasNext,
+        String countMode,
+        String nextCursor) {
 }
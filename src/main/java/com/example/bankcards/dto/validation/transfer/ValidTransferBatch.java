@@ -0,0 +1,21 @@
+package com.example.bankcards.dto.validation.transfer;
+
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.example.bankcards.util.constant.TransferConstants;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@NotEmpty(message = TransferConstants.Batch.DTO_REQUIRED_MESSAGE)
+@Size(max = TransferConstants.Batch.MAX_SIZE, message = TransferConstants.Batch.DTO_TOO_LARGE_MESSAGE)
+public @interface ValidTransferBatch {
+
+}
@@ -0,0 +1,10 @@
+package com.example.bankcards.exception;
+
+
+public final class ConcurrentUpdateException extends RuntimeException {
+
+    public ConcurrentUpdateException(final String message) {
+        super(message);
+    }
+
+}
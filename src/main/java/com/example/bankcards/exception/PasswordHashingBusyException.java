@@ -0,0 +1,10 @@
+package com.example.bankcards.exception;
+
+
+public final class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(final String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.example.bankcards.exception;
+
+
+public final class TransferQueueFullException extends RuntimeException {
+
+    public TransferQueueFullException(final String message) {
+        super(message);
+    }
+
+}
@@ -11,12 +11,16 @@ import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
 
 
+// Every entity declares its own @SequenceGenerator, ids are handed out in pooled blocks so inserts can be batched
 @MappedSuperclass
 public abstract class BaseEntity {
 
+    public static final String ID_GENERATOR = "id_sequence";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
     @Column(name = "id", nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_GENERATOR)
     protected Long id;
 
     @Column(name = "created_at", columnDefinition = "TIMESTAMP", nullable = false, updatable = false)
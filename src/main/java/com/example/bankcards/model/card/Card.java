@@ -4,11 +4,13 @@ package com.example.bankcards.model.card;
 import java.math.BigDecimal;
 import java.util.Objects;
 
+import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 import com.example.bankcards.exception.BusinessRuleViolationException;
 import com.example.bankcards.exception.DomainValidationException;
+import com.example.bankcards.model.BaseEntity;
 import com.example.bankcards.model.UpdatableEntity;
 import com.example.bankcards.model.card.converter.CardBalanceConverter;
 import com.example.bankcards.model.card.converter.CardExpiryDateConverter;
@@ -26,12 +28,15 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 
 
 @Entity
 @Table(name = "cards")
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, sequenceName = "cards_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
 public class Card extends UpdatableEntity {
 
     @Transient
@@ -60,6 +65,19 @@ public class Card extends UpdatableEntity {
     @Convert(converter = CardBalanceConverter.class)
     private CardBalance balance;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Ledger postings not yet folded into the balance snapshot by the compactor
+    @Formula("(SELECT COALESCE(SUM(le.amount), 0) FROM ledger_entries le " +
+            "WHERE le.card_id = id AND le.id > balance_snapshot_entry_id)")
+    private BigDecimal pendingLedgerAmount;
+
+    // Ledger postings made through this instance in the current transaction
+    @Transient
+    private BigDecimal unsavedLedgerAmount = BigDecimal.ZERO;
+
     public Card() {
     }
 
@@ -114,13 +132,33 @@ public class Card extends UpdatableEntity {
         if (amount == null)
             throw new DomainValidationException(generateNullMessageFor("amount"));
 
-        BigDecimal newBalance = this.balance.getValue().subtract(amount.getValue());
-        if (newBalance.compareTo(BigDecimal.ZERO) < 0)
-            throw new BusinessRuleViolationException("Insufficient funds");
+        checkSufficientFunds(amount);
 
+        BigDecimal newBalance = this.balance.getValue().subtract(amount.getValue());
         this.balance = new CardBalance(newBalance);
     }
 
+    public final void postCredit(final Amount amount) {
+        if (amount == null)
+            throw new DomainValidationException(generateNullMessageFor("amount"));
+
+        this.unsavedLedgerAmount = this.unsavedLedgerAmount.add(amount.getValue());
+    }
+
+    public final void postDebit(final Amount amount) {
+        if (amount == null)
+            throw new DomainValidationException(generateNullMessageFor("amount"));
+
+        checkSufficientFunds(amount);
+
+        this.unsavedLedgerAmount = this.unsavedLedgerAmount.subtract(amount.getValue());
+    }
+
+    private void checkSufficientFunds(final Amount amount) {
+        if (getBalance().getValue().compareTo(amount.getValue()) < 0)
+            throw new BusinessRuleViolationException("Insufficient funds");
+    }
+
     public final boolean isActive() {
         return this.status.equals(CardStatus.ACTIVE);
     }
@@ -158,7 +196,11 @@ public class Card extends UpdatableEntity {
     }
 
     public CardBalance getBalance() {
-        return this.balance;
+        BigDecimal pending = this.pendingLedgerAmount == null ? BigDecimal.ZERO : this.pendingLedgerAmount;
+        if (pending.signum() == 0 && this.unsavedLedgerAmount.signum() == 0)
+            return this.balance;
+
+        return new CardBalance(this.balance.getValue().add(pending).add(this.unsavedLedgerAmount));
     }
 
     @Override
@@ -169,7 +211,7 @@ public class Card extends UpdatableEntity {
                 this.owner.toString(),
                 this.expiryDate.toString(),
                 this.status.toString(),
-                this.balance.toString());
+                getBalance().toString());
     }
 
 }
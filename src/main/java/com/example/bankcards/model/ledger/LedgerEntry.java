@@ -0,0 +1,57 @@
+package com.example.bankcards.model.ledger;
+
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import com.example.bankcards.model.BaseEntity;
+import com.example.bankcards.model.card.Card;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+
+@Entity
+@Table(name = "ledger_entries")
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, sequenceName = "ledger_entries_seq", allocationSize = 1)
+public class LedgerEntry extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "card_id", nullable = false, updatable = false)
+    private Card card;
+
+    // Signed: debits are negative, credits are positive
+    @Column(name = "amount", nullable = false, updatable = false)
+    private BigDecimal amount;
+
+    public LedgerEntry() {
+    }
+
+    public static LedgerEntry of(final Card card, final BigDecimal amount) {
+        return new LedgerEntry(card, amount);
+    }
+
+    private LedgerEntry(final Card card, final BigDecimal amount) {
+        this.card = Objects.requireNonNull(card, generateNullMessageFor("card"));
+        this.amount = Objects.requireNonNull(amount, generateNullMessageFor("amount"));
+    }
+
+    public Card getCard() {
+        return this.card;
+    }
+
+    public BigDecimal getAmount() {
+        return this.amount;
+    }
+
+    @Override
+    public final String toString() {
+        return String.format("LedgerEntry{id=%d, card_id=%d, amount=%s}", this.id, this.card.getId(), this.amount);
+    }
+
+}
@@ -22,11 +22,13 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 
 @Entity
 @Table(name = "transfers")
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, sequenceName = "transfers_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
 public class Transfer extends BaseEntity {
 
     @ManyToOne
@@ -49,6 +51,9 @@ public class Transfer extends BaseEntity {
     @JoinTable(name = "transfer_categories", joinColumns = @JoinColumn(name = "transfer_id"), inverseJoinColumns = @JoinColumn(name = "category_id"))
     private Set<TransferCategory> categories = new HashSet<>();
 
+    @Column(name = "idempotency_key", updatable = false, length = TransferConstants.IdempotencyKey.MAX_LENGTH)
+    private String idempotencyKey;
+
     public Transfer() {
     }
 
@@ -58,8 +63,18 @@ public class Transfer extends BaseEntity {
             final Card toCard,
             final Amount amount,
             final Set<TransferCategory> categories) {
+        return of(owner, fromCard, toCard, amount, categories, null);
+    }
+
+    public static Transfer of(
+            final User owner,
+            final Card fromCard,
+            final Card toCard,
+            final Amount amount,
+            final Set<TransferCategory> categories,
+            final String idempotencyKey) {
         checkBusinessRules(owner, fromCard, toCard);
-        return new Transfer(owner, fromCard, toCard, amount, categories);
+        return new Transfer(owner, fromCard, toCard, amount, categories, idempotencyKey);
     }
 
     private Transfer(
@@ -67,12 +82,14 @@ public class Transfer extends BaseEntity {
             final Card fromCard,
             final Card toCard,
             final Amount amount,
-            final Set<TransferCategory> categories) {
+            final Set<TransferCategory> categories,
+            final String idempotencyKey) {
         this.owner = Objects.requireNonNull(owner, generateNullMessageFor("owner"));
         this.fromCard = Objects.requireNonNull(fromCard, generateNullMessageFor("from card"));
         this.toCard = Objects.requireNonNull(toCard, generateNullMessageFor("to card"));
         this.amount = Objects.requireNonNull(amount, generateNullMessageFor("amount"));
         this.categories = Objects.requireNonNull(categories, generateNullMessageFor("categories"));
+        this.idempotencyKey = idempotencyKey;
     }
 
     private static final void checkBusinessRules(final User owner, final Card fromCard, final Card toCard) {
@@ -100,6 +117,10 @@ public class Transfer extends BaseEntity {
         return Set.copyOf(this.categories);
     }
 
+    public String getIdempotencyKey() {
+        return this.idempotencyKey;
+    }
+
     @Override
     public String toString() {
         return String.format(
@@ -1,6 +1,8 @@
 package com.example.bankcards.model.transfer.category;
 
 
+import com.example.bankcards.model.BaseEntity;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -8,16 +10,18 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 
 @Entity
 @Table(name = "categories")
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, sequenceName = "categories_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
 public class TransferCategory {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = BaseEntity.ID_GENERATOR)
     protected Long id;
 
     @Column(name = "name", nullable = false, unique = true, updatable = false)
@@ -31,6 +35,10 @@ public class TransferCategory {
         this.name = java.util.Objects.requireNonNull(name);
     }
 
+    public Long getId() {
+        return this.id;
+    }
+
     public CategoryName getName() {
         return this.name;
     }
@@ -3,6 +3,7 @@ package com.example.bankcards.model.user;
 
 import java.util.Objects;
 
+import com.example.bankcards.model.BaseEntity;
 import com.example.bankcards.model.UpdatableEntity;
 import com.example.bankcards.model.user.converter.EmailConverter;
 import com.example.bankcards.model.user.converter.PasswordConverter;
@@ -14,11 +15,13 @@ import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 
 @Entity
 @Table(name = "users")
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, sequenceName = "users_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
 public class User extends UpdatableEntity {
 
     @Column(name = "email", nullable = false, unique = true)
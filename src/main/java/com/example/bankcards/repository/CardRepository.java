@@ -1,22 +1,55 @@
 package com.example.bankcards.repository;
 
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.bankcards.model.card.Card;
 import com.example.bankcards.model.user.User;
 
+import jakarta.persistence.LockModeType;
+
 
 @Repository
-public interface CardRepository extends JpaRepository<Card, Long>, JpaSpecificationExecutor<Card> {
+public interface CardRepository extends JpaRepository<Card, Long>, JpaSpecificationExecutor<Card>, CardSummaryRepository {
 
     List<Card> findAllByOwner(final User owner);
 
     Page<Card> findAllByOwner(final User owner, final Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Card c WHERE c.id = :id")
+    Optional<Card> findByIdForUpdate(@Param("id") final Long id);
+
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS BIGINT) FROM pg_class " +
+            "WHERE oid = CAST('cards' AS regclass)", nativeQuery = true)
+    long estimateCount();
+
+    List<Card> findAllByIdInOrderById(final Collection<Long> ids);
+
+    @Query(value = "SELECT id FROM cards WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsForUpdate(@Param("ids") final Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE cards SET balance = balance - :amount, version = version + 1, updated_at = LOCALTIMESTAMP " +
+            "WHERE id = :id AND status = 'ACTIVE' AND balance >= :amount", nativeQuery = true)
+    int debitIfSufficientFunds(@Param("id") final Long id, @Param("amount") final BigDecimal amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE cards SET balance = balance + :amount, version = version + 1, updated_at = LOCALTIMESTAMP " +
+            "WHERE id = :id AND status = 'ACTIVE'", nativeQuery = true)
+    int creditIfActive(@Param("id") final Long id, @Param("amount") final BigDecimal amount);
+
 }
@@ -9,6 +9,10 @@ import com.example.bankcards.model.card.Card;
 import com.example.bankcards.model.card.CardStatus;
 import com.example.bankcards.model.user.User;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+
 
 public class CardSpecification {
 
@@ -31,4 +35,17 @@ public class CardSpecification {
     public static Specification<Card> balanceLessThanOrEqual(BigDecimal max) {
         return (root, query, cb) -> max == null ? null : cb.lessThanOrEqualTo(root.get("balance"), max);
     }
+
+    // Snapshot plus unfolded ledger postings, the balance Card.getBalance() shows; cannot use the balance indexes
+    public static Specification<Card> currentBalanceGreaterThanOrEqual(BigDecimal min) {
+        return (root, query, cb) -> min == null ? null : cb.greaterThanOrEqualTo(currentBalance(root, cb), min);
+    }
+
+    public static Specification<Card> currentBalanceLessThanOrEqual(BigDecimal max) {
+        return (root, query, cb) -> max == null ? null : cb.lessThanOrEqualTo(currentBalance(root, cb), max);
+    }
+
+    private static Expression<BigDecimal> currentBalance(final Root<Card> root, final CriteriaBuilder cb) {
+        return cb.sum(root.<BigDecimal>get("balance"), root.<BigDecimal>get("pendingLedgerAmount"));
+    }
 }
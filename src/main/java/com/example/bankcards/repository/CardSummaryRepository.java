@@ -0,0 +1,19 @@
+package com.example.bankcards.repository;
+
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.repository.projection.CardSummary;
+
+
+public interface CardSummaryRepository {
+
+    Page<CardSummary> findAllSummaries(final Specification<Card> spec, final Pageable pageable);
+
+    Slice<CardSummary> findSummarySlice(final Specification<Card> spec, final Pageable pageable);
+
+}
@@ -0,0 +1,91 @@
+package com.example.bankcards.repository;
+
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.repository.projection.CardSummary;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+
+// Specifications only build predicates, so they can be applied to a constructor query as well as to an entity query
+class CardSummaryRepositoryImpl implements CardSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<CardSummary> findAllSummaries(final Specification<Card> spec, final Pageable pageable) {
+        List<CardSummary> content = createSummaryQuery(spec, pageable)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<CardSummary> findSummarySlice(final Specification<Card> spec, final Pageable pageable) {
+        return SliceQueries.readSlice(createSummaryQuery(spec, pageable), pageable);
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private TypedQuery<CardSummary> createSummaryQuery(final Specification<Card> spec, final Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<CardSummary> query = cb.createQuery(CardSummary.class);
+        Root<Card> root = query.from(Card.class);
+        query.select(cb.construct(
+                CardSummary.class,
+                root.get("id"),
+                root.get("last4"),
+                root.get("status"),
+                root.get("expiryDate"),
+                root.get("balance"),
+                root.get("pendingLedgerAmount"),
+                root.get("createdAt")));
+        applySpecification(spec, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        return entityManager.createQuery(query);
+    }
+
+    private long count(final Specification<Card> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Card> root = query.from(Card.class);
+        query.select(cb.count(root));
+        applySpecification(spec, root, query, cb);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void applySpecification(
+            final Specification<Card> spec,
+            final Root<Card> root,
+            final CriteriaQuery<?> query,
+            final CriteriaBuilder cb) {
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null)
+            query.where(predicate);
+    }
+
+    // ------------------------------------ //
+
+}
@@ -0,0 +1,106 @@
+package com.example.bankcards.repository;
+
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.bankcards.config.properties.ExportProperties;
+import com.example.bankcards.model.card.CardStatus;
+
+import lombok.RequiredArgsConstructor;
+
+
+// Exports read through a forward-only server-side cursor. The PostgreSQL driver honours the fetch size only with
+// autocommit off, hence the read-only transaction around every export
+@Repository
+@RequiredArgsConstructor
+public class ExportRepository {
+
+    // Snapshot plus unfolded ledger postings; both the exported balance and the balance filters use it
+    private static final String CURRENT_BALANCE_SQL = "(c.balance + (SELECT COALESCE(SUM(le.amount), 0) " +
+            "FROM ledger_entries le WHERE le.card_id = c.id AND le.id > c.balance_snapshot_entry_id))";
+    private static final String SELECT_CARDS_SQL = "SELECT c.id AS \"id\", c.owner_id AS \"ownerId\", " +
+            "c.card_number_last4 AS \"last4\", c.status AS \"status\", c.expiry_date AS \"expiryDate\", " +
+            CURRENT_BALANCE_SQL + " AS \"balance\", c.created_at AS \"createdAt\" FROM cards c";
+    private static final String SELECT_TRANSFERS_SQL = "SELECT t.id AS \"id\", t.owner_id AS \"ownerId\", " +
+            "f.card_number_last4 AS \"fromCardLast4\", d.card_number_last4 AS \"toCardLast4\", " +
+            "t.amount AS \"amount\", (SELECT STRING_AGG(cat.name, ';' ORDER BY cat.name) FROM transfer_categories tc " +
+            "JOIN categories cat ON cat.id = tc.category_id WHERE tc.transfer_id = t.id) AS \"categories\", " +
+            "t.created_at AS \"createdAt\" FROM transfers t JOIN cards f ON f.id = t.from_card_id " +
+            "JOIN cards d ON d.id = t.to_card_id ORDER BY t.id";
+    private static final String SELECT_USERS_SQL = "SELECT u.id AS \"id\", u.email AS \"email\", u.role AS \"role\", " +
+            "u.created_at AS \"createdAt\" FROM users u ORDER BY u.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExportProperties exportProperties;
+
+    @Transactional(readOnly = true)
+    public <T> T streamCards(
+            Long ownerId,
+            CardStatus status,
+            BigDecimal moreThan,
+            BigDecimal lessThan,
+            final ResultSetExtractor<T> extractor) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> arguments = new ArrayList<>();
+        addCondition(conditions, arguments, "c.owner_id = ?", ownerId);
+        addCondition(conditions, arguments, "c.status = ?", status == null ? null : status.name());
+        addCondition(conditions, arguments, CURRENT_BALANCE_SQL + " >= ?", moreThan);
+        addCondition(conditions, arguments, CURRENT_BALANCE_SQL + " <= ?", lessThan);
+
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+
+        return stream(SELECT_CARDS_SQL + where + " ORDER BY c.id", arguments.toArray(), extractor);
+    }
+
+    @Transactional(readOnly = true)
+    public <T> T streamTransfers(final ResultSetExtractor<T> extractor) {
+        return stream(SELECT_TRANSFERS_SQL, new Object[0], extractor);
+    }
+
+    @Transactional(readOnly = true)
+    public <T> T streamUsers(final ResultSetExtractor<T> extractor) {
+        return stream(SELECT_USERS_SQL, new Object[0], extractor);
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private <T> T stream(final String sql, final Object[] arguments, final ResultSetExtractor<T> extractor) {
+        return jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            sql,
+                            ResultSet.TYPE_FORWARD_ONLY,
+                            ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(exportProperties.fetchSize());
+                    new ArgumentPreparedStatementSetter(arguments).setValues(statement);
+
+                    return statement;
+                },
+                extractor);
+    }
+
+    private static void addCondition(
+            final List<String> conditions,
+            final List<Object> arguments,
+            final String condition,
+            final Object value) {
+        if (value == null)
+            return;
+
+        conditions.add(condition);
+        arguments.add(value);
+    }
+
+    // ------------------------------------ //
+
+}
@@ -0,0 +1,9 @@
+package com.example.bankcards.repository;
+
+
+import org.springframework.data.domain.Sort;
+
+
+// Position of the last row of a window: its sort key and id, the id breaking ties between equal keys
+public record Keyset(String property, Sort.Direction direction, Comparable<?> value, Long id) {
+}
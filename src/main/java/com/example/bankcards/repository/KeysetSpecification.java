@@ -0,0 +1,45 @@
+package com.example.bankcards.repository;
+
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.bankcards.util.constant.PaginationConstants;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+
+public class KeysetSpecification {
+
+    // Equivalent of (key, id) > (:key, :id). The redundant bound on the key alone gives the planner an index range
+    // start; without it the OR is evaluated as a filter over every row before the cursor
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <T> Specification<T> after(final Keyset keyset) {
+        return (root, query, cb) -> {
+            if (keyset == null)
+                return null;
+
+            boolean ascending = keyset.direction().isAscending();
+            Predicate idAfter = after(cb, root.get(PaginationConstants.Cursor.ID_PROPERTY), keyset.id(), ascending);
+            if (keyset.property().equals(PaginationConstants.Cursor.ID_PROPERTY))
+                return idAfter;
+
+            Expression<Comparable> key = root.get(keyset.property());
+            Comparable value = keyset.value();
+            Predicate bound = ascending ? cb.greaterThanOrEqualTo(key, value) : cb.lessThanOrEqualTo(key, value);
+
+            return cb.and(bound, cb.or(after(cb, key, value, ascending), idAfter));
+        };
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate after(
+            final CriteriaBuilder cb,
+            final Expression key,
+            final Comparable value,
+            boolean ascending) {
+        return ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+    }
+
+}
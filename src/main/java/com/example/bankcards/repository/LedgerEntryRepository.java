@@ -0,0 +1,33 @@
+package com.example.bankcards.repository;
+
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.bankcards.model.ledger.LedgerEntry;
+
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    @Query(value = "SELECT DISTINCT le.card_id FROM ledger_entries le JOIN cards c ON c.id = le.card_id " +
+            "WHERE le.id > c.balance_snapshot_entry_id ORDER BY le.card_id LIMIT :limit", nativeQuery = true)
+    List<Long> findCardIdsWithPendingEntries(@Param("limit") final int limit);
+
+    // Callers must hold the card row locks, otherwise an entry committed after MAX(id) was read could be skipped
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE cards c SET balance = c.balance + p.total, balance_snapshot_entry_id = p.last_entry_id, " +
+            "version = c.version + 1, updated_at = LOCALTIMESTAMP " +
+            "FROM (SELECT le.card_id, SUM(le.amount) AS total, MAX(le.id) AS last_entry_id " +
+            "FROM ledger_entries le JOIN cards lc ON lc.id = le.card_id " +
+            "WHERE le.card_id IN (:cardIds) AND le.id > lc.balance_snapshot_entry_id GROUP BY le.card_id) p " +
+            "WHERE c.id = p.card_id", nativeQuery = true)
+    int foldPendingEntries(@Param("cardIds") final Collection<Long> cardIds);
+
+}
@@ -0,0 +1,67 @@
+package com.example.bankcards.repository;
+
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.bankcards.repository.projection.RefreshTokenUse;
+
+import lombok.RequiredArgsConstructor;
+
+
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO refresh_tokens " +
+            "(token_hash, family_id, user_id, expires_at, created_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)";
+    // One statement both checks and consumes the token, so two concurrent uses cannot both succeed
+    private static final String MARK_USED_SQL = "UPDATE refresh_tokens SET used_at = CURRENT_TIMESTAMP " +
+            "WHERE token_hash = ? AND used_at IS NULL AND expires_at > ? RETURNING family_id, user_id";
+    private static final String FIND_USED_FAMILY_SQL = "SELECT family_id FROM refresh_tokens " +
+            "WHERE token_hash = ? AND used_at IS NOT NULL";
+    private static final String DELETE_FAMILY_SQL = "DELETE FROM refresh_tokens WHERE family_id = ?";
+    private static final String DELETE_BY_USER_ID_SQL = "DELETE FROM refresh_tokens WHERE user_id = ?";
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM refresh_tokens WHERE expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(final String tokenHash, final UUID familyId, Long userId, final Instant expiresAt) {
+        jdbcTemplate.update(INSERT_SQL, tokenHash, familyId, userId, Timestamp.from(expiresAt));
+    }
+
+    public Optional<RefreshTokenUse> markUsed(final String tokenHash, final Instant now) {
+        List<RefreshTokenUse> uses = jdbcTemplate.query(
+                MARK_USED_SQL,
+                (resultSet, rowNum) -> new RefreshTokenUse(
+                        resultSet.getObject("family_id", UUID.class),
+                        resultSet.getLong("user_id")),
+                tokenHash,
+                Timestamp.from(now));
+
+        return uses.stream().findFirst();
+    }
+
+    public Optional<UUID> findUsedFamily(final String tokenHash) {
+        return jdbcTemplate.queryForList(FIND_USED_FAMILY_SQL, UUID.class, tokenHash).stream().findFirst();
+    }
+
+    public int deleteFamily(final UUID familyId) {
+        return jdbcTemplate.update(DELETE_FAMILY_SQL, familyId);
+    }
+
+    public int deleteByUserId(Long userId) {
+        return jdbcTemplate.update(DELETE_BY_USER_ID_SQL, userId);
+    }
+
+    public int deleteExpired(final Instant now) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, Timestamp.from(now));
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.example.bankcards.repository;
+
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.bankcards.repository.projection.RevokedToken;
+
+import lombok.RequiredArgsConstructor;
+
+
+@Repository
+@RequiredArgsConstructor
+public class RevokedTokenRepository {
+
+    // Revoking the same token twice is not an error
+    private static final String INSERT_SQL = "INSERT INTO revoked_tokens (jti, user_id, expires_at, revoked_at) " +
+            "VALUES (?, ?, ?, CURRENT_TIMESTAMP) ON CONFLICT (jti) DO NOTHING";
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM revoked_tokens WHERE expires_at <= ?";
+    private static final String FIND_ACTIVE_SQL = "SELECT jti, expires_at FROM revoked_tokens WHERE expires_at > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(final String tokenId, Long userId, final Instant expiresAt) {
+        jdbcTemplate.update(INSERT_SQL, tokenId, userId, Timestamp.from(expiresAt));
+    }
+
+    public int deleteExpired(final Instant now) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, Timestamp.from(now));
+    }
+
+    public List<RevokedToken> findActive(final Instant now) {
+        return jdbcTemplate.query(
+                FIND_ACTIVE_SQL,
+                (resultSet, rowNum) -> new RevokedToken(
+                        resultSet.getString("jti"),
+                        resultSet.getTimestamp("expires_at").toInstant()),
+                Timestamp.from(now));
+    }
+
+}
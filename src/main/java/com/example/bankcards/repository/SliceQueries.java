@@ -0,0 +1,30 @@
+package com.example.bankcards.repository;
+
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import jakarta.persistence.TypedQuery;
+
+
+final class SliceQueries {
+
+    private SliceQueries() {
+        throw new UnsupportedOperationException("SliceQueries.java - utility class");
+    }
+
+    // Reads one row past the window to tell whether another window follows, without a count query
+    static <T> Slice<T> readSlice(final TypedQuery<T> query, final Pageable pageable) {
+        List<T> content = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.example.bankcards.repository;
+
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.bankcards.repository.projection.CategorySpending;
+
+import lombok.RequiredArgsConstructor;
+
+
+@Repository
+@RequiredArgsConstructor
+public class SpendingSummaryRepository {
+
+    private static final String UPSERT_SQL = "INSERT INTO spending_summaries " +
+            "(owner_id, month, category_id, transfer_count, total_amount) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (owner_id, month, category_id) DO UPDATE SET " +
+            "transfer_count = spending_summaries.transfer_count + EXCLUDED.transfer_count, " +
+            "total_amount = spending_summaries.total_amount + EXCLUDED.total_amount";
+    private static final String FIND_BY_OWNER_AND_MONTH_SQL = "SELECT category_id, transfer_count, total_amount " +
+            "FROM spending_summaries WHERE owner_id = ? AND month = ? ORDER BY category_id";
+    private static final String LOCK_SQL = "LOCK TABLE spending_summaries IN EXCLUSIVE MODE";
+    // Months up to the newest archived transfer can no longer be recomputed from transfers and are kept as they are
+    private static final String REBUILT_FROM_SQL = "(SELECT COALESCE(CAST(DATE_TRUNC('month', MAX(max_created_at)) " +
+            "+ INTERVAL '1 month' AS DATE), DATE '-infinity') FROM transfer_archive_segments)";
+    private static final String DELETE_REBUILT_SQL = "DELETE FROM spending_summaries WHERE month >= " + REBUILT_FROM_SQL;
+    private static final String REBUILD_SQL = "INSERT INTO spending_summaries " +
+            "(owner_id, month, category_id, transfer_count, total_amount) " +
+            "SELECT t.owner_id, CAST(DATE_TRUNC('month', t.created_at) AS DATE), tc.category_id, " +
+            "COUNT(*), SUM(t.amount) " +
+            "FROM transfers t JOIN transfer_categories tc ON tc.transfer_id = t.id " +
+            "WHERE t.created_at >= " + REBUILT_FROM_SQL + " " +
+            "GROUP BY t.owner_id, CAST(DATE_TRUNC('month', t.created_at) AS DATE), tc.category_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Deltas must come sorted by category id so concurrent upserts for one owner lock rows in the same order
+    public void increment(Long ownerId, final LocalDate month, final List<CategorySpending> deltas) {
+        if (deltas.isEmpty())
+            return;
+
+        Date monthStart = Date.valueOf(month);
+        jdbcTemplate.batchUpdate(
+                UPSERT_SQL,
+                deltas.stream().map(
+                        delta -> new Object[] {
+                                ownerId,
+                                monthStart,
+                                delta.categoryId(),
+                                delta.transferCount(),
+                                delta.totalAmount() }).toList());
+    }
+
+    public List<CategorySpending> findByOwnerIdAndMonth(Long ownerId, final LocalDate month) {
+        return jdbcTemplate.query(
+                FIND_BY_OWNER_AND_MONTH_SQL,
+                (resultSet, rowNum) -> new CategorySpending(
+                        resultSet.getLong("category_id"),
+                        resultSet.getLong("transfer_count"),
+                        resultSet.getBigDecimal("total_amount")),
+                ownerId,
+                Date.valueOf(month));
+    }
+
+    // The lock waits for transactions that already upserted; transfers committed later upsert after the rebuild
+    public int rebuild() {
+        jdbcTemplate.execute(LOCK_SQL);
+        jdbcTemplate.update(DELETE_REBUILT_SQL);
+
+        return jdbcTemplate.update(REBUILD_SQL);
+    }
+
+}
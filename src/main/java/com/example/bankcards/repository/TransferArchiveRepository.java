@@ -0,0 +1,167 @@
+package com.example.bankcards.repository;
+
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.bankcards.repository.projection.ArchivedTransfer;
+import com.example.bankcards.repository.projection.TransferArchiveBlock;
+import com.example.bankcards.util.constant.PaginationConstants;
+
+import lombok.RequiredArgsConstructor;
+
+
+@Repository
+@RequiredArgsConstructor
+public class TransferArchiveRepository {
+
+    // Serializes archiving between application instances until the surrounding transaction ends
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('transfers_archive'))";
+    // Grouped by owner so that each owner's transfers of a chunk end up in as few blocks as possible
+    private static final String FIND_ARCHIVABLE_SQL = "SELECT t.id, t.owner_id, t.from_card_id, t.to_card_id, " +
+            "f.card_number_last4 AS from_last4, d.card_number_last4 AS to_last4, t.amount, t.created_at, " +
+            "ARRAY(SELECT c.name FROM transfer_categories tc JOIN categories c ON c.id = tc.category_id " +
+            "WHERE tc.transfer_id = t.id) AS categories " +
+            "FROM transfers t JOIN cards f ON f.id = t.from_card_id JOIN cards d ON d.id = t.to_card_id " +
+            "WHERE t.created_at < ? ORDER BY t.owner_id, t.created_at, t.id LIMIT ? FOR UPDATE OF t";
+    private static final String NEXT_SEGMENT_ID_SQL = "SELECT nextval('transfer_archive_segments_seq')";
+    private static final String INSERT_SEGMENT_SQL = "INSERT INTO transfer_archive_segments " +
+            "(id, file_name, transfer_count, min_created_at, max_created_at, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, LOCALTIMESTAMP)";
+    private static final String INSERT_BLOCK_SQL = "INSERT INTO transfer_archive_blocks " +
+            "(segment_id, block_offset, block_length, owner_id, transfer_count, min_id, max_id, min_created_at, " +
+            "max_created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_TRANSFERS_SQL = "DELETE FROM transfers WHERE created_at < ? AND id = ANY (?)";
+
+    private static final String FIND_BLOCKS_SQL = "SELECT s.file_name, b.block_offset, b.block_length, b.owner_id, " +
+            "b.transfer_count, b.min_id, b.max_id, b.min_created_at, b.max_created_at " +
+            "FROM transfer_archive_blocks b JOIN transfer_archive_segments s ON s.id = b.segment_id " +
+            "WHERE b.owner_id = ?";
+    private static final String CONTAINING_ID_SQL = " AND b.min_id <= ? AND b.max_id >= ?";
+    private static final String COUNT_FOR_OWNER_SQL = "SELECT COALESCE(SUM(b.transfer_count), 0) " +
+            "FROM transfer_archive_blocks b WHERE b.owner_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // ---------- Helper methods ---------- //
+
+    private static ArchivedTransfer toArchivedTransfer(final ResultSet resultSet) throws SQLException {
+        return new ArchivedTransfer(
+                resultSet.getLong("id"),
+                resultSet.getLong("owner_id"),
+                resultSet.getLong("from_card_id"),
+                resultSet.getLong("to_card_id"),
+                resultSet.getString("from_last4"),
+                resultSet.getString("to_last4"),
+                resultSet.getBigDecimal("amount"),
+                resultSet.getTimestamp("created_at").toLocalDateTime(),
+                Set.of((String[]) resultSet.getArray("categories").getArray()));
+    }
+
+    private static TransferArchiveBlock toBlock(final ResultSet resultSet) throws SQLException {
+        return new TransferArchiveBlock(
+                resultSet.getString("file_name"),
+                resultSet.getLong("block_offset"),
+                resultSet.getInt("block_length"),
+                resultSet.getLong("owner_id"),
+                resultSet.getInt("transfer_count"),
+                resultSet.getLong("min_id"),
+                resultSet.getLong("max_id"),
+                resultSet.getTimestamp("min_created_at").toLocalDateTime(),
+                resultSet.getTimestamp("max_created_at").toLocalDateTime());
+    }
+
+    // ------------------------------------ //
+
+    public void lock() {
+        jdbcTemplate.execute(LOCK_SQL);
+    }
+
+    public List<ArchivedTransfer> findArchivable(final LocalDateTime createdBefore, int limit) {
+        return jdbcTemplate.query(
+                FIND_ARCHIVABLE_SQL,
+                (resultSet, rowNum) -> toArchivedTransfer(resultSet),
+                createdBefore,
+                limit);
+    }
+
+    public long nextSegmentId() {
+        return jdbcTemplate.queryForObject(NEXT_SEGMENT_ID_SQL, Long.class);
+    }
+
+    public void insertSegment(
+            long segmentId,
+            final String fileName,
+            final List<ArchivedTransfer> transfers,
+            final List<TransferArchiveBlock> blocks) {
+        jdbcTemplate.update(
+                INSERT_SEGMENT_SQL,
+                segmentId,
+                fileName,
+                transfers.size(),
+                blocks.stream().map(TransferArchiveBlock::minCreatedAt).min(LocalDateTime::compareTo).orElseThrow(),
+                blocks.stream().map(TransferArchiveBlock::maxCreatedAt).max(LocalDateTime::compareTo).orElseThrow());
+        jdbcTemplate.batchUpdate(
+                INSERT_BLOCK_SQL,
+                blocks.stream().map(
+                        block -> new Object[] {
+                                segmentId,
+                                block.offset(),
+                                block.length(),
+                                block.ownerId(),
+                                block.transferCount(),
+                                block.minId(),
+                                block.maxId(),
+                                block.minCreatedAt(),
+                                block.maxCreatedAt() }).toList());
+    }
+
+    // The created_at bound prunes the scan to the partitions being archived
+    public int deleteTransfers(final LocalDateTime createdBefore, final List<Long> transferIds) {
+        return jdbcTemplate.update(
+                DELETE_TRANSFERS_SQL,
+                statement -> {
+                    statement.setObject(1, createdBefore);
+                    statement.setArray(2, statement.getConnection().createArrayOf("bigint", transferIds.toArray()));
+                });
+    }
+
+    public List<TransferArchiveBlock> findBlocksContaining(Long ownerId, Long transferId) {
+        return jdbcTemplate.query(
+                FIND_BLOCKS_SQL + CONTAINING_ID_SQL,
+                (resultSet, rowNum) -> toBlock(resultSet),
+                ownerId,
+                transferId,
+                transferId);
+    }
+
+    public long countForOwner(Long ownerId) {
+        return jdbcTemplate.queryForObject(COUNT_FOR_OWNER_SQL, Long.class, ownerId);
+    }
+
+    // Blocks that may hold rows after the keyset, nearest first in the order of the window
+    public List<TransferArchiveBlock> findBlocksAfter(Long ownerId, final Keyset keyset, final Sort.Order order) {
+        boolean byId = order.getProperty().equals(PaginationConstants.Cursor.ID_PROPERTY);
+        String min = byId ? "b.min_id" : "b.min_created_at";
+        String max = byId ? "b.max_id" : "b.max_created_at";
+
+        String bound = order.isAscending() ? max + " >= ?" : min + " <= ?";
+        String orderBy = order.isAscending() ? " ORDER BY " + min : " ORDER BY " + max + " DESC";
+        if (keyset == null)
+            return jdbcTemplate.query(FIND_BLOCKS_SQL + orderBy, (resultSet, rowNum) -> toBlock(resultSet), ownerId);
+
+        return jdbcTemplate.query(
+                FIND_BLOCKS_SQL + " AND " + bound + orderBy,
+                (resultSet, rowNum) -> toBlock(resultSet),
+                ownerId,
+                keyset.value());
+    }
+
+}
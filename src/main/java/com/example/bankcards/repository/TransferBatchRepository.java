@@ -0,0 +1,76 @@
+package com.example.bankcards.repository;
+
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.example.bankcards.model.transfer.Transfer;
+import com.example.bankcards.model.transfer.category.TransferCategory;
+
+import lombok.RequiredArgsConstructor;
+
+
+@Repository
+@RequiredArgsConstructor
+public class TransferBatchRepository {
+
+    private static final String INSERT_TRANSFER_SQL = "INSERT INTO transfers " +
+            "(owner_id, from_card_id, to_card_id, amount, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_TRANSFER_CATEGORY_SQL = "INSERT INTO transfer_categories " +
+            "(transfer_id, category_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> insertAll(final List<Transfer> transfers, final LocalDateTime createdAt) {
+        if (transfers.isEmpty())
+            return List.of();
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_TRANSFER_SQL, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Transfer transfer = transfers.get(i);
+                        statement.setLong(1, transfer.getOwner().getId());
+                        statement.setLong(2, transfer.getFromCard().getId());
+                        statement.setLong(3, transfer.getToCard().getId());
+                        statement.setBigDecimal(4, transfer.getAmount().getValue());
+                        statement.setTimestamp(5, Timestamp.valueOf(createdAt));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return transfers.size();
+                    }
+
+                },
+                keyHolder);
+
+        List<Long> transferIds = keyHolder.getKeyList().stream().map(
+                keys -> ((Number) keys.get("id")).longValue()).toList();
+
+        List<Object[]> categoryRows = new ArrayList<>();
+        for (int i = 0; i < transfers.size(); i++) {
+            for (TransferCategory category : transfers.get(i).getCategories())
+                categoryRows.add(new Object[] { transferIds.get(i), category.getId() });
+        }
+
+        if (!categoryRows.isEmpty())
+            jdbcTemplate.batchUpdate(INSERT_TRANSFER_CATEGORY_SQL, categoryRows);
+
+        return transferIds;
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.example.bankcards.repository;
+
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.bankcards.repository.projection.TransferPartition;
+
+import lombok.RequiredArgsConstructor;
+
+
+@Repository
+@RequiredArgsConstructor
+public class TransferPartitionRepository {
+
+    private static final String FIND_PARTITIONS_SQL = "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) " +
+            "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = CAST('transfers' AS regclass) ORDER BY c.relname";
+    // Serializes partition DDL between application instances until the surrounding transaction ends
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('transfers_partitions'))";
+    private static final String CREATE_PARTITION_SQL = "CREATE TABLE IF NOT EXISTS %s PARTITION OF transfers " +
+            "FOR VALUES FROM ('%s') TO ('%s')";
+    private static final String DETACH_PARTITION_SQL = "ALTER TABLE transfers DETACH PARTITION %s";
+    private static final String DELETE_IDEMPOTENCY_KEYS_SQL = "DELETE FROM transfer_idempotency_keys k USING %s t " +
+            "WHERE k.owner_id = t.owner_id AND k.transfer_id = t.id";
+
+    private static final Pattern BOUND = Pattern.compile("FROM \\((?:MINVALUE|'([^']+)')\\) TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // ---------- Helper methods ---------- //
+
+    private static TransferPartition toPartition(final String name, final String bound) {
+        Matcher matcher = BOUND.matcher(bound);
+        if (!matcher.find())
+            throw new IllegalStateException(String.format("Unexpected bound of partition %s: %s", name, bound));
+
+        LocalDateTime from = matcher.group(1) == null ? null : LocalDateTime.parse(matcher.group(1), TIMESTAMP);
+        return new TransferPartition(name, from, LocalDateTime.parse(matcher.group(2), TIMESTAMP));
+    }
+
+    // ------------------------------------ //
+
+    public void lock() {
+        jdbcTemplate.execute(LOCK_SQL);
+    }
+
+    public List<TransferPartition> findAll() {
+        return jdbcTemplate.query(
+                FIND_PARTITIONS_SQL,
+                (resultSet, rowNum) -> toPartition(resultSet.getString(1), resultSet.getString(2)));
+    }
+
+    // Names and bounds are generated from a YearMonth, never from user input
+    public void create(final String name, final LocalDateTime from, final LocalDateTime to) {
+        jdbcTemplate.execute(String.format(CREATE_PARTITION_SQL, name, from.format(TIMESTAMP), to.format(TIMESTAMP)));
+    }
+
+    public int detach(final String name) {
+        jdbcTemplate.execute(String.format(DETACH_PARTITION_SQL, name));
+        return jdbcTemplate.update(String.format(DELETE_IDEMPOTENCY_KEYS_SQL, name));
+    }
+
+}
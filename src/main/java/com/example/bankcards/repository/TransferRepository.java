@@ -1,22 +1,56 @@
 package com.example.bankcards.repository;
 
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.bankcards.model.transfer.Transfer;
 import com.example.bankcards.model.user.User;
+import com.example.bankcards.repository.projection.TransferCategoryLink;
+import com.example.bankcards.repository.projection.TransferSummary;
 
 
 @Repository
-public interface TransferRepository extends JpaRepository<Transfer, Long> {
+public interface TransferRepository extends JpaRepository<Transfer, Long>, TransferSummaryRepository {
 
     List<Transfer> findAllByOwner(final User owner);
 
-    Page<Transfer> findAllByOwner(final User owner, Pageable pageable);
+    @EntityGraph(attributePaths = "categories")
+    Optional<Transfer> findByOwnerIdAndIdempotencyKey(final Long ownerId, final String idempotencyKey);
+
+    @Query(value = "SELECT new com.example.bankcards.repository.projection.TransferSummary(" +
+            "t.id, f.last4, d.last4, t.amount, t.createdAt) FROM Transfer t JOIN t.fromCard f JOIN t.toCard d " +
+            "WHERE t.owner.id = :ownerId",
+            countQuery = "SELECT COUNT(t) FROM Transfer t WHERE t.owner.id = :ownerId")
+    Page<TransferSummary> findAllSummariesByOwnerId(@Param("ownerId") final Long ownerId, final Pageable pageable);
+
+    @Query(value = "SELECT new com.example.bankcards.repository.projection.TransferSummary(" +
+            "t.id, f.last4, d.last4, t.amount, t.createdAt) FROM Transfer t JOIN t.fromCard f JOIN t.toCard d",
+            countQuery = "SELECT COUNT(t) FROM Transfer t")
+    Page<TransferSummary> findAllSummaries(final Pageable pageable);
+
+    long countByOwnerId(final Long ownerId);
+
+    // Autovacuum analyzes the partitions but never the partitioned parent, whose own reltuples stays unset or stale
+    @Query(value = "SELECT CAST(COALESCE(SUM(GREATEST(c.reltuples, 0)), 0) AS BIGINT) FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = CAST('transfers' AS regclass)",
+            nativeQuery = true)
+    long estimateCount();
+
+    @Query("SELECT new com.example.bankcards.repository.projection.TransferCategoryLink(t.id, c.name) " +
+            "FROM Transfer t JOIN t.categories c WHERE t.id IN :ids")
+    List<TransferCategoryLink> findCategoryLinksByTransferIdIn(@Param("ids") final Collection<Long> ids);
+
+    @Query("SELECT DISTINCT t FROM Transfer t LEFT JOIN FETCH t.categories WHERE t.id IN :ids ORDER BY t.id")
+    List<Transfer> findAllWithCategoriesByIdIn(@Param("ids") final Collection<Long> ids);
 
 }
@@ -0,0 +1,15 @@
+package com.example.bankcards.repository;
+
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.bankcards.model.transfer.Transfer;
+
+
+public class TransferSpecification {
+
+    public static Specification<Transfer> hasOwnerId(Long ownerId) {
+        return (root, query, cb) -> ownerId == null ? null : cb.equal(root.get("owner").get("id"), ownerId);
+    }
+
+}
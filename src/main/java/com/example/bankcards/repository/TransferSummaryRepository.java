@@ -0,0 +1,16 @@
+package com.example.bankcards.repository;
+
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.bankcards.model.transfer.Transfer;
+import com.example.bankcards.repository.projection.TransferSummary;
+
+
+public interface TransferSummaryRepository {
+
+    Slice<TransferSummary> findSummarySlice(final Specification<Transfer> spec, final Pageable pageable);
+
+}
@@ -0,0 +1,51 @@
+package com.example.bankcards.repository;
+
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.transfer.Transfer;
+import com.example.bankcards.repository.projection.TransferSummary;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+
+class TransferSummaryRepositoryImpl implements TransferSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<TransferSummary> findSummarySlice(final Specification<Transfer> spec, final Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<TransferSummary> query = cb.createQuery(TransferSummary.class);
+        Root<Transfer> root = query.from(Transfer.class);
+        Join<Transfer, Card> fromCard = root.join("fromCard");
+        Join<Transfer, Card> toCard = root.join("toCard");
+        query.select(cb.construct(
+                TransferSummary.class,
+                root.get("id"),
+                fromCard.get("last4"),
+                toCard.get("last4"),
+                root.get("amount"),
+                root.get("createdAt")));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null)
+            query.where(predicate);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        return SliceQueries.readSlice(entityManager.createQuery(query), pageable);
+    }
+
+}
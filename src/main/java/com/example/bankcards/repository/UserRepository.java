@@ -3,18 +3,33 @@ package com.example.bankcards.repository;
 
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.bankcards.model.user.Role;
 import com.example.bankcards.model.user.User;
 import com.example.bankcards.model.user.vo.Email;
 
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
     Optional<User> findByEmail(final Email email);
 
     boolean existsByEmail(final Email email);
 
+    Slice<User> findSliceBy(final Pageable pageable);
+
+    @Query("SELECT u.role FROM User u WHERE u.id = :id")
+    Optional<Role> findRoleById(@Param("id") final Long id);
+
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS BIGINT) FROM pg_class " +
+            "WHERE oid = CAST('users' AS regclass)", nativeQuery = true)
+    long estimateCount();
+
 }
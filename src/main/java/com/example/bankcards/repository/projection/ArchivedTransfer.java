@@ -0,0 +1,20 @@
+package com.example.bankcards.repository.projection;
+
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+
+// Card digits and category names are copied at archiving time, so archived rows need no joins to be read
+public record ArchivedTransfer(
+        Long id,
+        Long ownerId,
+        Long fromCardId,
+        Long toCardId,
+        String fromCardLast4,
+        String toCardLast4,
+        BigDecimal amount,
+        LocalDateTime createdAt,
+        Set<String> categories) {
+}
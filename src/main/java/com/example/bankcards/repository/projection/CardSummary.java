@@ -0,0 +1,28 @@
+package com.example.bankcards.repository.projection;
+
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.model.card.vo.CardBalance;
+import com.example.bankcards.model.card.vo.CardExpiryDate;
+
+
+// Read-only card row for listings; pendingLedgerAmount is folded into the balance the same way Card.getBalance() does
+public record CardSummary(
+        Long id,
+        String last4,
+        CardStatus status,
+        CardExpiryDate expiryDate,
+        CardBalance balance,
+        BigDecimal pendingLedgerAmount,
+        LocalDateTime createdAt) {
+
+    public BigDecimal currentBalance() {
+        return this.pendingLedgerAmount == null
+                ? this.balance.getValue()
+                : this.balance.getValue().add(this.pendingLedgerAmount);
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.example.bankcards.repository.projection;
+
+
+import java.math.BigDecimal;
+
+
+public record CategorySpending(Long categoryId, long transferCount, BigDecimal totalAmount) {
+}
@@ -0,0 +1,9 @@
+package com.example.bankcards.repository.projection;
+
+
+import java.util.UUID;
+
+
+// The family and owner of a refresh token that was just marked used
+public record RefreshTokenUse(UUID familyId, Long userId) {
+}
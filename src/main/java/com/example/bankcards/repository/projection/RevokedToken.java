@@ -0,0 +1,8 @@
+package com.example.bankcards.repository.projection;
+
+
+import java.time.Instant;
+
+
+public record RevokedToken(String tokenId, Instant expiresAt) {
+}
@@ -0,0 +1,18 @@
+package com.example.bankcards.repository.projection;
+
+
+import java.time.LocalDateTime;
+
+
+// A compressed run of one owner's archived transfers at [offset, offset + length) of a segment file
+public record TransferArchiveBlock(
+        String fileName,
+        long offset,
+        int length,
+        Long ownerId,
+        int transferCount,
+        long minId,
+        long maxId,
+        LocalDateTime minCreatedAt,
+        LocalDateTime maxCreatedAt) {
+}
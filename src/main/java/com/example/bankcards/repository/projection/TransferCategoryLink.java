@@ -0,0 +1,8 @@
+package com.example.bankcards.repository.projection;
+
+
+import com.example.bankcards.model.transfer.category.CategoryName;
+
+
+public record TransferCategoryLink(Long transferId, CategoryName name) {
+}
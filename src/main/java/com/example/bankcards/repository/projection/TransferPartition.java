@@ -0,0 +1,14 @@
+package com.example.bankcards.repository.projection;
+
+
+import java.time.LocalDateTime;
+
+
+// from is null for the partition bounded below by MINVALUE
+public record TransferPartition(String name, LocalDateTime from, LocalDateTime to) {
+
+    public boolean covers(final LocalDateTime createdAt) {
+        return (from == null || !createdAt.isBefore(from)) && createdAt.isBefore(to);
+    }
+
+}
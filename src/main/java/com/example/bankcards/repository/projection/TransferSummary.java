@@ -0,0 +1,15 @@
+package com.example.bankcards.repository.projection;
+
+
+import java.time.LocalDateTime;
+
+import com.example.bankcards.model.transfer.vo.Amount;
+
+
+public record TransferSummary(
+        Long id,
+        String fromCardLast4,
+        String toCardLast4,
+        Amount amount,
+        LocalDateTime createdAt) {
+}
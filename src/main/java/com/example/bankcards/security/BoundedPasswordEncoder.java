@@ -0,0 +1,172 @@
+package com.example.bankcards.security;
+
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.bankcards.exception.PasswordHashingBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+
+// Runs bcrypt on a fixed pool with a bounded queue, so a burst of logins or password changes uses at most `threads`
+// cores and leaves the rest to other endpoints. A full queue is refused at once instead of piling up waiting callers
+@Slf4j
+public final class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[abyx]?\\$(\\d\\d)\\$");
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final Meters encodeMeters;
+    private final Meters matchesMeters;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, final MeterRegistry meterRegistry) {
+        this(new BCryptPasswordEncoder(strength), strength, threads, queueCapacity, meterRegistry);
+    }
+
+    BoundedPasswordEncoder(
+            final PasswordEncoder delegate,
+            int strength,
+            int threads,
+            int queueCapacity,
+            final MeterRegistry meterRegistry) {
+        if (threads < 1 || queueCapacity < 1)
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Password hashing needs positive threads and queue capacity, got: %d, %d",
+                            threads,
+                            queueCapacity));
+
+        this.delegate = delegate;
+        this.strength = strength;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> Thread.ofPlatform()
+                        .name("password-hashing-" + threadIndex.getAndIncrement())
+                        .daemon(true)
+                        .unstarted(task));
+
+        this.encodeMeters = Meters.of("encode", meterRegistry);
+        this.matchesMeters = Meters.of("matches", meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected").register(meterRegistry);
+        Gauge.builder("password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+
+        log.info("Started {} password hashing threads with bcrypt cost {}", threads, strength);
+    }
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return run(encodeMeters, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return run(matchesMeters, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Any other cost, lower or higher, is re-encoded, so changing the strength moves every active user to it
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        if (encodedPassword == null)
+            return false;
+
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                executor.shutdownNow();
+        } catch (InterruptedException exception) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private <T> T run(final Meters meters, final Supplier<T> work) {
+        long submittedAt = System.nanoTime();
+
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                meters.queueWait().record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return work.get();
+                } finally {
+                    meters.hashing().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many password checks in progress, retry later");
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException exception) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", exception);
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (cause instanceof Error error)
+                throw error;
+
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    // ------------------------------------ //
+
+    private record Meters(Timer queueWait, Timer hashing) {
+
+        private static Meters of(final String operation, final MeterRegistry meterRegistry) {
+            return new Meters(
+                    Timer.builder("password.hashing.queue.wait")
+                            .tag("operation", operation)
+                            .description("Time a password hashing task waited for a worker")
+                            .register(meterRegistry),
+                    Timer.builder("password.hashing.duration")
+                            .tag("operation", operation)
+                            .description("Time spent hashing or checking a password")
+                            .register(meterRegistry));
+        }
+
+    }
+
+}
@@ -3,11 +3,15 @@ package com.example.bankcards.security;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Optional;
 
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.example.bankcards.model.user.Role;
 import com.example.bankcards.model.user.User;
 
 import lombok.extern.slf4j.Slf4j;
@@ -16,45 +20,65 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public final class CustomUserDetails implements UserDetails {
 
+    public static final String ROLE_PREFIX = "ROLE_";
+
     private final Long userId;
     private final String email;
     private final String password;
+    private final Role role;
     private final GrantedAuthority authority;
 
     public static CustomUserDetails of(User user) {
         log.debug("Creating CustomUserDetails for user: {}", user.getId());
 
-        GrantedAuthority authoritiy = new SimpleGrantedAuthority("ROLE_" + user.getRole().toString());
-
-        log.debug("Created 1 authority");
-
         return new CustomUserDetails(
                 user.getId(),
                 user.getEmail().getValue(),
                 user.getPassword().getValue(),
-                authoritiy);
+                user.getRole());
+    }
+
+    // Built from verified token claims, so there is no password to carry
+    public static CustomUserDetails of(Long userId, final String email, final Role role) {
+        log.debug("Creating CustomUserDetails from token claims for user: {}", userId);
+
+        return new CustomUserDetails(userId, email, null, role);
+    }
+
+    // The caller authenticated on the current thread, if any; empty on background threads
+    public static Optional<CustomUserDetails> current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails)
+            return Optional.of(userDetails);
+
+        return Optional.empty();
     }
 
     private CustomUserDetails(
             final Long userId,
             final String email,
             final String password,
-            final GrantedAuthority authority) {
+            final Role role) {
+        this.userId = userId;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.authority = new SimpleGrantedAuthority(ROLE_PREFIX + role.toString());
         log.debug(
                 "CustomUserDetails constructor called with userId: {}, email: {}, authorities: {}",
                 userId,
                 email,
                 authority);
-        this.userId = userId;
-        this.email = email;
-        this.password = password;
-        this.authority = authority;
     }
 
     public Long getUserId() {
         return this.userId;
     }
 
+    public Role getRole() {
+        return this.role;
+    }
+
     @Override
     public String getUsername() {
         return this.email;
@@ -2,12 +2,14 @@ package com.example.bankcards.security;
 
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.example.bankcards.exception.ResourceNotFoundException;
 import com.example.bankcards.model.user.User;
+import com.example.bankcards.model.user.vo.Password;
 import com.example.bankcards.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -17,7 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public final class CustomUserDetailsService implements UserDetailsService {
+public final class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserService userService;
 
@@ -41,4 +43,14 @@ public final class CustomUserDetailsService implements UserDetailsService {
         }
     }
 
+    // Called after a successful login whose stored hash the encoder wants re-encoded
+    @Override
+    public UserDetails updatePassword(final UserDetails user, final String newPassword) {
+        CustomUserDetails userDetails = (CustomUserDetails) user;
+        userService.replacePasswordHash(userDetails.getUserId(), new Password(newPassword));
+        log.info("Re-encoded password hash of user {}", userDetails.getUserId());
+
+        return CustomUserDetails.of(userService.findUserById(userDetails.getUserId()));
+    }
+
 }
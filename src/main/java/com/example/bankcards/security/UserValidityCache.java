@@ -0,0 +1,95 @@
+package com.example.bankcards.security;
+
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.example.bankcards.model.user.Role;
+
+
+// Answers whether the user a token was issued to still exists with the role the token claims. The answer, including
+// "deleted", is reused for a short TTL, so a deletion or role change takes effect within the TTL without a database
+// read on every request
+public final class UserValidityCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Function<Long, Optional<Role>> roleLoader;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Entry> entries = new LinkedHashMap<>();
+
+    public UserValidityCache(final Duration ttl, int maxEntries, final Function<Long, Optional<Role>> roleLoader) {
+        this(ttl, maxEntries, roleLoader, System::nanoTime);
+    }
+
+    UserValidityCache(
+            final Duration ttl,
+            int maxEntries,
+            final Function<Long, Optional<Role>> roleLoader,
+            final LongSupplier nanoClock) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException(
+                    String.format("User validity cache needs at least one entry, got: %d", maxEntries));
+
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.roleLoader = roleLoader;
+        this.nanoClock = nanoClock;
+    }
+
+    // Concurrent misses for one user may each load the role; the cache only bounds how often the lookup repeats
+    public boolean isValid(Long userId, final Role claimedRole) {
+        lock.lock();
+        try {
+            evictExpired(nanoClock.getAsLong());
+
+            Entry entry = entries.get(userId);
+            if (entry != null)
+                return claimedRole == entry.role();
+        } finally {
+            lock.unlock();
+        }
+
+        Role role = roleLoader.apply(userId).orElse(null);
+
+        lock.lock();
+        try {
+            entries.put(userId, new Entry(role, nanoClock.getAsLong() + ttlNanos));
+            evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+
+        return claimedRole == role;
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt() <= now)
+            iterator.remove();
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    // ------------------------------------ //
+
+    // role is null for a user that no longer exists
+    private record Entry(Role role, long expiresAt) {
+    }
+
+}
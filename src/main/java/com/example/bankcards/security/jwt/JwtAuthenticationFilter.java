@@ -6,13 +6,15 @@ import java.io.IOException;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.example.bankcards.security.CustomUserDetailsService;
+import com.example.bankcards.exception.UserAuthenticationException;
+import com.example.bankcards.security.CustomUserDetails;
+import com.example.bankcards.security.UserValidityCache;
+import com.example.bankcards.service.TokenRevocationService;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -28,7 +30,9 @@ import lombok.extern.slf4j.Slf4j;
 public final class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final CustomUserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserValidityCache userValidityCache;
+    private final TokenRevocationService tokenRevocationService;
 
     private String getJwtFromRequest(final HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
@@ -48,10 +52,15 @@ public final class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = getJwtFromRequest(request);
 
             if (StringUtils.hasText(jwt)) {
-                tokenProvider.validateToken(jwt);
-                String email = tokenProvider.getEmailFromToken(jwt);
+                VerifiedToken verified = verifiedTokenCache.verify(jwt, tokenProvider::verify);
+                if (tokenRevocationService.isRevoked(verified.tokenId()))
+                    throw new UserAuthenticationException.InvalidToken("JWT token is revoked: " + verified.tokenId());
+
+                CustomUserDetails userDetails = verified.userDetails();
+                if (!userValidityCache.isValid(userDetails.getUserId(), userDetails.getRole()))
+                    throw new UserAuthenticationException.InvalidToken(
+                            "JWT token user no longer exists or has another role: " + userDetails.getUserId());
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
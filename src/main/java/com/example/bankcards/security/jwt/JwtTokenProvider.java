@@ -4,18 +4,21 @@ package com.example.bankcards.security.jwt;
 import java.security.Key;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.example.bankcards.config.properties.JwtProperties;
 import com.example.bankcards.exception.UserAuthenticationException;
+import com.example.bankcards.model.user.Role;
 import com.example.bankcards.security.CustomUserDetails;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -23,22 +26,20 @@ import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
-import lombok.extern.slf4j.Slf4j;
 
 
-@Slf4j
 @Component
 public final class JwtTokenProvider {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    // Both are immutable and thread-safe, so they are built once instead of per token
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final long jwtExpirationMs;
 
-    @Value("${app.jwt.expiration}")
-    private long jwtExpirationMs;
-
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtTokenProvider(final JwtProperties jwtProperties) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.secret()));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.jwtExpirationMs = jwtProperties.expiration();
     }
 
     public String generateToken(final UserDetails userDetails) {
@@ -47,16 +48,46 @@ public final class JwtTokenProvider {
         List<String> roles = customUserDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(
                 Collectors.toList());
 
-        return Jwts.builder().setSubject(customUserDetails.getUsername()).claim("userId", customUserDetails.getUserId())
-                .claim("roles", roles).setIssuedAt(new Date()).setExpiration(
+        // The jti is what a revocation refers to
+        return Jwts.builder().setId(UUID.randomUUID().toString()).setSubject(customUserDetails.getUsername())
+                .claim("userId", customUserDetails.getUserId()).claim("roles", roles).setIssuedAt(new Date()).setExpiration(
                         new Date(System.currentTimeMillis() + jwtExpirationMs)).signWith(
-                                getSigningKey(),
+                                signingKey,
                                 SignatureAlgorithm.HS256).compact();
     }
 
-    public void validateToken(final String token) {
+    // Parses and verifies the token once; its claims are trusted after that, so no user lookup is needed
+    public VerifiedToken verify(final String token) {
+        Claims claims = parseClaims(token);
+
+        String tokenId = claims.getId();
+        String email = claims.getSubject();
+        Long userId = claims.get("userId", Long.class);
+        List<?> roles = claims.get("roles", List.class);
+        if (tokenId == null || email == null || claims.getExpiration() == null || userId == null || roles == null
+                || roles.size() != 1)
+            throw new UserAuthenticationException.InvalidToken("JWT token is missing user claims");
+
+        String role = String.valueOf(roles.get(0));
+        if (!role.startsWith(CustomUserDetails.ROLE_PREFIX))
+            throw new UserAuthenticationException.InvalidToken("JWT token has an unknown role: " + role);
+
+        try {
+            return new VerifiedToken(
+                    tokenId,
+                    CustomUserDetails.of(
+                            userId,
+                            email,
+                            Role.valueOf(role.substring(CustomUserDetails.ROLE_PREFIX.length()))),
+                    claims.getExpiration().toInstant());
+        } catch (IllegalArgumentException e) {
+            throw new UserAuthenticationException.InvalidToken("JWT token has an unknown role: " + role);
+        }
+    }
+
+    private Claims parseClaims(final String token) {
         try {
-            generateClaims(token);
+            return parser.parseClaimsJws(token).getBody();
         } catch (SignatureException e) {
             throw new UserAuthenticationException.InvalidToken("Invalid JWT signature: " + e.getMessage());
         } catch (MalformedJwtException e) {
@@ -70,20 +101,6 @@ public final class JwtTokenProvider {
         }
     }
 
-    private Claims generateClaims(final String token) {
-        return Jwts.parserBuilder().setSigningKey(this.getSigningKey()).build().parseClaimsJws(token).getBody();
-    }
-
-    public String getEmailFromToken(final String token) {
-        try {
-            return this.generateClaims(token).getSubject();
-        } catch (Exception e) {
-            log.error("Error extracting email from token: {}", e.getMessage());
-            return null;
-        }
-
-    }
-
     public long getExpirationTime(final String token) {
         return jwtExpirationMs;
     }
@@ -0,0 +1,116 @@
+package com.example.bankcards.security.jwt;
+
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.example.bankcards.repository.projection.RevokedToken;
+
+
+// Revoked token ids: a Bloom filter in front of the exact set. Almost every token checked is not revoked, and the
+// filter answers that from a few bit reads without allocating; only a filter hit consults the exact set, which
+// removes false positives. Bits cannot be cleared, so expired ids leave the filter when the denylist is rebuilt
+public final class TokenDenylist {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    // Token id to its expiry in epoch milliseconds
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private TokenDenylist(int expectedTokens, double falsePositiveRate) {
+        if (expectedTokens < 1)
+            throw new IllegalArgumentException(
+                    String.format("Token denylist needs a positive capacity, got: %d", expectedTokens));
+        if (falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0)
+            throw new IllegalArgumentException(
+                    String.format("False positive rate must be between 0 and 1, got: %s", falsePositiveRate));
+
+        // Optimal size and hash count for the capacity and rate, rounded up to whole words
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedTokens * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bits = new AtomicLongArray(Math.toIntExact((optimalBits + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = (long) bits.length() * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedTokens * ln2));
+    }
+
+    // Sized for the larger of the configured capacity and twice the tokens loaded, so it has room to grow
+    public static TokenDenylist of(
+            final Collection<RevokedToken> tokens,
+            int expectedTokens,
+            double falsePositiveRate) {
+        TokenDenylist denylist = new TokenDenylist(Math.max(expectedTokens, tokens.size() * 2), falsePositiveRate);
+        for (RevokedToken token : tokens)
+            denylist.add(token.tokenId(), token.expiresAt().toEpochMilli());
+
+        return denylist;
+    }
+
+    // The exact entry goes in before the bits, so a reader that sees the bits also finds the entry
+    public void add(final String tokenId, long expiresAtMillis) {
+        revoked.put(tokenId, expiresAtMillis);
+
+        long hash = hash(tokenId);
+        for (int i = 0; i < hashCount; i++) {
+            long index = indexOf(hash, i);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean isRevoked(final String tokenId, long nowMillis) {
+        if (!mightContain(tokenId))
+            return false;
+
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > nowMillis;
+    }
+
+    boolean mightContain(final String tokenId) {
+        long hash = hash(tokenId);
+        for (int i = 0; i < hashCount; i++) {
+            long index = indexOf(hash, i);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0)
+                return false;
+        }
+
+        return true;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // ---------- Helper methods ---------- //
+
+    // 64-bit FNV-1a over the characters, so hashing does not allocate
+    private static long hash(final String tokenId) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < tokenId.length(); i++) {
+            hash ^= tokenId.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    // Double hashing: the two halves of one 64-bit hash stand in for independent hash functions
+    private long indexOf(long hash, int i) {
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+
+        return Math.floorMod(first + (long) i * second, bitCount);
+    }
+
+    // ------------------------------------ //
+
+}
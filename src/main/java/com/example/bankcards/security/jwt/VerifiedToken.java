@@ -0,0 +1,11 @@
+package com.example.bankcards.security.jwt;
+
+
+import java.time.Instant;
+
+import com.example.bankcards.security.CustomUserDetails;
+
+
+// What a token says once its signature and expiry have been checked; immutable, so it can be handed around and reused
+public record VerifiedToken(String tokenId, CustomUserDetails userDetails, Instant expiresAt) {
+}
@@ -0,0 +1,116 @@
+package com.example.bankcards.security.jwt;
+
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+
+// Remembers tokens that passed signature verification until their exp, so a token sent again skips the HMAC check.
+// Entries are only ever created from the verifier's result, and the key is the SHA-256 of the whole token including
+// its signature: a forged or altered token hashes to a different key and always goes through the verifier
+public final class VerifiedTokenCache {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final int maxEntries;
+    private final Supplier<Instant> clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access order, so the tokens evicted when full are the ones not seen for the longest time
+    private final Map<ByteBuffer, VerifiedToken> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(int maxEntries, final MeterRegistry meterRegistry) {
+        this(maxEntries, meterRegistry, Instant::now);
+    }
+
+    VerifiedTokenCache(int maxEntries, final MeterRegistry meterRegistry, final Supplier<Instant> clock) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException(
+                    String.format("Verified token cache needs at least one entry, got: %d", maxEntries));
+
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.hits = Counter.builder("jwt.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("jwt.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("jwt.cache.size", this, VerifiedTokenCache::size)
+                .description("Verified tokens held in the cache")
+                .register(meterRegistry);
+    }
+
+    // The verifier throws for a token that does not verify, and nothing is cached then
+    public VerifiedToken verify(final String token, final Function<String, VerifiedToken> verifier) {
+        ByteBuffer key = ByteBuffer.wrap(digest(token));
+
+        lock.lock();
+        try {
+            VerifiedToken cached = entries.get(key);
+            if (cached != null) {
+                if (clock.get().isBefore(cached.expiresAt())) {
+                    hits.increment();
+                    return cached;
+                }
+
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        VerifiedToken verified = verifier.apply(token);
+
+        lock.lock();
+        try {
+            entries.put(key, verified);
+            evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+
+        return verified;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private static byte[] digest(final String token) {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", exception);
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<VerifiedToken> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    // ------------------------------------ //
+
+}
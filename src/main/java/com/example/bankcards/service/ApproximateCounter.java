@@ -0,0 +1,106 @@
+package com.example.bankcards.service;
+
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+
+
+// Totals for count=approx: planner row estimates for unfiltered listings, otherwise an exact count cached per
+// filter combination for a short TTL
+public final class ApproximateCounter {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<List<Object>, Entry> entries = new LinkedHashMap<>();
+
+    public ApproximateCounter(final Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    ApproximateCounter(final Duration ttl, int maxEntries, final LongSupplier nanoClock) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException(
+                    String.format("Approximate count cache needs at least one entry, got: %d", maxEntries));
+
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    // plannerEstimate is a repository's estimateCount: pg_class.reltuples as of the last ANALYZE or autovacuum. It
+    // reads zero until the table is first analyzed, and the cached exact count stands in until then
+    public long estimate(final LongSupplier plannerEstimate, final LongSupplier exactCount, final Object... key) {
+        long estimate = plannerEstimate.getAsLong();
+
+        return estimate > 0 ? estimate : count(exactCount, key);
+    }
+
+    // Concurrent misses on one key may each count; the cache only bounds how often the same COUNT(*) repeats
+    public long count(final LongSupplier exactCount, final Object... key) {
+        List<Object> cacheKey = Arrays.asList(key);
+
+        lock.lock();
+        try {
+            evictExpired(nanoClock.getAsLong());
+
+            Entry entry = entries.get(cacheKey);
+            if (entry != null)
+                return entry.count();
+        } finally {
+            lock.unlock();
+        }
+
+        long count = exactCount.getAsLong();
+
+        lock.lock();
+        try {
+            entries.put(cacheKey, new Entry(count, nanoClock.getAsLong() + ttlNanos));
+            evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+
+        return count;
+    }
+
+    // The total never contradicts the slice itself, even when the estimate lags behind recent inserts
+    public static <T> Page<T> toPage(final Slice<T> slice, long approximateTotal) {
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), Math.max(approximateTotal, seen));
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt() <= now)
+            iterator.remove();
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    // ------------------------------------ //
+
+    private record Entry(long count, long expiresAt) {
+    }
+
+}
@@ -5,6 +5,7 @@ import org.springframework.data.domain.Pageable;
 
 import com.example.bankcards.exception.BusinessRuleViolationException;
 import com.example.bankcards.exception.DomainValidationException;
+import com.example.bankcards.util.constant.PaginationConstants;
 
 
 public abstract class BaseService {
@@ -33,6 +34,17 @@ public abstract class BaseService {
         if (page < 0)
             throw new BusinessRuleViolationException(String.format(TEMPLATE_NEGATIVE_PAGE_MESSAGE, page));
 
+        validateWindowSize(size);
+    }
+
+    protected final void validatePagination(final Pageable pageable, final CountMode countMode) {
+        validatePagination(pageable);
+
+        if (countMode == null)
+            throw new BusinessRuleViolationException(PaginationConstants.Count.REQUIRED_MESSAGE);
+    }
+
+    protected final void validateWindowSize(int size) {
         if (size <= 0)
             throw new BusinessRuleViolationException(String.format(TEMPLATE_LESS_THAN_ONE_SIZE_MESSAGE, size));
     }
@@ -3,19 +3,29 @@ package com.example.bankcards.service;
 
 import static com.example.bankcards.repository.CardSpecification.balanceGreaterThanOrEqual;
 import static com.example.bankcards.repository.CardSpecification.balanceLessThanOrEqual;
+import static com.example.bankcards.repository.CardSpecification.currentBalanceGreaterThanOrEqual;
+import static com.example.bankcards.repository.CardSpecification.currentBalanceLessThanOrEqual;
 import static com.example.bankcards.repository.CardSpecification.hasOwner;
 import static com.example.bankcards.repository.CardSpecification.hasOwnerId;
 import static com.example.bankcards.repository.CardSpecification.hasStatus;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongSupplier;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.bankcards.config.properties.TransferProperties;
 import com.example.bankcards.dto.card.request.CardCreateRequest;
+import com.example.bankcards.dto.card.response.CardResponse;
 import com.example.bankcards.exception.AccessDeniedException;
 import com.example.bankcards.exception.BusinessRuleViolationException;
 import com.example.bankcards.exception.ResourceNotFoundException;
@@ -26,7 +36,12 @@ import com.example.bankcards.model.card.vo.CardExpiryDate;
 import com.example.bankcards.model.card.vo.CardNumber;
 import com.example.bankcards.model.user.User;
 import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.Keyset;
+import com.example.bankcards.repository.KeysetSpecification;
+import com.example.bankcards.repository.LedgerEntryRepository;
 import com.example.bankcards.security.CardEncryption;
+import com.example.bankcards.service.transfer.TransferConcurrencyMode;
+import com.example.bankcards.util.KeysetCursors;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,32 +52,100 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class CardService extends BaseService {
 
+    private static final String CARDS = "cards";
+
     private final CardRepository cardRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
     private final CardEncryption cardEncryption;
     private final UserService userService;
+    private final ApproximateCounter approximateCounter;
+    private final RequestIdentityMap identityMap;
+    private final TransferProperties transferProperties;
 
     // ---------- Helper methods ---------- //
 
     private final Card findCardByIdForAdmin(Long cardId) {
-        return cardRepository.findById(cardId).orElseThrow(
+        return identityMap.find(Card.class, cardId, cardRepository::findById).orElseThrow(
                 () -> new ResourceNotFoundException(String.format("Card with id=%d was not found", cardId)));
     }
 
+    private Slice<CardResponse> findCards(
+            final Specification<Card> spec,
+            final Pageable pageable,
+            final CountMode countMode,
+            final LongSupplier approximateTotal) {
+        return switch (countMode) {
+            case EXACT -> cardRepository.findAllSummaries(spec, pageable).map(CardResponse::of);
+            case NONE -> cardRepository.findSummarySlice(spec, pageable).map(CardResponse::of);
+            case APPROX -> ApproximateCounter.toPage(
+                    cardRepository.findSummarySlice(spec, pageable).map(CardResponse::of),
+                    approximateTotal.getAsLong());
+        };
+    }
+
+    private Specification<Card> adminCardFilter(
+            Long ownerId,
+            CardStatus status,
+            BigDecimal moreThan,
+            BigDecimal lessThan) {
+        if (ownerId != null && ownerId <= 0)
+            throw new BusinessRuleViolationException(String.format(TEMPLATE_LESS_THAN_ONE_ID_MESSAGE, ownerId));
+
+        return Specification.where(hasOwnerId(ownerId)).and(hasStatus(status)).and(balanceFilter(moreThan, lessThan));
+    }
+
+    // Only ledger transfers leave postings outside the snapshot; other modes keep the indexed snapshot comparison
+    private Specification<Card> balanceFilter(BigDecimal moreThan, BigDecimal lessThan) {
+        if (transferProperties.concurrency().mode() == TransferConcurrencyMode.LEDGER)
+            return Specification.where(currentBalanceGreaterThanOrEqual(moreThan)).and(
+                    currentBalanceLessThanOrEqual(lessThan));
+
+        return Specification.where(balanceGreaterThanOrEqual(moreThan)).and(balanceLessThanOrEqual(lessThan));
+    }
+
     private final void checkExpiryDate(final Card card) {
         if (card.isExpired())
             throw new BusinessRuleViolationException(String.format("Card with id=%d EXPIRED", card.getId()));
     }
 
-    public final Card findCardByIdForOwner(Long cardId, final User owner) {
-        Card card = cardRepository.findById(cardId).orElseThrow(
-                () -> new ResourceNotFoundException(String.format("Card with id=%d was not found", cardId)));
-
+    private final void checkOwner(final Card card, final User owner) {
         if (!card.getOwner().equals(owner))
             throw new AccessDeniedException(String.format("Permission to access card denied for id=%d", owner.getId()));
+    }
+
+    public Card findCardByIdForOwner(Long cardId, final User owner) {
+        Card card = identityMap.find(Card.class, cardId, cardRepository::findById).orElseThrow(
+                () -> new ResourceNotFoundException(String.format("Card with id=%d was not found", cardId)));
+
+        checkOwner(card, owner);
 
         return card;
     }
 
+    public Card lockCardByIdForOwner(Long cardId, final User owner) {
+        Card card = cardRepository.findByIdForUpdate(cardId).orElseThrow(
+                () -> new ResourceNotFoundException(String.format("Card with id=%d was not found", cardId)));
+
+        checkOwner(card, owner);
+
+        return card;
+    }
+
+    public List<Long> lockCardIds(final Collection<Long> cardIds) {
+        return cardRepository.lockIdsForUpdate(cardIds);
+    }
+
+    // Pending ledger postings are folded first, so in-place balance updates start from an up-to-date snapshot
+    public List<Card> lockCardsByIds(final Collection<Long> cardIds) {
+        List<Long> lockedIds = cardRepository.lockIdsForUpdate(cardIds);
+        if (lockedIds.isEmpty())
+            return List.of();
+
+        ledgerEntryRepository.foldPendingEntries(lockedIds);
+
+        return cardRepository.findAllByIdInOrderById(lockedIds);
+    }
+
     // ------------------------------------ //
 
     @Transactional
@@ -97,24 +180,53 @@ public class CardService extends BaseService {
     }
 
     @Transactional(readOnly = true)
-    public Page<Card> getAllCardsForAdmin(
+    public Slice<CardResponse> getAllCardsForAdmin(
             Long adminId,
             Long ownerId,
             CardStatus status,
             BigDecimal moreThan,
             BigDecimal lessThan,
-            final Pageable pageable) {
-        validatePagination(pageable);
+            final Pageable pageable,
+            final CountMode countMode) {
+        validatePagination(pageable, countMode);
         validateId(adminId);
         userService.checkAdminPermissionTo("get all cards", adminId);
 
-        if (ownerId != null && ownerId <= 0)
-            throw new BusinessRuleViolationException(String.format(TEMPLATE_LESS_THAN_ONE_ID_MESSAGE, ownerId));
+        Specification<Card> spec = adminCardFilter(ownerId, status, moreThan, lessThan);
+        boolean unfiltered = ownerId == null && status == null && moreThan == null && lessThan == null;
+        LongSupplier approximateTotal = unfiltered
+                ? () -> approximateCounter.estimate(cardRepository::estimateCount, cardRepository::count, CARDS)
+                : () -> approximateCounter.count(
+                        () -> cardRepository.count(spec),
+                        CARDS,
+                        ownerId,
+                        status,
+                        moreThan,
+                        lessThan);
+
+        return findCards(spec, pageable, countMode, approximateTotal);
+    }
 
-        Specification<Card> spec = Specification.where(hasOwnerId(ownerId)).and(hasStatus(status)).and(
-                balanceGreaterThanOrEqual(moreThan)).and(balanceLessThanOrEqual(lessThan));
+    @Transactional(readOnly = true)
+    public Slice<CardResponse> scrollCardsForAdmin(
+            Long adminId,
+            Long ownerId,
+            CardStatus status,
+            BigDecimal moreThan,
+            BigDecimal lessThan,
+            final String cursor,
+            final Sort.Order order,
+            int size) {
+        validateWindowSize(size);
+        validateId(adminId);
+        userService.checkAdminPermissionTo("get all cards", adminId);
 
-        return cardRepository.findAll(spec, pageable);
+        Keyset keyset = KeysetCursors.decode(cursor, order);
+        Specification<Card> spec = adminCardFilter(ownerId, status, moreThan, lessThan).and(
+                KeysetSpecification.after(keyset));
+        Pageable window = PageRequest.of(0, size, KeysetCursors.sortOf(order));
+
+        return cardRepository.findSummarySlice(spec, window).map(CardResponse::of);
     }
 
     @Transactional(readOnly = true)
@@ -129,20 +241,28 @@ public class CardService extends BaseService {
     }
 
     @Transactional(readOnly = true)
-    public Page<Card> getAllCardsForOwner(
+    public Slice<CardResponse> getAllCardsForOwner(
             Long ownerId,
             CardStatus status,
             BigDecimal moreThan,
             BigDecimal lessThan,
-            final Pageable pageable) {
-        validatePagination(pageable);
+            final Pageable pageable,
+            final CountMode countMode) {
+        validatePagination(pageable, countMode);
 
         User owner = userService.findUserById(ownerId);
 
         Specification<Card> spec = Specification.where(hasOwner(owner)).and(hasStatus(status)).and(
-                balanceGreaterThanOrEqual(moreThan)).and(balanceLessThanOrEqual(lessThan));
-
-        return cardRepository.findAll(spec, pageable);
+                balanceFilter(moreThan, lessThan));
+        LongSupplier approximateTotal = () -> approximateCounter.count(
+                () -> cardRepository.count(spec),
+                CARDS,
+                ownerId,
+                status,
+                moreThan,
+                lessThan);
+
+        return findCards(spec, pageable, countMode, approximateTotal);
     }
 
     @Transactional
@@ -154,6 +274,7 @@ public class CardService extends BaseService {
 
         Card card = findCardByIdForAdmin(cardId);
         cardRepository.delete(card);
+        identityMap.evict(Card.class, cardId);
     }
 
     @Transactional
@@ -0,0 +1,26 @@
+package com.example.bankcards.service;
+
+
+import java.util.Locale;
+
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.util.constant.PaginationConstants;
+
+
+// How a paged listing reports its total: not at all, from estimates, or with an exact COUNT(*)
+public enum CountMode {
+    NONE, APPROX, EXACT;
+
+    public static CountMode of(final String value) {
+        for (CountMode mode : values())
+            if (mode.name().equalsIgnoreCase(value))
+                return mode;
+
+        throw new BusinessRuleViolationException(PaginationConstants.Count.unsupportedMessage(value));
+    }
+
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.example.bankcards.service;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.function.ToLongFunction;
+
+import org.springframework.stereotype.Service;
+
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.repository.ExportRepository;
+import com.example.bankcards.service.export.Export;
+import com.example.bankcards.service.export.ExportFormat;
+import com.example.bankcards.service.export.ExportWriter;
+import com.example.bankcards.util.constant.ExportConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService extends BaseService {
+
+    private final ExportRepository exportRepository;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    // ---------- Helper methods ---------- //
+
+    // Permission and arguments are checked up front, while an error can still become a regular error response
+    private Export prepare(
+            Long adminId,
+            final String operationName,
+            final ExportFormat format,
+            final ToLongFunction<ExportWriter> query) {
+        validateId(adminId);
+        if (format == null)
+            throw new BusinessRuleViolationException(ExportConstants.Format.REQUIRED_MESSAGE);
+
+        userService.checkAdminPermissionTo(operationName, adminId);
+
+        return out -> write(out, format, query);
+    }
+
+    private long write(final OutputStream out, final ExportFormat format, final ToLongFunction<ExportWriter> query)
+            throws IOException {
+        try (ExportWriter writer = format.open(out, objectMapper.getFactory())) {
+            long rows = query.applyAsLong(writer);
+            log.debug("Exported {} rows as {}", rows, format);
+
+            return rows;
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    // ------------------------------------ //
+
+    public Export exportCards(
+            Long adminId,
+            Long ownerId,
+            CardStatus status,
+            BigDecimal moreThan,
+            BigDecimal lessThan,
+            final ExportFormat format) {
+        if (ownerId != null && ownerId <= 0)
+            throw new BusinessRuleViolationException(String.format(TEMPLATE_LESS_THAN_ONE_ID_MESSAGE, ownerId));
+
+        return prepare(
+                adminId,
+                "export cards",
+                format,
+                writer -> exportRepository.streamCards(ownerId, status, moreThan, lessThan, writer));
+    }
+
+    public Export exportTransfers(Long adminId, final ExportFormat format) {
+        return prepare(adminId, "export transfers", format, exportRepository::streamTransfers);
+    }
+
+    public Export exportUsers(Long adminId, final ExportFormat format) {
+        return prepare(adminId, "export users", format, exportRepository::streamUsers);
+    }
+
+}
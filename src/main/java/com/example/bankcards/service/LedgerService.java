@@ -0,0 +1,66 @@
+package com.example.bankcards.service;
+
+
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.config.properties.TransferProperties;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.LedgerEntryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LedgerService {
+
+    private final CardRepository cardRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferProperties transferProperties;
+
+    // ---------- Helper methods ---------- //
+
+    private int compactChunk(final List<Long> cardIds) {
+        Integer folded = transactionTemplate.execute(status -> {
+            List<Long> lockedIds = cardRepository.lockIdsForUpdate(cardIds);
+            if (lockedIds.isEmpty())
+                return 0;
+
+            return ledgerEntryRepository.foldPendingEntries(lockedIds);
+        });
+
+        return folded == null ? 0 : folded;
+    }
+
+    // ------------------------------------ //
+
+    // Runs in every concurrency mode, so postings left over after switching away from LEDGER are drained on startup
+    @Scheduled(fixedDelayString = "${app.transfer.ledger.compaction-interval:5s}")
+    public int compactPendingEntries() {
+        int batchSize = transferProperties.ledger().compactionBatchSize();
+        int foldedCards = 0;
+
+        List<Long> cardIds = ledgerEntryRepository.findCardIdsWithPendingEntries(batchSize);
+        while (!cardIds.isEmpty()) {
+            int folded = compactChunk(cardIds);
+            foldedCards += folded;
+            if (folded == 0 || cardIds.size() < batchSize)
+                break;
+
+            cardIds = ledgerEntryRepository.findCardIdsWithPendingEntries(batchSize);
+        }
+
+        if (foldedCards > 0)
+            log.debug("Folded ledger entries into balance snapshots for {} cards", foldedCards);
+
+        return foldedCards;
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.example.bankcards.service;
+
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.config.properties.JwtProperties;
+import com.example.bankcards.dto.auth.response.LoginResponse;
+import com.example.bankcards.exception.UserAuthenticationException;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.repository.RefreshTokenRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.repository.projection.RefreshTokenUse;
+import com.example.bankcards.security.CustomUserDetails;
+import com.example.bankcards.security.jwt.JwtTokenProvider;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+// Refresh tokens are random, so a plain SHA-256 is enough to store them safely and no password hash is ever run to
+// renew an access token
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider tokenProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final JwtProperties jwtProperties;
+
+    // ---------- Helper methods ---------- //
+
+    private static String hash(final String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance(DIGEST_ALGORITHM)
+                    .digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", exception);
+        }
+    }
+
+    private String issue(final UUID familyId, Long userId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.insert(
+                hash(refreshToken),
+                familyId,
+                userId,
+                Instant.now().plus(jwtProperties.refresh().ttl()));
+        return refreshToken;
+    }
+
+    // ------------------------------------ //
+
+    // Starts a new family, one per login
+    public String issue(Long userId) {
+        return issue(UUID.randomUUID(), userId);
+    }
+
+    public LoginResponse refresh(final String refreshToken) {
+        String tokenHash = hash(refreshToken);
+
+        Optional<LoginResponse> response = transactionTemplate.execute(status -> {
+            Optional<RefreshTokenUse> use = refreshTokenRepository.markUsed(tokenHash, Instant.now());
+            if (use.isEmpty())
+                return Optional.<LoginResponse>empty();
+
+            Long userId = use.get().userId();
+            User user = userRepository.findById(userId).orElseThrow(
+                    () -> new UserAuthenticationException.InvalidToken("Refresh token user no longer exists"));
+            String accessToken = tokenProvider.generateToken(CustomUserDetails.of(user));
+
+            return Optional.of(
+                    LoginResponse.of(
+                            accessToken,
+                            issue(use.get().familyId(), userId),
+                            userId,
+                            tokenProvider.getExpirationTime(accessToken)));
+        });
+        if (response.isPresent())
+            return response.get();
+
+        // A token that was already used is being replayed: whoever holds the family now cannot be trusted
+        refreshTokenRepository.findUsedFamily(tokenHash).ifPresent(familyId -> {
+            refreshTokenRepository.deleteFamily(familyId);
+            log.warn("Refresh token reuse detected, revoked token family {}", familyId);
+        });
+
+        throw new UserAuthenticationException.InvalidToken("Refresh token is invalid, expired or already used");
+    }
+
+    @Scheduled(cron = "${app.jwt.refresh.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(Instant.now());
+        if (purged > 0)
+            log.info("Purged {} expired refresh tokens", purged);
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.example.bankcards.service;
+
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+
+// Entities loaded by id during one HTTP request, so a User or Card that several services look up in turn is fetched
+// once. An entry is served only while the request's persistence context still manages it, so a hit returns the same
+// instance the repository would and nothing outlives a rollback or a cleared context. Outside a request (scheduled
+// jobs, transfer workers) every lookup goes to the repository
+public final class RequestIdentityMap {
+
+    private static final String ATTRIBUTE = RequestIdentityMap.class.getName();
+
+    private final Predicate<Object> isManaged;
+    private final MeterRegistry meterRegistry;
+
+    public RequestIdentityMap(final Predicate<Object> isManaged, final MeterRegistry meterRegistry) {
+        this.isManaged = isManaged;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private Lookups currentLookups() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null)
+            return null;
+
+        Object lookups = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (lookups != null)
+            return (Lookups) lookups;
+
+        Lookups created = new Lookups();
+        attributes.setAttribute(ATTRIBUTE, created, RequestAttributes.SCOPE_REQUEST);
+        attributes.registerDestructionCallback(ATTRIBUTE, () -> record(created), RequestAttributes.SCOPE_REQUEST);
+        return created;
+    }
+
+    private void record(final Lookups lookups) {
+        lookups.avoided.forEach((type, avoided) -> DistributionSummary.builder("identity.map.lookups.avoided")
+                .tag("entity", type.getSimpleName().toLowerCase(Locale.ROOT))
+                .description("Repository lookups by id answered from the request identity map, per request")
+                .register(meterRegistry)
+                .record(avoided));
+    }
+
+    // ------------------------------------ //
+
+    public <T> Optional<T> find(final Class<T> type, Long id, final Function<Long, Optional<T>> loader) {
+        Lookups lookups = currentLookups();
+        if (lookups == null)
+            return loader.apply(id);
+
+        Key key = new Key(type, id);
+        Object cached = lookups.entities.get(key);
+        if (cached != null && isManaged.test(cached)) {
+            lookups.avoided.merge(type, 1, Integer::sum);
+            return Optional.of(type.cast(cached));
+        }
+
+        Optional<T> loaded = loader.apply(id);
+        loaded.ifPresentOrElse(entity -> lookups.entities.put(key, entity), () -> lookups.entities.remove(key));
+        lookups.avoided.putIfAbsent(type, 0);
+        return loaded;
+    }
+
+    public void evict(final Class<?> type, Long id) {
+        Lookups lookups = currentLookups();
+        if (lookups != null)
+            lookups.entities.remove(new Key(type, id));
+    }
+
+    private record Key(Class<?> type, Long id) {
+    }
+
+    // A request is handled on one thread at a time, so plain maps are enough
+    private static final class Lookups {
+
+        private final Map<Key, Object> entities = new HashMap<>();
+        private final Map<Class<?>, Integer> avoided = new HashMap<>();
+
+    }
+
+}
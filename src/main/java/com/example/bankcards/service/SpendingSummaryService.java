@@ -0,0 +1,125 @@
+package com.example.bankcards.service;
+
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.bankcards.dto.statistics.response.CategorySpendingResponse;
+import com.example.bankcards.dto.statistics.response.SpendingResponse;
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.model.transfer.Transfer;
+import com.example.bankcards.model.transfer.category.TransferCategory;
+import com.example.bankcards.repository.SpendingSummaryRepository;
+import com.example.bankcards.repository.projection.CategorySpending;
+import com.example.bankcards.util.constant.StatisticsConstants;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpendingSummaryService extends BaseService {
+
+    private final SpendingSummaryRepository spendingSummaryRepository;
+    private final TransferCategoryService categoryService;
+    private final UserService userService;
+
+    // ---------- Helper methods ---------- //
+
+    private YearMonth parseMonth(final String month) {
+        if (month == null)
+            return YearMonth.now();
+
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException exception) {
+            throw new BusinessRuleViolationException(StatisticsConstants.Month.invalidMessage(month));
+        }
+    }
+
+    private SpendingResponse findSpending(Long ownerId, final YearMonth month) {
+        List<CategorySpendingResponse> categories = new ArrayList<>();
+        for (CategorySpending spending : spendingSummaryRepository.findByOwnerIdAndMonth(ownerId, month.atDay(1))) {
+            TransferCategory category = categoryService.getCategoryById(spending.categoryId());
+            categories.add(
+                    new CategorySpendingResponse(
+                            category.getId(),
+                            category.getName().toString(),
+                            spending.transferCount(),
+                            spending.totalAmount()));
+        }
+
+        return new SpendingResponse(ownerId, month.toString(), categories);
+    }
+
+    // ------------------------------------ //
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(final Transfer transfer) {
+        recordAll(transfer.getOwner().getId(), List.of(transfer), transfer.getCreationTime());
+    }
+
+    // Runs inside the transaction that inserted the transfers, so the summary never drifts from the transfers table
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Long ownerId, final List<Transfer> transfers, final LocalDateTime createdAt) {
+        Map<Long, CategorySpending> deltas = new TreeMap<>();
+        for (Transfer transfer : transfers) {
+            for (TransferCategory category : transfer.getCategories())
+                deltas.merge(
+                        category.getId(),
+                        new CategorySpending(category.getId(), 1, transfer.getAmount().getValue()),
+                        (current, added) -> new CategorySpending(
+                                current.categoryId(),
+                                current.transferCount() + added.transferCount(),
+                                current.totalAmount().add(added.totalAmount())));
+        }
+
+        LocalDate month = YearMonth.from(createdAt).atDay(1);
+        spendingSummaryRepository.increment(ownerId, month, new ArrayList<>(deltas.values()));
+    }
+
+    @Transactional(readOnly = true)
+    public SpendingResponse getMonthlySpendingForOwner(Long ownerId, final String month) {
+        validateId(ownerId);
+        YearMonth yearMonth = parseMonth(month);
+
+        userService.findUserById(ownerId);
+        return findSpending(ownerId, yearMonth);
+    }
+
+    @Transactional(readOnly = true)
+    public SpendingResponse getMonthlySpendingForAdmin(Long adminId, Long ownerId, final String month) {
+        validateId(adminId);
+        validateId(ownerId);
+        YearMonth yearMonth = parseMonth(month);
+
+        userService.checkAdminPermissionTo("get spending statistics", adminId);
+        userService.findUserById(ownerId);
+
+        return findSpending(ownerId, yearMonth);
+    }
+
+    @Transactional
+    public int rebuildSummaries(Long adminId) {
+        validateId(adminId);
+
+        userService.checkAdminPermissionTo("rebuild spending statistics", adminId);
+        int summaries = spendingSummaryRepository.rebuild();
+        log.info("Rebuilt {} spending summaries", summaries);
+
+        return summaries;
+    }
+
+}
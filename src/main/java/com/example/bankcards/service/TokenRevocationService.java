@@ -0,0 +1,96 @@
+package com.example.bankcards.service;
+
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.bankcards.config.properties.JwtProperties;
+import com.example.bankcards.repository.RefreshTokenRepository;
+import com.example.bankcards.repository.RevokedTokenRepository;
+import com.example.bankcards.repository.projection.RevokedToken;
+import com.example.bankcards.security.jwt.JwtTokenProvider;
+import com.example.bankcards.security.jwt.TokenDenylist;
+import com.example.bankcards.security.jwt.VerifiedToken;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtTokenProvider tokenProvider;
+    private final JwtProperties jwtProperties;
+
+    // Revocations and rebuilds are serialized so that a rebuild never drops a revocation made while it loads;
+    // checks never take the lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile TokenDenylist denylist;
+
+    // ---------- Helper methods ---------- //
+
+    @PostConstruct
+    void loadDenylist() {
+        refresh();
+    }
+
+    // ------------------------------------ //
+
+    // The token has to verify, so only someone holding a genuine token can revoke it. Revoking is a logout, so the
+    // user's refresh tokens go too; otherwise /refresh would keep minting access tokens for the rest of their TTL
+    public void revoke(final String token) {
+        VerifiedToken verified = tokenProvider.verify(token);
+
+        lock.lock();
+        try {
+            revokedTokenRepository.insert(
+                    verified.tokenId(),
+                    verified.userDetails().getUserId(),
+                    verified.expiresAt());
+            denylist.add(verified.tokenId(), verified.expiresAt().toEpochMilli());
+        } finally {
+            lock.unlock();
+        }
+
+        int refreshTokens = refreshTokenRepository.deleteByUserId(verified.userDetails().getUserId());
+
+        log.info(
+                "Revoked token {} and {} refresh tokens of user {}",
+                verified.tokenId(),
+                refreshTokens,
+                verified.userDetails().getUserId());
+    }
+
+    public boolean isRevoked(final String tokenId) {
+        return denylist.isRevoked(tokenId, System.currentTimeMillis());
+    }
+
+    // Drops expired revocations and rebuilds the denylist from the table, which also picks up tokens revoked
+    // through other instances
+    @Scheduled(cron = "${app.jwt.revocation.refresh-cron:0 * * * * *}")
+    public void refresh() {
+        JwtProperties.Revocation revocation = jwtProperties.revocation();
+
+        lock.lock();
+        try {
+            Instant now = Instant.now();
+            int purged = revokedTokenRepository.deleteExpired(now);
+            List<RevokedToken> active = revokedTokenRepository.findActive(now);
+            denylist = TokenDenylist.of(active, revocation.expectedTokens(), revocation.falsePositiveRate());
+
+            log.debug("Rebuilt token denylist with {} revoked tokens, purged {} expired", active.size(), purged);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.example.bankcards.service;
+
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.config.properties.TransferProperties;
+import com.example.bankcards.dto.transfer.response.TransferResponse;
+import com.example.bankcards.repository.Keyset;
+import com.example.bankcards.repository.TransferArchiveRepository;
+import com.example.bankcards.repository.projection.ArchivedTransfer;
+import com.example.bankcards.repository.projection.TransferArchiveBlock;
+import com.example.bankcards.service.transfer.TransferSegmentStore;
+import com.example.bankcards.util.constant.PaginationConstants;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransferArchiveService {
+
+    private final TransferArchiveRepository archiveRepository;
+    private final TransferSegmentStore segmentStore;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferProperties transferProperties;
+
+    // ---------- Helper methods ---------- //
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compareKeys(final Comparable key, final Comparable other) {
+        return key.compareTo(other);
+    }
+
+    private static Comparable<?> keyOf(final TransferResponse transfer, final Sort.Order order) {
+        return order.getProperty().equals(PaginationConstants.Cursor.ID_PROPERTY) ? transfer.id() : transfer.timestamp();
+    }
+
+    // The key of the block's row that comes first in the window order
+    private static Comparable<?> nearestKeyOf(final TransferArchiveBlock block, final Sort.Order order) {
+        if (order.getProperty().equals(PaginationConstants.Cursor.ID_PROPERTY))
+            return order.isAscending() ? block.minId() : block.maxId();
+
+        return order.isAscending() ? block.minCreatedAt() : block.maxCreatedAt();
+    }
+
+    private static boolean isAfter(final TransferResponse transfer, final Keyset keyset) {
+        int compared = compareKeys(
+                keyOf(transfer, new Sort.Order(keyset.direction(), keyset.property())),
+                keyset.value());
+        if (compared == 0)
+            compared = transfer.id().compareTo(keyset.id());
+
+        return keyset.direction().isAscending() ? compared > 0 : compared < 0;
+    }
+
+    private int archiveChunk(final LocalDateTime createdBefore, int chunkSize) {
+        return transactionTemplate.execute(status -> {
+            archiveRepository.lock();
+            List<ArchivedTransfer> transfers = archiveRepository.findArchivable(createdBefore, chunkSize);
+            if (transfers.isEmpty())
+                return 0;
+
+            long segmentId = archiveRepository.nextSegmentId();
+            String fileName = TransferSegmentStore.fileNameOf(segmentId);
+            List<TransferArchiveBlock> blocks = segmentStore.write(fileName, transfers);
+            // The file is only reachable through the index rows, so it goes away with them
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int completionStatus) {
+                    if (completionStatus != STATUS_COMMITTED)
+                        segmentStore.delete(fileName);
+                }
+            });
+
+            archiveRepository.insertSegment(segmentId, fileName, transfers, blocks);
+            int deleted = archiveRepository.deleteTransfers(
+                    createdBefore,
+                    transfers.stream().map(ArchivedTransfer::id).toList());
+            if (deleted != transfers.size())
+                throw new IllegalStateException(
+                        String.format("Archived %d transfers but deleted %d", transfers.size(), deleted));
+
+            log.debug("Archived {} transfers into {} ({} blocks)", transfers.size(), fileName, blocks.size());
+            return transfers.size();
+        });
+    }
+
+    // ------------------------------------ //
+
+    // Window order of TransferResponse rows for a keyset sort: the sort key, ties broken by id in the same direction
+    public static Comparator<TransferResponse> windowOrder(final Sort.Order order) {
+        Comparator<TransferResponse> ascending = (transfer, other) -> {
+            int compared = compareKeys(keyOf(transfer, order), keyOf(other, order));
+            return compared != 0 ? compared : transfer.id().compareTo(other.id());
+        };
+
+        return order.isAscending() ? ascending : ascending.reversed();
+    }
+
+    // Each chunk is written to its own segment and removed from transfers in one transaction
+    public long archiveBefore(final LocalDateTime createdBefore) {
+        int chunkSize = transferProperties.archive().chunkSize();
+
+        long archived = 0;
+        int chunk;
+        do {
+            chunk = archiveChunk(createdBefore, chunkSize);
+            archived += chunk;
+        } while (chunk == chunkSize);
+
+        if (archived > 0)
+            log.info("Archived {} transfers created before {}", archived, createdBefore);
+
+        return archived;
+    }
+
+    @Scheduled(cron = "${app.transfer.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        TransferProperties.Archive archive = transferProperties.archive();
+        if (archive.afterMonths() <= 0)
+            return;
+
+        archiveBefore(YearMonth.now().minusMonths(archive.afterMonths()).atDay(1).atStartOfDay());
+    }
+
+    public Optional<TransferResponse> findTransferForOwner(Long ownerId, Long transferId) {
+        for (TransferArchiveBlock block : archiveRepository.findBlocksContaining(ownerId, transferId))
+            for (ArchivedTransfer transfer : segmentStore.read(block))
+                if (transfer.id().equals(transferId))
+                    return Optional.of(TransferResponse.of(transfer));
+
+        return Optional.empty();
+    }
+
+    public long countTransfersForOwner(Long ownerId) {
+        return archiveRepository.countForOwner(ownerId);
+    }
+
+    // Blocks come nearest first, so reading stops at the first block that cannot precede the last row kept
+    public List<TransferResponse> findTransfersForOwner(
+            Long ownerId,
+            final Keyset keyset,
+            final Sort.Order order,
+            int limit) {
+        Comparator<TransferResponse> windowOrder = windowOrder(order);
+
+        List<TransferResponse> window = new ArrayList<>();
+        for (TransferArchiveBlock block : archiveRepository.findBlocksAfter(ownerId, keyset, order)) {
+            if (window.size() >= limit) {
+                int compared = compareKeys(nearestKeyOf(block, order), keyOf(window.get(limit - 1), order));
+                if (order.isAscending() ? compared > 0 : compared < 0)
+                    break;
+            }
+
+            for (ArchivedTransfer transfer : segmentStore.read(block)) {
+                TransferResponse response = TransferResponse.of(transfer);
+                if (keyset == null || isAfter(response, keyset))
+                    window.add(response);
+            }
+
+            window.sort(windowOrder);
+            if (window.size() > limit)
+                window = new ArrayList<>(window.subList(0, limit));
+        }
+
+        return window;
+    }
+
+}
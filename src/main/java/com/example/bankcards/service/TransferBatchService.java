@@ -0,0 +1,176 @@
+package com.example.bankcards.service;
+
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.exception.AccessDeniedException;
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.exception.DomainValidationException;
+import com.example.bankcards.exception.ResourceNotFoundException;
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.transfer.Transfer;
+import com.example.bankcards.model.transfer.category.TransferCategory;
+import com.example.bankcards.model.transfer.vo.Amount;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.repository.TransferBatchRepository;
+import com.example.bankcards.repository.TransferRepository;
+import com.example.bankcards.service.transfer.TransferBatchResult;
+import com.example.bankcards.util.constant.TransferConstants;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransferBatchService extends BaseService {
+
+    private final TransferRepository transferRepository;
+    private final TransferBatchRepository transferBatchRepository;
+    private final CardService cardService;
+    private final TransferCategoryService categoryService;
+    private final UserService userService;
+    private final SpendingSummaryService spendingSummaryService;
+
+    // ---------- Helper methods ---------- //
+
+    private List<Amount> validateRequests(final List<TransferRequest> requests) {
+        if (requests == null || requests.isEmpty())
+            throw new BusinessRuleViolationException(TransferConstants.Batch.DTO_REQUIRED_MESSAGE);
+
+        if (requests.size() > TransferConstants.Batch.MAX_SIZE)
+            throw new BusinessRuleViolationException(TransferConstants.Batch.DTO_TOO_LARGE_MESSAGE);
+
+        List<Amount> amounts = new ArrayList<>(requests.size());
+        for (TransferRequest request : requests) {
+            validateId(request.fromCardId());
+            validateId(request.toCardId());
+            amounts.add(new Amount(request.amount()));
+        }
+
+        return amounts;
+    }
+
+    private Card resolveCard(final Map<Long, Card> cards, Long cardId, final User owner) {
+        Card card = cards.get(cardId);
+        if (card == null)
+            throw new ResourceNotFoundException(String.format("Card with id=%d was not found", cardId));
+
+        if (!card.getOwner().equals(owner))
+            throw new AccessDeniedException(String.format("Permission to access card denied for id=%d", owner.getId()));
+
+        return card;
+    }
+
+    private Set<TransferCategory> resolveCategories(
+            final Map<Long, TransferCategory> categories,
+            final Set<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty())
+            return new HashSet<>();
+
+        Set<TransferCategory> resolved = new HashSet<>();
+        for (Long categoryId : categoryIds) {
+            TransferCategory category = categories.get(categoryId);
+            if (category == null)
+                throw new ResourceNotFoundException(String.format("Category with id=%d not found", categoryId));
+
+            resolved.add(category);
+        }
+
+        return resolved;
+    }
+
+    private Transfer prepareTransfer(
+            final User owner,
+            final TransferRequest request,
+            final Amount amount,
+            final Map<Long, Card> cards,
+            final Map<Long, TransferCategory> categories) {
+        Card fromCard = resolveCard(cards, request.fromCardId(), owner);
+        Card toCard = resolveCard(cards, request.toCardId(), owner);
+
+        if (fromCard.equals(toCard))
+            throw new BusinessRuleViolationException("Cannot transfer to the same card");
+
+        if (!fromCard.isActive() || !toCard.isActive())
+            throw new BusinessRuleViolationException("Both cards for transfer must be ACTIVE");
+
+        Set<TransferCategory> transferCategories = resolveCategories(categories, request.categoryIds());
+
+        fromCard.subtractBalance(amount);
+        toCard.addBalance(amount);
+
+        return Transfer.of(owner, fromCard, toCard, amount, transferCategories);
+    }
+
+    // ------------------------------------ //
+
+    @Transactional
+    public List<TransferBatchResult> transferBatchBetweenOwnCards(Long ownerId, final List<TransferRequest> requests) {
+        validateId(ownerId);
+        List<Amount> amounts = validateRequests(requests);
+
+        User owner = userService.findUserById(ownerId);
+
+        Set<Long> cardIds = new TreeSet<>();
+        Set<Long> categoryIds = new HashSet<>();
+        for (TransferRequest request : requests) {
+            cardIds.add(request.fromCardId());
+            cardIds.add(request.toCardId());
+            if (request.categoryIds() != null)
+                categoryIds.addAll(request.categoryIds());
+        }
+
+        // One locking query for every card in the batch, rows are locked in ascending id order
+        Map<Long, Card> cards = cardService.lockCardsByIds(cardIds).stream().collect(
+                Collectors.toMap(Card::getId, Function.identity()));
+        Map<Long, TransferCategory> categories = categoryIds.isEmpty() ? Map.of()
+                : categoryService.getCategoriesByIds(categoryIds).stream().collect(
+                        Collectors.toMap(TransferCategory::getId, Function.identity()));
+
+        TransferBatchResult[] results = new TransferBatchResult[requests.size()];
+        List<Integer> pendingIndexes = new ArrayList<>();
+        List<Transfer> pendingTransfers = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                pendingTransfers.add(prepareTransfer(owner, requests.get(i), amounts.get(i), cards, categories));
+                pendingIndexes.add(i);
+            } catch (BusinessRuleViolationException | ResourceNotFoundException | AccessDeniedException
+                    | DomainValidationException exception) {
+                results[i] = TransferBatchResult.failure(i, exception.getMessage());
+            }
+        }
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<Long> transferIds = transferBatchRepository.insertAll(pendingTransfers, createdAt);
+        spendingSummaryService.recordAll(ownerId, pendingTransfers, createdAt);
+        Map<Long, Transfer> savedTransfers = transferIds.isEmpty() ? Map.of()
+                : transferRepository.findAllWithCategoriesByIdIn(transferIds).stream().collect(
+                        Collectors.toMap(Transfer::getId, Function.identity()));
+
+        for (int i = 0; i < transferIds.size(); i++) {
+            int index = pendingIndexes.get(i);
+            results[index] = TransferBatchResult.success(index, savedTransfers.get(transferIds.get(i)));
+        }
+
+        log.debug("Transfer batch for owner id={}: {}/{} succeeded", ownerId, transferIds.size(), requests.size());
+
+        return Arrays.asList(results);
+    }
+
+}
@@ -1,16 +1,21 @@
 package com.example.bankcards.service;
 
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.example.bankcards.exception.ResourceNotFoundException;
 import com.example.bankcards.model.transfer.category.CategoryName;
 import com.example.bankcards.model.transfer.category.TransferCategory;
 import com.example.bankcards.repository.TransferCategoryRepository;
+import com.example.bankcards.service.transfer.TransferCategoryRegistry;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,23 +26,58 @@ import lombok.extern.slf4j.Slf4j;
 public class TransferCategoryService extends BaseService {
 
     private final TransferCategoryRepository categoryRepository;
+    private final UserService userService;
+
+    // Categories only change through migrations, so lookups are served from memory and never hit the database
+    private volatile TransferCategoryRegistry registry;
+
+    // ---------- Helper methods ---------- //
+
+    @PostConstruct
+    void loadRegistry() {
+        TransferCategoryRegistry loaded = TransferCategoryRegistry.of(categoryRepository.findAll());
+        if (!loaded.containsAll(EnumSet.allOf(CategoryName.class)))
+            log.warn("Transfer categories table does not cover every CategoryName: {}", loaded.getAll());
+
+        registry = loaded;
+        log.info("Loaded {} transfer categories", loaded.getAll().size());
+    }
+
+    // ------------------------------------ //
 
-    @Transactional(readOnly = true)
     public TransferCategory getCategoryById(Long categoryId) {
         validateId(categoryId);
-        return categoryRepository.findById(categoryId).orElseThrow(
+        return registry.findById(categoryId).orElseThrow(
                 () -> new ResourceNotFoundException(String.format("Category with id=%d not found", categoryId)));
     }
 
-    @Transactional(readOnly = true)
-    public TransferCategory getCategoryByName(final CategoryName name) {
-        return categoryRepository.findByName(name).orElseThrow(
-                () -> new ResourceNotFoundException(String.format("Category with name=%s not found", name)));
+    public Set<TransferCategory> resolveCategories(final Collection<Long> categoryIds) {
+        Set<TransferCategory> categories = new HashSet<>();
+        if (categoryIds == null)
+            return categories;
+
+        for (Long categoryId : categoryIds)
+            categories.add(getCategoryById(categoryId));
+
+        return categories;
+    }
+
+    public List<TransferCategory> getCategoriesByIds(final Collection<Long> categoryIds) {
+        TransferCategoryRegistry current = registry;
+        return categoryIds.stream().flatMap(categoryId -> current.findById(categoryId).stream()).toList();
     }
 
-    @Transactional(readOnly = true)
     public List<TransferCategory> getAllCategories() {
-        return categoryRepository.findAll();
+        return registry.getAll();
+    }
+
+    public List<TransferCategory> refreshCategories(Long adminId) {
+        validateId(adminId);
+
+        userService.checkAdminPermissionTo("refresh transfer categories", adminId);
+        loadRegistry();
+
+        return registry.getAll();
     }
 
 }
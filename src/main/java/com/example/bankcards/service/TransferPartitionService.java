@@ -0,0 +1,110 @@
+package com.example.bankcards.service;
+
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.config.properties.TransferProperties;
+import com.example.bankcards.repository.TransferPartitionRepository;
+import com.example.bankcards.repository.projection.TransferPartition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransferPartitionService {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final TransferPartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferProperties transferProperties;
+
+    // ---------- Helper methods ---------- //
+
+    private static String partitionNameOf(final YearMonth month) {
+        return "transfers_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    private static LocalDateTime startOf(final YearMonth month) {
+        return month.atDay(1).atStartOfDay();
+    }
+
+    // ------------------------------------ //
+
+    // Months already covered by a partition, transfers_history included, are skipped
+    public List<String> createPartitions(final YearMonth firstMonth, int months) {
+        return transactionTemplate.execute(status -> {
+            partitionRepository.lock();
+            List<TransferPartition> partitions = partitionRepository.findAll();
+
+            List<String> created = new ArrayList<>();
+            for (int i = 0; i < months; i++) {
+                YearMonth month = firstMonth.plusMonths(i);
+                LocalDateTime from = startOf(month);
+                if (partitions.stream().anyMatch(partition -> partition.covers(from)))
+                    continue;
+
+                String name = partitionNameOf(month);
+                partitionRepository.create(name, from, startOf(month.plusMonths(1)));
+                created.add(name);
+            }
+
+            if (!created.isEmpty())
+                log.info("Created transfer partitions {}", created);
+
+            return created;
+        });
+    }
+
+    // Detached partitions stay in the database as plain tables; only their idempotency keys are released
+    public List<String> detachPartitionsBefore(final YearMonth cutoff) {
+        return transactionTemplate.execute(status -> {
+            partitionRepository.lock();
+
+            List<String> detached = new ArrayList<>();
+            for (TransferPartition partition : partitionRepository.findAll()) {
+                if (partition.to().isAfter(startOf(cutoff)))
+                    continue;
+
+                int releasedKeys = partitionRepository.detach(partition.name());
+                detached.add(partition.name());
+                log.info(
+                        "Detached transfer partition {}, released {} idempotency keys",
+                        partition.name(),
+                        releasedKeys);
+            }
+
+            return detached;
+        });
+    }
+
+    @Scheduled(cron = "${app.transfer.partitions.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        TransferProperties.Partitions partitions = transferProperties.partitions();
+        YearMonth currentMonth = YearMonth.now();
+
+        createPartitions(currentMonth, partitions.monthsAhead() + 1);
+        if (partitions.retentionMonths() > 0)
+            detachPartitionsBefore(currentMonth.minusMonths(partitions.retentionMonths()));
+    }
+
+    // Inserts fail for a month without a partition, so the months ahead are ensured before serving requests
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainPartitionsOnStartup() {
+        maintainPartitions();
+    }
+
+}
@@ -1,25 +1,51 @@
 package com.example.bankcards.service;
 
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.dto.transfer.response.TransferResponse;
 import com.example.bankcards.exception.AccessDeniedException;
 import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.exception.ConcurrentUpdateException;
 import com.example.bankcards.exception.ResourceNotFoundException;
 import com.example.bankcards.model.card.Card;
 import com.example.bankcards.model.transfer.Transfer;
 import com.example.bankcards.model.transfer.category.TransferCategory;
 import com.example.bankcards.model.transfer.vo.Amount;
 import com.example.bankcards.model.user.User;
+import com.example.bankcards.repository.Keyset;
+import com.example.bankcards.repository.KeysetSpecification;
 import com.example.bankcards.repository.TransferRepository;
+import com.example.bankcards.repository.TransferSpecification;
+import com.example.bankcards.repository.projection.TransferCategoryLink;
+import com.example.bankcards.repository.projection.TransferSummary;
+import com.example.bankcards.service.transfer.TransferCards;
+import com.example.bankcards.service.transfer.TransferConcurrencyStrategy;
+import com.example.bankcards.service.transfer.TransferExecutor;
+import com.example.bankcards.util.KeysetCursors;
+import com.example.bankcards.util.constant.PaginationConstants;
+import com.example.bankcards.util.constant.TransferConstants;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,10 +56,17 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class TransferService extends BaseService {
 
+    private static final String TRANSFERS = "transfers";
+
     private final TransferRepository transferRepository;
     private final TransferCategoryService categoryService;
     private final UserService userService;
-    private final CardService cardService;
+    private final TransferConcurrencyStrategy concurrencyStrategy;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferExecutor transferExecutor;
+    private final ApproximateCounter approximateCounter;
+    private final SpendingSummaryService spendingSummaryService;
+    private final TransferArchiveService transferArchiveService;
 
     // ---------- Helper methods ---------- //
 
@@ -42,32 +75,133 @@ public class TransferService extends BaseService {
                 () -> new ResourceNotFoundException(String.format("Transfer with id=%d not found", transferId)));
     }
 
-    private final Transfer findTransferByIdForOwner(Long transferId, final User owner) {
-        Transfer transfer = transferRepository.findById(transferId).orElseThrow(
-                () -> new ResourceNotFoundException(String.format("Transfer with id=%d was not found", transferId)));
+    // Transfers moved to the archive are no longer in the table, so a miss there is looked up in the archive
+    private final TransferResponse findTransferByIdForOwner(Long transferId, final User owner) {
+        Optional<Transfer> transfer = transferRepository.findById(transferId);
+        if (transfer.isEmpty())
+            return transferArchiveService.findTransferForOwner(owner.getId(), transferId).orElseThrow(
+                    () -> new ResourceNotFoundException(
+                            String.format("Transfer with id=%d was not found", transferId)));
 
-        if (!transfer.getOwner().equals(owner))
+        if (!transfer.get().getOwner().equals(owner))
             throw new AccessDeniedException(String.format("Permission to access card denied for id=%d", owner.getId()));
 
-        return transfer;
+        return TransferResponse.of(transfer.get());
     }
 
-    // ------------------------------------ //
+    // Listings are read as projections; categories of the whole window are attached with one query instead of per row
+    private Function<TransferSummary, TransferResponse> withCategories(final Slice<TransferSummary> summaries) {
+        Map<Long, Set<String>> categoriesByTransferId = new HashMap<>();
+        if (summaries.hasContent()) {
+            List<Long> transferIds = summaries.map(TransferSummary::id).getContent();
+            for (TransferCategoryLink link : transferRepository.findCategoryLinksByTransferIdIn(transferIds))
+                categoriesByTransferId.computeIfAbsent(link.transferId(), id -> new HashSet<>()).add(
+                        link.name().toString());
+        }
 
-    @Transactional
-    public Transfer transferBetweenOwnCards(Long ownerId, final TransferRequest request) {
-        validateId(ownerId);
+        return summary -> TransferResponse.of(summary, categoriesByTransferId.getOrDefault(summary.id(), Set.of()));
+    }
 
-        Long fromCardId = request.fromCardId();
-        Long toCardId = request.toCardId();
-        Amount amount = new Amount(request.amount());
+    // Archived rows are merged into the window by its order; a full window of live rows may still be preceded by them
+    private Slice<TransferResponse> withArchived(
+            Long ownerId,
+            final Keyset keyset,
+            final Sort.Order order,
+            final Slice<TransferResponse> live) {
+        int size = live.getSize();
+        List<TransferResponse> archived = transferArchiveService.findTransfersForOwner(ownerId, keyset, order, size + 1);
+        if (archived.isEmpty())
+            return live;
+
+        List<TransferResponse> merged = new ArrayList<>(live.getContent());
+        merged.addAll(archived);
+        merged.sort(TransferArchiveService.windowOrder(order));
+
+        boolean hasNext = live.hasNext() || merged.size() > size;
+        return new SliceImpl<>(merged.subList(0, Math.min(size, merged.size())), live.getPageable(), hasNext);
+    }
 
-        validateId(fromCardId);
-        validateId(toCardId);
+    // The archive is indexed by id and creation time only, so a merged page must be sorted by one of them. Both sources
+    // are read up to the end of the page, which makes deep offset pages proportionally dearer than cursor windows
+    private Slice<TransferResponse> pageWithArchived(
+            Long ownerId,
+            final Pageable pageable,
+            final CountMode countMode,
+            long archivedCount) {
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() != 1 || !PaginationConstants.Cursor.SORT_PROPERTIES.contains(orders.get(0).getProperty()))
+            throw new BusinessRuleViolationException(
+                    TransferConstants.Archive.unsupportedSortMessage(pageable.getSort().toString()));
+
+        Sort.Order order = orders.get(0);
+        int offset = Math.toIntExact(pageable.getOffset());
+        int end = offset + pageable.getPageSize();
+
+        Pageable head = PageRequest.of(0, end + 1, KeysetCursors.sortOf(order));
+        Slice<TransferSummary> live = transferRepository.findSummarySlice(TransferSpecification.hasOwnerId(ownerId), head);
+        List<TransferResponse> merged = new ArrayList<>(live.map(withCategories(live)).getContent());
+        merged.addAll(transferArchiveService.findTransfersForOwner(ownerId, null, order, end + 1));
+        merged.sort(TransferArchiveService.windowOrder(order));
+
+        List<TransferResponse> content = List.copyOf(
+                merged.subList(Math.min(offset, merged.size()), Math.min(end, merged.size())));
+        Slice<TransferResponse> page = new SliceImpl<>(content, pageable, merged.size() > end);
+        LongSupplier total = () -> transferRepository.countByOwnerId(ownerId) + archivedCount;
+
+        return switch (countMode) {
+            case EXACT -> ApproximateCounter.toPage(page, total.getAsLong());
+            case NONE -> page;
+            case APPROX -> ApproximateCounter.toPage(page, approximateCounter.count(total, TRANSFERS, ownerId));
+        };
+    }
+
+    private void validateIdempotencyKey(final String idempotencyKey) {
+        if (idempotencyKey == null)
+            return;
+
+        if (idempotencyKey.isBlank())
+            throw new BusinessRuleViolationException(TransferConstants.IdempotencyKey.BLANK_MESSAGE);
+
+        if (idempotencyKey.length() > TransferConstants.IdempotencyKey.MAX_LENGTH)
+            throw new BusinessRuleViolationException(TransferConstants.IdempotencyKey.TOO_LONG_MESSAGE);
+    }
+
+    private Transfer replayTransfer(
+            final Transfer transfer,
+            Long fromCardId,
+            Long toCardId,
+            final Amount amount,
+            final Set<Long> categoryIds) {
+        Set<Long> storedCategoryIds = new HashSet<>();
+        for (TransferCategory category : transfer.getCategories())
+            storedCategoryIds.add(category.getId());
+
+        if (!transfer.getFromCard().getId().equals(fromCardId) || !transfer.getToCard().getId().equals(toCardId)
+                || transfer.getAmount().getValue().compareTo(amount.getValue()) != 0
+                || !storedCategoryIds.equals(categoryIds == null ? Set.of() : categoryIds))
+            throw new BusinessRuleViolationException(TransferConstants.IdempotencyKey.REUSED_MESSAGE);
+
+        log.debug("Replaying transfer id={} for idempotency key={}", transfer.getId(), transfer.getIdempotencyKey());
+        return transfer;
+    }
+
+    private Transfer executeTransfer(
+            Long ownerId,
+            Long fromCardId,
+            Long toCardId,
+            final Amount amount,
+            final Set<Long> categoryIds,
+            final String idempotencyKey) {
+        if (idempotencyKey != null) {
+            Transfer existing = transferRepository.findByOwnerIdAndIdempotencyKey(ownerId, idempotencyKey).orElse(null);
+            if (existing != null)
+                return replayTransfer(existing, fromCardId, toCardId, amount, categoryIds);
+        }
 
         User owner = userService.findUserById(ownerId);
-        Card fromCard = cardService.findCardByIdForOwner(fromCardId, owner);
-        Card toCard = cardService.findCardByIdForOwner(toCardId, owner);
+        TransferCards cards = concurrencyStrategy.loadCards(owner, fromCardId, toCardId);
+        Card fromCard = cards.fromCard();
+        Card toCard = cards.toCard();
 
         if (fromCard.equals(toCard))
             throw new BusinessRuleViolationException("Cannot transfer to the same card");
@@ -75,18 +209,83 @@ public class TransferService extends BaseService {
         if (!fromCard.isActive() || !toCard.isActive())
             throw new BusinessRuleViolationException("Both cards for transfer must be ACTIVE");
 
-        fromCard.subtractBalance(amount);
-        toCard.addBalance(amount);
+        concurrencyStrategy.moveFunds(fromCard, toCard, amount);
+
+        Set<TransferCategory> categories = categoryService.resolveCategories(categoryIds);
+        Transfer transfer = Transfer.of(owner, fromCard, toCard, amount, categories, idempotencyKey);
 
-        Set<TransferCategory> categories = new HashSet<>();
-        if (request.categoryIds() != null && !request.categoryIds().isEmpty()) {
-            categories = request.categoryIds().stream().map(categoryService::getCategoryById).collect(
-                    Collectors.toSet());
+        Transfer savedTransfer = transferRepository.save(transfer);
+        spendingSummaryService.record(savedTransfer);
+
+        return savedTransfer;
+    }
+
+    private Transfer executeTransferWithRetries(
+            Long ownerId,
+            Long fromCardId,
+            Long toCardId,
+            final Amount amount,
+            final Set<Long> categoryIds,
+            final String idempotencyKey) {
+        int maxAttempts = concurrencyStrategy.getMaxAttempts();
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(
+                        status -> executeTransfer(ownerId, fromCardId, toCardId, amount, categoryIds, idempotencyKey));
+            } catch (DataIntegrityViolationException exception) {
+                if (idempotencyKey == null)
+                    throw exception;
+
+                // Same key committed concurrently elsewhere, the stored transfer wins
+                Transfer existing = transactionTemplate.execute(
+                        status -> transferRepository.findByOwnerIdAndIdempotencyKey(ownerId, idempotencyKey).orElseThrow(
+                                () -> exception));
+                return replayTransfer(existing, fromCardId, toCardId, amount, categoryIds);
+            } catch (OptimisticLockingFailureException exception) {
+                if (attempt >= maxAttempts)
+                    throw new ConcurrentUpdateException(
+                            String.format(
+                                    "Transfer from card id=%d aborted after %d concurrent update attempts",
+                                    fromCardId,
+                                    attempt));
+
+                log.debug(
+                        "Concurrent update of card id={} or id={}, retry {}/{}",
+                        fromCardId,
+                        toCardId,
+                        attempt,
+                        maxAttempts);
+            }
         }
+    }
+
+    // ------------------------------------ //
+
+    public Transfer transferBetweenOwnCards(Long ownerId, final TransferRequest request) {
+        return transferBetweenOwnCards(ownerId, request, null);
+    }
+
+    public Transfer transferBetweenOwnCards(Long ownerId, final TransferRequest request, final String idempotencyKey) {
+        validateId(ownerId);
+        validateIdempotencyKey(idempotencyKey);
+
+        Long fromCardId = request.fromCardId();
+        Long toCardId = request.toCardId();
+        Amount amount = new Amount(request.amount());
 
-        Transfer transfer = Transfer.of(owner, fromCard, toCard, amount, categories);
+        validateId(fromCardId);
+        validateId(toCardId);
 
-        return transferRepository.save(transfer);
+        return transferExecutor.execute(
+                fromCardId,
+                toCardId,
+                () -> executeTransferWithRetries(
+                        ownerId,
+                        fromCardId,
+                        toCardId,
+                        amount,
+                        request.categoryIds(),
+                        idempotencyKey));
     }
 
     @Transactional(readOnly = true)
@@ -99,34 +298,83 @@ public class TransferService extends BaseService {
     }
 
     @Transactional(readOnly = true)
-    public Page<Transfer> getAllTransfersForAdmin(Long adminId, final Pageable pageable) {
-        validatePagination(pageable);
+    public Slice<TransferResponse> getAllTransfersForAdmin(
+            Long adminId,
+            final Pageable pageable,
+            final CountMode countMode) {
+        validatePagination(pageable, countMode);
 
         validateId(adminId);
         userService.checkAdminPermissionTo("get all transfers", adminId);
 
-        return transferRepository.findAll(pageable);
+        Slice<TransferSummary> summaries = switch (countMode) {
+            case EXACT -> transferRepository.findAllSummaries(pageable);
+            case NONE -> transferRepository.findSummarySlice(null, pageable);
+            case APPROX -> ApproximateCounter.toPage(
+                    transferRepository.findSummarySlice(null, pageable),
+                    approximateCounter.estimate(
+                            transferRepository::estimateCount,
+                            transferRepository::count,
+                            TRANSFERS));
+        };
+
+        return summaries.map(withCategories(summaries));
     }
 
     @Transactional(readOnly = true)
-    public Transfer getTransferByIdForOwner(Long ownerId, Long transferId) {
+    public TransferResponse getTransferByIdForOwner(Long ownerId, Long transferId) {
         validateId(ownerId);
         validateId(transferId);
 
         User owner = userService.findUserById(ownerId);
-        Transfer transfer = findTransferByIdForOwner(transferId, owner);
+        TransferResponse transfer = findTransferByIdForOwner(transferId, owner);
 
         return transfer;
     }
 
     @Transactional(readOnly = true)
-    public Page<Transfer> getAllTransfersForOwner(Long ownerId, final Pageable pageable) {
-        validatePagination(pageable);
+    public Slice<TransferResponse> getAllTransfersForOwner(
+            Long ownerId,
+            final Pageable pageable,
+            final CountMode countMode) {
+        validatePagination(pageable, countMode);
 
         validateId(ownerId);
-        User owner = userService.findUserById(ownerId);
+        userService.findUserById(ownerId);
+
+        long archivedCount = transferArchiveService.countTransfersForOwner(ownerId);
+        if (archivedCount > 0)
+            return pageWithArchived(ownerId, pageable, countMode, archivedCount);
+
+        Specification<Transfer> spec = TransferSpecification.hasOwnerId(ownerId);
+        Slice<TransferSummary> summaries = switch (countMode) {
+            case EXACT -> transferRepository.findAllSummariesByOwnerId(ownerId, pageable);
+            case NONE -> transferRepository.findSummarySlice(spec, pageable);
+            case APPROX -> ApproximateCounter.toPage(
+                    transferRepository.findSummarySlice(spec, pageable),
+                    approximateCounter.count(() -> transferRepository.countByOwnerId(ownerId), TRANSFERS, ownerId));
+        };
+
+        return summaries.map(withCategories(summaries));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<TransferResponse> scrollTransfersForOwner(
+            Long ownerId,
+            final String cursor,
+            final Sort.Order order,
+            int size) {
+        validateWindowSize(size);
+
+        validateId(ownerId);
+        userService.findUserById(ownerId);
+
+        Keyset keyset = KeysetCursors.decode(cursor, order);
+        Specification<Transfer> spec = TransferSpecification.hasOwnerId(ownerId).and(KeysetSpecification.after(keyset));
+        Pageable window = PageRequest.of(0, size, KeysetCursors.sortOf(order));
+        Slice<TransferSummary> summaries = transferRepository.findSummarySlice(spec, window);
 
-        return transferRepository.findAllByOwner(owner, pageable);
+        return withArchived(ownerId, keyset, order, summaries.map(withCategories(summaries)));
     }
 
 }
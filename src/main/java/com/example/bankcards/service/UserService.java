@@ -1,8 +1,10 @@
 package com.example.bankcards.service;
 
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,7 +20,11 @@ import com.example.bankcards.model.user.Role;
 import com.example.bankcards.model.user.User;
 import com.example.bankcards.model.user.vo.Email;
 import com.example.bankcards.model.user.vo.Password;
+import com.example.bankcards.repository.Keyset;
+import com.example.bankcards.repository.KeysetSpecification;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CustomUserDetails;
+import com.example.bankcards.util.KeysetCursors;
 import com.example.bankcards.util.constant.UserConstants;
 
 import lombok.RequiredArgsConstructor;
@@ -30,8 +36,12 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class UserService extends BaseService {
 
+    private static final String USERS = "users";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApproximateCounter approximateCounter;
+    private final RequestIdentityMap identityMap;
 
     // ---------- Helper methods ---------- //
 
@@ -46,14 +56,19 @@ public class UserService extends BaseService {
                     UserConstants.Password.servicePasswordInvalidLengthMessage(rawPassword.length()));
     }
 
+    // The role of the authenticated caller comes from the verified token, which the JWT filter has already checked
+    // against the database, so only calls without that caller on the thread (background work) load the user
     public void checkAdminPermissionTo(final String operationName, Long adminId) {
-        User admin = findUserById(adminId);
-        if (!admin.isAdmin())
+        boolean isAdmin = CustomUserDetails.current()
+                .filter(userDetails -> adminId.equals(userDetails.getUserId()))
+                .map(userDetails -> userDetails.getRole() == Role.ADMIN)
+                .orElseGet(() -> findUserById(adminId).isAdmin());
+        if (!isAdmin)
             throw new AccessDeniedException(String.format("Permission to %s denied for id=%d", operationName, adminId));
     }
 
     public User findUserById(Long userId) {
-        return userRepository.findById(userId).orElseThrow(
+        return identityMap.find(User.class, userId, userRepository::findById).orElseThrow(
                 () -> new ResourceNotFoundException(String.format("User with id=%d not found", userId)));
     }
 
@@ -101,12 +116,30 @@ public class UserService extends BaseService {
     }
 
     @Transactional(readOnly = true)
-    public Page<User> getAllUsers(Long adminId, final Pageable pageable) {
-        validatePagination(pageable);
+    public Slice<User> getAllUsers(Long adminId, final Pageable pageable, final CountMode countMode) {
+        validatePagination(pageable, countMode);
+        validateId(adminId);
+        checkAdminPermissionTo("get all users", adminId);
+
+        return switch (countMode) {
+            case EXACT -> userRepository.findAll(pageable);
+            case NONE -> userRepository.findSliceBy(pageable);
+            case APPROX -> ApproximateCounter.toPage(
+                    userRepository.findSliceBy(pageable),
+                    approximateCounter.estimate(userRepository::estimateCount, userRepository::count, USERS));
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<User> scrollUsers(Long adminId, final String cursor, final Sort.Order order, int size) {
+        validateWindowSize(size);
         validateId(adminId);
         checkAdminPermissionTo("get all users", adminId);
 
-        return userRepository.findAll(pageable);
+        Keyset keyset = KeysetCursors.decode(cursor, order);
+        Pageable window = PageRequest.of(0, size, KeysetCursors.sortOf(order));
+
+        return userRepository.findBy(KeysetSpecification.<User>after(keyset), query -> query.slice(window));
     }
 
     @Transactional
@@ -138,6 +171,17 @@ public class UserService extends BaseService {
         return userRepository.save(user);
     }
 
+    // Stores a new hash of the password the user already has, e.g. after the bcrypt cost changed
+    @Transactional
+    public void replacePasswordHash(Long userId, final Password password) {
+        validateId(userId);
+
+        User user = findUserById(userId);
+        user.changePassword(password);
+
+        userRepository.save(user);
+    }
+
     @Transactional
     public void deleteUserById(Long adminId, Long userId) {
         validateId(adminId);
@@ -147,6 +191,7 @@ public class UserService extends BaseService {
 
         User userToDelete = findUserById(userId);
         userRepository.delete(userToDelete);
+        identityMap.evict(User.class, userId);
     }
 
 }
@@ -0,0 +1,71 @@
+package com.example.bankcards.service.export;
+
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+
+// RFC 4180: comma separated, CRLF line ends, fields quoted only when they contain a separator, quote or line break
+final class CsvExportWriter extends ExportWriter {
+
+    private static final String LINE_END = "\r\n";
+
+    private final Writer writer;
+
+    CsvExportWriter(final OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected void writeHeader(final String[] columns) throws IOException {
+        writeLine(columns);
+    }
+
+    @Override
+    protected void writeRow(final Object[] values) throws IOException {
+        writeLine(values);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private void writeLine(final Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0)
+                writer.write(',');
+
+            String text = toText(values[i]);
+            if (text != null)
+                writeField(text);
+        }
+        writer.write(LINE_END);
+    }
+
+    private void writeField(final String text) throws IOException {
+        boolean quoted = false;
+        for (int i = 0; i < text.length() && !quoted; i++) {
+            char c = text.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+
+        if (!quoted) {
+            writer.write(text);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // ------------------------------------ //
+
+}
@@ -0,0 +1,14 @@
+package com.example.bankcards.service.export;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+
+// A prepared export; rows are read and written only when the response body is being sent
+@FunctionalInterface
+public interface Export {
+
+    long writeTo(OutputStream out) throws IOException;
+
+}
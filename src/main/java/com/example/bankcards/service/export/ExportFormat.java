@@ -0,0 +1,45 @@
+package com.example.bankcards.service.export;
+
+
+import java.io.OutputStream;
+
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.util.constant.ExportConstants;
+import com.fasterxml.jackson.core.JsonFactory;
+
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"), CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(final String mediaType, final String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static ExportFormat of(final String value) {
+        for (ExportFormat format : values())
+            if (format.extension.equalsIgnoreCase(value))
+                return format;
+
+        throw new BusinessRuleViolationException(ExportConstants.Format.unsupportedMessage(value));
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public ExportWriter open(final OutputStream out, final JsonFactory jsonFactory) {
+        return switch (this) {
+            case NDJSON -> new NdjsonExportWriter(out, jsonFactory);
+            case CSV -> new CsvExportWriter(out);
+        };
+    }
+
+}
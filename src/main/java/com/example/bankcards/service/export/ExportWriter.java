@@ -0,0 +1,60 @@
+package com.example.bankcards.service.export;
+
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+
+// Writes rows straight from an open cursor, one at a time; column names come from the query's column labels.
+// Closing flushes the writer but leaves the target stream open for the caller
+public abstract class ExportWriter implements ResultSetExtractor<Long>, Closeable {
+
+    @Override
+    public final Long extractData(final ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        String[] columns = new String[metaData.getColumnCount()];
+        for (int i = 0; i < columns.length; i++)
+            columns[i] = metaData.getColumnLabel(i + 1);
+
+        Object[] values = new Object[columns.length];
+        long rows = 0;
+        try {
+            writeHeader(columns);
+            while (resultSet.next()) {
+                for (int i = 0; i < values.length; i++)
+                    values[i] = resultSet.getObject(i + 1);
+
+                writeRow(values);
+                rows++;
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return rows;
+    }
+
+    protected abstract void writeHeader(final String[] columns) throws IOException;
+
+    protected abstract void writeRow(final Object[] values) throws IOException;
+
+    protected static String toText(final Object value) {
+        return switch (value) {
+            case null -> null;
+            case BigDecimal decimal -> decimal.toPlainString();
+            case Timestamp timestamp -> timestamp.toLocalDateTime().toString();
+            case Date date -> date.toLocalDate().toString();
+            default -> value.toString();
+        };
+    }
+
+}
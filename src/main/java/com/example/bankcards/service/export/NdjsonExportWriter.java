@@ -0,0 +1,59 @@
+package com.example.bankcards.service.export;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+
+// One JSON object per line, written with the streaming generator so no row is ever materialized as a tree
+final class NdjsonExportWriter extends ExportWriter {
+
+    private final JsonGenerator generator;
+    private SerializableString[] fieldNames;
+
+    NdjsonExportWriter(final OutputStream out, final JsonFactory jsonFactory) {
+        try {
+            this.generator = jsonFactory.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    protected void writeHeader(final String[] columns) {
+        fieldNames = new SerializableString[columns.length];
+        for (int i = 0; i < columns.length; i++)
+            fieldNames[i] = new SerializedString(columns[i]);
+    }
+
+    @Override
+    protected void writeRow(final Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            generator.writeFieldName(fieldNames[i]);
+            switch (values[i]) {
+                case null -> generator.writeNull();
+                case Long number -> generator.writeNumber(number);
+                case Integer number -> generator.writeNumber(number);
+                case BigDecimal number -> generator.writeNumber(number);
+                default -> generator.writeString(toText(values[i]));
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+}
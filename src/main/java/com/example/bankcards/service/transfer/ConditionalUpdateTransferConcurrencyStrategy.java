@@ -0,0 +1,59 @@
+package com.example.bankcards.service.transfer;
+
+
+import java.math.BigDecimal;
+
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.transfer.vo.Amount;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.service.CardService;
+
+import lombok.RequiredArgsConstructor;
+
+
+@RequiredArgsConstructor
+public final class ConditionalUpdateTransferConcurrencyStrategy implements TransferConcurrencyStrategy {
+
+    private final CardService cardService;
+    private final CardRepository cardRepository;
+
+    @Override
+    public TransferConcurrencyMode getMode() {
+        return TransferConcurrencyMode.CONDITIONAL_UPDATE;
+    }
+
+    @Override
+    public TransferCards loadCards(final User owner, Long fromCardId, Long toCardId) {
+        Card fromCard = cardService.findCardByIdForOwner(fromCardId, owner);
+        Card toCard = cardService.findCardByIdForOwner(toCardId, owner);
+
+        return new TransferCards(fromCard, toCard);
+    }
+
+    @Override
+    public void moveFunds(final Card fromCard, final Card toCard, final Amount amount) {
+        BigDecimal value = amount.getValue();
+
+        // Updates follow ascending id order for the same deadlock-avoidance reason as the pessimistic strategy
+        if (fromCard.getId() < toCard.getId()) {
+            debit(fromCard, value);
+            credit(toCard, value);
+        } else {
+            credit(toCard, value);
+            debit(fromCard, value);
+        }
+    }
+
+    private void debit(final Card card, final BigDecimal value) {
+        if (cardRepository.debitIfSufficientFunds(card.getId(), value) == 0)
+            throw new BusinessRuleViolationException("Insufficient funds");
+    }
+
+    private void credit(final Card card, final BigDecimal value) {
+        if (cardRepository.creditIfActive(card.getId(), value) == 0)
+            throw new BusinessRuleViolationException("Both cards for transfer must be ACTIVE");
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.example.bankcards.service.transfer;
+
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+public final class LaneTransferExecutor implements TransferExecutor, AutoCloseable {
+
+    private final Lane[] lanes;
+    private final Counter singleLaneTasks;
+    private final Counter crossLaneTasks;
+
+    private volatile boolean closed;
+
+    public LaneTransferExecutor(int laneCount, final MeterRegistry meterRegistry) {
+        if (laneCount < 1)
+            throw new IllegalArgumentException(String.format("Transfer lane count must be positive, got: %d", laneCount));
+
+        this.lanes = new Lane[laneCount];
+        for (int index = 0; index < laneCount; index++) {
+            Lane lane = new Lane(index);
+            lanes[index] = lane;
+
+            Gauge.builder("transfer.lanes.queue.depth", lane.queue, BlockingQueue::size)
+                    .tag("lane", String.valueOf(index))
+                    .description("Transfers waiting in the lane queue")
+                    .register(meterRegistry);
+
+            lane.thread.start();
+        }
+
+        this.singleLaneTasks = Counter.builder("transfer.lanes.tasks").tag("span", "single").register(meterRegistry);
+        this.crossLaneTasks = Counter.builder("transfer.lanes.tasks").tag("span", "cross").register(meterRegistry);
+
+        log.info("Started {} transfer lanes", laneCount);
+    }
+
+    @Override
+    public <T> T execute(Long fromCardId, Long toCardId, final Supplier<T> work) {
+        int fromLane = laneOf(fromCardId);
+        int toLane = laneOf(toCardId);
+
+        LaneTask<T> task;
+        if (fromLane == toLane) {
+            task = new LaneTask<>(work, 1);
+            enqueue(task, lanes[fromLane]);
+            singleLaneTasks.increment();
+        } else {
+            task = new LaneTask<>(work, 2);
+            enqueue(task, lanes[Math.min(fromLane, toLane)], lanes[Math.max(fromLane, toLane)]);
+            crossLaneTasks.increment();
+        }
+
+        return task.await();
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    public int getQueueDepth(int laneIndex) {
+        return lanes[laneIndex].queue.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+            lane.queue.forEach(LaneTask::reject);
+            lane.queue.clear();
+        }
+
+        log.info("Stopped {} transfer lanes", lanes.length);
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private int laneOf(Long cardId) {
+        return Math.floorMod(Long.hashCode(cardId), lanes.length);
+    }
+
+    // A cross-lane task is appended to both queues while holding both submit locks (ascending lane order), so any two
+    // tasks sharing lanes are queued in the same relative order everywhere and lanes can never wait on each other in a cycle
+    private void enqueue(final LaneTask<?> task, final Lane... targetLanes) {
+        for (Lane lane : targetLanes)
+            lane.submitLock.lock();
+
+        try {
+            if (closed)
+                throw new IllegalStateException("Transfer lanes are shut down");
+
+            for (Lane lane : targetLanes)
+                lane.queue.add(task);
+        } finally {
+            for (int i = targetLanes.length - 1; i >= 0; i--)
+                targetLanes[i].submitLock.unlock();
+        }
+    }
+
+    // ------------------------------------ //
+
+    private static final class Lane implements Runnable {
+
+        private final BlockingQueue<LaneTask<?>> queue = new LinkedBlockingQueue<>();
+        private final ReentrantLock submitLock = new ReentrantLock();
+        private final Thread thread;
+
+        private Lane(int index) {
+            this.thread = Thread.ofPlatform().name("transfer-lane-" + index).daemon(true).unstarted(this);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!Thread.currentThread().isInterrupted())
+                    queue.take().arrive();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+    }
+
+    private static final class LaneTask<T> {
+
+        private final Supplier<T> work;
+        private final AtomicInteger pendingLanes;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private LaneTask(final Supplier<T> work, int laneCount) {
+            this.work = work;
+            this.pendingLanes = new AtomicInteger(laneCount);
+        }
+
+        // The last lane to reach the task runs it, the others stay parked so nothing behind it in their queues overtakes
+        private void arrive() throws InterruptedException {
+            if (pendingLanes.decrementAndGet() == 0) {
+                try {
+                    result.complete(work.get());
+                } catch (Throwable throwable) {
+                    result.completeExceptionally(throwable);
+                }
+                return;
+            }
+
+            try {
+                result.get();
+            } catch (ExecutionException exception) {
+                // Failure is reported to the submitting thread
+            }
+        }
+
+        private void reject() {
+            result.completeExceptionally(new IllegalStateException("Transfer lanes are shut down"));
+        }
+
+        private T await() {
+            try {
+                return result.get();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for transfer lane", exception);
+            } catch (ExecutionException exception) {
+                Throwable cause = exception.getCause();
+                if (cause instanceof RuntimeException runtimeException)
+                    throw runtimeException;
+                if (cause instanceof Error error)
+                    throw error;
+
+                throw new IllegalStateException("Transfer lane task failed", cause);
+            }
+        }
+
+    }
+
+}
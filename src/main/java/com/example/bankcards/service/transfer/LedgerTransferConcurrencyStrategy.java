@@ -0,0 +1,51 @@
+package com.example.bankcards.service.transfer;
+
+
+import java.util.List;
+import java.util.TreeSet;
+
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.ledger.LedgerEntry;
+import com.example.bankcards.model.transfer.vo.Amount;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.repository.LedgerEntryRepository;
+import com.example.bankcards.service.CardService;
+
+import lombok.RequiredArgsConstructor;
+
+
+@RequiredArgsConstructor
+public final class LedgerTransferConcurrencyStrategy implements TransferConcurrencyStrategy {
+
+    private final CardService cardService;
+    private final LedgerEntryRepository ledgerEntryRepository;
+
+    @Override
+    public TransferConcurrencyMode getMode() {
+        return TransferConcurrencyMode.LEDGER;
+    }
+
+    @Override
+    public TransferCards loadCards(final User owner, Long fromCardId, Long toCardId) {
+        // Rows are locked before loading: the pending ledger sum read together with the lock would miss postings
+        // committed while this transaction was waiting for it
+        cardService.lockCardIds(new TreeSet<>(List.of(fromCardId, toCardId)));
+
+        Card fromCard = cardService.findCardByIdForOwner(fromCardId, owner);
+        Card toCard = cardService.findCardByIdForOwner(toCardId, owner);
+
+        return new TransferCards(fromCard, toCard);
+    }
+
+    @Override
+    public void moveFunds(final Card fromCard, final Card toCard, final Amount amount) {
+        fromCard.postDebit(amount);
+        toCard.postCredit(amount);
+
+        ledgerEntryRepository.saveAll(
+                List.of(
+                        LedgerEntry.of(fromCard, amount.getValue().negate()),
+                        LedgerEntry.of(toCard, amount.getValue())));
+    }
+
+}
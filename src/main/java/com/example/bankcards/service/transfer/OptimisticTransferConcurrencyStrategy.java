@@ -0,0 +1,48 @@
+package com.example.bankcards.service.transfer;
+
+
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.transfer.vo.Amount;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.service.CardService;
+
+import lombok.RequiredArgsConstructor;
+
+
+@RequiredArgsConstructor
+public final class OptimisticTransferConcurrencyStrategy implements TransferConcurrencyStrategy {
+
+    private final CardService cardService;
+    private final int maxAttempts;
+
+    @Override
+    public TransferConcurrencyMode getMode() {
+        return TransferConcurrencyMode.OPTIMISTIC;
+    }
+
+    @Override
+    public TransferCards loadCards(final User owner, Long fromCardId, Long toCardId) {
+        // Hibernate flushes updates in load order, so loading in ascending id order keeps row locks deadlock-free
+        if (fromCardId <= toCardId) {
+            Card fromCard = cardService.findCardByIdForOwner(fromCardId, owner);
+            Card toCard = cardService.findCardByIdForOwner(toCardId, owner);
+            return new TransferCards(fromCard, toCard);
+        }
+
+        Card toCard = cardService.findCardByIdForOwner(toCardId, owner);
+        Card fromCard = cardService.findCardByIdForOwner(fromCardId, owner);
+        return new TransferCards(fromCard, toCard);
+    }
+
+    @Override
+    public void moveFunds(final Card fromCard, final Card toCard, final Amount amount) {
+        fromCard.subtractBalance(amount);
+        toCard.addBalance(amount);
+    }
+
+    @Override
+    public int getMaxAttempts() {
+        return this.maxAttempts;
+    }
+
+}
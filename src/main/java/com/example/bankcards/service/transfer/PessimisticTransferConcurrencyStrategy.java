@@ -0,0 +1,47 @@
+package com.example.bankcards.service.transfer;
+
+
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.transfer.vo.Amount;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.service.CardService;
+
+import lombok.RequiredArgsConstructor;
+
+
+@RequiredArgsConstructor
+public final class PessimisticTransferConcurrencyStrategy implements TransferConcurrencyStrategy {
+
+    private final CardService cardService;
+
+    @Override
+    public TransferConcurrencyMode getMode() {
+        return TransferConcurrencyMode.PESSIMISTIC;
+    }
+
+    @Override
+    public TransferCards loadCards(final User owner, Long fromCardId, Long toCardId) {
+        if (fromCardId.equals(toCardId)) {
+            Card card = cardService.lockCardByIdForOwner(fromCardId, owner);
+            return new TransferCards(card, card);
+        }
+
+        // Rows are always locked in ascending id order, so opposite transfers between the same pair cannot deadlock
+        if (fromCardId < toCardId) {
+            Card fromCard = cardService.lockCardByIdForOwner(fromCardId, owner);
+            Card toCard = cardService.lockCardByIdForOwner(toCardId, owner);
+            return new TransferCards(fromCard, toCard);
+        }
+
+        Card toCard = cardService.lockCardByIdForOwner(toCardId, owner);
+        Card fromCard = cardService.lockCardByIdForOwner(fromCardId, owner);
+        return new TransferCards(fromCard, toCard);
+    }
+
+    @Override
+    public void moveFunds(final Card fromCard, final Card toCard, final Amount amount) {
+        fromCard.subtractBalance(amount);
+        toCard.addBalance(amount);
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.example.bankcards.service.transfer;
+
+
+import com.example.bankcards.model.transfer.Transfer;
+
+
+public record TransferBatchResult(int index, Transfer transfer, String errorMessage) {
+
+    public static TransferBatchResult success(int index, final Transfer transfer) {
+        return new TransferBatchResult(index, transfer, null);
+    }
+
+    public static TransferBatchResult failure(int index, final String errorMessage) {
+        return new TransferBatchResult(index, null, errorMessage);
+    }
+
+    public boolean isSuccess() {
+        return transfer != null;
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.example.bankcards.service.transfer;
+
+
+import com.example.bankcards.model.card.Card;
+
+
+public record TransferCards(Card fromCard, Card toCard) {
+}
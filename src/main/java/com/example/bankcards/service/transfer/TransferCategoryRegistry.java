@@ -0,0 +1,60 @@
+package com.example.bankcards.service.transfer;
+
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.example.bankcards.model.transfer.category.CategoryName;
+import com.example.bankcards.model.transfer.category.TransferCategory;
+
+
+// Immutable snapshot of the categories table; instances are detached and only ever referenced by id when persisting
+public final class TransferCategoryRegistry {
+
+    private final Map<Long, TransferCategory> byId;
+    private final Map<CategoryName, TransferCategory> byName;
+    private final List<TransferCategory> all;
+
+    private TransferCategoryRegistry(
+            final Map<Long, TransferCategory> byId,
+            final Map<CategoryName, TransferCategory> byName,
+            final List<TransferCategory> all) {
+        this.byId = byId;
+        this.byName = byName;
+        this.all = all;
+    }
+
+    public static TransferCategoryRegistry of(final Collection<TransferCategory> categories) {
+        Map<Long, TransferCategory> byId = new HashMap<>();
+        Map<CategoryName, TransferCategory> byName = new EnumMap<>(CategoryName.class);
+
+        for (TransferCategory category : categories) {
+            if (byId.putIfAbsent(category.getId(), category) != null
+                    || byName.putIfAbsent(category.getName(), category) != null)
+                throw new IllegalStateException(String.format("Duplicate transfer category: %s", category));
+        }
+
+        List<TransferCategory> all = categories.stream().sorted(Comparator.comparing(TransferCategory::getId)).toList();
+
+        return new TransferCategoryRegistry(Map.copyOf(byId), Collections.unmodifiableMap(byName), all);
+    }
+
+    public Optional<TransferCategory> findById(Long categoryId) {
+        return Optional.ofNullable(byId.get(categoryId));
+    }
+
+    public List<TransferCategory> getAll() {
+        return all;
+    }
+
+    public boolean containsAll(final Collection<CategoryName> names) {
+        return byName.keySet().containsAll(names);
+    }
+
+}
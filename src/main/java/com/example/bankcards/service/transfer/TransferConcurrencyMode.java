@@ -0,0 +1,8 @@
+package com.example.bankcards.service.transfer;
+
+
+public enum TransferConcurrencyMode {
+
+    PESSIMISTIC, OPTIMISTIC, CONDITIONAL_UPDATE, LEDGER
+
+}
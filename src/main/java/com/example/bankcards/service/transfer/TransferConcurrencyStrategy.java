@@ -0,0 +1,21 @@
+package com.example.bankcards.service.transfer;
+
+
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.transfer.vo.Amount;
+import com.example.bankcards.model.user.User;
+
+
+public interface TransferConcurrencyStrategy {
+
+    TransferConcurrencyMode getMode();
+
+    TransferCards loadCards(final User owner, Long fromCardId, Long toCardId);
+
+    void moveFunds(final Card fromCard, final Card toCard, final Amount amount);
+
+    default int getMaxAttempts() {
+        return 1;
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.example.bankcards.service.transfer;
+
+
+import java.util.function.Supplier;
+
+
+public interface TransferExecutor {
+
+    <T> T execute(Long fromCardId, Long toCardId, Supplier<T> work);
+
+}
@@ -0,0 +1,180 @@
+package com.example.bankcards.service.transfer;
+
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.dto.transfer.response.TransferResponse;
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.util.constant.TransferConstants;
+
+
+public final class TransferIdempotencyStore {
+
+    private final Stripe[] stripes;
+    private final int maxEntriesPerStripe;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    public TransferIdempotencyStore(int stripeCount, int maxEntries, final Duration ttl) {
+        this(stripeCount, maxEntries, ttl, System::nanoTime);
+    }
+
+    TransferIdempotencyStore(int stripeCount, int maxEntries, final Duration ttl, final LongSupplier nanoClock) {
+        if (stripeCount < 1 || maxEntries < stripeCount)
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Idempotency store needs at least one entry per stripe, got: stripes=%d, entries=%d",
+                            stripeCount,
+                            maxEntries));
+
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++)
+            stripes[i] = new Stripe();
+
+        this.maxEntriesPerStripe = maxEntries / stripeCount;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public TransferResponse execute(
+            Long ownerId,
+            final String idempotencyKey,
+            final TransferRequest request,
+            final Supplier<TransferResponse> action) {
+        Key key = new Key(ownerId, idempotencyKey);
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+
+        Entry entry;
+        boolean firstExecution = false;
+
+        stripe.lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            stripe.evictExpired(now);
+
+            entry = stripe.entries.get(key);
+            if (entry == null) {
+                entry = new Entry(request, now + ttlNanos);
+                stripe.entries.put(key, entry);
+                stripe.evictOverflow(maxEntriesPerStripe);
+                firstExecution = true;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        if (!firstExecution) {
+            checkSameRequest(entry.request, request);
+            return await(entry.response);
+        }
+
+        try {
+            TransferResponse response = action.get();
+            entry.response.complete(response);
+            return response;
+        } catch (RuntimeException exception) {
+            // Failed executions are not remembered, a retry with the same key runs again
+            stripe.lock.lock();
+            try {
+                stripe.entries.remove(key, entry);
+            } finally {
+                stripe.lock.unlock();
+            }
+
+            entry.response.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.entries.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+
+        return size;
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private static Set<Long> categoryIdsOf(final TransferRequest request) {
+        return request.categoryIds() == null ? Set.of() : request.categoryIds();
+    }
+
+    private static void checkSameRequest(final TransferRequest stored, final TransferRequest request) {
+        if (!stored.fromCardId().equals(request.fromCardId()) || !stored.toCardId().equals(request.toCardId())
+                || stored.amount().compareTo(request.amount()) != 0
+                || !categoryIdsOf(stored).equals(categoryIdsOf(request)))
+            throw new BusinessRuleViolationException(TransferConstants.IdempotencyKey.REUSED_MESSAGE);
+    }
+
+    private static TransferResponse await(final CompletableFuture<TransferResponse> response) {
+        try {
+            return response.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for duplicate transfer", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+
+            throw new IllegalStateException("Duplicate transfer failed", exception.getCause());
+        }
+    }
+
+    // ------------------------------------ //
+
+    private record Key(Long ownerId, String idempotencyKey) {
+    }
+
+    private static final class Entry {
+
+        private final TransferRequest request;
+        private final long expiresAt;
+        private final CompletableFuture<TransferResponse> response = new CompletableFuture<>();
+
+        private Entry(final TransferRequest request, long expiresAt) {
+            this.request = request;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+
+        // Entries share one TTL and are kept in insertion order, so expired ones are always at the head
+        private void evictExpired(long now) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext() && iterator.next().expiresAt - now <= 0)
+                iterator.remove();
+        }
+
+        private void evictOverflow(int maxEntries) {
+            Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,243 @@
+package com.example.bankcards.service.transfer;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+import com.example.bankcards.repository.projection.ArchivedTransfer;
+import com.example.bankcards.repository.projection.TransferArchiveBlock;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+// Segment files are written once and never modified: a header followed by deflated blocks, each holding up to
+// MAX_BLOCK_TRANSFERS consecutive transfers of one owner. A read maps the file once and inflates a single block,
+// so its cost is bounded by the block size however large the archive grows
+@Slf4j
+public final class TransferSegmentStore {
+
+    static final int MAX_BLOCK_TRANSFERS = 1_000;
+
+    private static final int MAGIC = 0x54534731;
+    private static final int HEADER_LENGTH = Integer.BYTES;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int INFLATE_BUFFER_SIZE = 8_192;
+
+    private final Path directory;
+    private final Map<String, MappedByteBuffer> mappedSegments = new ConcurrentHashMap<>();
+
+    public TransferSegmentStore(final Path directory) {
+        this.directory = directory;
+    }
+
+    public static String fileNameOf(long segmentId) {
+        return String.format("transfers-%012d.seg", segmentId);
+    }
+
+    // Transfers must come grouped by owner. The file is complete and synced to disk before this returns
+    public List<TransferArchiveBlock> write(final String fileName, final List<ArchivedTransfer> transfers) {
+        Path target = directory.resolve(fileName);
+        Path temporary = directory.resolve(fileName + TEMPORARY_SUFFIX);
+
+        List<TransferArchiveBlock> blocks = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(
+                    temporary,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                writeFully(channel, ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).flip());
+
+                int start = 0;
+                while (start < transfers.size()) {
+                    int end = blockEnd(transfers, start);
+                    List<ArchivedTransfer> blockTransfers = transfers.subList(start, end);
+                    long offset = channel.position();
+                    byte[] block = encode(blockTransfers);
+                    writeFully(channel, ByteBuffer.wrap(block));
+                    blocks.add(toBlock(fileName, offset, block.length, blockTransfers));
+                    start = end;
+                }
+
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            delete(fileName + TEMPORARY_SUFFIX);
+            throw new UncheckedIOException(exception);
+        }
+
+        return blocks;
+    }
+
+    public List<ArchivedTransfer> read(final TransferArchiveBlock block) {
+        MappedByteBuffer segment = mappedSegments.computeIfAbsent(block.fileName(), this::map);
+        ByteBuffer compressed = segment.slice(Math.toIntExact(block.offset()), block.length());
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(inflate(compressed)))) {
+            return decode(input, block.ownerId());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    // Used when the transaction that indexed the segment rolls back
+    public void delete(final String fileName) {
+        mappedSegments.remove(fileName);
+        try {
+            Files.deleteIfExists(directory.resolve(fileName));
+        } catch (IOException exception) {
+            log.warn("Failed to delete transfer archive segment {}", fileName, exception);
+        }
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private static int blockEnd(final List<ArchivedTransfer> transfers, int start) {
+        Long ownerId = transfers.get(start).ownerId();
+        int end = start + 1;
+        while (end < transfers.size() && end - start < MAX_BLOCK_TRANSFERS
+                && transfers.get(end).ownerId().equals(ownerId))
+            end++;
+
+        return end;
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    private static TransferArchiveBlock toBlock(
+            final String fileName,
+            long offset,
+            int length,
+            final List<ArchivedTransfer> transfers) {
+        return new TransferArchiveBlock(
+                fileName,
+                offset,
+                length,
+                transfers.get(0).ownerId(),
+                transfers.size(),
+                transfers.stream().mapToLong(ArchivedTransfer::id).min().orElseThrow(),
+                transfers.stream().mapToLong(ArchivedTransfer::id).max().orElseThrow(),
+                transfers.stream().map(ArchivedTransfer::createdAt).min(LocalDateTime::compareTo).orElseThrow(),
+                transfers.stream().map(ArchivedTransfer::createdAt).max(LocalDateTime::compareTo).orElseThrow());
+    }
+
+    private static byte[] encode(final List<ArchivedTransfer> transfers) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            output.writeInt(transfers.size());
+            for (ArchivedTransfer transfer : transfers) {
+                output.writeLong(transfer.id());
+                output.writeLong(transfer.fromCardId());
+                output.writeLong(transfer.toCardId());
+                output.writeUTF(transfer.fromCardLast4());
+                output.writeUTF(transfer.toCardLast4());
+                output.writeUTF(transfer.amount().toPlainString());
+                output.writeLong(transfer.createdAt().toEpochSecond(ZoneOffset.UTC));
+                output.writeInt(transfer.createdAt().getNano());
+                output.writeInt(transfer.categories().size());
+                for (String category : transfer.categories())
+                    output.writeUTF(category);
+            }
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static List<ArchivedTransfer> decode(final DataInputStream input, Long ownerId) throws IOException {
+        int count = input.readInt();
+        List<ArchivedTransfer> transfers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = input.readLong();
+            long fromCardId = input.readLong();
+            long toCardId = input.readLong();
+            String fromCardLast4 = input.readUTF();
+            String toCardLast4 = input.readUTF();
+            BigDecimal amount = new BigDecimal(input.readUTF());
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(input.readLong(), input.readInt(), ZoneOffset.UTC);
+
+            int categoryCount = input.readInt();
+            Set<String> categories = new HashSet<>(categoryCount);
+            for (int j = 0; j < categoryCount; j++)
+                categories.add(input.readUTF());
+
+            transfers.add(
+                    new ArchivedTransfer(
+                            id,
+                            ownerId,
+                            fromCardId,
+                            toCardId,
+                            fromCardLast4,
+                            toCardLast4,
+                            amount,
+                            createdAt,
+                            Set.copyOf(categories)));
+        }
+
+        return transfers;
+    }
+
+    private static byte[] inflate(final ByteBuffer compressed) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[INFLATE_BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    throw new IOException("Truncated transfer archive block");
+
+                bytes.write(buffer, 0, inflated);
+            }
+
+            return bytes.toByteArray();
+        } catch (DataFormatException exception) {
+            throw new IOException("Corrupted transfer archive block", exception);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private MappedByteBuffer map(final String fileName) {
+        try (FileChannel channel = FileChannel.open(directory.resolve(fileName), StandardOpenOption.READ)) {
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (segment.getInt(0) != MAGIC)
+                throw new IOException(String.format("%s is not a transfer archive segment", fileName));
+
+            return segment;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    // ------------------------------------ //
+
+}
@@ -0,0 +1,81 @@
+package com.example.bankcards.service.transfer;
+
+
+import java.util.Objects;
+import java.util.UUID;
+
+import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.dto.transfer.response.TransferResponse;
+
+
+public final class TransferSubmission {
+
+    private final UUID id;
+    private final Long ownerId;
+    private final TransferRequest request;
+    private final String idempotencyKey;
+
+    private volatile TransferSubmissionStatus status = TransferSubmissionStatus.PENDING;
+    private volatile TransferResponse transfer;
+    private volatile String errorMessage;
+    private volatile long finishedAt;
+
+    public TransferSubmission(Long ownerId, final TransferRequest request, final String idempotencyKey) {
+        this.id = UUID.randomUUID();
+        this.ownerId = Objects.requireNonNull(ownerId, "Transfer submission owner id is <null>");
+        this.request = Objects.requireNonNull(request, "Transfer submission request is <null>");
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    // The response is published before the status, so readers that see COMPLETED always see the transfer
+    void complete(final TransferResponse response) {
+        this.transfer = response;
+        this.status = TransferSubmissionStatus.COMPLETED;
+    }
+
+    void fail(final String message) {
+        this.errorMessage = message;
+        this.status = TransferSubmissionStatus.FAILED;
+    }
+
+    void markFinished(long now) {
+        this.finishedAt = now;
+    }
+
+    public boolean isPending() {
+        return this.status == TransferSubmissionStatus.PENDING;
+    }
+
+    public UUID getId() {
+        return this.id;
+    }
+
+    public Long getOwnerId() {
+        return this.ownerId;
+    }
+
+    public TransferRequest getRequest() {
+        return this.request;
+    }
+
+    public String getIdempotencyKey() {
+        return this.idempotencyKey;
+    }
+
+    public TransferSubmissionStatus getStatus() {
+        return this.status;
+    }
+
+    public TransferResponse getTransfer() {
+        return this.transfer;
+    }
+
+    public String getErrorMessage() {
+        return this.errorMessage;
+    }
+
+    long getFinishedAt() {
+        return this.finishedAt;
+    }
+
+}
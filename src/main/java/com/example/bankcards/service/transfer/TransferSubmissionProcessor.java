@@ -0,0 +1,114 @@
+package com.example.bankcards.service.transfer;
+
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.dto.transfer.response.TransferResponse;
+import com.example.bankcards.exception.AccessDeniedException;
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.exception.ConcurrentUpdateException;
+import com.example.bankcards.exception.DomainValidationException;
+import com.example.bankcards.exception.ResourceNotFoundException;
+import com.example.bankcards.service.TransferBatchService;
+import com.example.bankcards.service.TransferService;
+import com.example.bankcards.util.constant.TransferConstants;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@RequiredArgsConstructor
+public final class TransferSubmissionProcessor implements Consumer<List<TransferSubmission>> {
+
+    static final String UNEXPECTED_ERROR_MESSAGE = "An unexpected error occurred";
+
+    private final TransferService transferService;
+    private final TransferBatchService transferBatchService;
+
+    @Override
+    public void accept(final List<TransferSubmission> batch) {
+        Map<Long, List<TransferSubmission>> byOwner = new LinkedHashMap<>();
+        for (TransferSubmission submission : batch)
+            byOwner.computeIfAbsent(submission.getOwnerId(), ownerId -> new ArrayList<>()).add(submission);
+
+        byOwner.forEach(this::processOwner);
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private void processOwner(Long ownerId, final List<TransferSubmission> submissions) {
+        List<TransferSubmission> batchable = new ArrayList<>();
+        for (TransferSubmission submission : submissions) {
+            // Keyed submissions keep the durable idempotency check of the single transfer path
+            if (submission.getIdempotencyKey() != null)
+                processSingle(submission);
+            else
+                batchable.add(submission);
+        }
+
+        if (batchable.size() == 1) {
+            processSingle(batchable.get(0));
+            return;
+        }
+
+        for (int from = 0; from < batchable.size(); from += TransferConstants.Batch.MAX_SIZE)
+            processBatch(
+                    ownerId,
+                    batchable.subList(from, Math.min(from + TransferConstants.Batch.MAX_SIZE, batchable.size())));
+    }
+
+    private void processSingle(final TransferSubmission submission) {
+        try {
+            TransferResponse response = TransferResponse.of(
+                    submission.getIdempotencyKey() == null
+                            ? transferService.transferBetweenOwnCards(submission.getOwnerId(), submission.getRequest())
+                            : transferService.transferBetweenOwnCards(
+                                    submission.getOwnerId(),
+                                    submission.getRequest(),
+                                    submission.getIdempotencyKey()));
+            submission.complete(response);
+        } catch (RuntimeException exception) {
+            submission.fail(describe(exception));
+        }
+    }
+
+    private void processBatch(Long ownerId, final List<TransferSubmission> submissions) {
+        List<TransferRequest> requests = submissions.stream().map(TransferSubmission::getRequest).toList();
+
+        List<TransferBatchResult> results;
+        try {
+            results = transferBatchService.transferBatchBetweenOwnCards(ownerId, requests);
+        } catch (RuntimeException exception) {
+            String message = describe(exception);
+            submissions.forEach(submission -> submission.fail(message));
+            return;
+        }
+
+        for (TransferBatchResult result : results) {
+            TransferSubmission submission = submissions.get(result.index());
+            if (result.isSuccess())
+                submission.complete(TransferResponse.of(result.transfer()));
+            else
+                submission.fail(result.errorMessage());
+        }
+    }
+
+    private static String describe(final RuntimeException exception) {
+        if (exception instanceof BusinessRuleViolationException || exception instanceof ResourceNotFoundException
+                || exception instanceof AccessDeniedException || exception instanceof DomainValidationException
+                || exception instanceof ConcurrentUpdateException)
+            return exception.getMessage();
+
+        log.error("Async transfer failed", exception);
+        return UNEXPECTED_ERROR_MESSAGE;
+    }
+
+    // ------------------------------------ //
+
+}
@@ -0,0 +1,216 @@
+package com.example.bankcards.service.transfer;
+
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.exception.ResourceNotFoundException;
+import com.example.bankcards.exception.TransferQueueFullException;
+import com.example.bankcards.util.constant.TransferConstants;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+public final class TransferSubmissionQueue implements AutoCloseable {
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    static final String NOT_PROCESSED_MESSAGE = "Transfer was not processed";
+    static final String SHUTDOWN_MESSAGE = "Transfer queue was shut down before the transfer was processed";
+
+    private final BlockingQueue<TransferSubmission> queue;
+    private final Map<UUID, TransferSubmission> submissions = new ConcurrentHashMap<>();
+    private final Queue<TransferSubmission> finished = new ConcurrentLinkedQueue<>();
+    private final Thread[] workers;
+    private final int maxBatchSize;
+    private final long statusTtlNanos;
+    private final int maxRetainedStatuses;
+    private final Consumer<List<TransferSubmission>> processor;
+    private final LongSupplier nanoClock;
+    private final Counter acceptedSubmissions;
+    private final Counter rejectedSubmissions;
+
+    private volatile boolean closed;
+
+    public TransferSubmissionQueue(
+            int capacity,
+            int workerCount,
+            int maxBatchSize,
+            final Duration statusTtl,
+            int maxRetainedStatuses,
+            final Consumer<List<TransferSubmission>> processor,
+            final MeterRegistry meterRegistry) {
+        this(capacity, workerCount, maxBatchSize, statusTtl, maxRetainedStatuses, processor, meterRegistry, System::nanoTime);
+    }
+
+    TransferSubmissionQueue(
+            int capacity,
+            int workerCount,
+            int maxBatchSize,
+            final Duration statusTtl,
+            int maxRetainedStatuses,
+            final Consumer<List<TransferSubmission>> processor,
+            final MeterRegistry meterRegistry,
+            final LongSupplier nanoClock) {
+        if (capacity < 1 || workerCount < 1 || maxBatchSize < 1)
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Transfer queue sizes must be positive, got: capacity=%d, workers=%d, batch=%d",
+                            capacity,
+                            workerCount,
+                            maxBatchSize));
+
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.statusTtlNanos = statusTtl.toNanos();
+        this.maxRetainedStatuses = maxRetainedStatuses;
+        this.processor = processor;
+        this.nanoClock = nanoClock;
+
+        Gauge.builder("transfer.async.queue.depth", queue, BlockingQueue::size)
+                .description("Transfers accepted but not yet picked up by a worker")
+                .register(meterRegistry);
+        this.acceptedSubmissions = Counter.builder("transfer.async.submissions").tag("result", "accepted").register(
+                meterRegistry);
+        this.rejectedSubmissions = Counter.builder("transfer.async.submissions").tag("result", "rejected").register(
+                meterRegistry);
+
+        this.workers = new Thread[workerCount];
+        for (int index = 0; index < workerCount; index++)
+            workers[index] = Thread.ofVirtual().name("transfer-async-" + index).start(this::drain);
+
+        log.info("Started {} async transfer workers, queue capacity {}", workerCount, capacity);
+    }
+
+    public TransferSubmission submit(Long ownerId, final TransferRequest request, final String idempotencyKey) {
+        if (closed)
+            throw new IllegalStateException("Transfer queue is closed");
+
+        evictFinished(nanoClock.getAsLong());
+
+        TransferSubmission submission = new TransferSubmission(ownerId, request, idempotencyKey);
+        submissions.put(submission.getId(), submission);
+
+        if (!queue.offer(submission)) {
+            submissions.remove(submission.getId());
+            rejectedSubmissions.increment();
+            throw new TransferQueueFullException("Too many pending transfers, retry later");
+        }
+
+        acceptedSubmissions.increment();
+        return submission;
+    }
+
+    // Submissions of other owners are reported as missing, so their ids cannot be probed
+    public TransferSubmission getSubmissionForOwner(Long ownerId, final UUID submissionId) {
+        TransferSubmission submission = submissions.get(submissionId);
+        if (submission == null || !submission.getOwnerId().equals(ownerId))
+            throw new ResourceNotFoundException(
+                    String.format(TransferConstants.Async.NOT_FOUND_MESSAGE_TEMPLATE, submissionId));
+
+        return submission;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getRetainedCount() {
+        return submissions.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT.toNanos();
+        for (Thread worker : workers) {
+            try {
+                worker.join(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        List<TransferSubmission> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(submission -> submission.fail(SHUTDOWN_MESSAGE));
+
+        log.info("Stopped async transfer workers, {} queued transfers abandoned", abandoned.size());
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private void drain() {
+        List<TransferSubmission> batch = new ArrayList<>(maxBatchSize);
+
+        while (!closed || !queue.isEmpty()) {
+            TransferSubmission first;
+            try {
+                first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (first == null)
+                continue;
+
+            batch.add(first);
+            queue.drainTo(batch, maxBatchSize - 1);
+
+            try {
+                processor.accept(batch);
+            } catch (RuntimeException exception) {
+                log.error("Async transfer batch of {} failed", batch.size(), exception);
+            }
+
+            long now = nanoClock.getAsLong();
+            for (TransferSubmission submission : batch) {
+                if (submission.isPending())
+                    submission.fail(NOT_PROCESSED_MESSAGE);
+
+                submission.markFinished(now);
+                finished.add(submission);
+            }
+            batch.clear();
+
+            evictFinished(now);
+        }
+    }
+
+    // Statuses share one TTL and are appended in completion order, so expired ones are always at the head
+    private void evictFinished(long now) {
+        TransferSubmission head;
+        while ((head = finished.peek()) != null) {
+            boolean expired = now - head.getFinishedAt() >= statusTtlNanos;
+            boolean overflow = submissions.size() > maxRetainedStatuses;
+            if (!expired && !overflow)
+                return;
+
+            if (finished.remove(head))
+                submissions.remove(head.getId());
+        }
+    }
+
+    // ------------------------------------ //
+
+}
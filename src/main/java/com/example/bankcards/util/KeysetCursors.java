@@ -0,0 +1,104 @@
+package com.example.bankcards.util;
+
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.repository.Keyset;
+import com.example.bankcards.util.constant.PaginationConstants.Cursor;
+
+
+public final class KeysetCursors {
+
+    private static final String SEPARATOR = "|";
+    private static final int PARTS = 4;
+
+    private KeysetCursors() {
+        throw new UnsupportedOperationException("KeysetCursors.java - utility class");
+    }
+
+    // Ties on the sort key are broken by id in the same direction, so (key, id) is unique and a seek never skips rows
+    public static Sort sortOf(final Sort.Order order) {
+        checkSortable(order);
+
+        if (order.getProperty().equals(Cursor.ID_PROPERTY))
+            return Sort.by(order);
+
+        return Sort.by(order, new Sort.Order(order.getDirection(), Cursor.ID_PROPERTY));
+    }
+
+    // A blank cursor starts from the first window
+    public static Keyset decode(final String cursor, final Sort.Order order) {
+        checkSortable(order);
+
+        if (cursor == null || cursor.isBlank())
+            return null;
+
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            parts = raw.split(Pattern.quote(SEPARATOR), -1);
+        } catch (IllegalArgumentException exception) {
+            throw new BusinessRuleViolationException(Cursor.MALFORMED_MESSAGE);
+        }
+
+        if (parts.length != PARTS)
+            throw new BusinessRuleViolationException(Cursor.MALFORMED_MESSAGE);
+
+        if (!parts[0].equals(order.getProperty()) || !parts[1].equals(order.getDirection().name()))
+            throw new BusinessRuleViolationException(Cursor.SORT_MISMATCH_MESSAGE);
+
+        try {
+            Long id = Long.valueOf(parts[3]);
+            Comparable<?> value = parts[0].equals(Cursor.CREATED_AT_PROPERTY) ? LocalDateTime.parse(parts[2]) : id;
+
+            return new Keyset(parts[0], order.getDirection(), value, id);
+        } catch (NumberFormatException | DateTimeParseException exception) {
+            throw new BusinessRuleViolationException(Cursor.MALFORMED_MESSAGE);
+        }
+    }
+
+    public static String encode(final Keyset keyset) {
+        String raw = String.join(
+                SEPARATOR,
+                keyset.property(),
+                keyset.direction().name(),
+                keyset.value().toString(),
+                keyset.id().toString());
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static <T> String next(
+            final Slice<T> slice,
+            final Sort.Order order,
+            final Function<T, Long> idOf,
+            final Function<T, LocalDateTime> createdAtOf) {
+        if (!slice.hasNext() || !slice.hasContent())
+            return null;
+
+        T last = slice.getContent().get(slice.getNumberOfElements() - 1);
+        Long id = idOf.apply(last);
+        Comparable<?> value = order.getProperty().equals(Cursor.CREATED_AT_PROPERTY) ? createdAtOf.apply(last) : id;
+
+        return encode(new Keyset(order.getProperty(), order.getDirection(), value, id));
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private static void checkSortable(final Sort.Order order) {
+        if (!Cursor.SORT_PROPERTIES.contains(order.getProperty()))
+            throw new BusinessRuleViolationException(Cursor.unsupportedSortMessage(order.getProperty()));
+    }
+
+    // ------------------------------------ //
+
+}
@@ -0,0 +1,23 @@
+package com.example.bankcards.util.constant;
+
+
+public class ExportConstants {
+
+    private ExportConstants() {
+        throw new UnsupportedOperationException("ExportConstants.java - utility class");
+    }
+
+    public static final class Format {
+
+        public static final String REQUIRED_MESSAGE = "Export format is required";
+
+        private static final String FORMATS = "ndjson, csv";
+        private static final String TEMPLATE_UNSUPPORTED = "Unsupported export format '%s' (supported: %s)";
+
+        public static final String unsupportedMessage(final String value) {
+            return String.format(TEMPLATE_UNSUPPORTED, value, FORMATS);
+        }
+
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.example.bankcards.util.constant;
+
+
+import java.util.Set;
+
+
+public class PaginationConstants {
+
+    private PaginationConstants() {
+        throw new UnsupportedOperationException("PaginationConstants.java - utility class");
+    }
+
+    public static final class Count {
+
+        public static final String REQUIRED_MESSAGE = "Count mode is required";
+
+        private static final String MODES = "none, approx, exact";
+        private static final String TEMPLATE_UNSUPPORTED = "Unsupported count mode '%s' (supported: %s)";
+
+        public static final String unsupportedMessage(final String value) {
+            return String.format(TEMPLATE_UNSUPPORTED, value, MODES);
+        }
+
+    }
+
+    public static final class Cursor {
+
+        public static final String ID_PROPERTY = "id";
+        public static final String CREATED_AT_PROPERTY = "createdAt";
+        public static final Set<String> SORT_PROPERTIES = Set.of(ID_PROPERTY, CREATED_AT_PROPERTY);
+
+        public static final String MALFORMED_MESSAGE = "Cursor is malformed";
+        public static final String SORT_MISMATCH_MESSAGE = "Cursor was issued for a different sort order";
+
+        private static final String TEMPLATE_UNSUPPORTED_SORT = "Cursor pagination cannot sort by '%s' (supported: %s)";
+
+        public static final String unsupportedSortMessage(final String property) {
+            return String.format(TEMPLATE_UNSUPPORTED_SORT, property, SORT_PROPERTIES);
+        }
+
+    }
+
+}
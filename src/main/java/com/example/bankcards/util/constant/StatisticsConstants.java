@@ -0,0 +1,22 @@
+package com.example.bankcards.util.constant;
+
+
+public class StatisticsConstants {
+
+    private StatisticsConstants() {
+        throw new UnsupportedOperationException("StatisticsConstants.java - utility class");
+    }
+
+    public static final class Month {
+
+        public static final String FORMAT = "yyyy-MM";
+
+        private static final String TEMPLATE_INVALID = "Invalid month '%s' (expected %s)";
+
+        public static final String invalidMessage(final String value) {
+            return String.format(TEMPLATE_INVALID, value, FORMAT);
+        }
+
+    }
+
+}
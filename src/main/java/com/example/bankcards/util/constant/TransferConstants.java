@@ -8,6 +8,47 @@ public class TransferConstants {
 
     public static final String DTO_REQUIRED_MESSAGE = "Transfer is required";
 
+    public static final class IdempotencyKey {
+
+        public static final String HEADER = "Idempotency-Key";
+        public static final int MAX_LENGTH = 64;
+
+        public static final String BLANK_MESSAGE = "Idempotency key cannot be blank";
+        public static final String TOO_LONG_MESSAGE = "Idempotency key cannot be longer than " + MAX_LENGTH +
+                " characters";
+        public static final String REUSED_MESSAGE = "Idempotency key was already used for a different transfer";
+
+    }
+
+    public static final class Archive {
+
+        private static final String TEMPLATE_UNSUPPORTED_SORT = "Transfers with archived history can only be paged " +
+                "by one of %s (requested: %s)";
+
+        public static final String unsupportedSortMessage(final String sort) {
+            return String.format(TEMPLATE_UNSUPPORTED_SORT, PaginationConstants.Cursor.SORT_PROPERTIES, sort);
+        }
+
+    }
+
+    public static final class Async {
+
+        public static final int RETRY_AFTER_SECONDS = 1;
+
+        public static final String NOT_FOUND_MESSAGE_TEMPLATE = "Transfer submission with id=%s was not found";
+
+    }
+
+    public static final class Batch {
+
+        public static final int MAX_SIZE = 100;
+
+        public static final String DTO_REQUIRED_MESSAGE = "Transfer batch must contain at least one transfer";
+        public static final String DTO_TOO_LARGE_MESSAGE = "Transfer batch cannot contain more than " + MAX_SIZE +
+                " transfers";
+
+    }
+
     public static final class Amount {
 
         public static final int SCALE_SIZE = 2;
@@ -40,6 +40,7 @@ public class UserConstants {
         public static final int BCRYPT_HASH_SIZE = 60;
         public static final int RAW_PASSWORD_MIN_SIZE = 8;
         public static final String[] BCRYPT_HASH_PREFIXES = { "$2a$", "$2b$", "$2y$" };
+        public static final int HASHING_RETRY_AFTER_SECONDS = 1;
 
         public static final String DTO_REQUIRED_MESSAGE = "Password is required";
         public static final String DTO_INVALID_LENGTH_MESSAGE = "Password must be at least " + RAW_PASSWORD_MIN_SIZE +
@@ -0,0 +1,144 @@
+package com.example.bankcards.benchmark;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.dto.auth.response.LoginResponse;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.model.user.vo.Email;
+import com.example.bankcards.model.user.vo.Password;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CustomUserDetails;
+import com.example.bankcards.security.jwt.JwtTokenProvider;
+import com.example.bankcards.service.RefreshTokenService;
+
+
+// Top of the hour: every active user's access token expires at once. Renewing them all by logging in again runs
+// bcrypt per user; renewing them with refresh tokens does not. Process CPU time is sampled around each round
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AuthRefreshBenchmark {
+
+    private static final int ACTIVE_USERS = Integer.getInteger("benchmark.users", 10_000);
+    private static final int THREADS = 16;
+    private static final String PASSWORD = "benchmark-password";
+    private static final int SEED_BATCH_SIZE = 1_000;
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private record Round(ConcurrentBenchmark.Result result, double cpuMillis) {
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    private static Round measure(final String name, final IntConsumer operation) throws Exception {
+        long cpuBefore = processCpuNanos();
+        ConcurrentBenchmark.Result result = ConcurrentBenchmark.run(name, THREADS, ACTIVE_USERS / THREADS, operation);
+
+        return new Round(result, (processCpuNanos() - cpuBefore) / 1_000_000.0);
+    }
+
+    // One bcrypt hash shared by every user, so seeding does not take longer than the benchmark
+    private List<User> seedUsers(final String prefix) {
+        Password password = new Password(passwordEncoder.encode(PASSWORD));
+        List<User> users = new ArrayList<>(ACTIVE_USERS);
+        for (int from = 0; from < ACTIVE_USERS; from += SEED_BATCH_SIZE) {
+            List<User> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(ACTIVE_USERS, from + SEED_BATCH_SIZE); i++)
+                batch.add(new User(new Email(String.format("%s-%d@auth.bench", prefix, i)), password, Role.USER));
+
+            users.addAll(transactionTemplate.execute(status -> userRepository.saveAll(batch)));
+        }
+
+        return users;
+    }
+
+    private void printRow(final Round round) {
+        ConcurrentBenchmark.Result result = round.result();
+        System.out.println(String.format(
+                "%s %14.1f %12.3f",
+                result.row(),
+                round.cpuMillis(),
+                round.cpuMillis() / result.operations()));
+    }
+
+    @Test
+    void compareLoginAndRefresh() throws Exception {
+        List<User> users = seedUsers("refresh-" + System.nanoTime());
+        String[] refreshTokens = new String[users.size()];
+        try {
+            for (int i = 0; i < users.size(); i++)
+                refreshTokens[i] = refreshTokenService.issue(users.get(i).getId());
+
+            int perThread = ACTIVE_USERS / THREADS;
+            // Operation indexes restart in every thread, so users are handed out from one shared counter
+            AtomicInteger nextLogin = new AtomicInteger();
+            IntConsumer login = i -> {
+                User user = users.get(nextLogin.getAndIncrement() % users.size());
+                Authentication authentication = authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(user.getEmail().getValue(), PASSWORD));
+                CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+                tokenProvider.generateToken(userDetails);
+                refreshTokenService.issue(userDetails.getUserId());
+            };
+            AtomicInteger nextRefresh = new AtomicInteger();
+            IntConsumer refresh = i -> {
+                int index = nextRefresh.getAndIncrement() % users.size();
+                LoginResponse response = refreshTokenService.refresh(refreshTokens[index]);
+                refreshTokens[index] = response.refreshToken();
+            };
+
+            List<Round> rounds = List.of(measure("login (bcrypt)", login), measure("refresh", refresh));
+
+            System.out.println();
+            System.out.println(String.format(
+                    "%d active users, %d threads, %d renewals each round",
+                    ACTIVE_USERS,
+                    THREADS,
+                    perThread * THREADS));
+            System.out.println(
+                    String.format("%s %14s %12s", ConcurrentBenchmark.Result.header(), "cpu ms", "cpu ms/op"));
+            rounds.forEach(this::printRow);
+            rounds.forEach(round -> assertEquals(0, round.result().errors()));
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> userRepository.deleteAllInBatch(users));
+        }
+    }
+
+}
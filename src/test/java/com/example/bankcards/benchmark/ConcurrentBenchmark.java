@@ -0,0 +1,91 @@
+package com.example.bankcards.benchmark;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+
+final class ConcurrentBenchmark {
+
+    static final int[] THREAD_COUNTS = { 1, 2, 4, 8, 16, 32, 64 };
+
+    private ConcurrentBenchmark() {
+        throw new UnsupportedOperationException("ConcurrentBenchmark.java - utility class");
+    }
+
+    record Result(String name, int threads, long operations, long errors, double throughput, double p99Millis) {
+
+        static String header() {
+            return String.format("%-24s %8s %10s %8s %14s %10s", "scenario", "threads", "ops", "errors", "ops/sec", "p99 ms");
+        }
+
+        String row() {
+            return String.format(
+                    "%-24s %8d %10d %8d %14.1f %10.2f",
+                    name,
+                    threads,
+                    operations,
+                    errors,
+                    throughput,
+                    p99Millis);
+        }
+
+    }
+
+    static Result run(final String name, int threads, int operationsPerThread, final IntConsumer operation)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                long[] latencies = new long[operationsPerThread];
+                start.await();
+
+                for (int i = 0; i < operationsPerThread; i++) {
+                    long begin = System.nanoTime();
+                    try {
+                        operation.accept(i);
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - begin;
+                }
+
+                return latencies;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+
+        long[] all = new long[threads * operationsPerThread];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        Arrays.sort(all);
+        double p99 = all[Math.min(all.length - 1, (int) Math.ceil(all.length * 0.99) - 1)] / 1_000_000.0;
+        double throughput = all.length / (elapsed / 1_000_000_000.0);
+
+        return new Result(name, threads, all.length, errors.get(), throughput, p99);
+    }
+
+}
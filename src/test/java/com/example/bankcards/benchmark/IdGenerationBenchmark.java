@@ -0,0 +1,173 @@
+package com.example.bankcards.benchmark;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.model.card.vo.CardBalance;
+import com.example.bankcards.model.card.vo.CardExpiryDate;
+import com.example.bankcards.model.card.vo.CardNumber;
+import com.example.bankcards.model.transfer.Transfer;
+import com.example.bankcards.model.transfer.category.TransferCategory;
+import com.example.bankcards.model.transfer.vo.Amount;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.model.user.vo.Email;
+import com.example.bankcards.model.user.vo.Password;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.TransferRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CardEncryption;
+import com.example.bankcards.service.TransferCategoryService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+
+@SpringBootTest
+@Import(JdbcRoundTripCounter.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class IdGenerationBenchmark {
+
+    private static final int[] ROW_COUNTS = { 100, 1000, 5000 };
+    private static final int UNBATCHED = 1;
+    private static final int BATCHED = 50;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private TransferCategoryService categoryService;
+
+    @Autowired
+    private CardEncryption cardEncryption;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private record Measurement(double millis, long roundTrips) {
+    }
+
+    private Card newCard(final User owner) {
+        return Card.of(
+                new CardNumber("4532015112830366"),
+                owner,
+                CardExpiryDate.of(2099, 12),
+                CardStatus.ACTIVE,
+                new CardBalance(INITIAL_BALANCE),
+                cardEncryption);
+    }
+
+    // A JDBC batch size of 1 reproduces what identity columns forced: one INSERT ... RETURNING round trip per row
+    private <T> Measurement insertAll(
+            final JpaRepository<T, Long> repository,
+            int rows,
+            int jdbcBatchSize,
+            final IntFunction<T> factory) {
+        List<T> entities = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++)
+            entities.add(factory.apply(i));
+
+        JdbcRoundTripCounter.reset();
+        long begin = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            repository.saveAll(entities);
+        });
+
+        return new Measurement((System.nanoTime() - begin) / 1_000_000.0, JdbcRoundTripCounter.get());
+    }
+
+    private void printRow(final String name, int rows, final Measurement unbatched, final Measurement batched) {
+        System.out.println(String.format(
+                "%-10s %8d %12.1f %12.1f %12d %12d %10.1f",
+                name,
+                rows,
+                rows / (unbatched.millis() / 1000.0),
+                rows / (batched.millis() / 1000.0),
+                unbatched.roundTrips(),
+                batched.roundTrips(),
+                unbatched.millis() / batched.millis()));
+    }
+
+    @Test
+    void benchmarkBatchedInsertsWithPooledIds() {
+        User owner = userRepository.save(
+                new User(
+                        new Email(String.format("ids-%d@bench.local", System.nanoTime())),
+                        new Password(passwordEncoder.encode("benchmark-password")),
+                        Role.USER));
+        Card fromCard = cardRepository.save(newCard(owner));
+        Card toCard = cardRepository.save(newCard(owner));
+        TransferCategory category = categoryService.getAllCategories().get(0);
+
+        IntFunction<Transfer> transferFactory = i -> Transfer.of(
+                owner,
+                fromCard,
+                toCard,
+                new Amount(BigDecimal.ONE),
+                new HashSet<>(Set.of(category)));
+
+        // Warm-up, so the first measured run does not pay for class loading and statement preparation
+        insertAll(cardRepository, 100, BATCHED, i -> newCard(owner));
+        insertAll(transferRepository, 100, BATCHED, transferFactory);
+
+        System.out.println(String.format(
+                "%-10s %8s %12s %12s %12s %12s %10s",
+                "entity",
+                "rows",
+                "single/s",
+                "batched/s",
+                "single rt",
+                "batched rt",
+                "speedup"));
+
+        for (int rows : ROW_COUNTS) {
+            long cardsBefore = cardRepository.count();
+            Measurement unbatched = insertAll(cardRepository, rows, UNBATCHED, i -> newCard(owner));
+            Measurement batched = insertAll(cardRepository, rows, BATCHED, i -> newCard(owner));
+            assertEquals(cardsBefore + 2L * rows, cardRepository.count());
+            printRow("cards", rows, unbatched, batched);
+        }
+
+        for (int rows : ROW_COUNTS) {
+            long transfersBefore = transferRepository.count();
+            Measurement unbatched = insertAll(transferRepository, rows, UNBATCHED, transferFactory);
+            Measurement batched = insertAll(transferRepository, rows, BATCHED, transferFactory);
+            assertEquals(transfersBefore + 2L * rows, transferRepository.count());
+            printRow("transfers", rows, unbatched, batched);
+        }
+    }
+
+}
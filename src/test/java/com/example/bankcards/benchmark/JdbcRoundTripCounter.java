@@ -0,0 +1,82 @@
+package com.example.bankcards.benchmark;
+
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+
+class JdbcRoundTripCounter implements BeanPostProcessor {
+
+    private static final AtomicLong ROUND_TRIPS = new AtomicLong();
+
+    static long get() {
+        return ROUND_TRIPS.get();
+    }
+
+    static void reset() {
+        ROUND_TRIPS.set(0);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource)
+            return wrap(bean, (proxy, method, args) -> {
+                Object result = invoke(bean, method, args);
+                return result instanceof Connection ? wrapConnection(result) : result;
+            });
+
+        return bean;
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private static Object wrapConnection(final Object connection) {
+        return wrap(connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement)
+                return wrapStatement(result);
+
+            if (method.getName().equals("commit") || method.getName().equals("rollback"))
+                ROUND_TRIPS.incrementAndGet();
+
+            return result;
+        });
+    }
+
+    // A JDBC batch is pipelined by the driver and counted as a single round trip
+    private static Object wrapStatement(final Object statement) {
+        return wrap(statement, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute"))
+                ROUND_TRIPS.incrementAndGet();
+
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static Object wrap(final Object target, final java.lang.reflect.InvocationHandler handler) {
+        return Proxy.newProxyInstance(
+                target.getClass().getClassLoader(),
+                ClassUtils.getAllInterfaces(target),
+                handler);
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    // ------------------------------------ //
+
+}
@@ -0,0 +1,84 @@
+package com.example.bankcards.benchmark;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.example.bankcards.config.properties.JwtProperties;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.security.CustomUserDetails;
+import com.example.bankcards.security.jwt.JwtTokenProvider;
+import com.example.bankcards.security.jwt.VerifiedTokenCache;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+
+// Verification throughput of one token: what the filter did per request before (decode the secret and build a parser
+// for every parse, parse twice), against the provider's single parse with the key and parser built once, and against
+// the verified-token cache that skips the HMAC check for a token seen before
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtVerificationBenchmark {
+
+    private static final String SECRET = "dGVzdEp3dFNlY3JldEtleUZvckJhbmtDYXJkc0FwcGxpY2F0aW9uMTIzNDU2Nzg5MA==";
+    private static final int OPERATIONS_PER_THREAD = Integer.getInteger("benchmark.operations", 20_000);
+    private static final int[] THREAD_COUNTS = { 1, 4, 16 };
+
+    private static Key legacySigningKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+
+    // validateToken followed by getEmailFromToken, each with a freshly decoded key and a new parser
+    private static String legacyVerify(final String token) {
+        Jwts.parserBuilder().setSigningKey(legacySigningKey()).build().parseClaimsJws(token).getBody();
+        return Jwts.parserBuilder().setSigningKey(legacySigningKey()).build().parseClaimsJws(token).getBody()
+                .getSubject();
+    }
+
+    @Test
+    void compareVerification() throws Exception {
+        JwtTokenProvider provider = new JwtTokenProvider(
+                new JwtProperties(
+                        SECRET,
+                        3_600_000L,
+                        new JwtProperties.UserValidity(Duration.ofSeconds(30), 1),
+                        new JwtProperties.TokenCache(1),
+                        new JwtProperties.Revocation(1, 0.01, "-"),
+                        new JwtProperties.Refresh(Duration.ofDays(14), "-")));
+        String token = provider.generateToken(CustomUserDetails.of(1L, "benchmark@jwt.local", Role.USER));
+        assertEquals("benchmark@jwt.local", legacyVerify(token));
+        assertEquals("benchmark@jwt.local", provider.verify(token).userDetails().getUsername());
+
+        IntConsumer legacy = i -> legacyVerify(token);
+        IntConsumer cached = i -> provider.verify(token);
+        VerifiedTokenCache cache = new VerifiedTokenCache(1, new SimpleMeterRegistry());
+        IntConsumer remembered = i -> cache.verify(token, provider::verify);
+        // Warm-up, so that both paths are compiled before anything is measured
+        ConcurrentBenchmark.run("warm-up legacy", 1, OPERATIONS_PER_THREAD, legacy);
+        ConcurrentBenchmark.run("warm-up cached", 1, OPERATIONS_PER_THREAD, cached);
+        ConcurrentBenchmark.run("warm-up remembered", 1, OPERATIONS_PER_THREAD, remembered);
+
+        List<ConcurrentBenchmark.Result> results = new ArrayList<>();
+        for (int threads : THREAD_COUNTS) {
+            results.add(ConcurrentBenchmark.run("legacy (2 parses)", threads, OPERATIONS_PER_THREAD, legacy));
+            results.add(ConcurrentBenchmark.run("cached key + parser", threads, OPERATIONS_PER_THREAD, cached));
+            results.add(ConcurrentBenchmark.run("verified-token cache", threads, OPERATIONS_PER_THREAD, remembered));
+        }
+
+        System.out.println();
+        System.out.println(ConcurrentBenchmark.Result.header());
+        results.forEach(result -> System.out.println(result.row()));
+        results.forEach(result -> assertEquals(0, result.errors()));
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.example.bankcards.benchmark;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.model.card.vo.CardBalance;
+import com.example.bankcards.model.card.vo.CardExpiryDate;
+import com.example.bankcards.model.card.vo.CardNumber;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.model.user.vo.Email;
+import com.example.bankcards.model.user.vo.Password;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CardEncryption;
+import com.example.bankcards.service.TransferBatchService;
+import com.example.bankcards.service.TransferService;
+import com.example.bankcards.service.transfer.TransferBatchResult;
+
+
+@SpringBootTest
+@Import(JdbcRoundTripCounter.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransferBatchBenchmark {
+
+    private static final int[] BATCH_SIZES = { 10, 50, 100 };
+    private static final int CARDS_PER_OWNER = 4;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+    private static final BigDecimal TRANSFER_AMOUNT = new BigDecimal("1.00");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransferBatchService transferBatchService;
+
+    @Autowired
+    private CardEncryption cardEncryption;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private List<Card> createCards(final User owner) {
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < CARDS_PER_OWNER; i++)
+            cards.add(cardRepository.save(Card.of(
+                    new CardNumber("4532015112830366"),
+                    owner,
+                    CardExpiryDate.of(2099, 12),
+                    CardStatus.ACTIVE,
+                    new CardBalance(INITIAL_BALANCE),
+                    cardEncryption)));
+
+        return cards;
+    }
+
+    private List<TransferRequest> rebalancingRequests(final List<Card> cards, int size) {
+        List<TransferRequest> requests = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Card from = cards.get(i % cards.size());
+            Card to = cards.get((i + 1) % cards.size());
+            requests.add(new TransferRequest(from.getId(), to.getId(), TRANSFER_AMOUNT, null));
+        }
+
+        return requests;
+    }
+
+    @Test
+    void benchmarkBatchAgainstSingleTransfers() {
+        User owner = userRepository.save(
+                new User(
+                        new Email(String.format("batch-%d@bench.local", System.nanoTime())),
+                        new Password(passwordEncoder.encode("benchmark-password")),
+                        Role.USER));
+        List<Card> cards = createCards(owner);
+        Map<Long, BigDecimal> expectedBalances = new HashMap<>();
+        cards.forEach(card -> expectedBalances.put(card.getId(), INITIAL_BALANCE));
+
+        System.out.println(String.format(
+                "%-8s %14s %14s %12s %12s %10s",
+                "size",
+                "single ms",
+                "batch ms",
+                "single rt",
+                "batch rt",
+                "rt ratio"));
+
+        for (int size : BATCH_SIZES) {
+            List<TransferRequest> requests = rebalancingRequests(cards, size);
+
+            JdbcRoundTripCounter.reset();
+            long begin = System.nanoTime();
+            requests.forEach(request -> transferService.transferBetweenOwnCards(owner.getId(), request));
+            double singleMillis = (System.nanoTime() - begin) / 1_000_000.0;
+            long singleRoundTrips = JdbcRoundTripCounter.get();
+
+            JdbcRoundTripCounter.reset();
+            begin = System.nanoTime();
+            List<TransferBatchResult> results = transferBatchService.transferBatchBetweenOwnCards(
+                    owner.getId(),
+                    requests);
+            double batchMillis = (System.nanoTime() - begin) / 1_000_000.0;
+            long batchRoundTrips = JdbcRoundTripCounter.get();
+
+            assertTrue(results.stream().allMatch(TransferBatchResult::isSuccess));
+
+            // Every request was applied twice: once one by one and once as a batch
+            for (TransferRequest request : requests) {
+                BigDecimal twice = request.amount().multiply(BigDecimal.TWO);
+                expectedBalances.merge(request.fromCardId(), twice.negate(), BigDecimal::add);
+                expectedBalances.merge(request.toCardId(), twice, BigDecimal::add);
+            }
+
+            System.out.println(String.format(
+                    "%-8d %14.1f %14.1f %12d %12d %10.1f",
+                    size,
+                    singleMillis,
+                    batchMillis,
+                    singleRoundTrips,
+                    batchRoundTrips,
+                    (double) singleRoundTrips / batchRoundTrips));
+        }
+
+        for (Card card : cards) {
+            BigDecimal balance = cardRepository.findById(card.getId()).orElseThrow().getBalance().getValue();
+            assertEquals(0, expectedBalances.get(card.getId()).compareTo(balance));
+        }
+    }
+
+}
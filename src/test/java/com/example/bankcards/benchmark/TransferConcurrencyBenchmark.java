@@ -0,0 +1,204 @@
+package com.example.bankcards.benchmark;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.model.card.vo.CardBalance;
+import com.example.bankcards.model.card.vo.CardExpiryDate;
+import com.example.bankcards.model.card.vo.CardNumber;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.model.user.vo.Email;
+import com.example.bankcards.model.user.vo.Password;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.LedgerEntryRepository;
+import com.example.bankcards.repository.TransferRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CardEncryption;
+import com.example.bankcards.service.ApproximateCounter;
+import com.example.bankcards.service.CardService;
+import com.example.bankcards.service.LedgerService;
+import com.example.bankcards.service.SpendingSummaryService;
+import com.example.bankcards.service.TransferArchiveService;
+import com.example.bankcards.service.TransferCategoryService;
+import com.example.bankcards.service.TransferService;
+import com.example.bankcards.service.UserService;
+import com.example.bankcards.service.transfer.ConditionalUpdateTransferConcurrencyStrategy;
+import com.example.bankcards.service.transfer.DirectTransferExecutor;
+import com.example.bankcards.service.transfer.LaneTransferExecutor;
+import com.example.bankcards.service.transfer.LedgerTransferConcurrencyStrategy;
+import com.example.bankcards.service.transfer.OptimisticTransferConcurrencyStrategy;
+import com.example.bankcards.service.transfer.PessimisticTransferConcurrencyStrategy;
+import com.example.bankcards.service.transfer.TransferConcurrencyMode;
+import com.example.bankcards.service.transfer.TransferConcurrencyStrategy;
+import com.example.bankcards.service.transfer.TransferExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransferConcurrencyBenchmark {
+
+    private static final int OPERATIONS_PER_THREAD = 50;
+    private static final int OPTIMISTIC_MAX_ATTEMPTS = 10;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+    private static final BigDecimal TRANSFER_AMOUNT = new BigDecimal("1.00");
+    private static final int LANE_COUNT = 8;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private TransferCategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private CardEncryption cardEncryption;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApproximateCounter approximateCounter;
+
+    @Autowired
+    private SpendingSummaryService spendingSummaryService;
+
+    @Autowired
+    private TransferArchiveService transferArchiveService;
+
+    private Card createHotCard(final User owner) {
+        Card card = Card.of(
+                new CardNumber("4532015112830366"),
+                owner,
+                CardExpiryDate.of(2099, 12),
+                CardStatus.ACTIVE,
+                new CardBalance(INITIAL_BALANCE),
+                cardEncryption);
+
+        return cardRepository.save(card);
+    }
+
+    private BigDecimal balanceOf(final Card card) {
+        return cardRepository.findById(card.getId()).orElseThrow().getBalance().getValue();
+    }
+
+    private record Scenario(String name, TransferConcurrencyStrategy strategy, TransferExecutor executor) {
+    }
+
+    private List<Scenario> scenarios(final LaneTransferExecutor laneExecutor) {
+        TransferConcurrencyStrategy pessimistic = new PessimisticTransferConcurrencyStrategy(cardService);
+        TransferConcurrencyStrategy ledger = new LedgerTransferConcurrencyStrategy(cardService, ledgerEntryRepository);
+
+        return List.of(
+                new Scenario("PESSIMISTIC", pessimistic, new DirectTransferExecutor()),
+                new Scenario(
+                        "OPTIMISTIC",
+                        new OptimisticTransferConcurrencyStrategy(cardService, OPTIMISTIC_MAX_ATTEMPTS),
+                        new DirectTransferExecutor()),
+                new Scenario(
+                        "CONDITIONAL_UPDATE",
+                        new ConditionalUpdateTransferConcurrencyStrategy(cardService, cardRepository),
+                        new DirectTransferExecutor()),
+                new Scenario("LANES+PESSIMISTIC", pessimistic, laneExecutor),
+                new Scenario("LEDGER", ledger, new DirectTransferExecutor()),
+                new Scenario("LANES+LEDGER", ledger, laneExecutor));
+    }
+
+    @Test
+    void benchmarkTransferConcurrencyStrategies() throws Exception {
+        User owner = userRepository.save(
+                new User(
+                        new Email(String.format("benchmark-%d@bench.local", System.nanoTime())),
+                        new Password(passwordEncoder.encode("benchmark-password")),
+                        Role.USER));
+
+        List<ConcurrentBenchmark.Result> results = new ArrayList<>();
+        LaneTransferExecutor laneExecutor = new LaneTransferExecutor(LANE_COUNT, new SimpleMeterRegistry());
+
+        for (Scenario scenario : scenarios(laneExecutor)) {
+            TransferService transferService = new TransferService(
+                    transferRepository,
+                    categoryService,
+                    userService,
+                    scenario.strategy(),
+                    transactionTemplate,
+                    scenario.executor(),
+                    approximateCounter,
+                    spendingSummaryService,
+                    transferArchiveService);
+
+            for (int threads : ConcurrentBenchmark.THREAD_COUNTS) {
+                Card first = createHotCard(owner);
+                Card second = createHotCard(owner);
+
+                TransferRequest forward = new TransferRequest(first.getId(), second.getId(), TRANSFER_AMOUNT, null);
+                TransferRequest backward = new TransferRequest(second.getId(), first.getId(), TRANSFER_AMOUNT, null);
+
+                ConcurrentBenchmark.Result result = ConcurrentBenchmark.run(
+                        scenario.name(),
+                        threads,
+                        OPERATIONS_PER_THREAD,
+                        i -> transferService.transferBetweenOwnCards(
+                                owner.getId(),
+                                i % 2 == 0 ? forward : backward));
+                results.add(result);
+
+                assertEquals(
+                        0,
+                        INITIAL_BALANCE.multiply(BigDecimal.TWO).compareTo(balanceOf(first).add(balanceOf(second))),
+                        String.format("Lost update detected for %s at %d threads", scenario.name(), threads));
+
+                if (scenario.strategy().getMode() == TransferConcurrencyMode.LEDGER) {
+                    BigDecimal firstBefore = balanceOf(first);
+                    ledgerService.compactPendingEntries();
+
+                    assertEquals(
+                            0,
+                            firstBefore.compareTo(balanceOf(first)),
+                            String.format("Compaction changed balance for %s at %d threads", scenario.name(), threads));
+                }
+            }
+        }
+        laneExecutor.close();
+
+        System.out.println(ConcurrentBenchmark.Result.header());
+        results.forEach(result -> System.out.println(result.row()));
+    }
+
+}
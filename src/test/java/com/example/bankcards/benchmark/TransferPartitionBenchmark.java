@@ -0,0 +1,175 @@
+package com.example.bankcards.benchmark;
+
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+
+// Compares a single transfers table with a monthly partitioned one on scratch tables of the same shape.
+// The volume defaults to what a laptop fills in a minute; the 100M row comparison is
+// -Dbenchmark=true -Dbenchmark.rows=100000000 and needs about 30 GB of disk
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransferPartitionBenchmark {
+
+    private static final long ROWS = Long.getLong("benchmark.rows", 2_000_000L);
+    private static final long ROWS_PER_OWNER = 1_000L;
+    private static final long FILL_CHUNK = 1_000_000L;
+    private static final int MONTHS = 24;
+    private static final int WARM_UP = 500;
+    private static final int SAMPLES = 5_000;
+    private static final int RECENT_DAYS = 30;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String SINGLE = "bench_transfers_single";
+    private static final String PARTITIONED = "bench_transfers_partitioned";
+
+    private static final String COLUMNS = "id BIGSERIAL, owner_id BIGINT NOT NULL, from_card_id BIGINT NOT NULL, " +
+            "to_card_id BIGINT NOT NULL, amount DECIMAL(38,2) NOT NULL, created_at TIMESTAMP NOT NULL";
+    private static final String CREATE_SINGLE_SQL = "CREATE TABLE " + SINGLE + " (" + COLUMNS + ", " +
+            "PRIMARY KEY (id))";
+    private static final String CREATE_PARTITIONED_SQL = "CREATE TABLE " + PARTITIONED + " (" + COLUMNS + ", " +
+            "PRIMARY KEY (id, created_at)) PARTITION BY RANGE (created_at)";
+    private static final String CREATE_PARTITION_SQL = "CREATE TABLE %s_p%d PARTITION OF " + PARTITIONED + " " +
+            "FOR VALUES FROM ('%s') TO ('%s')";
+    private static final String CREATE_INDEX_SQL = "CREATE INDEX ON %s (owner_id, created_at, id)";
+    // Rows are spread evenly over the months, newest last, as the application appends them
+    private static final String FILL_SQL = "INSERT INTO %s (owner_id, from_card_id, to_card_id, amount, created_at) " +
+            "SELECT g %% ?, g, g + 1, 1.00, ? + (g * CAST(? AS DOUBLE PRECISION) / ?) * INTERVAL '1 second' " +
+            "FROM generate_series(?, ?) g";
+    private static final String INSERT_SQL = "INSERT INTO %s (owner_id, from_card_id, to_card_id, amount, " +
+            "created_at) VALUES (?, 1, 2, 1.00, LOCALTIMESTAMP)";
+    private static final String RECENT_SQL = "SELECT id, amount, created_at FROM %s " +
+            "WHERE owner_id = ? AND created_at >= ? ORDER BY created_at DESC, id DESC LIMIT " + PAGE_SIZE;
+    private static final String DROP_SQL = "DROP TABLE IF EXISTS " + SINGLE + ", " + PARTITIONED;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long owners;
+    private LocalDateTime firstDay;
+
+    private record Latency(double p50Micros, double p99Micros) {
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private void fill(final String table) {
+        long seconds = Duration.between(firstDay, LocalDateTime.now()).toSeconds();
+        for (long from = 1; from <= ROWS; from += FILL_CHUNK)
+            jdbcTemplate.update(
+                    String.format(FILL_SQL, table),
+                    owners,
+                    firstDay,
+                    seconds,
+                    ROWS,
+                    from,
+                    Math.min(from + FILL_CHUNK - 1, ROWS));
+
+        jdbcTemplate.execute(String.format(CREATE_INDEX_SQL, table));
+        jdbcTemplate.execute("ANALYZE " + table);
+    }
+
+    private static Latency measure(final LongConsumer operation, final long owners) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < WARM_UP; i++)
+            operation.accept(random.nextLong(owners));
+
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long ownerId = random.nextLong(owners);
+            long begin = System.nanoTime();
+            operation.accept(ownerId);
+            nanos[i] = System.nanoTime() - begin;
+        }
+
+        Arrays.sort(nanos);
+        return new Latency(nanos[SAMPLES / 2] / 1_000.0, nanos[(int) (SAMPLES * 0.99)] / 1_000.0);
+    }
+
+    private Latency measureInserts(final String table) {
+        String sql = String.format(INSERT_SQL, table);
+        return measure(ownerId -> jdbcTemplate.update(sql, ownerId), owners);
+    }
+
+    private Latency measureRecentReads(final String table) {
+        String sql = String.format(RECENT_SQL, table);
+        LocalDateTime since = LocalDateTime.now().minusDays(RECENT_DAYS);
+        return measure(ownerId -> jdbcTemplate.queryForList(sql, ownerId, since), owners);
+    }
+
+    private void printRow(final String operation, final Latency single, final Latency partitioned) {
+        System.out.println(String.format(
+                "%-14s %12.1f %12.1f %14.1f %14.1f",
+                operation,
+                single.p50Micros(),
+                single.p99Micros(),
+                partitioned.p50Micros(),
+                partitioned.p99Micros()));
+    }
+
+    // ------------------------------------ //
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute(DROP_SQL);
+        owners = Math.max(1L, ROWS / ROWS_PER_OWNER);
+
+        YearMonth first = YearMonth.now().minusMonths(MONTHS - 1L);
+        firstDay = first.atDay(1).atStartOfDay();
+
+        jdbcTemplate.execute(CREATE_SINGLE_SQL);
+        jdbcTemplate.execute(CREATE_PARTITIONED_SQL);
+        // One month ahead, so the measured inserts never run out of partitions
+        for (int i = 0; i <= MONTHS; i++) {
+            YearMonth month = first.plusMonths(i);
+            jdbcTemplate.execute(String.format(
+                    CREATE_PARTITION_SQL,
+                    PARTITIONED,
+                    i,
+                    month.atDay(1).atStartOfDay(),
+                    month.plusMonths(1).atDay(1).atStartOfDay()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute(DROP_SQL);
+    }
+
+    @Test
+    void benchmarkSingleTableAgainstMonthlyPartitions() {
+        long begin = System.nanoTime();
+        fill(SINGLE);
+        fill(PARTITIONED);
+        System.out.println(String.format(
+                "Filled %d rows for %d owners over %d months per table in %.1f s",
+                ROWS,
+                owners,
+                MONTHS,
+                (System.nanoTime() - begin) / 1_000_000_000.0));
+
+        System.out.println(String.format(
+                "%-14s %12s %12s %14s %14s",
+                "operation",
+                "single p50us",
+                "single p99us",
+                "partition p50us",
+                "partition p99us"));
+        printRow("insert", measureInserts(SINGLE), measureInserts(PARTITIONED));
+        printRow("recent " + RECENT_DAYS + "d", measureRecentReads(SINGLE), measureRecentReads(PARTITIONED));
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.example.bankcards.fixture;
+
+
+import java.math.BigDecimal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.model.card.vo.CardBalance;
+import com.example.bankcards.model.card.vo.CardExpiryDate;
+import com.example.bankcards.model.card.vo.CardNumber;
+import com.example.bankcards.model.transfer.category.CategoryName;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.model.user.vo.Email;
+import com.example.bankcards.model.user.vo.Password;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CardEncryption;
+import com.example.bankcards.service.TransferCategoryService;
+
+
+// Saved users and cards for tests that run against the database. Emails are unique per call, so tests never collide
+// with each other or with seeded data; callers delete what they create
+@Component
+public class EntityFixtures {
+
+    public static final String PASSWORD = "fixture-password";
+    public static final BigDecimal BALANCE = new BigDecimal("1000.00");
+
+    private static final String CARD_NUMBER = "4532015112830366";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private TransferCategoryService categoryService;
+
+    @Autowired
+    private CardEncryption cardEncryption;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    // bcrypt runs once; every fixture user shares the hash
+    private String passwordHash;
+
+    private synchronized String passwordHash() {
+        if (passwordHash == null)
+            passwordHash = passwordEncoder.encode(PASSWORD);
+
+        return passwordHash;
+    }
+
+    public User newUser(final String prefix, final Role role) {
+        return userRepository.save(
+                new User(
+                        new Email(String.format("%s-%d@fixture.local", prefix, System.nanoTime())),
+                        new Password(passwordHash()),
+                        role));
+    }
+
+    public Card newCard(final User owner) {
+        return newCard(owner, CardStatus.ACTIVE, BALANCE);
+    }
+
+    public Card newCard(final User owner, final CardStatus status, final BigDecimal balance) {
+        return cardRepository.save(
+                Card.of(
+                        new CardNumber(CARD_NUMBER),
+                        owner,
+                        CardExpiryDate.of(2099, 12),
+                        status,
+                        new CardBalance(balance),
+                        cardEncryption));
+    }
+
+    public Long categoryId(final CategoryName name) {
+        return categoryService.getAllCategories().stream().filter(category -> category.getName() == name).findFirst()
+                .orElseThrow().getId();
+    }
+
+}
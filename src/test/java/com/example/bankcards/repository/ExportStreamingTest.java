@@ -0,0 +1,168 @@
+package com.example.bankcards.repository;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.config.properties.ExportProperties;
+import com.example.bankcards.exception.AccessDeniedException;
+import com.example.bankcards.fixture.EntityFixtures;
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.service.ExportService;
+import com.example.bankcards.service.export.ExportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+
+@SpringBootTest
+class ExportStreamingTest {
+
+    private static final String POST_ENTRY_SQL = "INSERT INTO ledger_entries (card_id, amount, created_at) " +
+            "VALUES (?, ?, LOCALTIMESTAMP)";
+
+    @Autowired
+    private EntityFixtures fixtures;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ExportRepository exportRepository;
+
+    @Autowired
+    private ExportProperties exportProperties;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User owner;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.newUser("owner", Role.USER);
+        admin = fixtures.newUser("admin", Role.ADMIN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            cardRepository.deleteAllInBatch(cardRepository.findAll(CardSpecification.hasOwner(owner)));
+            userRepository.deleteAllInBatch(List.of(owner, admin));
+        });
+    }
+
+    @Test
+    void shouldReadThroughCursorWithConfiguredFetchSize() {
+        fixtures.newCard(owner, CardStatus.ACTIVE, BigDecimal.TEN);
+
+        int fetchSize = exportRepository.streamCards(
+                owner.getId(),
+                null,
+                null,
+                null,
+                resultSet -> resultSet.getStatement().getFetchSize());
+        boolean autoCommit = exportRepository.streamCards(
+                owner.getId(),
+                null,
+                null,
+                null,
+                resultSet -> resultSet.getStatement().getConnection().getAutoCommit());
+
+        assertEquals(exportProperties.fetchSize(), fetchSize);
+        assertFalse(autoCommit);
+    }
+
+    @Test
+    void shouldExportCardsMatchingFilters() throws Exception {
+        Card matching = fixtures.newCard(owner, CardStatus.ACTIVE, new BigDecimal("50.00"));
+        fixtures.newCard(owner, CardStatus.ACTIVE, new BigDecimal("5.00"));
+        fixtures.newCard(owner, CardStatus.BLOCKED, new BigDecimal("50.00"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportCards(
+                admin.getId(),
+                owner.getId(),
+                CardStatus.ACTIVE,
+                BigDecimal.TEN,
+                null,
+                ExportFormat.NDJSON).writeTo(out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        JsonNode card = objectMapper.readTree(lines.get(0));
+        assertEquals(1, rows);
+        assertEquals(1, lines.size());
+        assertEquals(matching.getId(), card.get("id").asLong());
+        assertEquals(owner.getId(), card.get("ownerId").asLong());
+        assertEquals("0366", card.get("last4").asText());
+        assertEquals(CardStatus.ACTIVE.toString(), card.get("status").asText());
+        assertEquals(0, new BigDecimal("50.00").compareTo(card.get("balance").decimalValue()));
+    }
+
+    @Test
+    void shouldFilterCardsOnCurrentBalance_whenPostingsUnfolded() throws Exception {
+        Card raised = fixtures.newCard(owner, CardStatus.ACTIVE, new BigDecimal("5.00"));
+        Card drained = fixtures.newCard(owner, CardStatus.ACTIVE, new BigDecimal("50.00"));
+        jdbcTemplate.update(POST_ENTRY_SQL, raised.getId(), new BigDecimal("45.00"));
+        jdbcTemplate.update(POST_ENTRY_SQL, drained.getId(), new BigDecimal("-45.00"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportCards(
+                admin.getId(),
+                owner.getId(),
+                null,
+                BigDecimal.TEN,
+                null,
+                ExportFormat.NDJSON).writeTo(out);
+
+        JsonNode card = objectMapper.readTree(out.toString(StandardCharsets.UTF_8).lines().findFirst().orElseThrow());
+        assertEquals(1, rows);
+        assertEquals(raised.getId(), card.get("id").asLong());
+        assertEquals(0, new BigDecimal("50.00").compareTo(card.get("balance").decimalValue()));
+    }
+
+    @Test
+    void shouldExportUsersWithoutPasswordHashes() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportUsers(admin.getId(), ExportFormat.CSV).writeTo(out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("id,email,role,createdAt", lines.get(0));
+        assertEquals(userRepository.count() + 1, lines.size());
+    }
+
+    @Test
+    void shouldRejectExport_whenNotAdmin() {
+        assertThrows(AccessDeniedException.class, () -> exportService.exportTransfers(owner.getId(), ExportFormat.CSV));
+    }
+
+}
@@ -0,0 +1,283 @@
+package com.example.bankcards.repository;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.dto.card.response.CardResponse;
+import com.example.bankcards.dto.transfer.response.TransferResponse;
+import com.example.bankcards.fixture.EntityFixtures;
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.model.transfer.Transfer;
+import com.example.bankcards.model.transfer.category.TransferCategory;
+import com.example.bankcards.model.transfer.vo.Amount;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.service.CardService;
+import com.example.bankcards.service.CountMode;
+import com.example.bankcards.service.TransferCategoryService;
+import com.example.bankcards.service.TransferService;
+import com.example.bankcards.util.KeysetCursors;
+
+import jakarta.persistence.EntityManagerFactory;
+
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ListingFetchPlanTest {
+
+    private static final int TRANSFER_COUNT = 30;
+    private static final int SMALL_PAGE_SIZE = 5;
+    private static final int LARGE_PAGE_SIZE = 20;
+
+    // User lookup, projection page query, count query and one query for the category names of the whole page
+    private static final long EXPECTED_STATEMENTS = 4;
+    private static final long EXPECTED_STATEMENTS_WITHOUT_COUNT = 3;
+
+    @Autowired
+    private EntityFixtures fixtures;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private TransferCategoryService categoryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private User admin;
+
+    private long countStatements(final Supplier<Slice<TransferResponse>> listing) {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> listing.get());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = fixtures.newUser("owner", Role.USER);
+        admin = fixtures.newUser("admin", Role.ADMIN);
+
+        Card fromCard = fixtures.newCard(owner, CardStatus.ACTIVE, BigDecimal.TEN);
+        Card toCard = fixtures.newCard(owner, CardStatus.ACTIVE, BigDecimal.TEN);
+        List<TransferCategory> categories = categoryService.getAllCategories();
+
+        List<Transfer> transfers = new ArrayList<>(TRANSFER_COUNT);
+        for (int i = 0; i < TRANSFER_COUNT; i++)
+            transfers.add(Transfer.of(
+                    owner,
+                    fromCard,
+                    toCard,
+                    new Amount(BigDecimal.ONE),
+                    new HashSet<>(Set.of(categories.get(i % categories.size())))));
+
+        transferRepository.saveAll(transfers);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            transferRepository.deleteAllInBatch(transferRepository.findAllByOwner(owner));
+            userRepository.deleteAllInBatch(List.of(owner, admin));
+        });
+    }
+
+    @Test
+    void shouldListOwnerTransfersInFixedNumberOfStatements() {
+        long smallPage = countStatements(() -> transferService.getAllTransfersForOwner(
+                owner.getId(),
+                PageRequest.of(0, SMALL_PAGE_SIZE),
+                CountMode.EXACT));
+        long largePage = countStatements(() -> transferService.getAllTransfersForOwner(
+                owner.getId(),
+                PageRequest.of(0, LARGE_PAGE_SIZE),
+                CountMode.EXACT));
+
+        assertEquals(EXPECTED_STATEMENTS, smallPage);
+        assertEquals(EXPECTED_STATEMENTS, largePage);
+    }
+
+    @Test
+    void shouldListAllTransfersInFixedNumberOfStatements() {
+        long smallPage = countStatements(() -> transferService.getAllTransfersForAdmin(
+                admin.getId(),
+                PageRequest.of(0, SMALL_PAGE_SIZE),
+                CountMode.EXACT));
+        long largePage = countStatements(() -> transferService.getAllTransfersForAdmin(
+                admin.getId(),
+                PageRequest.of(0, LARGE_PAGE_SIZE),
+                CountMode.EXACT));
+
+        assertEquals(EXPECTED_STATEMENTS, smallPage);
+        assertEquals(EXPECTED_STATEMENTS, largePage);
+    }
+
+    @Test
+    void shouldSkipCountQuery_whenCountModeNone() {
+        Slice<TransferResponse> firstPage = transferService.getAllTransfersForOwner(
+                owner.getId(),
+                PageRequest.of(0, LARGE_PAGE_SIZE),
+                CountMode.NONE);
+        Slice<TransferResponse> lastPage = transferService.getAllTransfersForOwner(
+                owner.getId(),
+                PageRequest.of(1, LARGE_PAGE_SIZE),
+                CountMode.NONE);
+        long statements = countStatements(() -> transferService.getAllTransfersForOwner(
+                owner.getId(),
+                PageRequest.of(0, LARGE_PAGE_SIZE),
+                CountMode.NONE));
+
+        assertFalse(firstPage instanceof Page);
+        assertTrue(firstPage.hasNext());
+        assertEquals(TRANSFER_COUNT - LARGE_PAGE_SIZE, lastPage.getNumberOfElements());
+        assertFalse(lastPage.hasNext());
+        assertEquals(EXPECTED_STATEMENTS_WITHOUT_COUNT, statements);
+    }
+
+    @Test
+    void shouldReuseCachedCount_whenCountModeApprox() {
+        Slice<TransferResponse> firstPage = transferService.getAllTransfersForOwner(
+                owner.getId(),
+                PageRequest.of(0, SMALL_PAGE_SIZE),
+                CountMode.APPROX);
+        long statements = countStatements(() -> transferService.getAllTransfersForOwner(
+                owner.getId(),
+                PageRequest.of(1, SMALL_PAGE_SIZE),
+                CountMode.APPROX));
+
+        assertEquals(TRANSFER_COUNT, assertInstanceOf(Page.class, firstPage).getTotalElements());
+        assertEquals(EXPECTED_STATEMENTS_WITHOUT_COUNT, statements);
+    }
+
+    @Test
+    void shouldProjectCardDigitsAndCategoriesOfEachTransfer() {
+        Page<TransferResponse> transferPage = (Page<TransferResponse>) transferService.getAllTransfersForOwner(
+                owner.getId(),
+                PageRequest.of(0, LARGE_PAGE_SIZE),
+                CountMode.EXACT);
+
+        assertEquals(LARGE_PAGE_SIZE, transferPage.getNumberOfElements());
+        assertEquals(TRANSFER_COUNT, transferPage.getTotalElements());
+        transferPage.forEach(response -> {
+            assertEquals("0366", response.fromCardLast4());
+            assertEquals("0366", response.toCardLast4());
+            assertEquals(1, response.categories().size());
+        });
+    }
+
+    @Test
+    void shouldProjectCardsMatchingSpecification() {
+        Page<CardResponse> cardPage = (Page<CardResponse>) cardService.getAllCardsForOwner(
+                owner.getId(),
+                CardStatus.ACTIVE,
+                BigDecimal.ONE,
+                null,
+                PageRequest.of(0, SMALL_PAGE_SIZE, Sort.by(Sort.Direction.DESC, "id")),
+                CountMode.EXACT);
+
+        assertEquals(2, cardPage.getTotalElements());
+        assertTrue(cardPage.getContent().get(0).id() > cardPage.getContent().get(1).id());
+        cardPage.forEach(response -> {
+            assertEquals("0366", response.last4());
+            assertEquals(CardStatus.ACTIVE.toString(), response.status());
+            assertEquals(0, BigDecimal.TEN.compareTo(response.balance()));
+        });
+    }
+
+    @Test
+    void shouldWalkOwnerTransfersWithCursor() {
+        Sort.Order order = Sort.Order.desc("createdAt");
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+
+        do {
+            Slice<TransferResponse> window = transferService.scrollTransfersForOwner(
+                    owner.getId(),
+                    cursor,
+                    order,
+                    SMALL_PAGE_SIZE + 2);
+            window.forEach(response -> seen.add(response.id()));
+            cursor = KeysetCursors.next(window, order, TransferResponse::id, TransferResponse::timestamp);
+        } while (cursor != null);
+
+        List<Long> expected = transferRepository.findAllByOwner(owner).stream().map(Transfer::getId).sorted(
+                Comparator.reverseOrder()).toList();
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void shouldWalkFilteredCardsWithCursor() {
+        Card blocked = fixtures.newCard(owner, CardStatus.ACTIVE, BigDecimal.TEN);
+        blocked.changeStatus(CardStatus.BLOCKED);
+        cardRepository.save(blocked);
+
+        Sort.Order order = Sort.Order.asc("id");
+        Slice<CardResponse> first = cardService.scrollCardsForAdmin(
+                admin.getId(),
+                owner.getId(),
+                CardStatus.ACTIVE,
+                null,
+                null,
+                "",
+                order,
+                1);
+        Slice<CardResponse> second = cardService.scrollCardsForAdmin(
+                admin.getId(),
+                owner.getId(),
+                CardStatus.ACTIVE,
+                null,
+                null,
+                KeysetCursors.next(first, order, CardResponse::id, CardResponse::createdAt),
+                order,
+                1);
+
+        assertTrue(first.hasNext());
+        assertFalse(second.hasNext());
+        assertTrue(first.getContent().get(0).id() < second.getContent().get(0).id());
+        assertEquals(CardStatus.ACTIVE.toString(), second.getContent().get(0).status());
+    }
+
+}
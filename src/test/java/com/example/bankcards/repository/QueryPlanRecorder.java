@@ -0,0 +1,122 @@
+package com.example.bankcards.repository;
+
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+
+// Records the SQL and parameter bindings of every prepared query, so its plan can be explained with the same values
+class QueryPlanRecorder implements BeanPostProcessor {
+
+    record RecordedQuery(String sql, List<Binding> bindings) {
+
+        // Returns the plan as EXPLAIN (FORMAT JSON) prints it
+        String explain(final Connection connection) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+                bind(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        }
+
+        // Parameter setters only ever throw SQLException
+        private void bind(final PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.setter().invoke(statement, binding.args());
+                } catch (InvocationTargetException exception) {
+                    throw (SQLException) exception.getCause();
+                } catch (IllegalAccessException exception) {
+                    throw new IllegalStateException(exception);
+                }
+            }
+        }
+
+    }
+
+    private record Binding(Method setter, Object[] args) {
+    }
+
+    private static final List<RecordedQuery> QUERIES = new CopyOnWriteArrayList<>();
+    private static volatile boolean recording;
+
+    static void start() {
+        QUERIES.clear();
+        recording = true;
+    }
+
+    static List<RecordedQuery> stop() {
+        recording = false;
+        return List.copyOf(QUERIES);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource)
+            return wrap(bean, (proxy, method, args) -> {
+                Object result = invoke(bean, method, args);
+                return result instanceof Connection ? wrapConnection(result) : result;
+            });
+
+        return bean;
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private static Object wrapConnection(final Object connection) {
+        return wrap(connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof PreparedStatement && method.getName().equals("prepareStatement"))
+                return wrapStatement(result, (String) args[0]);
+
+            return result;
+        });
+    }
+
+    // Parameter setters are the set* methods taking a parameter index first; setFetchSize and the like are skipped
+    private static Object wrapStatement(final Object statement, final String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        return wrap(statement, (proxy, method, args) -> {
+            if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer)
+                bindings.add(new Binding(method, args.clone()));
+
+            if (recording && method.getName().startsWith("execute") && (args == null || args.length == 0))
+                QUERIES.add(new RecordedQuery(sql, List.copyOf(bindings)));
+
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static Object wrap(final Object target, final java.lang.reflect.InvocationHandler handler) {
+        return Proxy.newProxyInstance(
+                target.getClass().getClassLoader(),
+                ClassUtils.getAllInterfaces(target),
+                handler);
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    // ------------------------------------ //
+
+}
@@ -0,0 +1,253 @@
+package com.example.bankcards.repository;
+
+
+import static com.example.bankcards.repository.CardSpecification.balanceGreaterThanOrEqual;
+import static com.example.bankcards.repository.CardSpecification.balanceLessThanOrEqual;
+import static com.example.bankcards.repository.CardSpecification.hasOwner;
+import static com.example.bankcards.repository.CardSpecification.hasStatus;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.dto.transfer.response.TransferResponse;
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.model.user.vo.Email;
+import com.example.bankcards.repository.QueryPlanRecorder.RecordedQuery;
+import com.example.bankcards.service.TransferService;
+import com.example.bankcards.util.KeysetCursors;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+
+// Seeds a realistic volume inside a rolled back transaction, ANALYZEs it there and explains every query the
+// repositories issue with the values they were bound with; a sequential scan of a large table fails the test
+@SpringBootTest
+@Import(QueryPlanRecorder.class)
+class QueryPlanTest {
+
+    private static final int USERS = 2_000;
+    private static final int CARDS_PER_USER = 25;
+    private static final int TRANSFERS_PER_CARD = 2;
+    private static final int SUMMARY_MONTHS = 12;
+    private static final String EMAIL_DOMAIN = "@query-plan.local";
+    private static final String PASSWORD_HASH = "$2a$10$planPasswordHashWith60Characters123456789012345678901";
+
+    // Below this planner row estimate a seq scan is legitimate, e.g. for empty monthly partitions of transfers
+    private static final int LARGE_TABLE_ROWS = 10_000;
+
+    private static final String SEED_USERS_SQL = "INSERT INTO users (email, password_hashed, role, created_at) " +
+            "SELECT 'plan-' || g || '" + EMAIL_DOMAIN + "', '" + PASSWORD_HASH + "', 'USER', " +
+            "LOCALTIMESTAMP - g * INTERVAL '1 minute' FROM generate_series(1, " + USERS + ") g";
+    // Balances spread over 0..10000, one card in thirty is not ACTIVE
+    private static final String SEED_CARDS_SQL = "INSERT INTO cards (card_number_encrypted, card_number_last4, " +
+            "owner_id, expiry_date, status, balance, created_at) " +
+            "SELECT 'plan-card', LPAD(CAST(g AS TEXT), 4, '0'), u.id, DATE '2099-12-31', " +
+            "CASE WHEN (u.id + g) % 30 = 0 THEN 'BLOCKED' ELSE 'ACTIVE' END, " +
+            "CAST((u.id * 7919 + g * 104729) % 1000000 AS NUMERIC) / 100, LOCALTIMESTAMP - g * INTERVAL '1 day' " +
+            "FROM users u CROSS JOIN generate_series(1, " + CARDS_PER_USER + ") g " +
+            "WHERE u.email LIKE '%" + EMAIL_DOMAIN + "'";
+    private static final String SEED_TRANSFERS_SQL = "INSERT INTO transfers (owner_id, from_card_id, to_card_id, " +
+            "amount, created_at, idempotency_key) " +
+            "SELECT c.owner_id, c.id, c.first_id, 1.00, LOCALTIMESTAMP - (c.id % 700 + g) * INTERVAL '1 day', " +
+            "'plan-' || c.id || '-' || g " +
+            "FROM (SELECT id, owner_id, MIN(id) OVER (PARTITION BY owner_id) AS first_id FROM cards " +
+            "WHERE card_number_encrypted = 'plan-card') c CROSS JOIN generate_series(1, " + TRANSFERS_PER_CARD + ") g";
+    private static final String SEED_TRANSFER_CATEGORIES_SQL = "INSERT INTO transfer_categories " +
+            "(transfer_id, category_id) SELECT t.id, (SELECT MIN(id) FROM categories) FROM transfers t " +
+            "WHERE t.idempotency_key LIKE 'plan-%'";
+    private static final String SEED_LEDGER_ENTRIES_SQL = "INSERT INTO ledger_entries (card_id, amount, created_at) " +
+            "SELECT c.id, 1.00, LOCALTIMESTAMP FROM cards c WHERE c.card_number_encrypted = 'plan-card'";
+    private static final String SEED_SPENDING_SUMMARIES_SQL = "INSERT INTO spending_summaries " +
+            "(owner_id, month, category_id, transfer_count, total_amount) " +
+            "SELECT u.id, CAST(DATE_TRUNC('month', CURRENT_DATE) - m * INTERVAL '1 month' AS DATE), c.id, 1, 1.00 " +
+            "FROM users u CROSS JOIN generate_series(0, " + (SUMMARY_MONTHS - 1) + ") m CROSS JOIN categories c " +
+            "WHERE u.email LIKE '%" + EMAIL_DOMAIN + "'";
+    private static final String ANALYZE_CARDS_SQL = "ANALYZE users, cards, ledger_entries";
+    private static final String ANALYZE_TRANSFERS_SQL = "ANALYZE transfers, transfer_categories, spending_summaries";
+    private static final String ESTIMATED_ROWS_SQL = "SELECT reltuples FROM pg_class WHERE relname = ?";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private SpendingSummaryRepository spendingSummaryRepository;
+
+    @Autowired
+    private ExportRepository exportRepository;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // ---------- Helper methods ---------- //
+
+    private void seedCards() {
+        jdbcTemplate.update(SEED_USERS_SQL);
+        jdbcTemplate.update(SEED_CARDS_SQL);
+        jdbcTemplate.update(SEED_LEDGER_ENTRIES_SQL);
+        jdbcTemplate.execute(ANALYZE_CARDS_SQL);
+    }
+
+    private void seedTransfers() {
+        jdbcTemplate.update(SEED_TRANSFERS_SQL);
+        jdbcTemplate.update(SEED_TRANSFER_CATEGORIES_SQL);
+        jdbcTemplate.update(SEED_SPENDING_SUMMARIES_SQL);
+        jdbcTemplate.execute(ANALYZE_TRANSFERS_SQL);
+    }
+
+    private User seededOwner() {
+        return userRepository.findByEmail(new Email("plan-1000" + EMAIL_DOMAIN)).orElseThrow();
+    }
+
+    // Explained on the connection of the running transaction, so the seeded rows and their statistics are visible
+    private JsonNode explain(final RecordedQuery query) throws SQLException, IOException {
+        String plan = query.explain(DataSourceUtils.getConnection(dataSource));
+        return objectMapper.readTree(plan).get(0).get("Plan");
+    }
+
+    private void collectSeqScans(final JsonNode plan, final List<String> relations) {
+        String relation = plan.path("Relation Name").asText();
+        if ("Seq Scan".equals(plan.path("Node Type").asText())
+                && jdbcTemplate.queryForObject(ESTIMATED_ROWS_SQL, Float.class, relation) >= LARGE_TABLE_ROWS)
+            relations.add(relation);
+
+        for (JsonNode child : plan.path("Plans"))
+            collectSeqScans(child, relations);
+    }
+
+    private List<String> findSeqScans(final Runnable queries) {
+        List<RecordedQuery> recorded;
+        QueryPlanRecorder.start();
+        try {
+            queries.run();
+        } finally {
+            recorded = QueryPlanRecorder.stop();
+        }
+        assertFalse(recorded.isEmpty());
+
+        List<String> violations = new ArrayList<>();
+        for (RecordedQuery query : recorded) {
+            try {
+                JsonNode plan = explain(query);
+                List<String> relations = new ArrayList<>();
+                collectSeqScans(plan, relations);
+                if (!relations.isEmpty())
+                    violations.add(String.format("Seq Scan on %s:%n%s%n%s", relations, query.sql(), plan));
+            } catch (SQLException | IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+
+        return violations;
+    }
+
+    private List<String> findSeqScansOnSeededData(final Consumer<User> queries) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            seedCards();
+            seedTransfers();
+
+            User owner = seededOwner();
+            return findSeqScans(() -> queries.accept(owner));
+        });
+    }
+
+    // ------------------------------------ //
+
+    @Test
+    void shouldReportSeqScan_whenNoIndexMatches() {
+        List<String> violations = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            seedCards();
+
+            return findSeqScans(
+                    () -> jdbcTemplate.queryForList(
+                            "SELECT id FROM cards WHERE expiry_date = ?",
+                            Long.class,
+                            LocalDate.of(2099, 12, 31)));
+        });
+
+        assertTrue(violations.get(0).startsWith("Seq Scan on [cards]"));
+    }
+
+    @Test
+    void shouldReadCardsThroughIndexes() {
+        List<String> violations = findSeqScansOnSeededData(owner -> {
+            cardRepository.findAllByOwner(owner);
+            cardRepository.findAllSummaries(
+                    hasOwner(owner).and(hasStatus(CardStatus.ACTIVE)).and(
+                            balanceGreaterThanOrEqual(new BigDecimal("100"))).and(
+                                    balanceLessThanOrEqual(new BigDecimal("5000"))),
+                    PageRequest.of(0, 10, Sort.by("id")));
+            // Selective on any data set, a filter matching most cards is rightly answered with a seq scan
+            cardRepository.findAllSummaries(
+                    hasStatus(CardStatus.ACTIVE).and(balanceGreaterThanOrEqual(new BigDecimal("50000000"))),
+                    PageRequest.of(0, 10, Sort.by("id")));
+            exportRepository.streamCards(owner.getId(), null, null, null, resultSet -> null);
+        });
+
+        assertEquals(List.of(), violations);
+    }
+
+    @Test
+    void shouldReadTransfersThroughIndexes() {
+        List<String> violations = findSeqScansOnSeededData(owner -> {
+            transferRepository.findAllByOwner(owner);
+            transferRepository.findAllSummariesByOwnerId(owner.getId(), PageRequest.of(0, 10, Sort.by("id")));
+            transferRepository.countByOwnerId(owner.getId());
+            transferRepository.findByOwnerIdAndIdempotencyKey(owner.getId(), "plan-key");
+
+            Sort.Order order = Sort.Order.desc("createdAt");
+            Slice<TransferResponse> first = transferService.scrollTransfersForOwner(owner.getId(), null, order, 10);
+            transferService.scrollTransfersForOwner(
+                    owner.getId(),
+                    KeysetCursors.next(first, order, TransferResponse::id, TransferResponse::timestamp),
+                    order,
+                    10);
+
+            spendingSummaryRepository.findByOwnerIdAndMonth(owner.getId(), LocalDate.now().withDayOfMonth(1));
+        });
+
+        assertEquals(List.of(), violations);
+    }
+
+}
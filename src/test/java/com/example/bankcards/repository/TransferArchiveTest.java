@@ -0,0 +1,220 @@
+package com.example.bankcards.repository;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.dto.transfer.response.TransferResponse;
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.exception.ResourceNotFoundException;
+import com.example.bankcards.fixture.EntityFixtures;
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.transfer.category.CategoryName;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.service.CountMode;
+import com.example.bankcards.service.TransferArchiveService;
+import com.example.bankcards.service.TransferService;
+import com.example.bankcards.util.KeysetCursors;
+
+
+@SpringBootTest
+class TransferArchiveTest {
+
+    // Far enough in the past that no other data is archived along with the test transfers
+    private static final LocalDateTime ARCHIVED_AT = LocalDateTime.of(2001, 3, 1, 12, 0);
+    private static final LocalDateTime ARCHIVE_BEFORE = LocalDateTime.of(2002, 1, 1, 0, 0);
+    private static final int ARCHIVED_TRANSFERS = 3;
+    private static final int LIVE_TRANSFERS = 2;
+
+    private static final String BACKDATE_SQL = "UPDATE transfers SET created_at = ? WHERE id = ?";
+    private static final String DELETE_SEGMENTS_SQL = "DELETE FROM transfer_archive_segments s WHERE EXISTS " +
+            "(SELECT 1 FROM transfer_archive_blocks b WHERE b.segment_id = s.id AND b.owner_id = ?)";
+
+    @TempDir
+    static Path archiveDirectory;
+
+    @DynamicPropertySource
+    static void archiveProperties(final DynamicPropertyRegistry registry) {
+        registry.add("app.transfer.archive.directory", () -> archiveDirectory.toString());
+    }
+
+    @Autowired
+    private EntityFixtures fixtures;
+
+    @Autowired
+    private TransferArchiveService archiveService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User owner;
+    private User stranger;
+    private Card fromCard;
+    private Card toCard;
+    private Long salaryId;
+    // Newest first
+    private List<Long> transferIds;
+
+    private List<Long> walk(final Sort.Order order, int size) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            Slice<TransferResponse> window = transferService.scrollTransfersForOwner(owner.getId(), cursor, order, size);
+            window.forEach(response -> seen.add(response.id()));
+            cursor = KeysetCursors.next(window, order, TransferResponse::id, TransferResponse::timestamp);
+        } while (cursor != null);
+
+        return seen;
+    }
+
+    private List<Long> page(final Sort sort, int size) {
+        List<Long> seen = new ArrayList<>();
+        Slice<TransferResponse> page;
+        int number = 0;
+        do {
+            page = transferService.getAllTransfersForOwner(
+                    owner.getId(),
+                    PageRequest.of(number++, size, sort),
+                    CountMode.EXACT);
+            assertEquals(ARCHIVED_TRANSFERS + LIVE_TRANSFERS, assertInstanceOf(Page.class, page).getTotalElements());
+            page.forEach(response -> seen.add(response.id()));
+        } while (page.hasNext());
+
+        return seen;
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.newUser("owner", Role.USER);
+        stranger = fixtures.newUser("stranger", Role.USER);
+        fromCard = fixtures.newCard(owner);
+        toCard = fixtures.newCard(owner);
+        salaryId = fixtures.categoryId(CategoryName.SALARY);
+
+        transferIds = new ArrayList<>();
+        for (int i = 0; i < ARCHIVED_TRANSFERS + LIVE_TRANSFERS; i++) {
+            TransferRequest request = new TransferRequest(
+                    fromCard.getId(),
+                    toCard.getId(),
+                    new BigDecimal(i + 1),
+                    Set.of(salaryId));
+            transferIds.add(0, transferService.transferBetweenOwnCards(owner.getId(), request).getId());
+        }
+
+        // The oldest transfers are moved back in time, into the partition that is archived
+        for (int i = 0; i < ARCHIVED_TRANSFERS; i++)
+            jdbcTemplate.update(
+                    BACKDATE_SQL,
+                    ARCHIVED_AT.plusDays(i),
+                    transferIds.get(LIVE_TRANSFERS + ARCHIVED_TRANSFERS - 1 - i));
+
+        assertEquals(ARCHIVED_TRANSFERS, archiveService.archiveBefore(ARCHIVE_BEFORE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_SEGMENTS_SQL, owner.getId());
+            transferRepository.deleteAllInBatch(transferRepository.findAllByOwner(owner));
+            cardRepository.deleteAllInBatch(List.of(fromCard, toCard));
+            userRepository.deleteAllInBatch(List.of(owner, stranger));
+        });
+    }
+
+    @Test
+    void shouldMoveOldTransfersIntoSegmentFile() throws Exception {
+        assertEquals(LIVE_TRANSFERS, transferRepository.findAllByOwner(owner).size());
+        try (var files = Files.list(archiveDirectory)) {
+            assertTrue(files.anyMatch(file -> file.getFileName().toString().endsWith(".seg")));
+        }
+        assertEquals(0, archiveService.archiveBefore(ARCHIVE_BEFORE));
+    }
+
+    @Test
+    void shouldReadArchivedTransferById() {
+        Long oldestId = transferIds.get(transferIds.size() - 1);
+
+        TransferResponse response = transferService.getTransferByIdForOwner(owner.getId(), oldestId);
+
+        assertEquals(oldestId, response.id());
+        assertEquals("0366", response.fromCardLast4());
+        assertEquals(0, BigDecimal.ONE.compareTo(response.amount()));
+        assertEquals(Set.of(CategoryName.SALARY.toString()), response.categories());
+        assertEquals(ARCHIVED_AT, response.timestamp());
+    }
+
+    @Test
+    void shouldNotReadArchivedTransferOfAnotherOwner() {
+        Long oldestId = transferIds.get(transferIds.size() - 1);
+
+        assertThrows(
+                ResourceNotFoundException.class,
+                () -> transferService.getTransferByIdForOwner(stranger.getId(), oldestId));
+    }
+
+    @Test
+    void shouldWalkLiveAndArchivedTransfersWithCursor() {
+        assertEquals(transferIds, walk(Sort.Order.desc("createdAt"), 2));
+        assertEquals(transferIds.reversed(), walk(Sort.Order.asc("createdAt"), 2));
+        assertEquals(transferIds.reversed(), walk(Sort.Order.asc("id"), 4));
+    }
+
+    @Test
+    void shouldPageLiveAndArchivedTransfersWithOffset() {
+        assertEquals(transferIds, page(Sort.by(Sort.Order.desc("createdAt")), 2));
+        assertEquals(transferIds.reversed(), page(Sort.by(Sort.Order.asc("id")), 3));
+    }
+
+    @Test
+    void shouldRejectOffsetPage_whenArchiveCannotBeSortedBy() {
+        assertThrows(
+                BusinessRuleViolationException.class,
+                () -> transferService.getAllTransfersForOwner(
+                        owner.getId(),
+                        PageRequest.of(0, 2, Sort.by("amount")),
+                        CountMode.NONE));
+    }
+
+}
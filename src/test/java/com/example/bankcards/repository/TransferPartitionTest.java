@@ -0,0 +1,230 @@
+package com.example.bankcards.repository;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.repository.QueryPlanRecorder.RecordedQuery;
+import com.example.bankcards.service.TransferPartitionService;
+import com.example.bankcards.service.TransferService;
+import com.example.bankcards.util.KeysetCursors;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+
+// Partition DDL is transactional in PostgreSQL, so every test creates its far-future months and rolls them back
+@SpringBootTest
+@Import(QueryPlanRecorder.class)
+class TransferPartitionTest {
+
+    private static final YearMonth FIRST_MONTH = YearMonth.of(2199, 11);
+    private static final String PASSWORD_HASH = "$2a$10$partitionPasswordHashWith60Characters1234567890123456";
+
+    private static final String INSERT_USER_SQL = "INSERT INTO users (email, password_hashed, role, created_at) " +
+            "VALUES ('partition@partition.local', '" + PASSWORD_HASH + "', 'USER', LOCALTIMESTAMP) RETURNING id";
+    private static final String INSERT_CARD_SQL = "INSERT INTO cards (card_number_encrypted, card_number_last4, " +
+            "owner_id, expiry_date, status, balance, created_at) " +
+            "VALUES ('partition-card', '0000', ?, DATE '2299-12-31', 'ACTIVE', 0, LOCALTIMESTAMP) RETURNING id";
+    private static final String INSERT_TRANSFER_SQL = "INSERT INTO transfers (owner_id, from_card_id, to_card_id, " +
+            "amount, created_at, idempotency_key) VALUES (?, ?, ?, 1.00, ?, ?) RETURNING id";
+    private static final String PARTITION_OF_SQL = "SELECT CAST(tableoid AS regclass) FROM transfers WHERE id = ?";
+    private static final String COUNT_KEYS_SQL = "SELECT COUNT(*) FROM transfer_idempotency_keys WHERE owner_id = ?";
+    private static final String PARTITIONS_SQL = "SELECT CAST(CAST(inhrelid AS regclass) AS TEXT) FROM pg_inherits " +
+            "WHERE inhparent = CAST('transfers' AS regclass)";
+
+    @Autowired
+    private TransferPartitionService partitionService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private record Seeded(Long ownerId, Long cardId) {
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private Seeded seed() {
+        Long ownerId = jdbcTemplate.queryForObject(INSERT_USER_SQL, Long.class);
+        Long cardId = jdbcTemplate.queryForObject(INSERT_CARD_SQL, Long.class, ownerId);
+        return new Seeded(ownerId, cardId);
+    }
+
+    private Long insertTransfer(final Seeded seeded, final LocalDateTime createdAt, final String idempotencyKey) {
+        return jdbcTemplate.queryForObject(
+                INSERT_TRANSFER_SQL,
+                Long.class,
+                seeded.ownerId(),
+                seeded.cardId(),
+                seeded.cardId(),
+                createdAt,
+                idempotencyKey);
+    }
+
+    private static void collectRelations(final JsonNode plan, final Set<String> relations) {
+        if (plan.has("Relation Name"))
+            relations.add(plan.path("Relation Name").asText());
+
+        for (JsonNode child : plan.path("Plans"))
+            collectRelations(child, relations);
+    }
+
+    private Set<String> relationsRead(final RecordedQuery query) {
+        try {
+            String plan = query.explain(DataSourceUtils.getConnection(dataSource));
+            Set<String> relations = new HashSet<>();
+            collectRelations(objectMapper.readTree(plan).get(0).get("Plan"), relations);
+            return relations;
+        } catch (SQLException | IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    // ------------------------------------ //
+
+    // Analyzes the partitions only, as autovacuum does, and leaves the parent's own statistics as they are
+    @Test
+    void shouldEstimateCount_fromPartitionStatistics() {
+        jdbcTemplate.queryForList(PARTITIONS_SQL, String.class).forEach(
+                partition -> jdbcTemplate.execute("ANALYZE " + partition));
+
+        long exact = transferRepository.count();
+        assertEquals(exact, transferRepository.estimateCount(), exact / 100.0 + 1);
+    }
+
+    @Test
+    void shouldCreateMissingMonthsOnly() {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+
+            assertEquals(
+                    List.of("transfers_p219911", "transfers_p219912", "transfers_p220001"),
+                    partitionService.createPartitions(FIRST_MONTH, 3));
+            assertEquals(
+                    List.of("transfers_p220002"),
+                    partitionService.createPartitions(FIRST_MONTH, 4));
+        });
+    }
+
+    @Test
+    void shouldNotCreatePartition_whenMonthCoveredByHistory() {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+
+            assertEquals(List.of(), partitionService.createPartitions(YearMonth.now(), 1));
+        });
+    }
+
+    @Test
+    void shouldRouteTransferIntoPartitionOfItsMonth() {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            partitionService.createPartitions(FIRST_MONTH, 3);
+            Seeded seeded = seed();
+
+            Long id = insertTransfer(seeded, LocalDateTime.of(2199, 12, 31, 23, 59), null);
+
+            assertEquals("transfers_p219912", jdbcTemplate.queryForObject(PARTITION_OF_SQL, String.class, id));
+        });
+    }
+
+    @Test
+    void shouldPrunePartitionsAfterKeysetPosition() {
+        Set<String> relations = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            partitionService.createPartitions(FIRST_MONTH, 3);
+            Seeded seeded = seed();
+            Long id = insertTransfer(seeded, LocalDateTime.of(2199, 12, 15, 12, 0), null);
+
+            Sort.Order order = Sort.Order.desc("createdAt");
+            String cursor = KeysetCursors.encode(
+                    new Keyset("createdAt", order.getDirection(), LocalDateTime.of(2199, 12, 15, 12, 0), id));
+
+            List<RecordedQuery> recorded;
+            QueryPlanRecorder.start();
+            try {
+                transferService.scrollTransfersForOwner(seeded.ownerId(), cursor, order, 10);
+            } finally {
+                recorded = QueryPlanRecorder.stop();
+            }
+
+            Set<String> read = new HashSet<>();
+            recorded.stream()
+                    .filter(query -> query.sql().contains("from transfers"))
+                    .forEach(query -> read.addAll(relationsRead(query)));
+            return read;
+        });
+
+        assertTrue(relations.containsAll(Set.of("transfers_p219912", "transfers_p219911")), relations.toString());
+        assertFalse(relations.contains("transfers_p220001"), relations.toString());
+    }
+
+    @Test
+    void shouldRejectReusedIdempotencyKey_acrossPartitions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            partitionService.createPartitions(FIRST_MONTH, 3);
+            Seeded seeded = seed();
+            insertTransfer(seeded, LocalDateTime.of(2199, 11, 1, 0, 0), "partition-key");
+
+            assertThrows(
+                    DataIntegrityViolationException.class,
+                    () -> insertTransfer(seeded, LocalDateTime.of(2200, 1, 1, 0, 0), "partition-key"));
+        });
+    }
+
+    @Test
+    void shouldReleaseIdempotencyKeys_whenPartitionDetached() {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            partitionService.createPartitions(FIRST_MONTH, 3);
+            Seeded seeded = seed();
+            insertTransfer(seeded, LocalDateTime.of(2199, 11, 1, 0, 0), "partition-key");
+            insertTransfer(seeded, LocalDateTime.of(2200, 1, 1, 0, 0), "partition-other-key");
+
+            List<String> detached = partitionService.detachPartitionsBefore(FIRST_MONTH.plusMonths(1));
+
+            assertTrue(detached.containsAll(List.of("transfers_history", "transfers_p219911")));
+            assertFalse(detached.contains("transfers_p219912"));
+            assertEquals(1L, jdbcTemplate.queryForObject(COUNT_KEYS_SQL, Long.class, seeded.ownerId()));
+            insertTransfer(seeded, LocalDateTime.of(2199, 12, 1, 0, 0), "partition-key");
+        });
+    }
+
+}
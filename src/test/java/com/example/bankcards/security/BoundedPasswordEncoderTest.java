@@ -0,0 +1,111 @@
+package com.example.bankcards.security;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.bankcards.exception.PasswordHashingBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+
+class BoundedPasswordEncoderTest {
+
+    private static final int TEST_STRENGTH = 4;
+    private static final String TEST_RAW_PASSWORD = "password123";
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null)
+            encoder.close();
+    }
+
+    @Test
+    void shouldEncodeAndMatchOnPool_andRecordTimings() {
+        encoder = new BoundedPasswordEncoder(TEST_STRENGTH, 2, 4, meterRegistry);
+
+        String hash = encoder.encode(TEST_RAW_PASSWORD);
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches(TEST_RAW_PASSWORD, hash));
+        assertFalse(encoder.matches("wrong-password", hash));
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing.queue.wait").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void shouldRequestUpgrade_whenCostDiffers() {
+        encoder = new BoundedPasswordEncoder(TEST_STRENGTH, 1, 1, meterRegistry);
+
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(TEST_STRENGTH).encode(TEST_RAW_PASSWORD)));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(TEST_STRENGTH + 1).encode(TEST_RAW_PASSWORD)));
+        assertTrue(encoder.upgradeEncoding("$2b$12$" + "a".repeat(53)));
+        assertFalse(encoder.upgradeEncoding(null));
+        assertFalse(encoder.upgradeEncoding("plain"));
+    }
+
+    @Test
+    void shouldRejectAtOnce_whenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(final CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blocking, TEST_STRENGTH, 1, 1, meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("running"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"));
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1)
+            Thread.onSpinWait();
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("rejected"));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("running", running.get(5, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldRejectInvalidPoolSize() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new BoundedPasswordEncoder(TEST_STRENGTH, 0, 1, meterRegistry));
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.example.bankcards.security;
+
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.model.user.vo.Email;
+import com.example.bankcards.model.user.vo.Password;
+import com.example.bankcards.repository.UserRepository;
+
+
+@SpringBootTest
+class PasswordRehashTest {
+
+    private static final String TEST_RAW_PASSWORD = "rehash-password";
+    private static final int OLD_STRENGTH = 4;
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    private String storedHash() {
+        return userRepository.findById(user.getId()).orElseThrow().getPassword().getValue();
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(
+                new User(
+                        new Email(String.format("rehash-%d@rehash.local", System.nanoTime())),
+                        new Password(new BCryptPasswordEncoder(OLD_STRENGTH).encode(TEST_RAW_PASSWORD)),
+                        Role.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldReencodeHash_whenLoginSucceedsWithOtherCost() {
+        assertTrue(passwordEncoder.upgradeEncoding(storedHash()));
+
+        authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(user.getEmail().getValue(), TEST_RAW_PASSWORD));
+
+        String rehashed = storedHash();
+        assertFalse(passwordEncoder.upgradeEncoding(rehashed));
+        assertTrue(passwordEncoder.matches(TEST_RAW_PASSWORD, rehashed));
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.example.bankcards.security;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.bankcards.model.user.Role;
+
+
+class UserValidityCacheTest {
+
+    private static final Duration TEST_TTL = Duration.ofSeconds(30);
+    private static final int TEST_MAX_ENTRIES = 2;
+
+    private AtomicLong clock;
+    private AtomicInteger lookups;
+    private Map<Long, Role> roles;
+    private UserValidityCache cache;
+
+    private Optional<Role> findRole(Long userId) {
+        lookups.incrementAndGet();
+        return Optional.ofNullable(roles.get(userId));
+    }
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        lookups = new AtomicInteger();
+        roles = new HashMap<>(Map.of(1L, Role.USER, 2L, Role.ADMIN, 3L, Role.USER));
+        cache = new UserValidityCache(TEST_TTL, TEST_MAX_ENTRIES, this::findRole, clock::get);
+    }
+
+    @Test
+    void shouldReuseAnswer_whileEntryIsFresh() {
+        assertTrue(cache.isValid(1L, Role.USER));
+        roles.remove(1L);
+        clock.addAndGet(TEST_TTL.toNanos() - 1);
+
+        assertTrue(cache.isValid(1L, Role.USER));
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void shouldRejectDeletedUser_whenEntryExpired() {
+        cache.isValid(1L, Role.USER);
+        roles.remove(1L);
+        clock.addAndGet(TEST_TTL.toNanos());
+
+        assertFalse(cache.isValid(1L, Role.USER));
+        assertFalse(cache.isValid(1L, Role.USER));
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void shouldRejectClaimedRole_whenRoleDiffers() {
+        assertFalse(cache.isValid(1L, Role.ADMIN));
+        assertTrue(cache.isValid(1L, Role.USER));
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void shouldRejectUnknownUser() {
+        assertFalse(cache.isValid(42L, Role.USER));
+    }
+
+    @Test
+    void shouldEvictOldestEntry_whenFull() {
+        cache.isValid(1L, Role.USER);
+        cache.isValid(2L, Role.ADMIN);
+        cache.isValid(3L, Role.USER);
+
+        cache.isValid(1L, Role.USER);
+        assertEquals(4, lookups.get());
+    }
+
+    @Test
+    void shouldRejectInvalidMaxEntries() {
+        assertThrows(IllegalArgumentException.class, () -> new UserValidityCache(TEST_TTL, 0, this::findRole));
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.example.bankcards.security.jwt;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.bankcards.repository.projection.RevokedToken;
+
+
+class TokenDenylistTest {
+
+    private static final Instant TEST_NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Instant TEST_EXPIRES_AT = TEST_NOW.plusSeconds(3_600);
+    private static final int TEST_EXPECTED_TOKENS = 10_000;
+    private static final double TEST_FALSE_POSITIVE_RATE = 0.01;
+
+    private static TokenDenylist emptyDenylist() {
+        return TokenDenylist.of(List.of(), TEST_EXPECTED_TOKENS, TEST_FALSE_POSITIVE_RATE);
+    }
+
+    @Test
+    void shouldReportRevokedToken_untilItExpires() {
+        TokenDenylist denylist = emptyDenylist();
+        String tokenId = UUID.randomUUID().toString();
+
+        denylist.add(tokenId, TEST_EXPIRES_AT.toEpochMilli());
+
+        assertTrue(denylist.isRevoked(tokenId, TEST_NOW.toEpochMilli()));
+        assertFalse(denylist.isRevoked(tokenId, TEST_EXPIRES_AT.toEpochMilli()));
+        assertFalse(denylist.isRevoked(UUID.randomUUID().toString(), TEST_NOW.toEpochMilli()));
+    }
+
+    @Test
+    void shouldContainLoadedTokens() {
+        List<RevokedToken> tokens = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            tokens.add(new RevokedToken(UUID.randomUUID().toString(), TEST_EXPIRES_AT));
+
+        TokenDenylist denylist = TokenDenylist.of(tokens, TEST_EXPECTED_TOKENS, TEST_FALSE_POSITIVE_RATE);
+
+        assertEquals(tokens.size(), denylist.size());
+        tokens.forEach(token -> assertTrue(denylist.isRevoked(token.tokenId(), TEST_NOW.toEpochMilli())));
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearConfigured_andNeverRevokeOtherTokens() {
+        TokenDenylist denylist = emptyDenylist();
+        for (int i = 0; i < TEST_EXPECTED_TOKENS; i++)
+            denylist.add(UUID.randomUUID().toString(), TEST_EXPIRES_AT.toEpochMilli());
+
+        int probes = 100_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            String tokenId = UUID.randomUUID().toString();
+            if (denylist.mightContain(tokenId))
+                falsePositives++;
+            assertFalse(denylist.isRevoked(tokenId, TEST_NOW.toEpochMilli()));
+        }
+
+        assertTrue(
+                falsePositives < probes * TEST_FALSE_POSITIVE_RATE * 2,
+                String.format("%d false positives in %d probes", falsePositives, probes));
+    }
+
+    @Test
+    void shouldRejectInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> TokenDenylist.of(List.of(), 0, TEST_FALSE_POSITIVE_RATE));
+        assertThrows(IllegalArgumentException.class, () -> TokenDenylist.of(List.of(), TEST_EXPECTED_TOKENS, 1.0));
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.example.bankcards.security.jwt;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.bankcards.exception.UserAuthenticationException;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.security.CustomUserDetails;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+
+class VerifiedTokenCacheTest {
+
+    private static final Instant TEST_NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration TEST_LIFETIME = Duration.ofHours(1);
+    private static final int TEST_MAX_ENTRIES = 2;
+    private static final String TEST_TOKEN = "header.payload.signature";
+
+    private AtomicReference<Instant> clock;
+    private AtomicInteger verifications;
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    // Only TEST_TOKEN and tokens starting with "valid" carry a good signature
+    private VerifiedToken verify(final String token) {
+        verifications.incrementAndGet();
+        if (!token.equals(TEST_TOKEN) && !token.startsWith("valid"))
+            throw new UserAuthenticationException.InvalidToken("Invalid JWT signature: " + token);
+
+        return new VerifiedToken(
+                token,
+                CustomUserDetails.of(1L, "user@test.local", Role.USER),
+                TEST_NOW.plus(TEST_LIFETIME));
+    }
+
+    private double requests(final String result) {
+        return meterRegistry.get("jwt.cache.requests").tag("result", result).counter().count();
+    }
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicReference<>(TEST_NOW);
+        verifications = new AtomicInteger();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(TEST_MAX_ENTRIES, meterRegistry, clock::get);
+    }
+
+    @Test
+    void shouldReuseVerifiedToken_untilItExpires() {
+        VerifiedToken first = cache.verify(TEST_TOKEN, this::verify);
+        clock.set(TEST_NOW.plus(TEST_LIFETIME).minusMillis(1));
+
+        assertSame(first, cache.verify(TEST_TOKEN, this::verify));
+        assertEquals(1, verifications.get());
+        assertEquals(1.0, requests("hit"));
+        assertEquals(1.0, requests("miss"));
+    }
+
+    @Test
+    void shouldVerifyAgain_whenTokenExpired() {
+        cache.verify(TEST_TOKEN, this::verify);
+        clock.set(TEST_NOW.plus(TEST_LIFETIME));
+
+        cache.verify(TEST_TOKEN, this::verify);
+        assertEquals(2, verifications.get());
+        assertEquals(2.0, requests("miss"));
+    }
+
+    @Test
+    void shouldNeverServeAlteredToken_fromCache() {
+        cache.verify(TEST_TOKEN, this::verify);
+        String forged = TEST_TOKEN.substring(0, TEST_TOKEN.length() - 1) + "x";
+
+        assertThrows(UserAuthenticationException.InvalidToken.class, () -> cache.verify(forged, this::verify));
+        assertThrows(UserAuthenticationException.InvalidToken.class, () -> cache.verify(forged, this::verify));
+        assertEquals(3, verifications.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedToken_whenFull() {
+        cache.verify("valid-1", this::verify);
+        cache.verify("valid-2", this::verify);
+        cache.verify("valid-1", this::verify);
+        cache.verify("valid-3", this::verify);
+
+        cache.verify("valid-1", this::verify);
+        cache.verify("valid-2", this::verify);
+        assertEquals(TEST_MAX_ENTRIES, cache.size());
+        assertEquals(4, verifications.get());
+    }
+
+    @Test
+    void shouldRejectInvalidMaxEntries() {
+        assertThrows(IllegalArgumentException.class, () -> new VerifiedTokenCache(0, meterRegistry));
+    }
+
+}
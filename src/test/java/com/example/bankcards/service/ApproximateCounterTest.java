@@ -0,0 +1,115 @@
+package com.example.bankcards.service;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.util.constant.PaginationConstants;
+
+
+class ApproximateCounterTest {
+
+    private static final Duration TEST_TTL = Duration.ofSeconds(30);
+    private static final int TEST_MAX_ENTRIES = 2;
+
+    private AtomicLong clock;
+    private AtomicInteger exactCounts;
+    private ApproximateCounter counter;
+
+    private long countOf(long value) {
+        exactCounts.incrementAndGet();
+        return value;
+    }
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        exactCounts = new AtomicInteger();
+        counter = new ApproximateCounter(TEST_TTL, TEST_MAX_ENTRIES, clock::get);
+    }
+
+    @Test
+    void shouldReuseCount_whileEntryIsFresh() {
+        assertEquals(5L, counter.count(() -> countOf(5L), "cards", 1L));
+        clock.addAndGet(TEST_TTL.toNanos() - 1);
+
+        assertEquals(5L, counter.count(() -> countOf(6L), "cards", 1L));
+        assertEquals(1, exactCounts.get());
+    }
+
+    @Test
+    void shouldCountAgain_whenEntryExpired() {
+        counter.count(() -> countOf(5L), "cards", 1L);
+        clock.addAndGet(TEST_TTL.toNanos());
+
+        assertEquals(6L, counter.count(() -> countOf(6L), "cards", 1L));
+        assertEquals(2, exactCounts.get());
+    }
+
+    @Test
+    void shouldKeepFilterCombinationsApart() {
+        assertEquals(5L, counter.count(() -> countOf(5L), "cards", 1L, null));
+        assertEquals(7L, counter.count(() -> countOf(7L), "cards", 1L, "ACTIVE"));
+
+        assertEquals(2, exactCounts.get());
+    }
+
+    @Test
+    void shouldEvictOldestEntry_whenFull() {
+        counter.count(() -> countOf(1L), "cards", 1L);
+        counter.count(() -> countOf(2L), "cards", 2L);
+        counter.count(() -> countOf(3L), "cards", 3L);
+
+        assertEquals(4L, counter.count(() -> countOf(4L), "cards", 1L));
+        assertEquals(3L, counter.count(() -> countOf(9L), "cards", 3L));
+        assertEquals(4, exactCounts.get());
+    }
+
+    @Test
+    void shouldPreferPlannerEstimate_whenTableAnalyzed() {
+        assertEquals(1_000L, counter.estimate(() -> 1_000L, () -> countOf(990L), "transfers"));
+        assertEquals(0, exactCounts.get());
+    }
+
+    @Test
+    void shouldFallBackToCount_whenTableNotAnalyzed() {
+        assertEquals(990L, counter.estimate(() -> 0L, () -> countOf(990L), "transfers"));
+        assertEquals(990L, counter.estimate(() -> 0L, () -> countOf(995L), "transfers"));
+        assertEquals(1, exactCounts.get());
+    }
+
+    @Test
+    void shouldNotReportTotalBelowRowsAlreadySeen() {
+        SliceImpl<Integer> slice = new SliceImpl<>(List.of(1, 2, 3), PageRequest.of(2, 3), true);
+
+        Page<Integer> page = ApproximateCounter.toPage(slice, 4L);
+
+        assertEquals(10L, page.getTotalElements());
+        assertEquals(List.of(1, 2, 3), page.getContent());
+    }
+
+    @Test
+    void shouldParseCountModeIgnoringCase() {
+        assertEquals(CountMode.APPROX, CountMode.of("Approx"));
+        assertEquals("none", CountMode.NONE.value());
+
+        BusinessRuleViolationException exception = assertThrows(
+                BusinessRuleViolationException.class,
+                () -> CountMode.of("fast"));
+
+        assertEquals(PaginationConstants.Count.unsupportedMessage("fast"), exception.getMessage());
+    }
+
+}
@@ -3,13 +3,17 @@ package com.example.bankcards.service;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -17,7 +21,9 @@ import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Optional;
 
@@ -28,13 +34,20 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import com.example.bankcards.config.properties.TransferProperties;
 import com.example.bankcards.dto.card.request.CardCreateRequest;
+import com.example.bankcards.dto.card.response.CardResponse;
 import com.example.bankcards.exception.AccessDeniedException;
 import com.example.bankcards.exception.BusinessRuleViolationException;
 import com.example.bankcards.exception.DomainValidationException;
@@ -50,12 +63,19 @@ import com.example.bankcards.model.user.User;
 import com.example.bankcards.model.user.vo.Email;
 import com.example.bankcards.model.user.vo.Password;
 import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.Keyset;
+import com.example.bankcards.repository.projection.CardSummary;
 import com.example.bankcards.security.CardEncryption;
 import com.example.bankcards.service.contract.create.AdminCreateBehaviorTest;
 import com.example.bankcards.service.contract.delete.AdminDeleteBehaviorTest;
 import com.example.bankcards.service.contract.read.AdminReadBehaviorTest;
 import com.example.bankcards.service.contract.read.ReadBehaviorTest;
 import com.example.bankcards.service.contract.update.AdminUpdateBehaviorTest;
+import com.example.bankcards.service.transfer.TransferConcurrencyMode;
+import com.example.bankcards.util.KeysetCursors;
+import com.example.bankcards.util.constant.PaginationConstants;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -70,6 +90,22 @@ class CardServiceTest {
     @Mock
     private UserService userService;
 
+    @Spy
+    private ApproximateCounter approximateCounter = new ApproximateCounter(Duration.ofMinutes(1), 16);
+
+    @Spy
+    private RequestIdentityMap identityMap = new RequestIdentityMap(entity -> true, new SimpleMeterRegistry());
+
+    @Spy
+    private TransferProperties transferProperties = new TransferProperties(
+            new TransferProperties.Concurrency(TransferConcurrencyMode.PESSIMISTIC, 1),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+
     @InjectMocks
     private CardService cardService;
 
@@ -846,15 +882,22 @@ class CardServiceTest {
         @Test
         void shouldReturnCardPage_whenValidRequest() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Card> cardPage = new PageImpl<>(new ArrayList<>());
+            Page<CardSummary> summaryPage = new PageImpl<>(new ArrayList<>());
 
-            when(cardRepository.findAll(pageable)).thenReturn(cardPage);
+            when(cardRepository.findAllSummaries(any(), eq(pageable))).thenReturn(summaryPage);
 
-            Page<Card> result = cardService.getAllCardsForAdmin(TEST_ADMIN_ID, null, null, null, null, pageable);
+            Slice<CardResponse> result = cardService.getAllCardsForAdmin(
+                    TEST_ADMIN_ID,
+                    null,
+                    null,
+                    null,
+                    null,
+                    pageable,
+                    CountMode.EXACT);
 
             assertNotNull(result);
             verify(userService).checkAdminPermissionTo("get all cards", TEST_ADMIN_ID);
-            verify(cardRepository).findAll(pageable);
+            verify(cardRepository).findAllSummaries(any(), eq(pageable));
             verifyNoMoreInteractions(userService, cardRepository);
         }
 
@@ -862,7 +905,14 @@ class CardServiceTest {
         void shouldThrowException_whenNullPageable() {
             BusinessRuleViolationException exception = assertThrows(
                     BusinessRuleViolationException.class,
-                    () -> cardService.getAllCardsForAdmin(TEST_ADMIN_ID, null, null, null, null, null));
+                    () -> cardService.getAllCardsForAdmin(
+                            TEST_ADMIN_ID,
+                            null,
+                            null,
+                            null,
+                            null,
+                            null,
+                            CountMode.EXACT));
 
             assertEquals("Pageable is required", exception.getMessage());
             verifyNoInteractions(userService, cardRepository);
@@ -875,7 +925,14 @@ class CardServiceTest {
 
             AccessDeniedException exception = assertThrows(
                     AccessDeniedException.class,
-                    () -> cardService.getAllCardsForAdmin(TEST_ADMIN_ID, null, null, null, null, pageable));
+                    () -> cardService.getAllCardsForAdmin(
+                            TEST_ADMIN_ID,
+                            null,
+                            null,
+                            null,
+                            null,
+                            pageable,
+                            CountMode.EXACT));
 
             assertEquals("Permission denied", exception.getMessage());
             verify(userService).checkAdminPermissionTo("get all cards", TEST_ADMIN_ID);
@@ -883,6 +940,89 @@ class CardServiceTest {
             verifyNoInteractions(cardRepository);
         }
 
+        @Test
+        void shouldReadSliceWithoutCount_whenCountModeNone() {
+            Pageable pageable = PageRequest.of(0, 10);
+            Slice<CardSummary> summarySlice = new SliceImpl<>(new ArrayList<>(), pageable, true);
+
+            when(cardRepository.findSummarySlice(any(), eq(pageable))).thenReturn(summarySlice);
+
+            Slice<CardResponse> result = cardService.getAllCardsForAdmin(
+                    TEST_ADMIN_ID,
+                    null,
+                    null,
+                    null,
+                    null,
+                    pageable,
+                    CountMode.NONE);
+
+            assertFalse(result instanceof Page);
+            assertTrue(result.hasNext());
+            verify(cardRepository).findSummarySlice(any(), eq(pageable));
+            verifyNoMoreInteractions(cardRepository);
+        }
+
+        @Test
+        void shouldUsePlannerEstimate_whenCountModeApproxAndUnfiltered() {
+            Pageable pageable = PageRequest.of(0, 10);
+            Slice<CardSummary> summarySlice = new SliceImpl<>(new ArrayList<>(), pageable, false);
+
+            when(cardRepository.findSummarySlice(any(), eq(pageable))).thenReturn(summarySlice);
+            when(cardRepository.estimateCount()).thenReturn(42L);
+
+            Slice<CardResponse> result = cardService.getAllCardsForAdmin(
+                    TEST_ADMIN_ID,
+                    null,
+                    null,
+                    null,
+                    null,
+                    pageable,
+                    CountMode.APPROX);
+
+            assertEquals(42L, assertInstanceOf(Page.class, result).getTotalElements());
+            verify(cardRepository).findSummarySlice(any(), eq(pageable));
+            verify(cardRepository).estimateCount();
+            verifyNoMoreInteractions(cardRepository);
+        }
+
+        @Test
+        void shouldCacheFilteredCount_whenCountModeApprox() {
+            Pageable pageable = PageRequest.of(0, 10);
+            Slice<CardSummary> summarySlice = new SliceImpl<>(new ArrayList<>(), pageable, false);
+
+            when(cardRepository.findSummarySlice(any(), eq(pageable))).thenReturn(summarySlice);
+            when(cardRepository.count(any(Specification.class))).thenReturn(7L);
+
+            for (int i = 0; i < 2; i++) {
+                Slice<CardResponse> result = cardService.getAllCardsForAdmin(
+                        TEST_ADMIN_ID,
+                        TEST_USER_ID,
+                        CardStatus.ACTIVE,
+                        null,
+                        null,
+                        pageable,
+                        CountMode.APPROX);
+
+                assertEquals(7L, assertInstanceOf(Page.class, result).getTotalElements());
+            }
+
+            verify(cardRepository, times(2)).findSummarySlice(any(), eq(pageable));
+            verify(cardRepository).count(any(Specification.class));
+            verifyNoMoreInteractions(cardRepository);
+        }
+
+        @Test
+        void shouldThrowException_whenNullCountMode() {
+            Pageable pageable = PageRequest.of(0, 10);
+
+            BusinessRuleViolationException exception = assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> cardService.getAllCardsForAdmin(TEST_ADMIN_ID, null, null, null, null, pageable, null));
+
+            assertEquals(PaginationConstants.Count.REQUIRED_MESSAGE, exception.getMessage());
+            verifyNoInteractions(userService, cardRepository);
+        }
+
     }
 
     @Nested
@@ -892,16 +1032,22 @@ class CardServiceTest {
         void shouldReturnCardPage_whenValidRequest() {
             User testOwner = createTestUser(TEST_USER_ID);
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Card> cardPage = new PageImpl<>(new ArrayList<>());
+            Page<CardSummary> summaryPage = new PageImpl<>(new ArrayList<>());
 
             whenFindUserById(testOwner);
-            when(cardRepository.findAllByOwner(testOwner, pageable)).thenReturn(cardPage);
+            when(cardRepository.findAllSummaries(any(), eq(pageable))).thenReturn(summaryPage);
 
-            Page<Card> result = cardService.getAllCardsForOwner(TEST_USER_ID, null, null, null, pageable);
+            Slice<CardResponse> result = cardService.getAllCardsForOwner(
+                    TEST_USER_ID,
+                    null,
+                    null,
+                    null,
+                    pageable,
+                    CountMode.EXACT);
 
             assertNotNull(result);
             verify(userService).findUserById(TEST_USER_ID);
-            verify(cardRepository).findAllByOwner(testOwner, pageable);
+            verify(cardRepository).findAllSummaries(any(), eq(pageable));
             verifyNoMoreInteractions(userService, cardRepository);
         }
 
@@ -909,7 +1055,7 @@ class CardServiceTest {
         void shouldThrowException_whenNullPageable() {
             BusinessRuleViolationException exception = assertThrows(
                     BusinessRuleViolationException.class,
-                    () -> cardService.getAllCardsForOwner(TEST_USER_ID, null, null, null, null));
+                    () -> cardService.getAllCardsForOwner(TEST_USER_ID, null, null, null, null, CountMode.EXACT));
 
             assertEquals("Pageable is required", exception.getMessage());
             verifyNoInteractions(userService, cardRepository);
@@ -922,7 +1068,7 @@ class CardServiceTest {
 
             ResourceNotFoundException exception = assertThrows(
                     ResourceNotFoundException.class,
-                    () -> cardService.getAllCardsForOwner(TEST_USER_ID, null, null, null, pageable));
+                    () -> cardService.getAllCardsForOwner(TEST_USER_ID, null, null, null, pageable, CountMode.EXACT));
 
             assertEquals("User not found", exception.getMessage());
             verify(userService).findUserById(TEST_USER_ID);
@@ -930,6 +1076,90 @@ class CardServiceTest {
             verifyNoInteractions(cardRepository);
         }
 
+        @Test
+        void shouldNotCountOwnerCards_whenCountModeNone() {
+            User testOwner = createTestUser(TEST_USER_ID);
+            Pageable pageable = PageRequest.of(0, 10);
+            Slice<CardSummary> summarySlice = new SliceImpl<>(new ArrayList<>(), pageable, false);
+
+            whenFindUserById(testOwner);
+            when(cardRepository.findSummarySlice(any(), eq(pageable))).thenReturn(summarySlice);
+
+            Slice<CardResponse> result = cardService.getAllCardsForOwner(
+                    TEST_USER_ID,
+                    null,
+                    null,
+                    null,
+                    pageable,
+                    CountMode.NONE);
+
+            assertFalse(result.hasNext());
+            verify(cardRepository).findSummarySlice(any(), eq(pageable));
+            verifyNoMoreInteractions(cardRepository);
+        }
+
+    }
+
+    @Nested
+    class ScrollCardsForAdminTests {
+
+        private final Sort.Order order = Sort.Order.asc("createdAt");
+
+        @Test
+        void shouldSeekFromCursor_whenValidRequest() {
+            Keyset keyset = new Keyset("createdAt", Sort.Direction.ASC, LocalDateTime.of(2025, 1, 1, 12, 0), 5L);
+            Pageable window = PageRequest.of(0, 10, Sort.by(order, Sort.Order.asc("id")));
+            Slice<CardSummary> summarySlice = new SliceImpl<>(new ArrayList<>());
+
+            when(cardRepository.findSummarySlice(any(), eq(window))).thenReturn(summarySlice);
+
+            Slice<CardResponse> result = cardService.scrollCardsForAdmin(
+                    TEST_ADMIN_ID,
+                    TEST_USER_ID,
+                    CardStatus.ACTIVE,
+                    null,
+                    null,
+                    KeysetCursors.encode(keyset),
+                    order,
+                    10);
+
+            assertNotNull(result);
+            verify(userService).checkAdminPermissionTo("get all cards", TEST_ADMIN_ID);
+            verify(cardRepository).findSummarySlice(any(), eq(window));
+            verifyNoMoreInteractions(userService, cardRepository);
+        }
+
+        @Test
+        void shouldThrowException_whenCursorMalformed() {
+            BusinessRuleViolationException exception = assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> cardService.scrollCardsForAdmin(TEST_ADMIN_ID, null, null, null, null, "%%%", order, 10));
+
+            assertEquals(PaginationConstants.Cursor.MALFORMED_MESSAGE, exception.getMessage());
+            verifyNoInteractions(cardRepository);
+        }
+
+        @Test
+        void shouldThrowException_whenCursorIssuedForOtherSort() {
+            String cursor = KeysetCursors.encode(new Keyset("id", Sort.Direction.DESC, 5L, 5L));
+
+            BusinessRuleViolationException exception = assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> cardService.scrollCardsForAdmin(TEST_ADMIN_ID, null, null, null, null, cursor, order, 10));
+
+            assertEquals(PaginationConstants.Cursor.SORT_MISMATCH_MESSAGE, exception.getMessage());
+            verifyNoInteractions(cardRepository);
+        }
+
+        @Test
+        void shouldThrowException_whenSizeNotPositive() {
+            BusinessRuleViolationException exception = assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> cardService.scrollCardsForAdmin(TEST_ADMIN_ID, null, null, null, null, "", order, 0));
+
+            assertEquals("Pagination size must be positive (actual: 0)", exception.getMessage());
+            verifyNoInteractions(userService, cardRepository);
+        }
     }
 
 }
@@ -0,0 +1,105 @@
+package com.example.bankcards.service;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.bankcards.dto.card.response.CardResponse;
+import com.example.bankcards.fixture.EntityFixtures;
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+
+
+// Compaction is pushed out past the test, so the posting stays unfolded while the listings filter
+@SpringBootTest(properties = {
+        "app.transfer.concurrency.mode=LEDGER",
+        "app.transfer.ledger.compaction-interval=1h" })
+class LedgerBalanceFilterTest {
+
+    private static final BigDecimal SNAPSHOT_BALANCE = new BigDecimal("100.00");
+    private static final BigDecimal THRESHOLD = new BigDecimal("300.00");
+
+    private static final String POST_ENTRY_SQL = "INSERT INTO ledger_entries (card_id, amount, created_at) " +
+            "VALUES (?, 500.00, LOCALTIMESTAMP)";
+
+    @Autowired
+    private EntityFixtures fixtures;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User admin;
+    private Card card;
+
+    private List<Long> ownerCardIds(BigDecimal moreThan, BigDecimal lessThan) {
+        return cardService.getAllCardsForOwner(
+                owner.getId(),
+                null,
+                moreThan,
+                lessThan,
+                PageRequest.of(0, 10),
+                CountMode.EXACT).map(CardResponse::id).getContent();
+    }
+
+    private List<Long> adminCardIds(BigDecimal moreThan, BigDecimal lessThan) {
+        return cardService.getAllCardsForAdmin(
+                admin.getId(),
+                owner.getId(),
+                CardStatus.ACTIVE,
+                moreThan,
+                lessThan,
+                PageRequest.of(0, 10),
+                CountMode.EXACT).map(CardResponse::id).getContent();
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.newUser("owner", Role.USER);
+        admin = fixtures.newUser("admin", Role.ADMIN);
+        card = fixtures.newCard(owner, CardStatus.ACTIVE, SNAPSHOT_BALANCE);
+        jdbcTemplate.update(POST_ENTRY_SQL, card.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteById(card.getId());
+        userRepository.deleteAllInBatch(List.of(owner, admin));
+    }
+
+    @Test
+    void shouldFilterOwnerCards_byBalanceWithUnfoldedPostings() {
+        assertEquals(List.of(card.getId()), ownerCardIds(THRESHOLD, null));
+        assertEquals(List.of(), ownerCardIds(null, THRESHOLD));
+    }
+
+    @Test
+    void shouldFilterAdminCards_byBalanceWithUnfoldedPostings() {
+        assertEquals(List.of(card.getId()), adminCardIds(THRESHOLD, null));
+        assertEquals(List.of(), adminCardIds(null, THRESHOLD));
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.example.bankcards.service;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.config.properties.TransferProperties;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.LedgerEntryRepository;
+
+
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private LedgerService ledgerService;
+
+    private static final int TEST_BATCH_SIZE = 2;
+
+    @BeforeEach
+    void setUp() {
+        TransferProperties transferProperties = new TransferProperties(
+                null,
+                null,
+                null,
+                new TransferProperties.Ledger(Duration.ofSeconds(5), TEST_BATCH_SIZE),
+                null,
+                null,
+                null);
+
+        ledgerService = new LedgerService(
+                cardRepository,
+                ledgerEntryRepository,
+                transactionTemplate,
+                transferProperties);
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    // ------------------------------------ //
+
+    @Test
+    void shouldDoNothing_whenNoPendingEntries() {
+        when(ledgerEntryRepository.findCardIdsWithPendingEntries(TEST_BATCH_SIZE)).thenReturn(List.of());
+
+        int result = ledgerService.compactPendingEntries();
+
+        assertEquals(0, result);
+        verifyNoInteractions(transactionTemplate, cardRepository);
+    }
+
+    @Test
+    void shouldLockCardsBeforeFolding_whenPendingEntries() {
+        runTransactionsInline();
+        when(ledgerEntryRepository.findCardIdsWithPendingEntries(TEST_BATCH_SIZE)).thenReturn(List.of(4L));
+        when(cardRepository.lockIdsForUpdate(List.of(4L))).thenReturn(List.of(4L));
+        when(ledgerEntryRepository.foldPendingEntries(List.of(4L))).thenReturn(1);
+
+        int result = ledgerService.compactPendingEntries();
+
+        assertEquals(1, result);
+        verify(cardRepository).lockIdsForUpdate(List.of(4L));
+        verify(ledgerEntryRepository).foldPendingEntries(List.of(4L));
+        verify(ledgerEntryRepository).findCardIdsWithPendingEntries(TEST_BATCH_SIZE);
+    }
+
+    @Test
+    void shouldCompactInChunks_whenMorePendingCardsThanBatchSize() {
+        runTransactionsInline();
+        when(ledgerEntryRepository.findCardIdsWithPendingEntries(TEST_BATCH_SIZE)).thenReturn(
+                List.of(4L, 5L),
+                List.of(6L));
+        when(cardRepository.lockIdsForUpdate(anyCollection())).thenAnswer(
+                invocation -> List.copyOf(invocation.<List<Long>>getArgument(0)));
+        when(ledgerEntryRepository.foldPendingEntries(anyCollection())).thenAnswer(
+                invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        int result = ledgerService.compactPendingEntries();
+
+        assertEquals(3, result);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(ledgerEntryRepository).foldPendingEntries(List.of(4L, 5L));
+        verify(ledgerEntryRepository).foldPendingEntries(List.of(6L));
+    }
+
+    @Test
+    void shouldSkipFold_whenCardsWereDeleted() {
+        runTransactionsInline();
+        when(ledgerEntryRepository.findCardIdsWithPendingEntries(TEST_BATCH_SIZE)).thenReturn(List.of(4L, 5L));
+        when(cardRepository.lockIdsForUpdate(List.of(4L, 5L))).thenReturn(List.of());
+
+        int result = ledgerService.compactPendingEntries();
+
+        assertEquals(0, result);
+        verify(ledgerEntryRepository, never()).foldPendingEntries(anyCollection());
+        verify(ledgerEntryRepository).findCardIdsWithPendingEntries(TEST_BATCH_SIZE);
+    }
+
+}
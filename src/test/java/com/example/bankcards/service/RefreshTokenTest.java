@@ -0,0 +1,108 @@
+package com.example.bankcards.service;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.bankcards.dto.auth.response.LoginResponse;
+import com.example.bankcards.exception.UserAuthenticationException;
+import com.example.bankcards.fixture.EntityFixtures;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.jwt.JwtTokenProvider;
+
+
+@SpringBootTest
+class RefreshTokenTest {
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM refresh_tokens WHERE user_id = ?";
+    private static final String EXPIRE_SQL = "UPDATE refresh_tokens SET expires_at = ? WHERE user_id = ?";
+
+    @Autowired
+    private EntityFixtures fixtures;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    private int storedCount() {
+        return jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, user.getId());
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.newUser("refresh", Role.ADMIN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldIssueNewTokens_whenRefreshed() {
+        String refreshToken = refreshTokenService.issue(user.getId());
+
+        LoginResponse response = refreshTokenService.refresh(refreshToken);
+
+        assertEquals(user.getId(), response.userId());
+        assertNotEquals(refreshToken, response.refreshToken());
+        assertEquals(Role.ADMIN, tokenProvider.verify(response.token()).userDetails().getRole());
+        assertEquals(2, storedCount());
+    }
+
+    @Test
+    void shouldRevokeWholeFamily_whenUsedTokenReplayed() {
+        String first = refreshTokenService.issue(user.getId());
+        String second = refreshTokenService.refresh(first).refreshToken();
+
+        assertThrows(UserAuthenticationException.InvalidToken.class, () -> refreshTokenService.refresh(first));
+        assertThrows(UserAuthenticationException.InvalidToken.class, () -> refreshTokenService.refresh(second));
+        assertEquals(0, storedCount());
+    }
+
+    @Test
+    void shouldKeepOtherFamilies_whenOneIsRevoked() {
+        String stolen = refreshTokenService.issue(user.getId());
+        String other = refreshTokenService.issue(user.getId());
+        refreshTokenService.refresh(stolen);
+
+        assertThrows(UserAuthenticationException.InvalidToken.class, () -> refreshTokenService.refresh(stolen));
+        assertEquals(user.getId(), refreshTokenService.refresh(other).userId());
+    }
+
+    @Test
+    void shouldRejectExpiredAndUnknownTokens() {
+        String refreshToken = refreshTokenService.issue(user.getId());
+        jdbcTemplate.update(EXPIRE_SQL, Timestamp.from(Instant.now().minusSeconds(1)), user.getId());
+
+        assertThrows(UserAuthenticationException.InvalidToken.class, () -> refreshTokenService.refresh(refreshToken));
+        assertThrows(UserAuthenticationException.InvalidToken.class, () -> refreshTokenService.refresh("unknown"));
+
+        refreshTokenService.purgeExpired();
+        assertEquals(0, storedCount());
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.example.bankcards.service;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+
+class RequestIdentityMapTest {
+
+    private static final Long TEST_ID = 1L;
+
+    private record Entity(Long id) {
+    }
+
+    private Set<Object> managed;
+    private AtomicInteger loads;
+    private SimpleMeterRegistry meterRegistry;
+    private RequestIdentityMap identityMap;
+    private ServletRequestAttributes request;
+
+    private Optional<Entity> load(Long id) {
+        loads.incrementAndGet();
+        Entity entity = new Entity(id);
+        managed.add(entity);
+        return Optional.of(entity);
+    }
+
+    private DistributionSummary avoided() {
+        return meterRegistry.find("identity.map.lookups.avoided").tag("entity", "entity").summary();
+    }
+
+    @BeforeEach
+    void setUp() {
+        managed = new HashSet<>();
+        loads = new AtomicInteger();
+        meterRegistry = new SimpleMeterRegistry();
+        identityMap = new RequestIdentityMap(managed::contains, meterRegistry);
+        request = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(request);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldLoadOnce_withinRequest() {
+        Entity first = identityMap.find(Entity.class, TEST_ID, this::load).orElseThrow();
+
+        assertSame(first, identityMap.find(Entity.class, TEST_ID, this::load).orElseThrow());
+        assertSame(first, identityMap.find(Entity.class, TEST_ID, this::load).orElseThrow());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldRecordLookupsAvoided_whenRequestCompletes() {
+        identityMap.find(Entity.class, TEST_ID, this::load);
+        identityMap.find(Entity.class, TEST_ID, this::load);
+        identityMap.find(Entity.class, TEST_ID, this::load);
+        assertNull(avoided());
+
+        request.requestCompleted();
+
+        assertEquals(1, avoided().count());
+        assertEquals(2.0, avoided().totalAmount());
+    }
+
+    @Test
+    void shouldLoadAgain_whenEntityNoLongerManaged() {
+        identityMap.find(Entity.class, TEST_ID, this::load);
+        managed.clear();
+
+        identityMap.find(Entity.class, TEST_ID, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldLoadAgain_whenEvicted() {
+        identityMap.find(Entity.class, TEST_ID, this::load);
+        identityMap.evict(Entity.class, TEST_ID);
+
+        identityMap.find(Entity.class, TEST_ID, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheMissingEntity() {
+        assertTrue(identityMap.find(Entity.class, TEST_ID, id -> Optional.empty()).isEmpty());
+
+        identityMap.find(Entity.class, TEST_ID, this::load);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldAlwaysLoad_outsideRequest() {
+        RequestContextHolder.resetRequestAttributes();
+
+        identityMap.find(Entity.class, TEST_ID, this::load);
+        identityMap.find(Entity.class, TEST_ID, this::load);
+        assertEquals(2, loads.get());
+        assertNull(avoided());
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.example.bankcards.service;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankcards.dto.statistics.response.CategorySpendingResponse;
+import com.example.bankcards.dto.statistics.response.SpendingResponse;
+import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.fixture.EntityFixtures;
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.transfer.category.CategoryName;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.TransferRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.util.constant.StatisticsConstants;
+
+
+@SpringBootTest
+class SpendingSummaryTest {
+
+    @Autowired
+    private EntityFixtures fixtures;
+
+    @Autowired
+    private SpendingSummaryService spendingSummaryService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransferBatchService transferBatchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User owner;
+    private User admin;
+    private Card fromCard;
+    private Card toCard;
+    private Long salaryId;
+    private Long vacationId;
+
+    private TransferRequest request(final String amount, final Set<Long> categoryIds) {
+        return new TransferRequest(fromCard.getId(), toCard.getId(), new BigDecimal(amount), categoryIds);
+    }
+
+    private CategorySpendingResponse spendingOf(final SpendingResponse response, Long categoryId) {
+        return response.categories().stream().filter(category -> category.categoryId().equals(categoryId))
+                .findFirst().orElseThrow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.newUser("owner", Role.USER);
+        admin = fixtures.newUser("admin", Role.ADMIN);
+        fromCard = fixtures.newCard(owner);
+        toCard = fixtures.newCard(owner);
+        salaryId = fixtures.categoryId(CategoryName.SALARY);
+        vacationId = fixtures.categoryId(CategoryName.VACATION);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            transferRepository.deleteAllInBatch(transferRepository.findAllByOwner(owner));
+            cardRepository.deleteAllInBatch(List.of(fromCard, toCard));
+            userRepository.deleteAllInBatch(List.of(owner, admin));
+        });
+    }
+
+    @Test
+    void shouldAccumulateSpending_whenTransfersCommitted() {
+        transferService.transferBetweenOwnCards(owner.getId(), request("10.00", Set.of(salaryId)));
+        transferService.transferBetweenOwnCards(owner.getId(), request("2.50", Set.of(salaryId, vacationId)));
+        transferService.transferBetweenOwnCards(owner.getId(), request("7.00", null));
+        transferBatchService.transferBatchBetweenOwnCards(
+                owner.getId(),
+                List.of(request("1.25", Set.of(vacationId)), request("3.00", Set.of(vacationId))));
+
+        SpendingResponse response = spendingSummaryService.getMonthlySpendingForOwner(owner.getId(), null);
+        CategorySpendingResponse salary = spendingOf(response, salaryId);
+        CategorySpendingResponse vacation = spendingOf(response, vacationId);
+
+        assertEquals(YearMonth.now().toString(), response.month());
+        assertEquals(2, response.categories().size());
+        assertEquals(2, salary.transferCount());
+        assertEquals(0, new BigDecimal("12.50").compareTo(salary.totalAmount()));
+        assertEquals(CategoryName.VACATION.toString(), vacation.category());
+        assertEquals(3, vacation.transferCount());
+        assertEquals(0, new BigDecimal("6.75").compareTo(vacation.totalAmount()));
+    }
+
+    @Test
+    void shouldMatchIncrementalSummaries_whenRebuilt() {
+        transferService.transferBetweenOwnCards(owner.getId(), request("4.00", Set.of(salaryId)));
+        transferBatchService.transferBatchBetweenOwnCards(
+                owner.getId(),
+                List.of(request("1.00", Set.of(salaryId, vacationId))));
+        SpendingResponse incremental = spendingSummaryService.getMonthlySpendingForOwner(owner.getId(), null);
+
+        spendingSummaryService.rebuildSummaries(admin.getId());
+
+        assertEquals(incremental, spendingSummaryService.getMonthlySpendingForOwner(owner.getId(), null));
+    }
+
+    @Test
+    void shouldReturnNoCategories_forMonthWithoutTransfers() {
+        transferService.transferBetweenOwnCards(owner.getId(), request("4.00", Set.of(salaryId)));
+
+        SpendingResponse response = spendingSummaryService.getMonthlySpendingForAdmin(
+                admin.getId(),
+                owner.getId(),
+                "2001-01");
+
+        assertEquals(List.of(), response.categories());
+    }
+
+    @Test
+    void shouldRejectMalformedMonth() {
+        BusinessRuleViolationException exception = assertThrows(
+                BusinessRuleViolationException.class,
+                () -> spendingSummaryService.getMonthlySpendingForOwner(owner.getId(), "2024-13"));
+
+        assertEquals(StatisticsConstants.Month.invalidMessage("2024-13"), exception.getMessage());
+    }
+
+}
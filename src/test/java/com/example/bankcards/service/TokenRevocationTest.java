@@ -0,0 +1,129 @@
+package com.example.bankcards.service;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.bankcards.exception.UserAuthenticationException;
+import com.example.bankcards.fixture.EntityFixtures;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CustomUserDetails;
+import com.example.bankcards.security.jwt.JwtTokenProvider;
+import com.example.bankcards.security.jwt.VerifiedToken;
+
+
+@SpringBootTest
+class TokenRevocationTest {
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM revoked_tokens WHERE user_id = ?";
+    private static final String BACKDATE_SQL = "UPDATE revoked_tokens SET expires_at = ? WHERE jti = ?";
+
+    @Autowired
+    private EntityFixtures fixtures;
+
+    @Autowired
+    private TokenRevocationService revocationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    private int revokedCount() {
+        return jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, user.getId());
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.newUser("revoke", Role.USER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shouldDenyRevokedTokenOnly() {
+        String revokedToken = tokenProvider.generateToken(CustomUserDetails.of(user));
+        VerifiedToken revoked = tokenProvider.verify(revokedToken);
+        VerifiedToken kept = tokenProvider.verify(tokenProvider.generateToken(CustomUserDetails.of(user)));
+
+        revocationService.revoke(tokenProvider.generateToken(CustomUserDetails.of(user)));
+        revocationService.revoke(revokedToken);
+
+        assertEquals(2, revokedCount());
+        assertTrue(revocationService.isRevoked(revoked.tokenId()));
+        assertFalse(revocationService.isRevoked(kept.tokenId()));
+    }
+
+    @Test
+    void shouldKeepRevocation_whenDenylistRebuilt() {
+        String token = tokenProvider.generateToken(CustomUserDetails.of(user));
+        String tokenId = tokenProvider.verify(token).tokenId();
+        revocationService.revoke(token);
+        revocationService.revoke(token);
+
+        revocationService.refresh();
+
+        assertEquals(1, revokedCount());
+        assertTrue(revocationService.isRevoked(tokenId));
+    }
+
+    @Test
+    void shouldPurgeRevocation_whenTokenExpired() {
+        String token = tokenProvider.generateToken(CustomUserDetails.of(user));
+        String tokenId = tokenProvider.verify(token).tokenId();
+        revocationService.revoke(token);
+        jdbcTemplate.update(BACKDATE_SQL, Timestamp.from(Instant.now().minusSeconds(1)), tokenId);
+
+        revocationService.refresh();
+
+        assertEquals(0, revokedCount());
+        assertFalse(revocationService.isRevoked(tokenId));
+    }
+
+    @Test
+    void shouldRejectRefresh_whenAccessTokenRevoked() {
+        String refreshToken = refreshTokenService.issue(user.getId());
+        String otherLogin = refreshTokenService.issue(user.getId());
+
+        revocationService.revoke(tokenProvider.generateToken(CustomUserDetails.of(user)));
+
+        assertThrows(UserAuthenticationException.InvalidToken.class, () -> refreshTokenService.refresh(refreshToken));
+        assertThrows(UserAuthenticationException.InvalidToken.class, () -> refreshTokenService.refresh(otherLogin));
+    }
+
+    @Test
+    void shouldRejectRevocationOfForgedToken() {
+        String token = tokenProvider.generateToken(CustomUserDetails.of(user));
+        String forged = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(UserAuthenticationException.InvalidToken.class, () -> revocationService.revoke(forged));
+        assertEquals(0, revokedCount());
+    }
+
+}
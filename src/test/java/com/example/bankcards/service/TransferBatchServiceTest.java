@@ -0,0 +1,294 @@
+package com.example.bankcards.service;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.model.BaseEntity;
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.model.card.vo.CardBalance;
+import com.example.bankcards.model.card.vo.CardExpiryDate;
+import com.example.bankcards.model.card.vo.CardNumber;
+import com.example.bankcards.model.transfer.Transfer;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.model.user.vo.Email;
+import com.example.bankcards.model.user.vo.Password;
+import com.example.bankcards.repository.TransferBatchRepository;
+import com.example.bankcards.repository.TransferRepository;
+import com.example.bankcards.security.CardEncryption;
+import com.example.bankcards.service.transfer.TransferBatchResult;
+import com.example.bankcards.util.constant.TransferConstants;
+
+
+@ExtendWith(MockitoExtension.class)
+class TransferBatchServiceTest {
+
+    @Mock
+    private TransferRepository transferRepository;
+
+    @Mock
+    private TransferBatchRepository transferBatchRepository;
+
+    @Mock
+    private CardService cardService;
+
+    @Mock
+    private TransferCategoryService categoryService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private SpendingSummaryService spendingSummaryService;
+
+    @Mock
+    private CardEncryption cardEncryption;
+
+    @InjectMocks
+    private TransferBatchService transferBatchService;
+
+    private static final Long TEST_USER_ID = 2L;
+    private static final Long TEST_OTHER_USER_ID = 3L;
+    private static final Long TEST_FIRST_CARD_ID = 4L;
+    private static final Long TEST_SECOND_CARD_ID = 5L;
+    private static final Long TEST_FOREIGN_CARD_ID = 6L;
+    private static final Long TEST_MISSING_CARD_ID = 7L;
+    private static final Long TEST_FIRST_TRANSFER_ID = 100L;
+    private static final String TEST_CARD_NUMBER = "4532015112830366";
+    private static final String TEST_HASHED_PASSWORD = "$2a$10$validBcryptHashWith60Characters1234567890123456781234";
+    private static final BigDecimal TEST_INITIAL_BALANCE = new BigDecimal("500.00");
+
+    // ---------- Helper methods ---------- //
+
+    private void setId(Object entity, Long id) {
+        try {
+            Field idField = BaseEntity.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(entity, id);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private User createTestUser(Long id, String email) {
+        User user = new User(new Email(email), new Password(TEST_HASHED_PASSWORD), Role.USER);
+        setId(user, id);
+        return user;
+    }
+
+    private Card createTestCard(User owner, Long id, CardStatus status) {
+        when(cardEncryption.encrypt(any(CardNumber.class))).thenReturn("encrypted");
+        Card card = Card.of(
+                new CardNumber(TEST_CARD_NUMBER),
+                owner,
+                CardExpiryDate.of(2099, 12),
+                status,
+                new CardBalance(TEST_INITIAL_BALANCE),
+                cardEncryption);
+        setId(card, id);
+        return card;
+    }
+
+    private TransferRequest request(Long fromCardId, Long toCardId, String amount) {
+        return new TransferRequest(fromCardId, toCardId, new BigDecimal(amount), null);
+    }
+
+    private void whenInsertAssignsIds() {
+        List<Transfer> inserted = new ArrayList<>();
+        when(transferBatchRepository.insertAll(anyList(), any())).thenAnswer(invocation -> {
+            List<Transfer> transfers = invocation.getArgument(0);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < transfers.size(); i++) {
+                setId(transfers.get(i), TEST_FIRST_TRANSFER_ID + i);
+                ids.add(TEST_FIRST_TRANSFER_ID + i);
+            }
+            inserted.addAll(transfers);
+            return ids;
+        });
+        when(transferRepository.findAllWithCategoriesByIdIn(anyCollection())).thenAnswer(invocation -> inserted);
+    }
+
+    // ------------------------------------ //
+
+    @Nested
+    class TransferBatchBetweenOwnCardsTests {
+
+        @Test
+        void shouldApplyAllTransfers_whenValidBatch() {
+            User owner = createTestUser(TEST_USER_ID, "owner@example.com");
+            Card first = createTestCard(owner, TEST_FIRST_CARD_ID, CardStatus.ACTIVE);
+            Card second = createTestCard(owner, TEST_SECOND_CARD_ID, CardStatus.ACTIVE);
+
+            when(userService.findUserById(anyLong())).thenReturn(owner);
+            when(cardService.lockCardsByIds(anyCollection())).thenReturn(List.of(first, second));
+            whenInsertAssignsIds();
+
+            List<TransferBatchResult> results = transferBatchService.transferBatchBetweenOwnCards(
+                    TEST_USER_ID,
+                    List.of(
+                            request(TEST_FIRST_CARD_ID, TEST_SECOND_CARD_ID, "100.00"),
+                            request(TEST_SECOND_CARD_ID, TEST_FIRST_CARD_ID, "30.00")));
+
+            assertEquals(2, results.size());
+            assertTrue(results.stream().allMatch(TransferBatchResult::isSuccess));
+            assertEquals(0, new BigDecimal("430.00").compareTo(first.getBalance().getValue()));
+            assertEquals(0, new BigDecimal("570.00").compareTo(second.getBalance().getValue()));
+            verify(cardService).lockCardsByIds(Set.of(TEST_FIRST_CARD_ID, TEST_SECOND_CARD_ID));
+            verify(spendingSummaryService).recordAll(
+                    eq(TEST_USER_ID),
+                    argThat(transfers -> transfers.size() == 2),
+                    any());
+            verifyNoInteractions(categoryService);
+        }
+
+        @Test
+        void shouldReportItemFailures_andApplyRemainingTransfers() {
+            User owner = createTestUser(TEST_USER_ID, "owner@example.com");
+            User other = createTestUser(TEST_OTHER_USER_ID, "other@example.com");
+            Card first = createTestCard(owner, TEST_FIRST_CARD_ID, CardStatus.ACTIVE);
+            Card second = createTestCard(owner, TEST_SECOND_CARD_ID, CardStatus.ACTIVE);
+            Card foreign = createTestCard(other, TEST_FOREIGN_CARD_ID, CardStatus.ACTIVE);
+
+            when(userService.findUserById(anyLong())).thenReturn(owner);
+            when(cardService.lockCardsByIds(anyCollection())).thenReturn(List.of(first, second, foreign));
+            whenInsertAssignsIds();
+
+            List<TransferBatchResult> results = transferBatchService.transferBatchBetweenOwnCards(
+                    TEST_USER_ID,
+                    List.of(
+                            request(TEST_FIRST_CARD_ID, TEST_SECOND_CARD_ID, "400.00"),
+                            request(TEST_FIRST_CARD_ID, TEST_SECOND_CARD_ID, "400.00"),
+                            request(TEST_FIRST_CARD_ID, TEST_FOREIGN_CARD_ID, "1.00"),
+                            request(TEST_FIRST_CARD_ID, TEST_MISSING_CARD_ID, "1.00"),
+                            request(TEST_SECOND_CARD_ID, TEST_SECOND_CARD_ID, "1.00")));
+
+            assertTrue(results.get(0).isSuccess());
+            assertEquals("Insufficient funds", results.get(1).errorMessage());
+            assertFalse(results.get(2).isSuccess());
+            assertFalse(results.get(3).isSuccess());
+            assertEquals("Cannot transfer to the same card", results.get(4).errorMessage());
+            assertEquals(
+                    List.of(0, 1, 2, 3, 4),
+                    results.stream().map(TransferBatchResult::index).collect(Collectors.toList()));
+
+            assertEquals(0, new BigDecimal("100.00").compareTo(first.getBalance().getValue()));
+            assertEquals(0, new BigDecimal("900.00").compareTo(second.getBalance().getValue()));
+            assertEquals(0, TEST_INITIAL_BALANCE.compareTo(foreign.getBalance().getValue()));
+        }
+
+        @Test
+        void shouldNotReloadTransfers_whenAllItemsFail() {
+            User owner = createTestUser(TEST_USER_ID, "owner@example.com");
+            Card first = createTestCard(owner, TEST_FIRST_CARD_ID, CardStatus.ACTIVE);
+            Card second = createTestCard(owner, TEST_SECOND_CARD_ID, CardStatus.BLOCKED);
+
+            when(userService.findUserById(anyLong())).thenReturn(owner);
+            when(cardService.lockCardsByIds(anyCollection())).thenReturn(List.of(first, second));
+            when(transferBatchRepository.insertAll(anyList(), any())).thenReturn(List.of());
+
+            List<TransferBatchResult> results = transferBatchService.transferBatchBetweenOwnCards(
+                    TEST_USER_ID,
+                    List.of(
+                            request(TEST_FIRST_CARD_ID, TEST_SECOND_CARD_ID, "1.00"),
+                            request(TEST_FIRST_CARD_ID, TEST_FIRST_CARD_ID, "1.00")));
+
+            assertEquals("Both cards for transfer must be ACTIVE", results.get(0).errorMessage());
+            assertEquals("Cannot transfer to the same card", results.get(1).errorMessage());
+            verify(transferBatchRepository).insertAll(eq(List.of()), any());
+            verifyNoInteractions(transferRepository);
+        }
+
+        @Test
+        void shouldThrowException_whenBatchIsEmpty() {
+            assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> transferBatchService.transferBatchBetweenOwnCards(TEST_USER_ID, List.of()));
+
+            verifyNoInteractions(userService, cardService, transferBatchRepository);
+        }
+
+        @Test
+        void shouldThrowException_whenBatchIsTooLarge() {
+            List<TransferRequest> requests = IntStream.rangeClosed(0, TransferConstants.Batch.MAX_SIZE).mapToObj(
+                    i -> request(TEST_FIRST_CARD_ID, TEST_SECOND_CARD_ID, "1.00")).toList();
+
+            assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> transferBatchService.transferBatchBetweenOwnCards(TEST_USER_ID, requests));
+
+            verifyNoInteractions(userService, cardService, transferBatchRepository);
+        }
+
+        @Test
+        void shouldThrowException_whenAnyRequestHasInvalidId() {
+            List<TransferRequest> requests = List.of(
+                    request(TEST_FIRST_CARD_ID, TEST_SECOND_CARD_ID, "1.00"),
+                    request(0L, TEST_SECOND_CARD_ID, "1.00"));
+
+            assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> transferBatchService.transferBatchBetweenOwnCards(TEST_USER_ID, requests));
+
+            verifyNoInteractions(userService, cardService, transferBatchRepository);
+        }
+
+        @Test
+        void shouldLoadCategoriesOnce_forWholeBatch() {
+            User owner = createTestUser(TEST_USER_ID, "owner@example.com");
+            Card first = createTestCard(owner, TEST_FIRST_CARD_ID, CardStatus.ACTIVE);
+            Card second = createTestCard(owner, TEST_SECOND_CARD_ID, CardStatus.ACTIVE);
+
+            when(userService.findUserById(anyLong())).thenReturn(owner);
+            when(cardService.lockCardsByIds(anyCollection())).thenReturn(List.of(first, second));
+            when(categoryService.getCategoriesByIds(anyCollection())).thenReturn(List.of());
+            when(transferBatchRepository.insertAll(anyList(), any())).thenReturn(List.of());
+
+            List<TransferBatchResult> results = transferBatchService.transferBatchBetweenOwnCards(
+                    TEST_USER_ID,
+                    List.of(
+                            new TransferRequest(TEST_FIRST_CARD_ID, TEST_SECOND_CARD_ID, BigDecimal.ONE, Set.of(1L)),
+                            new TransferRequest(
+                                    TEST_SECOND_CARD_ID,
+                                    TEST_FIRST_CARD_ID,
+                                    BigDecimal.ONE,
+                                    new HashSet<>(List.of(1L, 2L)))));
+
+            verify(categoryService).getCategoriesByIds(Set.of(1L, 2L));
+            assertEquals("Category with id=1 not found", results.get(0).errorMessage());
+            assertFalse(results.get(1).isSuccess());
+        }
+
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.example.bankcards.service;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.bankcards.exception.AccessDeniedException;
+import com.example.bankcards.exception.ResourceNotFoundException;
+import com.example.bankcards.model.transfer.category.CategoryName;
+import com.example.bankcards.model.transfer.category.TransferCategory;
+import com.example.bankcards.repository.TransferCategoryRepository;
+
+
+@ExtendWith(MockitoExtension.class)
+class TransferCategoryServiceTest {
+
+    @Mock
+    private TransferCategoryRepository categoryRepository;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private TransferCategoryService categoryService;
+
+    private static final Long TEST_ADMIN_ID = 1L;
+    private static final Long TEST_SAVINGS_ID = 1L;
+    private static final Long TEST_SALARY_ID = 2L;
+    private static final Long TEST_MISSING_ID = 99L;
+
+    private TransferCategory savings;
+    private TransferCategory salary;
+
+    @BeforeEach
+    void setUp() {
+        savings = createCategory(TEST_SAVINGS_ID, CategoryName.SAVINGS);
+        salary = createCategory(TEST_SALARY_ID, CategoryName.SALARY);
+
+        when(categoryRepository.findAll()).thenReturn(List.of(salary, savings));
+        categoryService.loadRegistry();
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private TransferCategory createCategory(Long id, final CategoryName name) {
+        TransferCategory category = new TransferCategory(name);
+        try {
+            Field idField = TransferCategory.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(category, id);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return category;
+    }
+
+    // ------------------------------------ //
+
+    @Nested
+    class LookupTests {
+
+        @Test
+        void shouldResolveCategoriesWithoutQueries() {
+            Set<TransferCategory> result = categoryService.resolveCategories(Set.of(TEST_SAVINGS_ID, TEST_SALARY_ID));
+
+            assertEquals(Set.of(savings, salary), result);
+            assertEquals(List.of(savings, salary), categoryService.getAllCategories());
+            verify(categoryRepository).findAll();
+            verifyNoMoreInteractions(categoryRepository);
+        }
+
+        @Test
+        void shouldReturnEmptySet_whenCategoryIdsAreNull() {
+            assertEquals(Set.of(), categoryService.resolveCategories(null));
+        }
+
+        @Test
+        void shouldThrowException_whenCategoryIdIsUnknown() {
+            ResourceNotFoundException exception = assertThrows(
+                    ResourceNotFoundException.class,
+                    () -> categoryService.resolveCategories(Set.of(TEST_SAVINGS_ID, TEST_MISSING_ID)));
+
+            assertEquals(String.format("Category with id=%d not found", TEST_MISSING_ID), exception.getMessage());
+        }
+
+        @Test
+        void shouldSkipUnknownIds_whenResolvingForBatch() {
+            List<TransferCategory> result = categoryService.getCategoriesByIds(List.of(TEST_SALARY_ID, TEST_MISSING_ID));
+
+            assertEquals(List.of(salary), result);
+        }
+
+    }
+
+    @Nested
+    class RefreshTests {
+
+        @Test
+        void shouldReloadRegistry_whenAdmin() {
+            TransferCategory other = createCategory(3L, CategoryName.OTHER);
+            when(categoryRepository.findAll()).thenReturn(List.of(savings, salary, other));
+
+            List<TransferCategory> result = categoryService.refreshCategories(TEST_ADMIN_ID);
+
+            assertEquals(List.of(savings, salary, other), result);
+            assertEquals(other, categoryService.getCategoryById(3L));
+            verify(userService).checkAdminPermissionTo("refresh transfer categories", TEST_ADMIN_ID);
+            verify(categoryRepository, times(2)).findAll();
+        }
+
+        @Test
+        void shouldKeepRegistry_whenNotAdmin() {
+            doThrow(new AccessDeniedException("denied")).when(userService).checkAdminPermissionTo(
+                    "refresh transfer categories",
+                    TEST_ADMIN_ID);
+
+            assertThrows(AccessDeniedException.class, () -> categoryService.refreshCategories(TEST_ADMIN_ID));
+
+            assertEquals(List.of(savings, salary), categoryService.getAllCategories());
+            verify(categoryRepository).findAll();
+        }
+
+    }
+
+}
@@ -2,13 +2,17 @@ package com.example.bankcards.service;
 
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -17,26 +21,39 @@ import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.dto.transfer.response.TransferResponse;
 import com.example.bankcards.exception.AccessDeniedException;
 import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.exception.ConcurrentUpdateException;
 import com.example.bankcards.exception.DomainValidationException;
 import com.example.bankcards.exception.ResourceNotFoundException;
 import com.example.bankcards.model.BaseEntity;
@@ -46,16 +63,23 @@ import com.example.bankcards.model.card.vo.CardBalance;
 import com.example.bankcards.model.card.vo.CardExpiryDate;
 import com.example.bankcards.model.card.vo.CardNumber;
 import com.example.bankcards.model.transfer.Transfer;
+import com.example.bankcards.model.transfer.category.CategoryName;
 import com.example.bankcards.model.transfer.vo.Amount;
 import com.example.bankcards.model.user.Role;
 import com.example.bankcards.model.user.User;
 import com.example.bankcards.model.user.vo.Email;
 import com.example.bankcards.model.user.vo.Password;
 import com.example.bankcards.repository.TransferRepository;
+import com.example.bankcards.repository.projection.TransferCategoryLink;
+import com.example.bankcards.repository.projection.TransferSummary;
 import com.example.bankcards.security.CardEncryption;
 import com.example.bankcards.service.contract.create.CreateBehaviorTest;
 import com.example.bankcards.service.contract.read.AdminReadBehaviorTest;
 import com.example.bankcards.service.contract.read.ReadBehaviorTest;
+import com.example.bankcards.service.transfer.DirectTransferExecutor;
+import com.example.bankcards.service.transfer.OptimisticTransferConcurrencyStrategy;
+import com.example.bankcards.util.constant.PaginationConstants;
+import com.example.bankcards.util.constant.TransferConstants;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -76,7 +100,15 @@ class TransferServiceTest {
     @Mock
     private CardEncryption cardEncryption;
 
-    @InjectMocks
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SpendingSummaryService spendingSummaryService;
+
+    @Mock
+    private TransferArchiveService transferArchiveService;
+
     private TransferService transferService;
 
     private static final Long TEST_ADMIN_ID = 1L;
@@ -89,6 +121,22 @@ class TransferServiceTest {
     private static final String TEST_HASHED_PASSWORD = "$2a$10$validBcryptHashWith60Characters1234567890123456781234";
     private static final String TEST_ENCRYPTED_CARD_NUMBER = "encryptedCardNumber123";
     private static final BigDecimal TEST_TRANSFER_AMOUNT = BigDecimal.valueOf(100.00);
+    private static final int TEST_MAX_ATTEMPTS = 3;
+    private static final String TEST_IDEMPOTENCY_KEY = "7c1f0b2e-retry-key";
+
+    @BeforeEach
+    void setUp() {
+        transferService = new TransferService(
+                transferRepository,
+                transferCategoryService,
+                userService,
+                new OptimisticTransferConcurrencyStrategy(cardService, TEST_MAX_ATTEMPTS),
+                transactionTemplate,
+                new DirectTransferExecutor(),
+                new ApproximateCounter(Duration.ofMinutes(1), 16),
+                spendingSummaryService,
+                transferArchiveService);
+    }
 
     // ---------- Helper methods ---------- //
 
@@ -154,6 +202,11 @@ class TransferServiceTest {
         when(cardEncryption.encrypt(any(CardNumber.class))).thenReturn(TEST_ENCRYPTED_CARD_NUMBER);
     }
 
+    private void whenExecuteInTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     private void whenSave() {
         when(transferRepository.save(any(Transfer.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
@@ -175,6 +228,7 @@ class TransferServiceTest {
             Card toCard = createTestCard(testUser, BigDecimal.valueOf(100.00), CardStatus.ACTIVE);
             setId(toCard, TEST_TO_CARD_ID);
 
+            whenExecuteInTransaction();
             whenFindUserById(testUser);
             when(cardService.findCardByIdForOwner(TEST_FROM_CARD_ID, testUser)).thenReturn(fromCard);
             when(cardService.findCardByIdForOwner(TEST_TO_CARD_ID, testUser)).thenReturn(toCard);
@@ -198,6 +252,7 @@ class TransferServiceTest {
             verify(cardService).findCardByIdForOwner(TEST_FROM_CARD_ID, testUser);
             verify(cardService).findCardByIdForOwner(TEST_TO_CARD_ID, testUser);
             verify(transferRepository).save(any(Transfer.class));
+            verify(spendingSummaryService).record(result);
             verifyNoMoreInteractions(userService, cardService, transferRepository);
         }
 
@@ -238,6 +293,7 @@ class TransferServiceTest {
 
         @Test
         void shouldThrowException_whenUserNotFound() {
+            whenExecuteInTransaction();
             whenFindUserByIdThrows();
 
             TransferRequest request = new TransferRequest(
@@ -264,6 +320,7 @@ class TransferServiceTest {
             Card sameCard = createTestCard(testUser, BigDecimal.valueOf(500.00), CardStatus.ACTIVE);
             setId(sameCard, TEST_FROM_CARD_ID);
 
+            whenExecuteInTransaction();
             whenFindUserById(testUser);
             when(cardService.findCardByIdForOwner(TEST_FROM_CARD_ID, testUser)).thenReturn(sameCard);
 
@@ -295,6 +352,7 @@ class TransferServiceTest {
             Card toCard = createTestCard(testUser, BigDecimal.valueOf(100.00), CardStatus.ACTIVE);
             setId(toCard, TEST_TO_CARD_ID);
 
+            whenExecuteInTransaction();
             whenFindUserById(testUser);
             when(cardService.findCardByIdForOwner(TEST_FROM_CARD_ID, testUser)).thenReturn(fromCard);
             when(cardService.findCardByIdForOwner(TEST_TO_CARD_ID, testUser)).thenReturn(toCard);
@@ -328,6 +386,7 @@ class TransferServiceTest {
             Card toCard = createTestCard(testUser, BigDecimal.valueOf(100.00), CardStatus.PENDING_ACTIVATION);
             setId(toCard, TEST_TO_CARD_ID);
 
+            whenExecuteInTransaction();
             whenFindUserById(testUser);
             when(cardService.findCardByIdForOwner(TEST_FROM_CARD_ID, testUser)).thenReturn(fromCard);
             when(cardService.findCardByIdForOwner(TEST_TO_CARD_ID, testUser)).thenReturn(toCard);
@@ -361,6 +420,7 @@ class TransferServiceTest {
             Card toCard = createTestCard(testUser, BigDecimal.valueOf(100.00), CardStatus.ACTIVE);
             setId(toCard, TEST_TO_CARD_ID);
 
+            whenExecuteInTransaction();
             whenFindUserById(testUser);
             when(cardService.findCardByIdForOwner(TEST_FROM_CARD_ID, testUser)).thenReturn(fromCard);
             when(cardService.findCardByIdForOwner(TEST_TO_CARD_ID, testUser)).thenReturn(toCard);
@@ -406,6 +466,194 @@ class TransferServiceTest {
             assertEquals("Entity id is <null>", exception.getMessage());
             verifyNoInteractions(userService, cardService, transferRepository);
         }
+
+        @Test
+        void shouldRetryTransfer_whenConcurrentUpdate() {
+            User testUser = createTestUser();
+            setId(testUser, TEST_USER_ID);
+
+            Card fromCard = createTestCard(testUser, BigDecimal.valueOf(500.00), CardStatus.ACTIVE);
+            setId(fromCard, TEST_FROM_CARD_ID);
+
+            Card toCard = createTestCard(testUser, BigDecimal.valueOf(100.00), CardStatus.ACTIVE);
+            setId(toCard, TEST_TO_CARD_ID);
+
+            when(transactionTemplate.execute(any())).thenThrow(
+                    new ObjectOptimisticLockingFailureException(Card.class, TEST_FROM_CARD_ID)).thenAnswer(
+                            invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+            whenFindUserById(testUser);
+            when(cardService.findCardByIdForOwner(TEST_FROM_CARD_ID, testUser)).thenReturn(fromCard);
+            when(cardService.findCardByIdForOwner(TEST_TO_CARD_ID, testUser)).thenReturn(toCard);
+            whenSave();
+
+            TransferRequest request = new TransferRequest(
+                    TEST_FROM_CARD_ID,
+                    TEST_TO_CARD_ID,
+                    TEST_TRANSFER_AMOUNT,
+                    null);
+
+            Transfer result = transferService.transferBetweenOwnCards(TEST_USER_ID, request);
+
+            assertNotNull(result);
+            verify(transactionTemplate, times(2)).execute(any());
+            verify(transferRepository).save(any(Transfer.class));
+        }
+
+        @Test
+        void shouldThrowException_whenConcurrentUpdateAttemptsExhausted() {
+            when(transactionTemplate.execute(any())).thenThrow(
+                    new ObjectOptimisticLockingFailureException(Card.class, TEST_FROM_CARD_ID));
+
+            TransferRequest request = new TransferRequest(
+                    TEST_FROM_CARD_ID,
+                    TEST_TO_CARD_ID,
+                    TEST_TRANSFER_AMOUNT,
+                    null);
+
+            ConcurrentUpdateException exception = assertThrows(
+                    ConcurrentUpdateException.class,
+                    () -> transferService.transferBetweenOwnCards(TEST_USER_ID, request));
+
+            assertTrue(exception.getMessage().contains("concurrent update attempts"));
+            verify(transactionTemplate, times(TEST_MAX_ATTEMPTS)).execute(any());
+            verifyNoInteractions(userService, cardService, transferRepository);
+        }
+
+        @Test
+        void shouldReplayStoredTransfer_whenIdempotencyKeyAlreadyUsed() {
+            User testUser = createTestUser();
+            setId(testUser, TEST_USER_ID);
+
+            Card fromCard = createTestCard(testUser, BigDecimal.valueOf(500.00), CardStatus.ACTIVE);
+            setId(fromCard, TEST_FROM_CARD_ID);
+
+            Card toCard = createTestCard(testUser, BigDecimal.valueOf(100.00), CardStatus.ACTIVE);
+            setId(toCard, TEST_TO_CARD_ID);
+
+            Transfer stored = createTestTransfer(testUser, fromCard, toCard);
+            setId(stored, TEST_TRANSFER_ID);
+
+            whenExecuteInTransaction();
+            when(transferRepository.findByOwnerIdAndIdempotencyKey(TEST_USER_ID, TEST_IDEMPOTENCY_KEY)).thenReturn(
+                    Optional.of(stored));
+
+            TransferRequest request = new TransferRequest(
+                    TEST_FROM_CARD_ID,
+                    TEST_TO_CARD_ID,
+                    TEST_TRANSFER_AMOUNT,
+                    null);
+
+            Transfer result = transferService.transferBetweenOwnCards(TEST_USER_ID, request, TEST_IDEMPOTENCY_KEY);
+
+            assertEquals(stored, result);
+            verify(transferRepository, never()).save(any(Transfer.class));
+            verifyNoInteractions(userService, cardService);
+        }
+
+        @Test
+        void shouldThrowException_whenIdempotencyKeyReusedForDifferentTransfer() {
+            User testUser = createTestUser();
+            setId(testUser, TEST_USER_ID);
+
+            Card fromCard = createTestCard(testUser, BigDecimal.valueOf(500.00), CardStatus.ACTIVE);
+            setId(fromCard, TEST_FROM_CARD_ID);
+
+            Card toCard = createTestCard(testUser, BigDecimal.valueOf(100.00), CardStatus.ACTIVE);
+            setId(toCard, TEST_TO_CARD_ID);
+
+            whenExecuteInTransaction();
+            when(transferRepository.findByOwnerIdAndIdempotencyKey(TEST_USER_ID, TEST_IDEMPOTENCY_KEY)).thenReturn(
+                    Optional.of(createTestTransfer(testUser, fromCard, toCard)));
+
+            TransferRequest request = new TransferRequest(
+                    TEST_TO_CARD_ID,
+                    TEST_FROM_CARD_ID,
+                    TEST_TRANSFER_AMOUNT,
+                    null);
+
+            BusinessRuleViolationException exception = assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> transferService.transferBetweenOwnCards(TEST_USER_ID, request, TEST_IDEMPOTENCY_KEY));
+
+            assertEquals(TransferConstants.IdempotencyKey.REUSED_MESSAGE, exception.getMessage());
+            verify(transferRepository, never()).save(any(Transfer.class));
+        }
+
+        @Test
+        void shouldThrowException_whenIdempotencyKeyReusedWithDifferentCategories() {
+            User testUser = createTestUser();
+            setId(testUser, TEST_USER_ID);
+
+            Card fromCard = createTestCard(testUser, BigDecimal.valueOf(500.00), CardStatus.ACTIVE);
+            setId(fromCard, TEST_FROM_CARD_ID);
+
+            Card toCard = createTestCard(testUser, BigDecimal.valueOf(100.00), CardStatus.ACTIVE);
+            setId(toCard, TEST_TO_CARD_ID);
+
+            whenExecuteInTransaction();
+            when(transferRepository.findByOwnerIdAndIdempotencyKey(TEST_USER_ID, TEST_IDEMPOTENCY_KEY)).thenReturn(
+                    Optional.of(createTestTransfer(testUser, fromCard, toCard)));
+
+            TransferRequest request = new TransferRequest(
+                    TEST_FROM_CARD_ID,
+                    TEST_TO_CARD_ID,
+                    TEST_TRANSFER_AMOUNT,
+                    Set.of(1L));
+
+            BusinessRuleViolationException exception = assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> transferService.transferBetweenOwnCards(TEST_USER_ID, request, TEST_IDEMPOTENCY_KEY));
+
+            assertEquals(TransferConstants.IdempotencyKey.REUSED_MESSAGE, exception.getMessage());
+            verify(transferRepository, never()).save(any(Transfer.class));
+        }
+
+        @Test
+        void shouldReplayConcurrentlyStoredTransfer_whenUniqueKeyViolated() {
+            User testUser = createTestUser();
+            setId(testUser, TEST_USER_ID);
+
+            Card fromCard = createTestCard(testUser, BigDecimal.valueOf(500.00), CardStatus.ACTIVE);
+            setId(fromCard, TEST_FROM_CARD_ID);
+
+            Card toCard = createTestCard(testUser, BigDecimal.valueOf(100.00), CardStatus.ACTIVE);
+            setId(toCard, TEST_TO_CARD_ID);
+
+            Transfer stored = createTestTransfer(testUser, fromCard, toCard);
+            setId(stored, TEST_TRANSFER_ID);
+
+            when(transactionTemplate.execute(any())).thenThrow(
+                    new DataIntegrityViolationException("uk_transfers_owner_idempotency_key")).thenAnswer(
+                            invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+            when(transferRepository.findByOwnerIdAndIdempotencyKey(TEST_USER_ID, TEST_IDEMPOTENCY_KEY)).thenReturn(
+                    Optional.of(stored));
+
+            TransferRequest request = new TransferRequest(
+                    TEST_FROM_CARD_ID,
+                    TEST_TO_CARD_ID,
+                    TEST_TRANSFER_AMOUNT,
+                    null);
+
+            Transfer result = transferService.transferBetweenOwnCards(TEST_USER_ID, request, TEST_IDEMPOTENCY_KEY);
+
+            assertEquals(stored, result);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = { " ", "01234567890123456789012345678901234567890123456789012345678901234" })
+        void shouldThrowException_whenIdempotencyKeyInvalid(String idempotencyKey) {
+            TransferRequest request = new TransferRequest(
+                    TEST_FROM_CARD_ID,
+                    TEST_TO_CARD_ID,
+                    TEST_TRANSFER_AMOUNT,
+                    null);
+
+            assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> transferService.transferBetweenOwnCards(TEST_USER_ID, request, idempotencyKey));
+
+            verifyNoInteractions(transactionTemplate, transferRepository);
+        }
     }
 
     @Nested
@@ -527,14 +775,39 @@ class TransferServiceTest {
             whenFindUserById(testUser);
             whenFindTransferById(Optional.of(testTransfer));
 
-            Transfer result = transferService.getTransferByIdForOwner(TEST_USER_ID, TEST_TRANSFER_ID);
+            TransferResponse result = transferService.getTransferByIdForOwner(TEST_USER_ID, TEST_TRANSFER_ID);
 
             assertNotNull(result);
-            assertEquals(testTransfer, result);
+            assertEquals(TransferResponse.of(testTransfer), result);
 
             verify(userService).findUserById(TEST_USER_ID);
             verify(transferRepository).findById(TEST_TRANSFER_ID);
             verifyNoMoreInteractions(userService, transferRepository);
+            verifyNoInteractions(transferArchiveService);
+        }
+
+        @Test
+        void shouldReturnArchivedTransfer_whenNotInTable() {
+            User testUser = createTestUser();
+            setId(testUser, TEST_USER_ID);
+            TransferResponse archived = new TransferResponse(
+                    TEST_TRANSFER_ID,
+                    "0366",
+                    "0366",
+                    TEST_TRANSFER_AMOUNT,
+                    Set.of(),
+                    LocalDateTime.of(2020, 1, 1, 0, 0));
+
+            whenFindUserById(testUser);
+            whenFindTransferById(Optional.empty());
+            when(transferArchiveService.findTransferForOwner(TEST_USER_ID, TEST_TRANSFER_ID)).thenReturn(
+                    Optional.of(archived));
+
+            TransferResponse result = transferService.getTransferByIdForOwner(TEST_USER_ID, TEST_TRANSFER_ID);
+
+            assertEquals(archived, result);
+            verify(transferRepository).findById(TEST_TRANSFER_ID);
+            verify(transferArchiveService).findTransferForOwner(TEST_USER_ID, TEST_TRANSFER_ID);
         }
 
         @Test
@@ -587,6 +860,7 @@ class TransferServiceTest {
         @Override
         public void shouldThrowException_whenEntityNotFound() {
             User testUser = createTestUser();
+            setId(testUser, TEST_USER_ID);
             whenFindUserById(testUser);
             whenFindTransferById(Optional.empty());
 
@@ -597,6 +871,7 @@ class TransferServiceTest {
             assertTrue(exception.getMessage().contains("was not found"));
             verify(userService).findUserById(TEST_USER_ID);
             verify(transferRepository).findById(TEST_TRANSFER_ID);
+            verify(transferArchiveService).findTransferForOwner(TEST_USER_ID, TEST_TRANSFER_ID);
             verifyNoMoreInteractions(userService, transferRepository);
         }
 
@@ -635,23 +910,55 @@ class TransferServiceTest {
         @Test
         void shouldReturnTransferPage_whenValidRequest() {
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Transfer> transferPage = new PageImpl<>(new ArrayList<>());
+            Page<TransferSummary> summaryPage = new PageImpl<>(new ArrayList<>());
 
-            when(transferRepository.findAll(pageable)).thenReturn(transferPage);
+            when(transferRepository.findAllSummaries(pageable)).thenReturn(summaryPage);
 
-            Page<Transfer> result = transferService.getAllTransfersForAdmin(TEST_ADMIN_ID, pageable);
+            Slice<TransferResponse> result = transferService.getAllTransfersForAdmin(
+                    TEST_ADMIN_ID,
+                    pageable,
+                    CountMode.EXACT);
 
             assertNotNull(result);
             verify(userService).checkAdminPermissionTo("get all transfers", TEST_ADMIN_ID);
-            verify(transferRepository).findAll(pageable);
+            verify(transferRepository).findAllSummaries(pageable);
             verifyNoMoreInteractions(userService, transferRepository);
         }
 
+        @Test
+        void shouldAttachCategoryNames_whenPageHasContent() {
+            Pageable pageable = PageRequest.of(0, 10);
+            TransferSummary summary = new TransferSummary(
+                    TEST_TRANSFER_ID,
+                    "0366",
+                    "0366",
+                    new Amount(TEST_TRANSFER_AMOUNT),
+                    null);
+            Page<TransferSummary> summaryPage = new PageImpl<>(List.of(summary));
+
+            when(transferRepository.findAllSummaries(pageable)).thenReturn(summaryPage);
+            when(transferRepository.findCategoryLinksByTransferIdIn(List.of(TEST_TRANSFER_ID))).thenReturn(
+                    List.of(
+                            new TransferCategoryLink(TEST_TRANSFER_ID, CategoryName.SAVINGS),
+                            new TransferCategoryLink(TEST_TRANSFER_ID, CategoryName.SALARY)));
+
+            Slice<TransferResponse> result = transferService.getAllTransfersForAdmin(
+                    TEST_ADMIN_ID,
+                    pageable,
+                    CountMode.EXACT);
+
+            TransferResponse response = result.getContent().get(0);
+            assertEquals(TEST_TRANSFER_ID, response.id());
+            assertEquals(0, TEST_TRANSFER_AMOUNT.compareTo(response.amount()));
+            assertEquals(Set.of("SAVINGS", "SALARY"), response.categories());
+            verify(transferRepository).findCategoryLinksByTransferIdIn(List.of(TEST_TRANSFER_ID));
+        }
+
         @Test
         void shouldThrowException_whenNullPageable() {
             BusinessRuleViolationException exception = assertThrows(
                     BusinessRuleViolationException.class,
-                    () -> transferService.getAllTransfersForAdmin(TEST_ADMIN_ID, null));
+                    () -> transferService.getAllTransfersForAdmin(TEST_ADMIN_ID, null, CountMode.EXACT));
 
             assertEquals("Pageable is required", exception.getMessage());
             verifyNoInteractions(userService, transferRepository);
@@ -664,13 +971,49 @@ class TransferServiceTest {
 
             AccessDeniedException exception = assertThrows(
                     AccessDeniedException.class,
-                    () -> transferService.getAllTransfersForAdmin(TEST_ADMIN_ID, pageable));
+                    () -> transferService.getAllTransfersForAdmin(TEST_ADMIN_ID, pageable, CountMode.EXACT));
 
             assertEquals("Permission denied", exception.getMessage());
             verify(userService).checkAdminPermissionTo("get all transfers", TEST_ADMIN_ID);
             verifyNoMoreInteractions(userService);
             verifyNoInteractions(transferRepository);
         }
+
+        @Test
+        void shouldReadSliceWithoutCount_whenCountModeNone() {
+            Pageable pageable = PageRequest.of(0, 10);
+            Slice<TransferSummary> summarySlice = new SliceImpl<>(new ArrayList<>(), pageable, true);
+
+            when(transferRepository.findSummarySlice(null, pageable)).thenReturn(summarySlice);
+
+            Slice<TransferResponse> result = transferService.getAllTransfersForAdmin(
+                    TEST_ADMIN_ID,
+                    pageable,
+                    CountMode.NONE);
+
+            assertFalse(result instanceof Page);
+            assertTrue(result.hasNext());
+            verify(transferRepository).findSummarySlice(null, pageable);
+            verifyNoMoreInteractions(transferRepository);
+        }
+
+        @Test
+        void shouldUsePlannerEstimate_whenCountModeApprox() {
+            Pageable pageable = PageRequest.of(0, 10);
+            Slice<TransferSummary> summarySlice = new SliceImpl<>(new ArrayList<>(), pageable, false);
+
+            when(transferRepository.findSummarySlice(null, pageable)).thenReturn(summarySlice);
+            when(transferRepository.estimateCount()).thenReturn(1_000L);
+
+            Slice<TransferResponse> result = transferService.getAllTransfersForAdmin(
+                    TEST_ADMIN_ID,
+                    pageable,
+                    CountMode.APPROX);
+
+            assertEquals(1_000L, assertInstanceOf(Page.class, result).getTotalElements());
+            verify(transferRepository).estimateCount();
+            verify(transferRepository, never()).count();
+        }
     }
 
     @Nested
@@ -680,16 +1023,19 @@ class TransferServiceTest {
         void shouldReturnTransferPage_whenValidRequest() {
             User testUser = createTestUser();
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Transfer> transferPage = new PageImpl<>(new ArrayList<>());
+            Page<TransferSummary> summaryPage = new PageImpl<>(new ArrayList<>());
 
             whenFindUserById(testUser);
-            when(transferRepository.findAllByOwner(testUser, pageable)).thenReturn(transferPage);
+            when(transferRepository.findAllSummariesByOwnerId(TEST_USER_ID, pageable)).thenReturn(summaryPage);
 
-            Page<Transfer> result = transferService.getAllTransfersForOwner(TEST_USER_ID, pageable);
+            Slice<TransferResponse> result = transferService.getAllTransfersForOwner(
+                    TEST_USER_ID,
+                    pageable,
+                    CountMode.EXACT);
 
             assertNotNull(result);
             verify(userService).findUserById(TEST_USER_ID);
-            verify(transferRepository).findAllByOwner(testUser, pageable);
+            verify(transferRepository).findAllSummariesByOwnerId(TEST_USER_ID, pageable);
             verifyNoMoreInteractions(userService, transferRepository);
         }
 
@@ -697,7 +1043,7 @@ class TransferServiceTest {
         void shouldThrowException_whenNullPageable() {
             BusinessRuleViolationException exception = assertThrows(
                     BusinessRuleViolationException.class,
-                    () -> transferService.getAllTransfersForOwner(TEST_USER_ID, null));
+                    () -> transferService.getAllTransfersForOwner(TEST_USER_ID, null, CountMode.EXACT));
 
             assertEquals("Pageable is required", exception.getMessage());
             verifyNoInteractions(userService, transferRepository);
@@ -710,7 +1056,7 @@ class TransferServiceTest {
 
             ResourceNotFoundException exception = assertThrows(
                     ResourceNotFoundException.class,
-                    () -> transferService.getAllTransfersForOwner(TEST_USER_ID, pageable));
+                    () -> transferService.getAllTransfersForOwner(TEST_USER_ID, pageable, CountMode.EXACT));
 
             assertEquals("User not found", exception.getMessage());
             verify(userService).findUserById(TEST_USER_ID);
@@ -718,6 +1064,107 @@ class TransferServiceTest {
             verifyNoInteractions(transferRepository);
         }
 
+        @Test
+        void shouldCacheOwnerCount_whenCountModeApprox() {
+            User testUser = createTestUser();
+            Pageable pageable = PageRequest.of(0, 10);
+            Slice<TransferSummary> summarySlice = new SliceImpl<>(new ArrayList<>(), pageable, false);
+
+            whenFindUserById(testUser);
+            when(transferRepository.findSummarySlice(any(), eq(pageable))).thenReturn(summarySlice);
+            when(transferRepository.countByOwnerId(TEST_USER_ID)).thenReturn(12L);
+
+            for (int i = 0; i < 2; i++) {
+                Slice<TransferResponse> result = transferService.getAllTransfersForOwner(
+                        TEST_USER_ID,
+                        pageable,
+                        CountMode.APPROX);
+
+                assertEquals(12L, assertInstanceOf(Page.class, result).getTotalElements());
+            }
+
+            verify(transferRepository).countByOwnerId(TEST_USER_ID);
+            verify(transferRepository, never()).findAllSummariesByOwnerId(any(), any());
+        }
+
+        @Test
+        void shouldThrowException_whenNullCountMode() {
+            BusinessRuleViolationException exception = assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> transferService.getAllTransfersForOwner(TEST_USER_ID, PageRequest.of(0, 10), null));
+
+            assertEquals(PaginationConstants.Count.REQUIRED_MESSAGE, exception.getMessage());
+            verifyNoInteractions(userService, transferRepository);
+        }
+
+    }
+
+    @Nested
+    class ScrollTransfersForOwnerTests {
+
+        @Test
+        void shouldReturnFirstWindow_whenBlankCursor() {
+            User testUser = createTestUser();
+            Sort.Order order = Sort.Order.desc("createdAt");
+            Pageable window = PageRequest.of(0, 10, Sort.by(order, Sort.Order.desc("id")));
+            Slice<TransferSummary> summarySlice = new SliceImpl<>(new ArrayList<>());
+
+            whenFindUserById(testUser);
+            when(transferRepository.findSummarySlice(any(), eq(window))).thenReturn(summarySlice);
+
+            Slice<TransferResponse> result = transferService.scrollTransfersForOwner(TEST_USER_ID, "", order, 10);
+
+            assertNotNull(result);
+            verify(userService).findUserById(TEST_USER_ID);
+            verify(transferRepository).findSummarySlice(any(), eq(window));
+            verifyNoMoreInteractions(userService, transferRepository);
+        }
+
+        @Test
+        void shouldContinueIntoArchive_whenLiveRowsRunOut() {
+            User testUser = createTestUser();
+            Sort.Order order = Sort.Order.desc("createdAt");
+            Pageable window = PageRequest.of(0, 2, Sort.by(order, Sort.Order.desc("id")));
+            LocalDateTime now = LocalDateTime.of(2030, 1, 1, 0, 0);
+            TransferSummary live = new TransferSummary(30L, "0366", "0366", new Amount(TEST_TRANSFER_AMOUNT), now);
+            TransferResponse older = new TransferResponse(
+                    20L,
+                    "0366",
+                    "0366",
+                    TEST_TRANSFER_AMOUNT,
+                    Set.of(),
+                    now.minusYears(1));
+            TransferResponse oldest = new TransferResponse(
+                    10L,
+                    "0366",
+                    "0366",
+                    TEST_TRANSFER_AMOUNT,
+                    Set.of(),
+                    now.minusYears(2));
+
+            whenFindUserById(testUser);
+            when(transferRepository.findSummarySlice(any(), eq(window))).thenReturn(
+                    new SliceImpl<>(List.of(live), window, false));
+            when(transferArchiveService.findTransfersForOwner(TEST_USER_ID, null, order, 3)).thenReturn(
+                    List.of(older, oldest));
+
+            Slice<TransferResponse> result = transferService.scrollTransfersForOwner(TEST_USER_ID, "", order, 2);
+
+            assertEquals(List.of(30L, 20L), result.map(TransferResponse::id).getContent());
+            assertTrue(result.hasNext());
+        }
+
+        @Test
+        void shouldThrowException_whenSortNotSupported() {
+            whenFindUserById(createTestUser());
+
+            BusinessRuleViolationException exception = assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> transferService.scrollTransfersForOwner(TEST_USER_ID, "", Sort.Order.asc("amount"), 10));
+
+            assertEquals(PaginationConstants.Cursor.unsupportedSortMessage("amount"), exception.getMessage());
+            verifyNoInteractions(transferRepository);
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -3,6 +3,8 @@ package com.example.bankcards.service;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -13,9 +15,11 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Optional;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,11 +27,18 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.example.bankcards.dto.user.request.UserCreateRequest;
@@ -43,11 +54,15 @@ import com.example.bankcards.model.user.User;
 import com.example.bankcards.model.user.vo.Email;
 import com.example.bankcards.model.user.vo.Password;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CustomUserDetails;
 import com.example.bankcards.service.contract.create.AdminCreateBehaviorTest;
 import com.example.bankcards.service.contract.delete.AdminDeleteBehaviorTest;
 import com.example.bankcards.service.contract.read.AdminReadBehaviorTest;
 import com.example.bankcards.service.contract.read.ReadBehaviorTest;
 import com.example.bankcards.service.contract.update.UpdateBehaviorTest;
+import com.example.bankcards.util.constant.PaginationConstants;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -59,6 +74,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Spy
+    private ApproximateCounter approximateCounter = new ApproximateCounter(Duration.ofMinutes(1), 16);
+
+    @Spy
+    private RequestIdentityMap identityMap = new RequestIdentityMap(entity -> true, new SimpleMeterRegistry());
+
     @InjectMocks
     private UserService userService;
 
@@ -746,7 +767,7 @@ class UserServiceTest {
             when(userRepository.findAll(pageable)).thenReturn(userPage);
 
             // When
-            Page<User> result = userService.getAllUsers(TEST_ADMIN_ID, pageable);
+            Slice<User> result = userService.getAllUsers(TEST_ADMIN_ID, pageable, CountMode.EXACT);
 
             // Then
             assertNotNull(result);
@@ -760,7 +781,7 @@ class UserServiceTest {
             // When
             BusinessRuleViolationException exception = assertThrows(
                     BusinessRuleViolationException.class,
-                    () -> userService.getAllUsers(TEST_ADMIN_ID, null));
+                    () -> userService.getAllUsers(TEST_ADMIN_ID, null, CountMode.EXACT));
 
             // Then
             assertEquals("Pageable is required", exception.getMessage());
@@ -777,7 +798,7 @@ class UserServiceTest {
             // When
             AccessDeniedException exception = assertThrows(
                     AccessDeniedException.class,
-                    () -> userService.getAllUsers(TEST_ADMIN_ID, pageable));
+                    () -> userService.getAllUsers(TEST_ADMIN_ID, pageable, CountMode.EXACT));
 
             // Then
             assertTrue(exception.getMessage().contains("Permission to get all users denied"));
@@ -785,6 +806,166 @@ class UserServiceTest {
             verifyNoMoreInteractions(userRepository);
         }
 
+        @Test
+        void shouldReadSliceWithoutCount_whenCountModeNone() {
+            // Given
+            Pageable pageable = PageRequest.of(0, 10);
+            Slice<User> userSlice = new SliceImpl<>(new ArrayList<>(), pageable, true);
+
+            whenFindAdminById(Optional.of(createTestAdmin()));
+            when(userRepository.findSliceBy(pageable)).thenReturn(userSlice);
+
+            // When
+            Slice<User> result = userService.getAllUsers(TEST_ADMIN_ID, pageable, CountMode.NONE);
+
+            // Then
+            assertFalse(result instanceof Page);
+            assertTrue(result.hasNext());
+            verify(userRepository).findById(TEST_ADMIN_ID);
+            verify(userRepository).findSliceBy(pageable);
+            verifyNoMoreInteractions(userRepository);
+        }
+
+        @Test
+        void shouldFallBackToCachedCount_whenPlannerHasNoEstimate() {
+            // Given
+            Pageable pageable = PageRequest.of(0, 10);
+            Slice<User> userSlice = new SliceImpl<>(new ArrayList<>(), pageable, false);
+
+            whenFindAdminById(Optional.of(createTestAdmin()));
+            when(userRepository.findSliceBy(pageable)).thenReturn(userSlice);
+            when(userRepository.estimateCount()).thenReturn(0L);
+            when(userRepository.count()).thenReturn(3L);
+
+            // When
+            Slice<User> first = userService.getAllUsers(TEST_ADMIN_ID, pageable, CountMode.APPROX);
+            Slice<User> second = userService.getAllUsers(TEST_ADMIN_ID, pageable, CountMode.APPROX);
+
+            // Then
+            assertEquals(3L, assertInstanceOf(Page.class, first).getTotalElements());
+            assertEquals(3L, assertInstanceOf(Page.class, second).getTotalElements());
+            verify(userRepository).count();
+        }
+
+        @Test
+        void shouldThrowException_whenNullCountMode() {
+            // When
+            BusinessRuleViolationException exception = assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> userService.getAllUsers(TEST_ADMIN_ID, PageRequest.of(0, 10), null));
+
+            // Then
+            assertEquals(PaginationConstants.Count.REQUIRED_MESSAGE, exception.getMessage());
+            verifyNoInteractions(userRepository);
+        }
+
+    }
+
+    @Nested
+    class ScrollUsersTests {
+
+        @Test
+        void shouldReturnUserSlice_whenFirstWindow() {
+            // Given
+            Slice<User> userSlice = new SliceImpl<>(new ArrayList<>());
+
+            whenFindAdminById(Optional.of(createTestAdmin()));
+            when(userRepository.findBy(any(Specification.class), any())).thenReturn(userSlice);
+
+            // When
+            Slice<User> result = userService.scrollUsers(TEST_ADMIN_ID, "", Sort.Order.asc("createdAt"), 10);
+
+            // Then
+            assertNotNull(result);
+            verify(userRepository).findById(TEST_ADMIN_ID);
+            verify(userRepository).findBy(any(Specification.class), any());
+            verifyNoMoreInteractions(userRepository);
+        }
+
+        @Test
+        void shouldThrowException_whenSortNotSupported() {
+            // Given
+            whenFindAdminById(Optional.of(createTestAdmin()));
+
+            // When
+            BusinessRuleViolationException exception = assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> userService.scrollUsers(TEST_ADMIN_ID, "", Sort.Order.asc("email"), 10));
+
+            // Then
+            assertEquals(PaginationConstants.Cursor.unsupportedSortMessage("email"), exception.getMessage());
+            verify(userRepository).findById(TEST_ADMIN_ID);
+            verifyNoMoreInteractions(userRepository);
+        }
+
+        @Test
+        void shouldThrowException_whenNotAdmin() {
+            // Given
+            when(userRepository.findById(TEST_ADMIN_ID)).thenReturn(Optional.of(createTestUser()));
+
+            // When
+            AccessDeniedException exception = assertThrows(
+                    AccessDeniedException.class,
+                    () -> userService.scrollUsers(TEST_ADMIN_ID, "", Sort.Order.asc("id"), 10));
+
+            // Then
+            assertTrue(exception.getMessage().contains("Permission to get all users denied"));
+            verify(userRepository).findById(TEST_ADMIN_ID);
+            verifyNoMoreInteractions(userRepository);
+        }
+    }
+
+    @Nested
+    class CheckAdminPermissionTests {
+
+        private void authenticateAs(Long userId, final Role role) {
+            CustomUserDetails userDetails = CustomUserDetails.of(userId, "caller@example.com", role);
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        }
+
+        @AfterEach
+        void clearSecurityContext() {
+            SecurityContextHolder.clearContext();
+        }
+
+        @Test
+        void shouldAllowAdminToken_withoutLoadingUser() {
+            // Given
+            authenticateAs(TEST_ADMIN_ID, Role.ADMIN);
+
+            // When & Then
+            assertDoesNotThrow(() -> userService.checkAdminPermissionTo("get user", TEST_ADMIN_ID));
+            verifyNoInteractions(userRepository);
+        }
+
+        @Test
+        void shouldDenyUserToken_withoutLoadingUser() {
+            // Given
+            authenticateAs(TEST_ADMIN_ID, Role.USER);
+
+            // When
+            AccessDeniedException exception = assertThrows(
+                    AccessDeniedException.class,
+                    () -> userService.checkAdminPermissionTo("get user", TEST_ADMIN_ID));
+
+            // Then
+            assertTrue(exception.getMessage().contains("Permission to get user denied"));
+            verifyNoInteractions(userRepository);
+        }
+
+        @Test
+        void shouldLoadUser_whenAuthenticatedAsSomeoneElse() {
+            // Given
+            authenticateAs(TEST_USER_ID, Role.ADMIN);
+            whenFindAdminById(Optional.of(createTestUser()));
+
+            // When & Then
+            assertThrows(
+                    AccessDeniedException.class,
+                    () -> userService.checkAdminPermissionTo("get user", TEST_ADMIN_ID));
+            verify(userRepository).findById(TEST_ADMIN_ID);
+        }
     }
 
-}
\ No newline at end of file
+}
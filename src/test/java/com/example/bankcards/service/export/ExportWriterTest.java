@@ -0,0 +1,119 @@
+package com.example.bankcards.service.export;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.fasterxml.jackson.core.JsonFactory;
+
+
+class ExportWriterTest {
+
+    private static final Timestamp TEST_CREATED_AT = Timestamp.valueOf(LocalDateTime.of(2025, 1, 15, 10, 30));
+    private static final Date TEST_EXPIRY_DATE = Date.valueOf(LocalDate.of(2027, 12, 1));
+
+    private ResultSet resultSet;
+    private ByteArrayOutputStream out;
+    private long exportedRows;
+
+    // ---------- Helper methods ---------- //
+
+    private void givenRows(final String[] columns, final Object[]... rows) throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(columns.length);
+        for (int i = 0; i < columns.length; i++)
+            when(metaData.getColumnLabel(i + 1)).thenReturn(columns[i]);
+
+        resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+
+        int[] cursor = { -1 };
+        when(resultSet.next()).thenAnswer(invocation -> ++cursor[0] < rows.length);
+        when(resultSet.getObject(anyInt())).thenAnswer(
+                invocation -> rows[cursor[0]][(int) invocation.getArgument(0) - 1]);
+    }
+
+    private String export(final ExportFormat format) throws Exception {
+        try (ExportWriter writer = format.open(out, new JsonFactory())) {
+            exportedRows = writer.extractData(resultSet);
+        }
+
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    // ------------------------------------ //
+
+    @BeforeEach
+    void setUp() {
+        out = new ByteArrayOutputStream();
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+        givenRows(
+                new String[] { "id", "balance", "expiryDate", "createdAt", "categories" },
+                new Object[] { 1L, new BigDecimal("10.50"), TEST_EXPIRY_DATE, TEST_CREATED_AT, "SALARY;SAVINGS" },
+                new Object[] { 2L, BigDecimal.ZERO, TEST_EXPIRY_DATE, TEST_CREATED_AT, null });
+
+        String ndjson = export(ExportFormat.NDJSON);
+
+        assertEquals(
+                "{\"id\":1,\"balance\":10.50,\"expiryDate\":\"2027-12-01\",\"createdAt\":\"2025-01-15T10:30\","
+                        + "\"categories\":\"SALARY;SAVINGS\"}\n"
+                        + "{\"id\":2,\"balance\":0,\"expiryDate\":\"2027-12-01\",\"createdAt\":\"2025-01-15T10:30\","
+                        + "\"categories\":null}\n",
+                ndjson);
+        assertEquals(2, exportedRows);
+    }
+
+    @Test
+    void shouldWriteHeaderAndQuoteFieldsWithSeparators() throws Exception {
+        givenRows(
+                new String[] { "id", "email", "note" },
+                new Object[] { 1L, "a@test.com", "say \"hi\", then\nleave" },
+                new Object[] { 2L, null, "plain" });
+
+        String csv = export(ExportFormat.CSV);
+
+        assertEquals("id,email,note\r\n1,a@test.com,\"say \"\"hi\"\", then\nleave\"\r\n2,,plain\r\n", csv);
+    }
+
+    @Test
+    void shouldWriteHeaderOnly_whenNoRows() throws Exception {
+        givenRows(new String[] { "id", "email" });
+
+        assertEquals("id,email\r\n", export(ExportFormat.CSV));
+        out.reset();
+        assertEquals("", export(ExportFormat.NDJSON));
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertEquals(ExportFormat.CSV, ExportFormat.of("CSV"));
+
+        BusinessRuleViolationException exception = assertThrows(
+                BusinessRuleViolationException.class,
+                () -> ExportFormat.of("xlsx"));
+
+        assertEquals("Unsupported export format 'xlsx' (supported: ndjson, csv)", exception.getMessage());
+    }
+
+}
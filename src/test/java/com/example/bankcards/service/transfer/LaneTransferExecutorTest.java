@@ -0,0 +1,153 @@
+package com.example.bankcards.service.transfer;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.bankcards.exception.BusinessRuleViolationException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+
+class LaneTransferExecutorTest {
+
+    private static final int TEST_LANE_COUNT = 4;
+    private static final int TEST_THREADS = 16;
+    private static final int TEST_OPERATIONS_PER_THREAD = 200;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LaneTransferExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new LaneTransferExecutor(TEST_LANE_COUNT, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void shouldReturnWorkResult() {
+        String result = executor.execute(1L, 2L, () -> "done");
+
+        assertEquals("done", result);
+    }
+
+    @Test
+    void shouldRethrowWorkException() {
+        assertThrows(
+                BusinessRuleViolationException.class,
+                () -> executor.execute(1L, 2L, () -> {
+                    throw new BusinessRuleViolationException("Insufficient funds");
+                }));
+    }
+
+    @Test
+    void shouldNeverRunTwoTransfersOnSameCardConcurrently() throws Exception {
+        long hotCardId = 1L;
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        AtomicInteger completed = new AtomicInteger();
+
+        ExecutorService callers = Executors.newFixedThreadPool(TEST_THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < TEST_THREADS; t++) {
+            long otherCardId = t + 2L;
+            futures.add(callers.submit(() -> {
+                for (int i = 0; i < TEST_OPERATIONS_PER_THREAD; i++) {
+                    long fromCardId = i % 2 == 0 ? hotCardId : otherCardId;
+                    long toCardId = i % 2 == 0 ? otherCardId : hotCardId;
+
+                    executor.execute(fromCardId, toCardId, () -> {
+                        if (running.incrementAndGet() > 1)
+                            overlapped.set(true);
+                        running.decrementAndGet();
+                        return completed.incrementAndGet();
+                    });
+                }
+            }));
+        }
+
+        for (Future<?> future : futures)
+            future.get(30, TimeUnit.SECONDS);
+        callers.shutdown();
+
+        assertFalse(overlapped.get());
+        assertEquals(TEST_THREADS * TEST_OPERATIONS_PER_THREAD, completed.get());
+    }
+
+    @Test
+    void shouldNotDeadlock_whenOppositeCrossLaneTransfersInterleave() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(TEST_THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < TEST_THREADS; t++) {
+            int seed = t;
+            futures.add(callers.submit(() -> {
+                for (int i = 0; i < TEST_OPERATIONS_PER_THREAD; i++) {
+                    long fromCardId = (seed + i) % TEST_LANE_COUNT;
+                    long toCardId = (seed + i + 1 + i % (TEST_LANE_COUNT - 1)) % TEST_LANE_COUNT;
+                    executor.execute(fromCardId, toCardId, () -> null);
+                }
+            }));
+        }
+
+        for (Future<?> future : futures)
+            future.get(30, TimeUnit.SECONDS);
+        callers.shutdown();
+
+        assertEquals(
+                TEST_THREADS * TEST_OPERATIONS_PER_THREAD,
+                meterRegistry.get("transfer.lanes.tasks").counters().stream().mapToDouble(c -> c.count()).sum());
+    }
+
+    @Test
+    void shouldReportQueueDepth_whenLaneIsBusy() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        Future<?> blocking = callers.submit(() -> executor.execute(0L, 0L, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Future<?> queued = callers.submit(() -> executor.execute(0L, 0L, () -> null));
+        while (executor.getQueueDepth(0) == 0)
+            Thread.onSpinWait();
+
+        assertEquals(1.0, meterRegistry.get("transfer.lanes.queue.depth").tag("lane", "0").gauge().value());
+
+        release.countDown();
+        blocking.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+        callers.shutdown();
+
+        assertEquals(0, executor.getQueueDepth(0));
+    }
+
+}
@@ -0,0 +1,295 @@
+package com.example.bankcards.service.transfer;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.model.BaseEntity;
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.model.card.vo.CardBalance;
+import com.example.bankcards.model.card.vo.CardExpiryDate;
+import com.example.bankcards.model.card.vo.CardNumber;
+import com.example.bankcards.model.ledger.LedgerEntry;
+import com.example.bankcards.model.transfer.vo.Amount;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.model.user.vo.Email;
+import com.example.bankcards.model.user.vo.Password;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.LedgerEntryRepository;
+import com.example.bankcards.security.CardEncryption;
+import com.example.bankcards.service.CardService;
+
+
+@ExtendWith(MockitoExtension.class)
+class TransferConcurrencyStrategyTest {
+
+    @Mock
+    private CardService cardService;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private CardEncryption cardEncryption;
+
+    private static final Long TEST_USER_ID = 1L;
+    private static final Long TEST_LOWER_CARD_ID = 4L;
+    private static final Long TEST_HIGHER_CARD_ID = 5L;
+    private static final String TEST_CARD_NUMBER = "4532015112830366";
+    private static final String TEST_EMAIL = "test@example.com";
+    private static final String TEST_HASHED_PASSWORD = "$2a$10$validBcryptHashWith60Characters1234567890123456781234";
+    private static final BigDecimal TEST_TRANSFER_AMOUNT = BigDecimal.valueOf(100.00);
+
+    // ---------- Helper methods ---------- //
+
+    private void setId(Object entity, Long id) {
+        try {
+            Field idField = BaseEntity.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(entity, id);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private User createTestUser() {
+        User user = new User(new Email(TEST_EMAIL), new Password(TEST_HASHED_PASSWORD), Role.USER);
+        setId(user, TEST_USER_ID);
+        return user;
+    }
+
+    private Card createTestCard(User owner, Long id) {
+        when(cardEncryption.encrypt(any(CardNumber.class))).thenReturn("encrypted");
+        Card card = Card.of(
+                new CardNumber(TEST_CARD_NUMBER),
+                owner,
+                CardExpiryDate.of(2030, 12),
+                CardStatus.ACTIVE,
+                new CardBalance(BigDecimal.valueOf(500.00)),
+                cardEncryption);
+        setId(card, id);
+        return card;
+    }
+
+    // ------------------------------------ //
+
+    @Nested
+    class PessimisticTests {
+
+        @Test
+        void shouldLockCardsInAscendingIdOrder_whenTransferToLowerId() {
+            User owner = createTestUser();
+            Card lowerCard = createTestCard(owner, TEST_LOWER_CARD_ID);
+            Card higherCard = createTestCard(owner, TEST_HIGHER_CARD_ID);
+
+            when(cardService.lockCardByIdForOwner(TEST_LOWER_CARD_ID, owner)).thenReturn(lowerCard);
+            when(cardService.lockCardByIdForOwner(TEST_HIGHER_CARD_ID, owner)).thenReturn(higherCard);
+
+            TransferConcurrencyStrategy strategy = new PessimisticTransferConcurrencyStrategy(cardService);
+            TransferCards result = strategy.loadCards(owner, TEST_HIGHER_CARD_ID, TEST_LOWER_CARD_ID);
+
+            assertSame(higherCard, result.fromCard());
+            assertSame(lowerCard, result.toCard());
+
+            InOrder lockOrder = inOrder(cardService);
+            lockOrder.verify(cardService).lockCardByIdForOwner(TEST_LOWER_CARD_ID, owner);
+            lockOrder.verify(cardService).lockCardByIdForOwner(TEST_HIGHER_CARD_ID, owner);
+            verifyNoMoreInteractions(cardService);
+        }
+
+        @Test
+        void shouldLockCardOnce_whenSameCard() {
+            User owner = createTestUser();
+            Card card = createTestCard(owner, TEST_LOWER_CARD_ID);
+
+            when(cardService.lockCardByIdForOwner(TEST_LOWER_CARD_ID, owner)).thenReturn(card);
+
+            TransferConcurrencyStrategy strategy = new PessimisticTransferConcurrencyStrategy(cardService);
+            TransferCards result = strategy.loadCards(owner, TEST_LOWER_CARD_ID, TEST_LOWER_CARD_ID);
+
+            assertSame(result.fromCard(), result.toCard());
+            verify(cardService).lockCardByIdForOwner(TEST_LOWER_CARD_ID, owner);
+            verifyNoMoreInteractions(cardService);
+        }
+
+        @Test
+        void shouldMoveFundsInMemory() {
+            User owner = createTestUser();
+            Card fromCard = createTestCard(owner, TEST_LOWER_CARD_ID);
+            Card toCard = createTestCard(owner, TEST_HIGHER_CARD_ID);
+
+            TransferConcurrencyStrategy strategy = new PessimisticTransferConcurrencyStrategy(cardService);
+            strategy.moveFunds(fromCard, toCard, new Amount(TEST_TRANSFER_AMOUNT));
+
+            assertEquals(0, BigDecimal.valueOf(400.00).compareTo(fromCard.getBalance().getValue()));
+            assertEquals(0, BigDecimal.valueOf(600.00).compareTo(toCard.getBalance().getValue()));
+        }
+
+    }
+
+    @Nested
+    class ConditionalUpdateTests {
+
+        @Test
+        void shouldDebitBeforeCredit_whenFromCardHasLowerId() {
+            User owner = createTestUser();
+            Card fromCard = createTestCard(owner, TEST_LOWER_CARD_ID);
+            Card toCard = createTestCard(owner, TEST_HIGHER_CARD_ID);
+
+            when(cardRepository.debitIfSufficientFunds(TEST_LOWER_CARD_ID, TEST_TRANSFER_AMOUNT)).thenReturn(1);
+            when(cardRepository.creditIfActive(TEST_HIGHER_CARD_ID, TEST_TRANSFER_AMOUNT)).thenReturn(1);
+
+            TransferConcurrencyStrategy strategy = new ConditionalUpdateTransferConcurrencyStrategy(
+                    cardService,
+                    cardRepository);
+            strategy.moveFunds(fromCard, toCard, new Amount(TEST_TRANSFER_AMOUNT));
+
+            InOrder updateOrder = inOrder(cardRepository);
+            updateOrder.verify(cardRepository).debitIfSufficientFunds(TEST_LOWER_CARD_ID, TEST_TRANSFER_AMOUNT);
+            updateOrder.verify(cardRepository).creditIfActive(TEST_HIGHER_CARD_ID, TEST_TRANSFER_AMOUNT);
+        }
+
+        @Test
+        void shouldCreditBeforeDebit_whenFromCardHasHigherId() {
+            User owner = createTestUser();
+            Card fromCard = createTestCard(owner, TEST_HIGHER_CARD_ID);
+            Card toCard = createTestCard(owner, TEST_LOWER_CARD_ID);
+
+            when(cardRepository.creditIfActive(TEST_LOWER_CARD_ID, TEST_TRANSFER_AMOUNT)).thenReturn(1);
+            when(cardRepository.debitIfSufficientFunds(TEST_HIGHER_CARD_ID, TEST_TRANSFER_AMOUNT)).thenReturn(1);
+
+            TransferConcurrencyStrategy strategy = new ConditionalUpdateTransferConcurrencyStrategy(
+                    cardService,
+                    cardRepository);
+            strategy.moveFunds(fromCard, toCard, new Amount(TEST_TRANSFER_AMOUNT));
+
+            InOrder updateOrder = inOrder(cardRepository);
+            updateOrder.verify(cardRepository).creditIfActive(TEST_LOWER_CARD_ID, TEST_TRANSFER_AMOUNT);
+            updateOrder.verify(cardRepository).debitIfSufficientFunds(TEST_HIGHER_CARD_ID, TEST_TRANSFER_AMOUNT);
+        }
+
+        @Test
+        void shouldThrowException_whenInsufficientFunds() {
+            User owner = createTestUser();
+            Card fromCard = createTestCard(owner, TEST_LOWER_CARD_ID);
+            Card toCard = createTestCard(owner, TEST_HIGHER_CARD_ID);
+
+            when(cardRepository.debitIfSufficientFunds(TEST_LOWER_CARD_ID, TEST_TRANSFER_AMOUNT)).thenReturn(0);
+
+            TransferConcurrencyStrategy strategy = new ConditionalUpdateTransferConcurrencyStrategy(
+                    cardService,
+                    cardRepository);
+
+            BusinessRuleViolationException exception = assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> strategy.moveFunds(fromCard, toCard, new Amount(TEST_TRANSFER_AMOUNT)));
+
+            assertEquals("Insufficient funds", exception.getMessage());
+            verify(cardRepository).debitIfSufficientFunds(TEST_LOWER_CARD_ID, TEST_TRANSFER_AMOUNT);
+            verifyNoMoreInteractions(cardRepository);
+        }
+
+    }
+
+    @Nested
+    class LedgerTests {
+
+        @Test
+        void shouldLockCardIdsBeforeLoadingCards() {
+            User owner = createTestUser();
+            Card lowerCard = createTestCard(owner, TEST_LOWER_CARD_ID);
+            Card higherCard = createTestCard(owner, TEST_HIGHER_CARD_ID);
+
+            when(cardService.findCardByIdForOwner(TEST_HIGHER_CARD_ID, owner)).thenReturn(higherCard);
+            when(cardService.findCardByIdForOwner(TEST_LOWER_CARD_ID, owner)).thenReturn(lowerCard);
+
+            TransferConcurrencyStrategy strategy = new LedgerTransferConcurrencyStrategy(
+                    cardService,
+                    ledgerEntryRepository);
+            TransferCards result = strategy.loadCards(owner, TEST_HIGHER_CARD_ID, TEST_LOWER_CARD_ID);
+
+            assertSame(higherCard, result.fromCard());
+            assertSame(lowerCard, result.toCard());
+
+            InOrder loadOrder = inOrder(cardService);
+            loadOrder.verify(cardService).lockCardIds(new TreeSet<>(Set.of(TEST_LOWER_CARD_ID, TEST_HIGHER_CARD_ID)));
+            loadOrder.verify(cardService).findCardByIdForOwner(TEST_HIGHER_CARD_ID, owner);
+            loadOrder.verify(cardService).findCardByIdForOwner(TEST_LOWER_CARD_ID, owner);
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void shouldAppendPostingsWithoutChangingSnapshot() {
+            User owner = createTestUser();
+            Card fromCard = createTestCard(owner, TEST_LOWER_CARD_ID);
+            Card toCard = createTestCard(owner, TEST_HIGHER_CARD_ID);
+
+            TransferConcurrencyStrategy strategy = new LedgerTransferConcurrencyStrategy(
+                    cardService,
+                    ledgerEntryRepository);
+            strategy.moveFunds(fromCard, toCard, new Amount(TEST_TRANSFER_AMOUNT));
+
+            assertEquals(0, BigDecimal.valueOf(400.00).compareTo(fromCard.getBalance().getValue()));
+            assertEquals(0, BigDecimal.valueOf(600.00).compareTo(toCard.getBalance().getValue()));
+
+            ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+            verify(ledgerEntryRepository).saveAll(entries.capture());
+
+            assertEquals(2, entries.getValue().size());
+            assertSame(fromCard, entries.getValue().get(0).getCard());
+            assertEquals(0, TEST_TRANSFER_AMOUNT.negate().compareTo(entries.getValue().get(0).getAmount()));
+            assertSame(toCard, entries.getValue().get(1).getCard());
+            assertEquals(0, TEST_TRANSFER_AMOUNT.compareTo(entries.getValue().get(1).getAmount()));
+        }
+
+        @Test
+        void shouldThrowException_whenInsufficientFundsIncludingPostings() {
+            User owner = createTestUser();
+            Card fromCard = createTestCard(owner, TEST_LOWER_CARD_ID);
+            Card toCard = createTestCard(owner, TEST_HIGHER_CARD_ID);
+
+            TransferConcurrencyStrategy strategy = new LedgerTransferConcurrencyStrategy(
+                    cardService,
+                    ledgerEntryRepository);
+            strategy.moveFunds(fromCard, toCard, new Amount(BigDecimal.valueOf(450.00)));
+
+            BusinessRuleViolationException exception = assertThrows(
+                    BusinessRuleViolationException.class,
+                    () -> strategy.moveFunds(fromCard, toCard, new Amount(TEST_TRANSFER_AMOUNT)));
+
+            assertEquals("Insufficient funds", exception.getMessage());
+            verify(ledgerEntryRepository).saveAll(anyList());
+            verify(cardRepository, never()).debitIfSufficientFunds(any(), any());
+        }
+
+    }
+
+}
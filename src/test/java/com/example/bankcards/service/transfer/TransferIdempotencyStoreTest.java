@@ -0,0 +1,174 @@
+package com.example.bankcards.service.transfer;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.dto.transfer.response.TransferResponse;
+import com.example.bankcards.exception.BusinessRuleViolationException;
+
+
+class TransferIdempotencyStoreTest {
+
+    private static final Long TEST_OWNER_ID = 1L;
+    private static final String TEST_KEY = "retry-key";
+    private static final Duration TEST_TTL = Duration.ofMinutes(10);
+    private static final TransferRequest TEST_REQUEST = new TransferRequest(4L, 5L, new BigDecimal("10.00"), null);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    // ---------- Helper methods ---------- //
+
+    private TransferIdempotencyStore createStore(int stripes, int maxEntries) {
+        return new TransferIdempotencyStore(stripes, maxEntries, TEST_TTL, clock::get);
+    }
+
+    private TransferResponse createResponse(long id) {
+        return new TransferResponse(id, "0366", "0366", new BigDecimal("10.00"), Set.of(), LocalDateTime.now());
+    }
+
+    // ------------------------------------ //
+
+    @Test
+    void shouldReplayStoredResponse_withoutRunningActionAgain() {
+        TransferIdempotencyStore store = createStore(4, 100);
+        AtomicInteger executions = new AtomicInteger();
+
+        TransferResponse first = store.execute(TEST_OWNER_ID, TEST_KEY, TEST_REQUEST, () -> {
+            executions.incrementAndGet();
+            return createResponse(1L);
+        });
+        TransferResponse replay = store.execute(TEST_OWNER_ID, TEST_KEY, TEST_REQUEST, () -> {
+            executions.incrementAndGet();
+            return createResponse(2L);
+        });
+
+        assertSame(first, replay);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldKeepKeysSeparatePerOwner() {
+        TransferIdempotencyStore store = createStore(4, 100);
+
+        TransferResponse first = store.execute(TEST_OWNER_ID, TEST_KEY, TEST_REQUEST, () -> createResponse(1L));
+        TransferResponse other = store.execute(TEST_OWNER_ID + 1, TEST_KEY, TEST_REQUEST, () -> createResponse(2L));
+
+        assertEquals(1L, first.id());
+        assertEquals(2L, other.id());
+    }
+
+    @Test
+    void shouldRunActionOnce_whenDuplicatesArriveConcurrently() throws Exception {
+        TransferIdempotencyStore store = createStore(4, 100);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int duplicates = 8;
+
+        ExecutorService callers = Executors.newFixedThreadPool(duplicates);
+        List<Future<TransferResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < duplicates; i++)
+            futures.add(callers.submit(() -> store.execute(TEST_OWNER_ID, TEST_KEY, TEST_REQUEST, () -> {
+                executions.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return createResponse(1L);
+            })));
+
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<TransferResponse> future : futures)
+            assertEquals(1L, future.get(5, TimeUnit.SECONDS).id());
+        callers.shutdown();
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldRunActionAgain_whenFirstExecutionFailed() {
+        TransferIdempotencyStore store = createStore(4, 100);
+
+        assertThrows(
+                BusinessRuleViolationException.class,
+                () -> store.execute(TEST_OWNER_ID, TEST_KEY, TEST_REQUEST, () -> {
+                    throw new BusinessRuleViolationException("Insufficient funds");
+                }));
+        TransferResponse retry = store.execute(TEST_OWNER_ID, TEST_KEY, TEST_REQUEST, () -> createResponse(1L));
+
+        assertEquals(1L, retry.id());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void shouldRunActionAgain_whenEntryExpired() {
+        TransferIdempotencyStore store = createStore(4, 100);
+
+        store.execute(TEST_OWNER_ID, TEST_KEY, TEST_REQUEST, () -> createResponse(1L));
+        clock.addAndGet(TEST_TTL.toNanos());
+        TransferResponse afterExpiry = store.execute(TEST_OWNER_ID, TEST_KEY, TEST_REQUEST, () -> createResponse(2L));
+
+        assertEquals(2L, afterExpiry.id());
+    }
+
+    @Test
+    void shouldStayBounded_whenMoreKeysThanCapacity() {
+        TransferIdempotencyStore store = createStore(1, 10);
+
+        for (long i = 0; i < 50; i++) {
+            long id = i;
+            store.execute(TEST_OWNER_ID, "key-" + i, TEST_REQUEST, () -> createResponse(id));
+        }
+
+        assertEquals(10, store.size());
+        assertEquals(
+                99L,
+                store.execute(TEST_OWNER_ID, "key-0", TEST_REQUEST, () -> createResponse(99L)).id());
+    }
+
+    @Test
+    void shouldThrowException_whenKeyReusedForDifferentRequest() {
+        TransferIdempotencyStore store = createStore(4, 100);
+        store.execute(TEST_OWNER_ID, TEST_KEY, TEST_REQUEST, () -> createResponse(1L));
+
+        TransferRequest different = new TransferRequest(5L, 4L, new BigDecimal("10.00"), null);
+
+        assertThrows(
+                BusinessRuleViolationException.class,
+                () -> store.execute(TEST_OWNER_ID, TEST_KEY, different, () -> createResponse(2L)));
+    }
+
+    @Test
+    void shouldThrowException_whenKeyReusedWithDifferentCategories() {
+        TransferIdempotencyStore store = createStore(4, 100);
+        store.execute(TEST_OWNER_ID, TEST_KEY, TEST_REQUEST, () -> createResponse(1L));
+
+        TransferRequest different = new TransferRequest(4L, 5L, new BigDecimal("10.00"), Set.of(1L));
+
+        assertThrows(
+                BusinessRuleViolationException.class,
+                () -> store.execute(TEST_OWNER_ID, TEST_KEY, different, () -> createResponse(2L)));
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.example.bankcards.service.transfer;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.bankcards.repository.projection.ArchivedTransfer;
+import com.example.bankcards.repository.projection.TransferArchiveBlock;
+
+
+class TransferSegmentStoreTest {
+
+    private static final LocalDateTime TEST_CREATED_AT = LocalDateTime.of(2020, 5, 17, 10, 30, 15, 123_456_000);
+
+    @TempDir
+    private Path directory;
+
+    // ---------- Helper methods ---------- //
+
+    private static ArchivedTransfer createTransfer(long id, long ownerId) {
+        return new ArchivedTransfer(
+                id,
+                ownerId,
+                10L,
+                11L,
+                "0366",
+                "1234",
+                new BigDecimal("12.50"),
+                TEST_CREATED_AT.plusMinutes(id),
+                id % 2 == 0 ? Set.of("SALARY", "VACATION") : Set.of());
+    }
+
+    private static List<ArchivedTransfer> createTransfers(long firstId, int count, long ownerId) {
+        List<ArchivedTransfer> transfers = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            transfers.add(createTransfer(firstId + i, ownerId));
+
+        return transfers;
+    }
+
+    // ------------------------------------ //
+
+    @Test
+    void shouldReadBackEveryBlock() {
+        TransferSegmentStore store = new TransferSegmentStore(directory);
+        List<ArchivedTransfer> transfers = new ArrayList<>(createTransfers(1L, 3, 1L));
+        transfers.addAll(createTransfers(100L, 2, 2L));
+
+        List<TransferArchiveBlock> blocks = store.write(TransferSegmentStore.fileNameOf(1L), transfers);
+
+        assertEquals(2, blocks.size());
+        assertEquals(transfers.subList(0, 3), store.read(blocks.get(0)));
+        assertEquals(transfers.subList(3, 5), store.read(blocks.get(1)));
+        assertEquals(2L, blocks.get(1).ownerId());
+        assertEquals(100L, blocks.get(1).minId());
+        assertEquals(TEST_CREATED_AT.plusMinutes(101L), blocks.get(1).maxCreatedAt());
+    }
+
+    @Test
+    void shouldSplitOwnerIntoBoundedBlocks() {
+        TransferSegmentStore store = new TransferSegmentStore(directory);
+        int count = TransferSegmentStore.MAX_BLOCK_TRANSFERS * 2 + 1;
+
+        List<TransferArchiveBlock> blocks = store.write(
+                TransferSegmentStore.fileNameOf(2L),
+                createTransfers(1L, count, 1L));
+
+        assertEquals(3, blocks.size());
+        assertEquals(TransferSegmentStore.MAX_BLOCK_TRANSFERS, blocks.get(0).transferCount());
+        assertEquals(1, blocks.get(2).transferCount());
+        assertEquals(count, store.read(blocks.get(2)).get(0).id());
+    }
+
+    @Test
+    void shouldLeaveNoFile_whenDeleted() {
+        TransferSegmentStore store = new TransferSegmentStore(directory);
+        String fileName = TransferSegmentStore.fileNameOf(3L);
+        List<TransferArchiveBlock> blocks = store.write(fileName, createTransfers(1L, 1, 1L));
+        store.read(blocks.get(0));
+
+        store.delete(fileName);
+
+        assertFalse(Files.exists(directory.resolve(fileName)));
+        assertThrows(UncheckedIOException.class, () -> store.read(blocks.get(0)));
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.example.bankcards.service.transfer;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.exception.BusinessRuleViolationException;
+import com.example.bankcards.model.BaseEntity;
+import com.example.bankcards.model.card.Card;
+import com.example.bankcards.model.card.CardStatus;
+import com.example.bankcards.model.card.vo.CardBalance;
+import com.example.bankcards.model.card.vo.CardExpiryDate;
+import com.example.bankcards.model.card.vo.CardNumber;
+import com.example.bankcards.model.transfer.Transfer;
+import com.example.bankcards.model.transfer.vo.Amount;
+import com.example.bankcards.model.user.Role;
+import com.example.bankcards.model.user.User;
+import com.example.bankcards.model.user.vo.Email;
+import com.example.bankcards.model.user.vo.Password;
+import com.example.bankcards.security.CardEncryption;
+import com.example.bankcards.service.TransferBatchService;
+import com.example.bankcards.service.TransferService;
+
+
+@ExtendWith(MockitoExtension.class)
+class TransferSubmissionProcessorTest {
+
+    @Mock
+    private TransferService transferService;
+
+    @Mock
+    private TransferBatchService transferBatchService;
+
+    @Mock
+    private CardEncryption cardEncryption;
+
+    private TransferSubmissionProcessor processor;
+
+    private static final Long TEST_OWNER_ID = 1L;
+    private static final Long TEST_OTHER_OWNER_ID = 2L;
+    private static final Long TEST_TRANSFER_ID = 10L;
+    private static final String TEST_IDEMPOTENCY_KEY = "retry-key";
+    private static final String TEST_EMAIL = "test@example.com";
+    private static final String TEST_HASHED_PASSWORD = "$2a$10$validBcryptHashWith60Characters1234567890123456781234";
+    private static final TransferRequest TEST_REQUEST = new TransferRequest(4L, 5L, new BigDecimal("10.00"), null);
+
+    @BeforeEach
+    void setUp() {
+        processor = new TransferSubmissionProcessor(transferService, transferBatchService);
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private void setId(Object entity, Long id) {
+        try {
+            Field idField = BaseEntity.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(entity, id);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Card createTestCard(User owner, Long id) {
+        when(cardEncryption.encrypt(any(CardNumber.class))).thenReturn("encrypted");
+        Card card = Card.of(
+                new CardNumber("4532015112830366"),
+                owner,
+                CardExpiryDate.of(2030, 12),
+                CardStatus.ACTIVE,
+                new CardBalance(BigDecimal.valueOf(500.00)),
+                cardEncryption);
+        setId(card, id);
+        return card;
+    }
+
+    private Transfer createTestTransfer() {
+        User owner = new User(new Email(TEST_EMAIL), new Password(TEST_HASHED_PASSWORD), Role.USER);
+        setId(owner, TEST_OWNER_ID);
+
+        Transfer transfer = Transfer.of(
+                owner,
+                createTestCard(owner, 4L),
+                createTestCard(owner, 5L),
+                new Amount(new BigDecimal("10.00")),
+                new HashSet<>());
+        setId(transfer, TEST_TRANSFER_ID);
+        return transfer;
+    }
+
+    // ------------------------------------ //
+
+    @Test
+    void shouldUseSingleTransferPath_whenOwnerHasOneSubmission() {
+        Transfer transfer = createTestTransfer();
+        when(transferService.transferBetweenOwnCards(TEST_OWNER_ID, TEST_REQUEST)).thenReturn(transfer);
+        TransferSubmission submission = new TransferSubmission(TEST_OWNER_ID, TEST_REQUEST, null);
+
+        processor.accept(List.of(submission));
+
+        assertEquals(TransferSubmissionStatus.COMPLETED, submission.getStatus());
+        assertEquals(TEST_TRANSFER_ID, submission.getTransfer().id());
+        verify(transferBatchService, never()).transferBatchBetweenOwnCards(anyLong(), anyList());
+    }
+
+    @Test
+    void shouldGroupSubmissionsOfSameOwnerIntoBatch() {
+        TransferSubmission first = new TransferSubmission(TEST_OWNER_ID, TEST_REQUEST, null);
+        TransferSubmission other = new TransferSubmission(TEST_OTHER_OWNER_ID, TEST_REQUEST, null);
+        TransferSubmission second = new TransferSubmission(TEST_OWNER_ID, TEST_REQUEST, null);
+        Transfer transfer = createTestTransfer();
+
+        when(transferBatchService.transferBatchBetweenOwnCards(TEST_OWNER_ID, List.of(TEST_REQUEST, TEST_REQUEST)))
+                .thenReturn(
+                        List.of(
+                                TransferBatchResult.success(0, transfer),
+                                TransferBatchResult.failure(1, "Insufficient funds")));
+        when(transferService.transferBetweenOwnCards(TEST_OTHER_OWNER_ID, TEST_REQUEST)).thenThrow(
+                new BusinessRuleViolationException("Both cards for transfer must be ACTIVE"));
+
+        processor.accept(List.of(first, other, second));
+
+        assertEquals(TransferSubmissionStatus.COMPLETED, first.getStatus());
+        assertEquals(TransferSubmissionStatus.FAILED, second.getStatus());
+        assertEquals("Insufficient funds", second.getErrorMessage());
+        assertEquals(TransferSubmissionStatus.FAILED, other.getStatus());
+        assertEquals("Both cards for transfer must be ACTIVE", other.getErrorMessage());
+    }
+
+    @Test
+    void shouldProcessKeyedSubmissionsIndividually() {
+        Transfer transfer = createTestTransfer();
+        when(transferService.transferBetweenOwnCards(TEST_OWNER_ID, TEST_REQUEST, TEST_IDEMPOTENCY_KEY)).thenReturn(
+                transfer);
+        when(transferService.transferBetweenOwnCards(TEST_OWNER_ID, TEST_REQUEST)).thenReturn(transfer);
+        TransferSubmission keyed = new TransferSubmission(TEST_OWNER_ID, TEST_REQUEST, TEST_IDEMPOTENCY_KEY);
+        TransferSubmission plain = new TransferSubmission(TEST_OWNER_ID, TEST_REQUEST, null);
+
+        processor.accept(List.of(keyed, plain));
+
+        assertEquals(TransferSubmissionStatus.COMPLETED, keyed.getStatus());
+        assertEquals(TransferSubmissionStatus.COMPLETED, plain.getStatus());
+        verify(transferService).transferBetweenOwnCards(TEST_OWNER_ID, TEST_REQUEST, TEST_IDEMPOTENCY_KEY);
+        verify(transferBatchService, never()).transferBatchBetweenOwnCards(anyLong(), anyList());
+    }
+
+    @Test
+    void shouldFailWholeGroupWithGenericMessage_whenBatchThrowsUnexpectedly() {
+        TransferSubmission first = new TransferSubmission(TEST_OWNER_ID, TEST_REQUEST, null);
+        TransferSubmission second = new TransferSubmission(TEST_OWNER_ID, TEST_REQUEST, null);
+        when(transferBatchService.transferBatchBetweenOwnCards(eq(TEST_OWNER_ID), anyList())).thenThrow(
+                new IllegalStateException("connection reset"));
+
+        processor.accept(List.of(first, second));
+
+        assertEquals(TransferSubmissionStatus.FAILED, first.getStatus());
+        assertEquals(TransferSubmissionProcessor.UNEXPECTED_ERROR_MESSAGE, first.getErrorMessage());
+        assertEquals(TransferSubmissionProcessor.UNEXPECTED_ERROR_MESSAGE, second.getErrorMessage());
+        assertNull(first.getTransfer());
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.example.bankcards.service.transfer;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.bankcards.dto.transfer.request.TransferRequest;
+import com.example.bankcards.dto.transfer.response.TransferResponse;
+import com.example.bankcards.exception.ResourceNotFoundException;
+import com.example.bankcards.exception.TransferQueueFullException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+
+class TransferSubmissionQueueTest {
+
+    private static final Long TEST_OWNER_ID = 1L;
+    private static final Duration TEST_STATUS_TTL = Duration.ofMinutes(10);
+    private static final TransferRequest TEST_REQUEST = new TransferRequest(4L, 5L, new BigDecimal("10.00"), null);
+    private static final long WAIT_SECONDS = 5;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private TransferSubmissionQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null)
+            queue.close();
+    }
+
+    // ---------- Helper methods ---------- //
+
+    private TransferSubmissionQueue createQueue(
+            int capacity,
+            int maxBatchSize,
+            int maxRetained,
+            final Consumer<List<TransferSubmission>> processor) {
+        queue = new TransferSubmissionQueue(
+                capacity,
+                1,
+                maxBatchSize,
+                TEST_STATUS_TTL,
+                maxRetained,
+                processor,
+                new SimpleMeterRegistry(),
+                clock::get);
+        return queue;
+    }
+
+    private TransferResponse createResponse(long id) {
+        return new TransferResponse(id, "0366", "0366", new BigDecimal("10.00"), Set.of(), LocalDateTime.now());
+    }
+
+    private void awaitFinished(final TransferSubmission submission) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (submission.isPending() && System.nanoTime() < deadline)
+            Thread.sleep(5);
+    }
+
+    // ------------------------------------ //
+
+    @Test
+    void shouldCompleteSubmission_whenProcessorSucceeds() throws Exception {
+        TransferResponse response = createResponse(7L);
+        createQueue(10, 10, 100, batch -> batch.forEach(submission -> submission.complete(response)));
+
+        TransferSubmission submission = queue.submit(TEST_OWNER_ID, TEST_REQUEST, null);
+        awaitFinished(submission);
+
+        TransferSubmission found = queue.getSubmissionForOwner(TEST_OWNER_ID, submission.getId());
+        assertSame(submission, found);
+        assertEquals(TransferSubmissionStatus.COMPLETED, found.getStatus());
+        assertSame(response, found.getTransfer());
+    }
+
+    @Test
+    void shouldFailSubmission_whenProcessorLeavesItPending() throws Exception {
+        createQueue(10, 10, 100, batch -> {
+            throw new IllegalStateException("boom");
+        });
+
+        TransferSubmission submission = queue.submit(TEST_OWNER_ID, TEST_REQUEST, null);
+        awaitFinished(submission);
+
+        assertEquals(TransferSubmissionStatus.FAILED, submission.getStatus());
+        assertEquals(TransferSubmissionQueue.NOT_PROCESSED_MESSAGE, submission.getErrorMessage());
+    }
+
+    @Test
+    void shouldRejectSubmission_whenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        createQueue(1, 1, 100, batch -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        TransferSubmission running = queue.submit(TEST_OWNER_ID, TEST_REQUEST, null);
+        assertTrue(started.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        queue.submit(TEST_OWNER_ID, TEST_REQUEST, null);
+
+        assertThrows(TransferQueueFullException.class, () -> queue.submit(TEST_OWNER_ID, TEST_REQUEST, null));
+        assertEquals(1, queue.getQueueDepth());
+        assertEquals(2, queue.getRetainedCount());
+
+        release.countDown();
+        awaitFinished(running);
+    }
+
+    @Test
+    void shouldDrainQueuedSubmissionsInMicroBatches() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        createQueue(10, 3, 100, batch -> {
+            batchSizes.add(batch.size());
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            batch.forEach(submission -> submission.complete(createResponse(1L)));
+        });
+
+        queue.submit(TEST_OWNER_ID, TEST_REQUEST, null);
+        assertTrue(started.await(WAIT_SECONDS, TimeUnit.SECONDS));
+
+        TransferSubmission last = null;
+        for (int i = 0; i < 5; i++)
+            last = queue.submit(TEST_OWNER_ID, TEST_REQUEST, null);
+
+        release.countDown();
+        awaitFinished(last);
+
+        assertEquals(List.of(1, 3, 2), batchSizes);
+    }
+
+    @Test
+    void shouldHideSubmission_fromOtherOwner() {
+        createQueue(10, 10, 100, batch -> {
+        });
+
+        TransferSubmission submission = queue.submit(TEST_OWNER_ID, TEST_REQUEST, null);
+
+        assertThrows(
+                ResourceNotFoundException.class,
+                () -> queue.getSubmissionForOwner(TEST_OWNER_ID + 1, submission.getId()));
+    }
+
+    @Test
+    void shouldEvictFinishedStatuses_afterTtl() throws Exception {
+        createQueue(10, 10, 100, batch -> batch.forEach(submission -> submission.complete(createResponse(1L))));
+
+        TransferSubmission first = queue.submit(TEST_OWNER_ID, TEST_REQUEST, null);
+        awaitFinished(first);
+
+        clock.addAndGet(TEST_STATUS_TTL.toNanos());
+        queue.submit(TEST_OWNER_ID, TEST_REQUEST, null);
+
+        assertThrows(
+                ResourceNotFoundException.class,
+                () -> queue.getSubmissionForOwner(TEST_OWNER_ID, first.getId()));
+    }
+
+}